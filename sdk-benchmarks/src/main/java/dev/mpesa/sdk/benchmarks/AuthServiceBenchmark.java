@@ -0,0 +1,76 @@
+package dev.mpesa.sdk.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mpesa.sdk.auth.AuthService;
+import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.http.HttpTransport;
+import dev.mpesa.sdk.http.TransportRequest;
+import dev.mpesa.sdk.http.TransportResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AuthService} under contention from 16 threads, against an in-memory transport answering token
+ * requests immediately, so only the SDK's own cost is measured. {@link #getAccessToken()} is the path taken by
+ * every API call while the token is valid; {@link #refreshToken()} forces the synchronized refresh on every
+ * call, the worst case of many threads seeing the token expire together.
+ * <p>
+ * Run with {@code java -jar sdk-benchmarks/target/benchmarks.jar AuthServiceBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class AuthServiceBenchmark {
+
+    private AuthService authService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TransportResponse token = new TransportResponse(200, Collections.emptyMap(),
+                LocalStubServer.TOKEN_RESPONSE.getBytes(StandardCharsets.UTF_8));
+        HttpTransport transport = new HttpTransport() {
+            @Override
+            public TransportResponse execute(TransportRequest request) {
+                return token;
+            }
+
+            @Override
+            public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+                return CompletableFuture.completedFuture(token);
+            }
+        };
+        authService = new AuthService("consumer-key", "consumer-secret", new MpesaConfig.Builder().build(),
+                transport, new ObjectMapper());
+        authService.getAccessToken();
+    }
+
+    @Benchmark
+    public String getAccessToken() {
+        return authService.getAccessToken();
+    }
+
+    @Benchmark
+    public String refreshToken() {
+        authService.refreshToken();
+        return authService.getAccessToken();
+    }
+}
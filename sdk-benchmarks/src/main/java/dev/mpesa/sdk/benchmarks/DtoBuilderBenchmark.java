@@ -0,0 +1,71 @@
+package dev.mpesa.sdk.benchmarks;
+
+import dev.mpesa.sdk.dto.request.B2CPaymentRequest;
+import dev.mpesa.sdk.dto.request.StkPushRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building request DTOs, which validates every field as it is set and again on {@code build()}. The
+ * field values are read from non-final fields so the JIT cannot fold them into constants.
+ * <p>
+ * Run with {@code java -jar sdk-benchmarks/target/benchmarks.jar DtoBuilderBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoBuilderBenchmark {
+
+    public String shortCode = "174379";
+    public String password = Fixtures.PASSWORD;
+    public String securityCredential = Fixtures.SECURITY_CREDENTIAL;
+    public String amount = "100";
+    public String phoneNumber = "254708374149";
+    public String callbackUrl = "https://mydomain.com/mpesa/callback";
+    public String accountReference = "INV-0001";
+    public String transactionDesc = "Payment";
+
+    @Benchmark
+    public StkPushRequest buildStkPushRequest() {
+        return new StkPushRequest.Builder()
+                .businessShortCode(shortCode)
+                .password(password)
+                .transactionType(StkPushRequest.TransactionType.CustomerPayBillOnline)
+                .amount(amount)
+                .partyA(phoneNumber)
+                .partyB(shortCode)
+                .phoneNumber(phoneNumber)
+                .callBackURL(callbackUrl)
+                .accountReference(accountReference)
+                .transactionDesc(transactionDesc)
+                .build();
+    }
+
+    @Benchmark
+    public B2CPaymentRequest buildB2CPaymentRequest() {
+        return new B2CPaymentRequest.Builder()
+                .initiatorName("testapi")
+                .securityCredential(securityCredential)
+                .commandID("BusinessPayment")
+                .amount(amount)
+                .partyA(shortCode)
+                .partyB(phoneNumber)
+                .remarks(transactionDesc)
+                .queueTimeOutURL(callbackUrl)
+                .resultURL(callbackUrl)
+                .occassion(accountReference)
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package dev.mpesa.sdk.benchmarks;
+
+import java.util.Base64;
+import java.util.Random;
+
+/**
+ * Sample payloads shared by the benchmarks, taken from the Daraja sandbox documentation.
+ */
+final class Fixtures {
+
+    /** A base64 STK push password, as derived from the short code, passkey and timestamp. */
+    static final String PASSWORD =
+            "MTc0Mzc5YmZiMjc5ZjlhYTliZGJjZjE1OGU5N2RkNzFhNDY3Y2QyZTBjODkzMDU5YjEwZjc4ZTZiNzJhZGExZWQyYzkxOTIwMTYwMjE2MTY1NjI3";
+
+    /** A base64 security credential, about the size of an RSA-2048 encrypted initiator password. */
+    static final String SECURITY_CREDENTIAL;
+
+    static {
+        byte[] ciphertext = new byte[256];
+        new Random(42).nextBytes(ciphertext);
+        SECURITY_CREDENTIAL = Base64.getEncoder().encodeToString(ciphertext);
+    }
+
+    /** An STK push request body, as serialized by the SDK. */
+    static final String STK_PUSH_REQUEST = "{\"BusinessShortCode\":\"174379\","
+            + "\"Password\":\"" + PASSWORD + "\","
+            + "\"Timestamp\":\"20160216165627\",\"TransactionType\":\"CustomerPayBillOnline\",\"Amount\":\"1\","
+            + "\"PartyA\":\"254708374149\",\"PartyB\":\"174379\",\"PhoneNumber\":\"254708374149\","
+            + "\"CallBackURL\":\"https://mydomain.com/pat\",\"AccountReference\":\"Test\","
+            + "\"TransactionDesc\":\"Test\"}";
+
+    /** A successful STK push callback with its metadata items. */
+    static final String STK_PUSH_CALLBACK = "{\"Body\":{\"stkCallback\":{\"MerchantRequestID\":\"29115-34620561-1\","
+            + "\"CheckoutRequestID\":\"ws_CO_191220191020363925\",\"ResultCode\":0,"
+            + "\"ResultDesc\":\"The service request is processed successfully.\",\"CallbackMetadata\":{\"Item\":["
+            + "{\"Name\":\"Amount\",\"Value\":1.00},"
+            + "{\"Name\":\"MpesaReceiptNumber\",\"Value\":\"NLJ7RT61SV\"},"
+            + "{\"Name\":\"TransactionDate\",\"Value\":20191219102115},"
+            + "{\"Name\":\"PhoneNumber\",\"Value\":254708374149}]}}}}";
+
+    /** A successful B2C payment result with its result parameters. */
+    static final String B2C_RESULT = "{\"Result\":{\"ResultType\":0,\"ResultCode\":0,"
+            + "\"ResultDesc\":\"The service request is processed successfully.\","
+            + "\"OriginatorConversationID\":\"10571-7910404-1\",\"ConversationID\":\"AG_20191219_00004e48cf7e3533f581\","
+            + "\"TransactionID\":\"NLJ41HAY6Q\",\"ResultParameters\":{\"ResultParameter\":["
+            + "{\"Key\":\"TransactionAmount\",\"Value\":10},"
+            + "{\"Key\":\"TransactionReceipt\",\"Value\":\"NLJ41HAY6Q\"},"
+            + "{\"Key\":\"B2CRecipientIsRegisteredCustomer\",\"Value\":\"Y\"},"
+            + "{\"Key\":\"B2CChargesPaidAccountAvailableFunds\",\"Value\":-4510.00},"
+            + "{\"Key\":\"ReceiverPartyPublicName\",\"Value\":\"254708374149 - John Doe\"},"
+            + "{\"Key\":\"TransactionCompletedDateTime\",\"Value\":\"19.12.2019 11:45:50\"},"
+            + "{\"Key\":\"B2CUtilityAccountAvailableFunds\",\"Value\":10116.00},"
+            + "{\"Key\":\"B2CWorkingAccountAvailableFunds\",\"Value\":900000.00}]},"
+            + "\"ReferenceData\":{\"ReferenceItem\":{\"Key\":\"QueueTimeoutURL\","
+            + "\"Value\":\"https://internalsandbox.safaricom.co.ke/mpesa/b2cresults/v1/submit\"}}}}";
+
+    private Fixtures() {
+    }
+}
@@ -0,0 +1,78 @@
+package dev.mpesa.sdk.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A loopback HTTP/1.1 server answering every request with a fixed JSON body, so benchmarks measure the client
+ * side rather than the network or the M-Pesa sandbox. Request bodies are read and discarded.
+ */
+public final class LocalStubServer implements AutoCloseable {
+
+    /** A token response, as served by the M-Pesa token endpoint. */
+    public static final String TOKEN_RESPONSE =
+            "{\"access_token\":\"stub-token\",\"token_type\":\"Bearer\",\"expires_in\":3599}";
+
+    /** An STK push acknowledgement, a typical small API response. */
+    public static final String STK_PUSH_RESPONSE = "{\"MerchantRequestID\":\"29115-34620561-1\","
+            + "\"CheckoutRequestID\":\"ws_CO_191220191020363925\",\"ResponseCode\":\"0\","
+            + "\"ResponseDescription\":\"Success. Request accepted for processing\","
+            + "\"CustomerMessage\":\"Success. Request accepted for processing\"}";
+
+    static {
+        // Without TCP_NODELAY the separate header and body writes stall on delayed ACKs, capping each connection
+        // at about 25 requests per second. Read once, when the JDK server is first used.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Starts the server on an ephemeral port.
+     *
+     * @param threads the number of threads serving requests
+     * @throws IOException if the server socket cannot be opened
+     */
+    public LocalStubServer(int threads) throws IOException {
+        byte[] token = TOKEN_RESPONSE.getBytes(StandardCharsets.UTF_8);
+        byte[] body = STK_PUSH_RESPONSE.getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.createContext("/v1/token/generate", exchange -> respond(exchange, token));
+        server.createContext("/", exchange -> respond(exchange, body));
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "stub-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /** @return The server's base URL, e.g. {@code http://localhost:40123}. */
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,113 @@
+package dev.mpesa.sdk.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mpesa.sdk.auth.AuthService;
+import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.config.RequestOptions;
+import dev.mpesa.sdk.dto.request.StkPushRequest;
+import dev.mpesa.sdk.dto.response.StkPushResponse;
+import dev.mpesa.sdk.http.HttpTransport;
+import dev.mpesa.sdk.http.RequestHandler;
+import dev.mpesa.sdk.metrics.HistogramMetricsRecorder;
+import dev.mpesa.sdk.metrics.MetricsRecorder;
+import dev.mpesa.sdk.service.impl.StkPushServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full API call through {@link RequestHandler} against a {@link LocalStubServer}: serializing the
+ * request, the interceptor chain with authentication, retry and routing, the HTTP exchange and, for
+ * {@link #requestStkPush()}, deserializing the response. Calls are made from 16 threads.
+ * <p>
+ * With {@code metrics=true} the calls are also recorded by a {@link HistogramMetricsRecorder}, to show what the
+ * instrumentation costs. Run with {@code java -jar sdk-benchmarks/target/benchmarks.jar RequestHandlerBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class RequestHandlerBenchmark {
+
+    @Param({"OKHTTP", "JDK"})
+    public MpesaConfig.Transport transport;
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private LocalStubServer server;
+    private HttpTransport httpTransport;
+    private RequestHandler requestHandler;
+    private StkPushServiceImpl stkPushService;
+    private String url;
+    private StkPushRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new LocalStubServer(16);
+        MpesaConfig config = new MpesaConfig.Builder()
+                .baseUrls(List.of(server.getBaseUrl()))
+                .transport(transport)
+                .warmUpConnections(16)
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        MetricsRecorder recorder = metrics ? new HistogramMetricsRecorder() : MetricsRecorder.NOOP;
+        httpTransport = RequestHandler.newTransport(config);
+        AuthService authService = new AuthService("consumer-key", "consumer-secret", config, httpTransport,
+                objectMapper, recorder);
+        requestHandler = new RequestHandler(authService, config, httpTransport, objectMapper,
+                Collections.emptyList(), Collections.emptyList(), recorder);
+        requestHandler.warmUp(16);
+        stkPushService = new StkPushServiceImpl(requestHandler, config, objectMapper);
+        url = config.getStkPushUrl();
+        request = new StkPushRequest.Builder()
+                .businessShortCode("174379")
+                .password(Fixtures.PASSWORD)
+                .transactionType(StkPushRequest.TransactionType.CustomerPayBillOnline)
+                .amount("1")
+                .partyA("254708374149")
+                .partyB("174379")
+                .phoneNumber("254708374149")
+                .callBackURL("https://mydomain.com/pat")
+                .accountReference("Test")
+                .transactionDesc("Test")
+                .build();
+        authService.getAccessToken();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpTransport.close();
+        server.close();
+    }
+
+    @Benchmark
+    public String post() throws JsonProcessingException {
+        return requestHandler.post(url, request);
+    }
+
+    @Benchmark
+    public StkPushResponse requestStkPush() {
+        return stkPushService.requestStkPush(request, RequestOptions.DEFAULT);
+    }
+}
@@ -0,0 +1,95 @@
+package dev.mpesa.sdk.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mpesa.sdk.callback.CallbackEnvelope;
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.callback.StkPushCallbackResponse;
+import dev.mpesa.sdk.dto.request.StkPushRequest;
+import dev.mpesa.sdk.dto.response.StkPushResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JSON work around an API call: serializing a request body the way {@code RequestHandler} does,
+ * deserializing a response the way the services do, and parsing callbacks, both into their DTOs and through
+ * {@link CallbackEnvelope}. One {@link ObjectMapper} is shared, as it is across an SDK instance.
+ * <p>
+ * Run with {@code java -jar sdk-benchmarks/target/benchmarks.jar SerializationBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private StkPushRequest stkPushRequest;
+    private String stkPushResponse;
+    private byte[] stkPushCallback;
+    private byte[] b2cResult;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stkPushRequest = new StkPushRequest.Builder()
+                .businessShortCode("174379")
+                .password(Fixtures.PASSWORD)
+                .transactionType(StkPushRequest.TransactionType.CustomerPayBillOnline)
+                .amount("1")
+                .partyA("254708374149")
+                .partyB("174379")
+                .phoneNumber("254708374149")
+                .callBackURL("https://mydomain.com/pat")
+                .accountReference("Test")
+                .transactionDesc("Test")
+                .build();
+        stkPushResponse = LocalStubServer.STK_PUSH_RESPONSE;
+        stkPushCallback = Fixtures.STK_PUSH_CALLBACK.getBytes(StandardCharsets.UTF_8);
+        b2cResult = Fixtures.B2C_RESULT.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] serializeStkPushRequest() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(stkPushRequest);
+    }
+
+    @Benchmark
+    public StkPushResponse deserializeStkPushResponse() throws JsonProcessingException {
+        return objectMapper.readValue(stkPushResponse, StkPushResponse.class);
+    }
+
+    @Benchmark
+    public StkPushCallbackResponse deserializeStkPushCallback() throws IOException {
+        return objectMapper.readValue(stkPushCallback, StkPushCallbackResponse.class);
+    }
+
+    @Benchmark
+    public ServiceResultResponse deserializeB2CResult() throws IOException {
+        return objectMapper.readValue(b2cResult, ServiceResultResponse.class);
+    }
+
+    @Benchmark
+    public CallbackEnvelope parseStkPushCallbackEnvelope() throws IOException {
+        return CallbackEnvelope.parse(stkPushCallback);
+    }
+
+    @Benchmark
+    public CallbackEnvelope parseB2CResultEnvelope() throws IOException {
+        return CallbackEnvelope.parse(b2cResult);
+    }
+}
@@ -0,0 +1,94 @@
+package dev.mpesa.sdk.benchmarks;
+
+import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.http.HttpTransport;
+import dev.mpesa.sdk.http.RequestHandler;
+import dev.mpesa.sdk.http.TransportRequest;
+import dev.mpesa.sdk.http.TransportResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the {@link HttpTransport} implementations against a {@link LocalStubServer}. It
+ * measures a blocking call from 16 threads and a batch of concurrent asynchronous calls from one thread, each
+ * posting an STK push sized body.
+ * <p>
+ * The stub server only speaks HTTP/1.1, so this compares the clients' connection handling and overhead, not HTTP/2
+ * multiplexing. Run with {@code java -jar sdk-benchmarks/target/benchmarks.jar TransportBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransportBenchmark {
+
+    /** Number of requests in flight at once in {@link #executeAsyncBatch()}. */
+    private static final int BATCH_SIZE = 32;
+
+    @Param({"OKHTTP", "JDK"})
+    public MpesaConfig.Transport transport;
+
+    private LocalStubServer server;
+    private HttpTransport httpTransport;
+    private TransportRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new LocalStubServer(16);
+        MpesaConfig config = new MpesaConfig.Builder()
+                .baseUrls(List.of(server.getBaseUrl()))
+                .transport(transport)
+                .warmUpConnections(16)
+                .build();
+        httpTransport = RequestHandler.newTransport(config);
+        request = new TransportRequest.Builder()
+                .url(config.getStkPushUrl())
+                .post(Fixtures.STK_PUSH_REQUEST)
+                .header("Authorization", "Bearer stub-token")
+                .header("Content-Type", "application/json")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpTransport.close();
+        server.close();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public TransportResponse execute() throws IOException {
+        return httpTransport.execute(request);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int executeAsyncBatch() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            futures[i] = httpTransport.executeAsync(request);
+        }
+        CompletableFuture.allOf(futures).join();
+        return futures.length;
+    }
+}
@@ -0,0 +1,93 @@
+package dev.mpesa.sdk.benchmarks;
+
+import dev.mpesa.sdk.util.ValidationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link ValidationUtils}' checks with the regexes and URL parsing they replaced, kept here as the
+ * {@code *Regex} and {@code parseUrl} baselines. {@code DtoBuilderBenchmark} shows the effect on a whole build.
+ * <p>
+ * Run with {@code java -jar sdk-benchmarks/target/benchmarks.jar ValidationBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private static final Pattern NUMERIC_PATTERN = Pattern.compile("^\\d+$");
+    private static final Pattern BASE64_PATTERN = Pattern.compile("^[A-Za-z0-9+/=]+$");
+    private static final Pattern BUSINESS_SHORTCODE_PATTERN = Pattern.compile("\\d{4,9}");
+    private static final Pattern PHONE_NUMBER_PATTERN = Pattern.compile("^(2517\\d{8}|2547\\d{8})$");
+
+    public String amount = "100";
+    public String shortCode = "600000";
+    public String phoneNumber = "254708374149";
+    public String securityCredential = Fixtures.SECURITY_CREDENTIAL;
+    public String callbackUrl = "https://mydomain.com/mpesa/callback";
+
+    @Benchmark
+    public void numeric() {
+        ValidationUtils.requireNumeric(amount, "Amount");
+    }
+
+    @Benchmark
+    public boolean numericRegex() {
+        return NUMERIC_PATTERN.matcher(amount).matches();
+    }
+
+    @Benchmark
+    public void shortCode() {
+        ValidationUtils.requireValidShortCode(shortCode, "PartyA");
+    }
+
+    @Benchmark
+    public boolean shortCodeRegex() {
+        return BUSINESS_SHORTCODE_PATTERN.matcher(shortCode).matches();
+    }
+
+    @Benchmark
+    public void phoneNumber() {
+        ValidationUtils.requireValidPhoneNumber(phoneNumber, "PartyB");
+    }
+
+    @Benchmark
+    public boolean phoneNumberRegex() {
+        return PHONE_NUMBER_PATTERN.matcher(phoneNumber).matches();
+    }
+
+    @Benchmark
+    public void base64() {
+        ValidationUtils.requireBase64Encoded(securityCredential, "SecurityCredential");
+    }
+
+    @Benchmark
+    public boolean base64Regex() {
+        return BASE64_PATTERN.matcher(securityCredential).matches();
+    }
+
+    @Benchmark
+    public void url() {
+        ValidationUtils.requireValidURL(callbackUrl, "ResultURL");
+    }
+
+    @Benchmark
+    public URL parseUrl() throws MalformedURLException {
+        return new URL(callbackUrl);
+    }
+}
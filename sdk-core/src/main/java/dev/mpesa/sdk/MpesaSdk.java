@@ -1,19 +1,50 @@
 package dev.mpesa.sdk;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.mpesa.sdk.auth.AuthService;
+import dev.mpesa.sdk.cache.BalanceCache;
+import dev.mpesa.sdk.cache.TransactionStatusCache;
+import dev.mpesa.sdk.callback.ResultCorrelator;
+import dev.mpesa.sdk.callback.StkPushPoller;
 import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.config.RequestOptions;
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.callback.StkPushCallbackResponse;
+import dev.mpesa.sdk.dto.callback.ValidationConfirmationRequest;
+import dev.mpesa.sdk.dto.callback.ValidationConfirmationResponse;
 import dev.mpesa.sdk.dto.request.*;
 import dev.mpesa.sdk.dto.response.*;
 import dev.mpesa.sdk.exception.MpesaAuthenticationException;
+import dev.mpesa.sdk.exception.MpesaException;
 import dev.mpesa.sdk.exception.MpesaNetworkException;
+import dev.mpesa.sdk.exception.MpesaTimeoutException;
 import dev.mpesa.sdk.exception.MpesaUnexpectedResponseException;
+import dev.mpesa.sdk.http.HttpTransport;
+import dev.mpesa.sdk.http.Interceptor;
+import dev.mpesa.sdk.http.OkHttpTransport;
 import dev.mpesa.sdk.http.RequestHandler;
+import dev.mpesa.sdk.metrics.MetricsRecorder;
+import dev.mpesa.sdk.metrics.MetricsSnapshot;
+import dev.mpesa.sdk.tracing.Tracer;
 import dev.mpesa.sdk.service.*;
 import dev.mpesa.sdk.service.impl.*;
+import dev.mpesa.sdk.util.HashedTimingWheel;
+import okhttp3.OkHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * The MpesaSdk class provides a unified interface for interacting with M-Pesa's services.
@@ -25,15 +56,41 @@ import java.util.Objects;
  * This class is intended to be used as the main entry point for any application integrating M-Pesa's payment solutions.
  * It exposes various methods for performing typical payment operations via M-Pesa.
  */
-public class MpesaSdk implements AccountService, B2CService, C2BService, StkPushService, TransactionService {
+public class MpesaSdk implements AccountService, B2CService, C2BService, StkPushService, TransactionService, AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(MpesaSdk.class);
 
-    private final AuthService authService;
-    private final AccountService accountService;
-    private final B2CService b2cService;
-    private final C2BService c2bService;
-    private final StkPushService stkPushService;
-    private final TransactionService transactionService;
+    private static final Class<?>[] REQUEST_TYPES = {
+            AccountBalanceRequest.class, B2CPaymentRequest.class, C2BPaymentRequest.class, C2BRegisterRequest.class,
+            C2BSimulatePaymentRequest.class, StkPushRequest.class, StkPushQueryRequest.class,
+            TransactionReversalRequest.class, TransactionStatusRequest.class
+    };
+
+    private static final Class<?>[] RESPONSE_TYPES = {
+            AccountBalanceResponse.class, B2CPaymentResponse.class, C2BPaymentResponse.class, C2BRegisterResponse.class,
+            C2BSimulatePaymentResponse.class, StkPushResponse.class, StkPushQueryResponse.class,
+            TransactionReversalResponse.class, TransactionStatusResponse.class, MpesaErrorResponse.class,
+            ServiceResultResponse.class, StkPushCallbackResponse.class, ValidationConfirmationRequest.class,
+            ValidationConfirmationResponse.class
+    };
+
+    private final MpesaConfig config;
+    private final Lazy<ObjectMapper> objectMapper;
+    private final Lazy<HttpTransport> transport;
+    private final boolean ownsTransport;
+    private final Lazy<AuthService> authService;
+    private final Lazy<RequestHandler> requestHandler;
+    private final Lazy<AccountService> accountService;
+    private final Lazy<B2CService> b2cService;
+    private final Lazy<C2BService> c2bService;
+    private final Lazy<StkPushService> stkPushService;
+    private final Lazy<TransactionService> transactionService;
+    private final Lazy<HashedTimingWheel> timer;
+    private final Lazy<ExecutorService> stkPushQueryExecutor;
+    private final Lazy<ResultCorrelator> resultCorrelator;
+    private final Lazy<StkPushPoller> stkPushPoller;
+    private final Lazy<BalanceCache> balanceCache;
+    private final Lazy<TransactionStatusCache> transactionStatusCache;
+    private final MetricsRecorder metrics;
 
     /**
      * Creates an instance of {@code MpesaSdk} using the provided consumer key and secret.
@@ -44,25 +101,7 @@ public class MpesaSdk implements AccountService, B2CService, C2BService, StkPush
      * @throws IllegalArgumentException if either {@code consumerKey} or {@code consumerSecret} is null.
      */
     public MpesaSdk(String consumerKey, String consumerSecret) {
-        if (consumerKey == null || consumerSecret == null) {
-            throw new IllegalArgumentException("consumerKey and consumerSecret are required");
-        }
-
-        logger.info("Initializing MpesaSdk with default configuration.");
-
-        MpesaConfig config = new MpesaConfig.Builder().build();
-        this.authService = new AuthService(consumerKey, consumerSecret, config);
-
-        logger.debug("MpesaConfig initialized: {}", config);
-
-        RequestHandler requestHandler = new RequestHandler(this.authService, config);
-        this.c2bService = new C2BServiceImpl(requestHandler, config);
-        this.b2cService = new B2CServiceImpl(requestHandler, config);
-        this.stkPushService = new StkPushServiceImpl(requestHandler, config);
-        this.accountService = new AccountServiceImpl(requestHandler, config);
-        this.transactionService = new TransactionServiceImpl(requestHandler, config);
-
-        logger.info("MpesaSdk successfully initialized.");
+        this(new Builder().consumerKey(consumerKey).consumerSecret(consumerSecret));
     }
 
     /**
@@ -74,28 +113,63 @@ public class MpesaSdk implements AccountService, B2CService, C2BService, StkPush
      * @throws IllegalArgumentException if either {@code consumerKey} or {@code consumerSecret} is null.
      */
     public MpesaSdk(String consumerKey, String consumerSecret, MpesaConfig config) {
-        if (consumerKey == null || consumerSecret == null) {
+        this(new Builder().consumerKey(consumerKey).consumerSecret(consumerSecret).config(config));
+    }
+
+    /**
+     * Wires the SDK from a builder. Only the configuration is resolved here; every other component is created
+     * the first time it is needed, so an SDK that only ever sends STK pushes never builds the B2C service, and
+     * one that never awaits a result never starts the timer thread.
+     */
+    private MpesaSdk(Builder builder) {
+        if (builder.consumerKey == null || builder.consumerSecret == null) {
             throw new IllegalArgumentException("consumerKey and consumerSecret are required");
         }
 
-        logger.info("Initializing MpesaSdk with custom configuration.");
-
+        MpesaConfig config = builder.config;
         if (config == null) {
-            logger.warn("MpesaConfig is null. Falling back to default configuration.");
+            logger.debug("No MpesaConfig provided. Using default configuration.");
             config = new MpesaConfig.Builder().build();
         }
-
-        this.authService = new AuthService(consumerKey, consumerSecret, config);
         logger.debug("MpesaConfig initialized: {}", config);
 
-        RequestHandler requestHandler = new RequestHandler(this.authService, config);
-        this.c2bService = new C2BServiceImpl(requestHandler, config);
-        this.b2cService = new B2CServiceImpl(requestHandler, config);
-        this.stkPushService = new StkPushServiceImpl(requestHandler, config);
-        this.accountService = new AccountServiceImpl(requestHandler, config);
-        this.transactionService = new TransactionServiceImpl(requestHandler, config);
+        String consumerKey = builder.consumerKey;
+        String consumerSecret = builder.consumerSecret;
+        ObjectMapper sharedMapper = builder.objectMapper;
+        HttpTransport sharedTransport = builder.transport;
+        List<Interceptor> interceptors = List.copyOf(builder.interceptors);
+        List<Interceptor> networkInterceptors = List.copyOf(builder.networkInterceptors);
+        MetricsRecorder metrics = builder.metrics != null ? builder.metrics : MetricsRecorder.NOOP;
+        Tracer tracer = builder.tracer != null ? builder.tracer : Tracer.NOOP;
+        MpesaConfig cfg = config;
 
-        logger.info("MpesaSdk successfully initialized.");
+        this.config = config;
+        this.metrics = metrics;
+        this.objectMapper = new Lazy<>(() -> sharedMapper != null ? sharedMapper : new ObjectMapper());
+        this.transport = new Lazy<>(() -> sharedTransport != null ? sharedTransport : RequestHandler.newTransport(cfg));
+        this.ownsTransport = sharedTransport == null;
+        this.authService = new Lazy<>(() ->
+                new AuthService(consumerKey, consumerSecret, cfg, transport.get(), objectMapper.get(), metrics));
+        this.requestHandler = new Lazy<>(() ->
+                new RequestHandler(authService.get(), cfg, transport.get(), objectMapper.get(),
+                        interceptors, networkInterceptors, metrics, tracer));
+        this.accountService = new Lazy<>(() -> new AccountServiceImpl(requestHandler.get(), cfg, objectMapper.get()));
+        this.b2cService = new Lazy<>(() -> new B2CServiceImpl(requestHandler.get(), cfg, objectMapper.get()));
+        this.c2bService = new Lazy<>(() -> new C2BServiceImpl(requestHandler.get(), cfg, objectMapper.get()));
+        this.stkPushService = new Lazy<>(() -> new StkPushServiceImpl(requestHandler.get(), cfg, objectMapper.get()));
+        this.transactionService = new Lazy<>(() -> new TransactionServiceImpl(requestHandler.get(), cfg, objectMapper.get()));
+        this.timer = new Lazy<>(() -> new HashedTimingWheel("mpesa-timer", 100, TimeUnit.MILLISECONDS, 1024));
+        this.stkPushQueryExecutor = new Lazy<>(MpesaSdk::newStkPushQueryExecutor);
+        this.resultCorrelator = new Lazy<>(() ->
+                new ResultCorrelator(timer.get(), cfg.getResultTimeout(), ForkJoinPool.commonPool(), tracer));
+        this.stkPushPoller = new Lazy<>(() -> new StkPushPoller(stkPushService.get(), timer.get(),
+                stkPushQueryExecutor.get(), tracer, StkPushPoller.DEFAULT_DELAYS_MILLIS));
+        this.balanceCache = new Lazy<>(() ->
+                new BalanceCache(accountService.get(), resultCorrelator.get(), cfg.getBalanceCacheTtl()));
+        this.transactionStatusCache = new Lazy<>(() ->
+                new TransactionStatusCache(transactionService.get(), resultCorrelator.get(), cfg.getTransactionStatusCacheSize()));
+
+        logger.info("MpesaSdk initialized.");
     }
 
     /**
@@ -107,37 +181,100 @@ public class MpesaSdk implements AccountService, B2CService, C2BService, StkPush
      * @throws MpesaNetworkException If there is a network issue.
      */
     public void testAuth() {
-        authService.refreshToken();
+        authService.get().refreshToken();
+    }
+
+    /**
+     * Prepares the SDK to take full traffic, so the first requests after startup are not slowed down by one-off
+     * costs. It fetches an access token, opens {@link MpesaConfig#getWarmUpConnections()} pooled connections to
+     * each configured base URL, and builds the JSON serializers and deserializers for every request, response and
+     * callback type.
+     * <p>
+     * Call it once before the application reports itself ready. Each step is attempted even if an earlier one
+     * fails; failures are logged rather than thrown, since the SDK still works without the warm-up.
+     *
+     * @return {@code true} if every step succeeded.
+     */
+    public boolean warmUp() {
+        long startedAt = System.nanoTime();
+        boolean complete = true;
+
+        ObjectMapper mapper = objectMapper.get();
+        for (Class<?> type : REQUEST_TYPES) {
+            mapper.writerFor(type);
+        }
+        for (Class<?> type : RESPONSE_TYPES) {
+            mapper.readerFor(type);
+        }
+
+        try {
+            authService.get().getAccessToken();
+        } catch (MpesaException e) {
+            logger.warn("Warm-up could not fetch an access token: {}", e.getMessage());
+            complete = false;
+        }
+
+        int connections = config.getWarmUpConnections();
+        int expected = connections * config.getBaseUrls().size();
+        if (requestHandler.get().warmUp(connections) < expected) {
+            complete = false;
+        }
+
+        logger.info("MpesaSdk warm-up {} in {} ms.", complete ? "completed" : "partially completed",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return complete;
     }
 
     /**
      * Checks the account balance for the M-Pesa account.
      *
      * @param request The request object containing the details needed to retrieve the account balance.
+     * @param options The deadline, retry policy, priority, idempotency key and tags for this call.
      * @return The response object containing the account balance information.
      * @throws MpesaUnexpectedResponseException If there is an error while processing the request.
      * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
      * @throws MpesaNetworkException If there is a network issue.
      */
     @Override
-    public AccountBalanceResponse checkAccountBalance(AccountBalanceRequest request) {
+    public AccountBalanceResponse checkAccountBalance(AccountBalanceRequest request, RequestOptions options) {
+        Objects.requireNonNull(request);
+        Objects.requireNonNull(options);
+        return this.accountService.get().checkAccountBalance(request, options);
+    }
+
+    /**
+     * Returns the balance result for the request's shortcode ({@code PartyA}), served from a cache for
+     * {@code balanceCacheTtl} milliseconds. Concurrent calls for the same shortcode share one query, and the
+     * cached balance is dropped whenever this SDK sends a B2C payment or reversal for that shortcode.
+     *
+     * @param request The balance query to send when the cache has no fresh balance.
+     * @return A future completed with the balance result callback, which must be passed to
+     * {@link #handleServiceResult(ServiceResultResponse)} when it arrives.
+     */
+    public CompletableFuture<ServiceResultResponse> getCachedBalance(AccountBalanceRequest request) {
         Objects.requireNonNull(request);
-        return this.accountService.checkAccountBalance(request);
+        return this.balanceCache.get().getBalance(request);
     }
 
     /**
      * Initiates a B2C (Business to Customer) payment.
      *
      * @param request The request object containing the details of the B2C payment to be initiated.
+     * @param options The deadline, retry policy, priority, idempotency key and tags for this call.
      * @return The response object containing the result of the payment initiation.
      * @throws MpesaUnexpectedResponseException If there is an error while processing the payment request.
      * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
      * @throws MpesaNetworkException If there is a network issue.
      */
     @Override
-    public B2CPaymentResponse initiateB2CPayment(B2CPaymentRequest request) {
+    public B2CPaymentResponse initiateB2CPayment(B2CPaymentRequest request, RequestOptions options) {
         Objects.requireNonNull(request);
-        return this.b2cService.initiateB2CPayment(request);
+        Objects.requireNonNull(options);
+        try {
+            return this.b2cService.get().initiateB2CPayment(request, options);
+        } finally {
+            balanceCache.ifCreated(cache -> cache.invalidate(request.getPartyA()));
+        }
     }
 
     /**
@@ -145,45 +282,51 @@ public class MpesaSdk implements AccountService, B2CService, C2BService, StkPush
      *
      * @param request The request object containing the C2B registration details.
      * @param apiKey The API key used as a query parameter for authentication.
+     * @param options The deadline, retry policy, priority, idempotency key and tags for this call.
      * @return The response object indicating the result of the registration.
      * @throws MpesaUnexpectedResponseException If there is an error while processing the registration request.
      * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
      * @throws MpesaNetworkException If there is a network issue.
      */
     @Override
-    public C2BRegisterResponse registerC2B(C2BRegisterRequest request, String apiKey) {
+    public C2BRegisterResponse registerC2B(C2BRegisterRequest request, String apiKey, RequestOptions options) {
         Objects.requireNonNull(request);
-        return this.c2bService.registerC2B(request, apiKey);
+        Objects.requireNonNull(options);
+        return this.c2bService.get().registerC2B(request, apiKey, options);
     }
 
     /**
      * Initiates a C2B (Customer to Business) payment.
      *
      * @param request The request object containing the details of the C2B payment to be initiated.
+     * @param options The deadline, retry policy, priority, idempotency key and tags for this call.
      * @return The response object containing the result of the payment initiation.
      * @throws MpesaUnexpectedResponseException If there is an error while processing the payment request.
      * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
      * @throws MpesaNetworkException If there is a network issue.
      */
     @Override
-    public C2BPaymentResponse initiatePayment(C2BPaymentRequest request) {
+    public C2BPaymentResponse initiatePayment(C2BPaymentRequest request, RequestOptions options) {
         Objects.requireNonNull(request);
-        return this.c2bService.initiatePayment(request);
+        Objects.requireNonNull(options);
+        return this.c2bService.get().initiatePayment(request, options);
     }
 
     /**
      * Simulates a C2B (Customer to Business) payment for testing purposes.
      *
      * @param request The request object containing the details of the C2B payment to be simulated.
+     * @param options The deadline, retry policy, priority, idempotency key and tags for this call.
      * @return The response object containing the result of the simulated payment.
      * @throws MpesaUnexpectedResponseException If there is an error while processing the simulation request.
      * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
      * @throws MpesaNetworkException If there is a network issue.
      */
     @Override
-    public C2BSimulatePaymentResponse simulateC2BPayment(C2BSimulatePaymentRequest request) {
+    public C2BSimulatePaymentResponse simulateC2BPayment(C2BSimulatePaymentRequest request, RequestOptions options) {
         Objects.requireNonNull(request);
-        return this.c2bService.simulateC2BPayment(request);
+        Objects.requireNonNull(options);
+        return this.c2bService.get().simulateC2BPayment(request, options);
     }
 
     /**
@@ -191,45 +334,351 @@ public class MpesaSdk implements AccountService, B2CService, C2BService, StkPush
      * This is typically used for customer-initiated payments via mobile devices.
      *
      * @param request The request object containing the details of the STK push request.
+     * @param options The deadline, retry policy, priority, idempotency key and tags for this call.
      * @return The response object containing the result of the STK push request.
      * @throws MpesaUnexpectedResponseException If there is an error while processing the STK push request.
      * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
      * @throws MpesaNetworkException If there is a network issue.
      */
     @Override
-    public StkPushResponse requestStkPush(StkPushRequest request) {
+    public StkPushResponse requestStkPush(StkPushRequest request, RequestOptions options) {
+        Objects.requireNonNull(request);
+        Objects.requireNonNull(options);
+        return this.stkPushService.get().requestStkPush(request, options);
+    }
+
+    /**
+     * Queries the outcome of an STK push whose callback has not arrived.
+     *
+     * @param request The request object containing the {@code CheckoutRequestID} of the STK push.
+     * @param options The deadline, retry policy, priority, idempotency key and tags for this call.
+     * @return The response object carrying the result of the STK push once the customer has responded.
+     * @throws MpesaUnexpectedResponseException If there is an error while processing the query, including while
+     * M-Pesa is still processing the transaction.
+     * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
+     * @throws MpesaNetworkException If there is a network issue.
+     */
+    @Override
+    public StkPushQueryResponse queryStkPush(StkPushQueryRequest request, RequestOptions options) {
         Objects.requireNonNull(request);
-        return this.stkPushService.requestStkPush(request);
+        Objects.requireNonNull(options);
+        return this.stkPushService.get().queryStkPush(request, options);
     }
 
     /**
      * Checks the status of a specific transaction using its reference number.
      *
      * @param request The request object containing the transaction reference and other necessary details.
+     * @param options The deadline, retry policy, priority, idempotency key and tags for this call.
      * @return The response object containing the status of the transaction.
      * @throws MpesaUnexpectedResponseException If there is an error while processing the transaction status request.
      * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
      * @throws MpesaNetworkException If there is a network issue.
      */
     @Override
-    public TransactionStatusResponse checkTransactionStatus(TransactionStatusRequest request) {
+    public TransactionStatusResponse checkTransactionStatus(TransactionStatusRequest request, RequestOptions options) {
         Objects.requireNonNull(request);
-        return this.transactionService.checkTransactionStatus(request);
+        Objects.requireNonNull(options);
+        return this.transactionService.get().checkTransactionStatus(request, options);
+    }
+
+    /**
+     * Returns the status result of a transaction, waiting for its result callback. Results for transactions that
+     * are {@code Completed}, {@code Failed} or {@code Reversed} are cached, so repeated lookups do not query
+     * M-Pesa again; concurrent calls for the same {@code TransactionID} share one query.
+     *
+     * @param request The status query to send if the transaction's status is not cached.
+     * @return A future completed with the status result callback, which must be passed to
+     * {@link #handleServiceResult(ServiceResultResponse)} when it arrives.
+     */
+    public CompletableFuture<ServiceResultResponse> getCachedTransactionStatus(TransactionStatusRequest request) {
+        Objects.requireNonNull(request);
+        return this.transactionStatusCache.get().getStatus(request);
     }
 
     /**
      * Reverses a previously completed transaction.
      *
      * @param request The request object containing the details of the transaction to be reversed.
+     * @param options The deadline, retry policy, priority, idempotency key and tags for this call.
      * @return The response object containing the result of the reversal operation.
      * @throws MpesaUnexpectedResponseException If there is an error while processing the transaction reversal.
      * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
      * @throws MpesaNetworkException If there is a network issue.
      */
     @Override
-    public TransactionReversalResponse reverseTransaction(TransactionReversalRequest request) {
+    public TransactionReversalResponse reverseTransaction(TransactionReversalRequest request, RequestOptions options) {
         Objects.requireNonNull(request);
-        return this.transactionService.reverseTransaction(request);
+        Objects.requireNonNull(options);
+        try {
+            return this.transactionService.get().reverseTransaction(request, options);
+        } finally {
+            balanceCache.ifCreated(cache -> {
+                cache.invalidate(request.getPartyA());
+                cache.invalidate(request.getReceiverParty());
+            });
+            transactionStatusCache.ifCreated(cache -> cache.invalidate(request.getTransactionID()));
+        }
     }
-}
 
+    /**
+     * Returns a future for the asynchronous result of a B2C payment, transaction status query, reversal or
+     * account balance query. The future completes once the matching callback is passed to
+     * {@link #handleServiceResult(ServiceResultResponse)}, or fails with {@link MpesaTimeoutException}
+     * after the configured result timeout.
+     *
+     * @param acknowledgement The synchronous response returned when the request was accepted.
+     * @return A future completed with the result callback.
+     */
+    public CompletableFuture<ServiceResultResponse> awaitResult(ConversationAcknowledgement acknowledgement) {
+        Objects.requireNonNull(acknowledgement);
+        return this.resultCorrelator.get().register(acknowledgement);
+    }
+
+    /**
+     * Hands a result callback received on a {@code ResultURL} or {@code QueueTimeOutURL} to the SDK,
+     * completing the future returned by {@link #awaitResult(ConversationAcknowledgement)}.
+     *
+     * @param result The deserialized callback body.
+     * @return {@code true} if a pending request was completed; {@code false} if nothing was waiting on it.
+     */
+    public boolean handleServiceResult(ServiceResultResponse result) {
+        // Nothing can be waiting before a result has been awaited, so an early callback does not create the correlator.
+        return this.resultCorrelator.ifCreated(correlator -> correlator.complete(result), false);
+    }
+
+    /**
+     * @return The correlator tracking outstanding asynchronous results.
+     */
+    public ResultCorrelator getResultCorrelator() {
+        return resultCorrelator.get();
+    }
+
+    /**
+     * @return The account balance cache, e.g. to read its hit and miss counters.
+     */
+    public BalanceCache getBalanceCache() {
+        return balanceCache.get();
+    }
+
+    /**
+     * Returns the request metrics recorded so far: per-endpoint call and attempt latency histograms, attempt, retry
+     * and status code counts, bytes sent and received, and token refreshes. Metrics are only recorded when a
+     * {@link MetricsRecorder} is set with {@link Builder#metrics(MetricsRecorder)}, e.g. a
+     * {@link dev.mpesa.sdk.metrics.HistogramMetricsRecorder}.
+     *
+     * @return The metrics snapshot, or {@link MetricsSnapshot#EMPTY} if the recorder keeps none.
+     */
+    public MetricsSnapshot getMetrics() {
+        return metrics.snapshot();
+    }
+
+    /**
+     * @return The transaction status cache, e.g. to read its hit, miss and eviction counters.
+     */
+    public TransactionStatusCache getTransactionStatusCache() {
+        return transactionStatusCache.get();
+    }
+
+    /**
+     * Returns a future for the outcome of an STK push. The future completes when the callback is passed to
+     * {@link #handleStkPushCallback(StkPushCallbackResponse)}; if it is late, the SDK queries M-Pesa at
+     * escalating intervals ({@link StkPushPoller#DEFAULT_DELAYS_MILLIS}) until an outcome is known, and fails
+     * with {@link MpesaTimeoutException} once they are exhausted.
+     *
+     * @param query The query to send if the callback is late, carrying the {@code CheckoutRequestID} returned by
+     *              {@link #requestStkPush(StkPushRequest)}.
+     * @return A future completed with the outcome of the STK push.
+     */
+    public CompletableFuture<StkPushPoller.Outcome> trackStkPush(StkPushQueryRequest query) {
+        Objects.requireNonNull(query);
+        return this.stkPushPoller.get().track(query);
+    }
+
+    /**
+     * Hands an STK push callback received on the {@code CallBackURL} to the SDK, completing the future returned
+     * by {@link #trackStkPush(StkPushQueryRequest)} and cancelling its pending queries.
+     *
+     * @param callback The deserialized callback body.
+     * @return {@code true} if a tracked STK push was completed; {@code false} if nothing was waiting on it.
+     */
+    public boolean handleStkPushCallback(StkPushCallbackResponse callback) {
+        return this.stkPushPoller.ifCreated(poller -> poller.complete(callback), false);
+    }
+
+    /**
+     * @return The poller tracking outstanding STK pushes.
+     */
+    public StkPushPoller getStkPushPoller() {
+        return stkPushPoller.get();
+    }
+
+    /**
+     * Fails any results and STK pushes still being awaited, stops the SDK's background threads and closes the
+     * transport if the SDK created it.
+     */
+    @Override
+    public void close() {
+        stkPushPoller.ifCreated(StkPushPoller::close);
+        resultCorrelator.ifCreated(ResultCorrelator::close);
+        timer.ifCreated(HashedTimingWheel::close);
+        stkPushQueryExecutor.ifCreated(ExecutorService::shutdownNow);
+        if (ownsTransport) {
+            transport.ifCreated(HttpTransport::close);
+        }
+    }
+
+    private static ExecutorService newStkPushQueryExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "mpesa-stk-query-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Builder for {@link MpesaSdk}.
+     * <p>
+     * An HTTP client or transport and an {@link ObjectMapper} can be supplied to share them across several SDK
+     * instances, e.g. short-lived instances in batch workers; otherwise each instance creates its own on first use.
+     */
+    public static class Builder {
+        private String consumerKey;
+        private String consumerSecret;
+        private MpesaConfig config;
+        private HttpTransport transport;
+        private ObjectMapper objectMapper;
+        private final List<Interceptor> interceptors = new ArrayList<>();
+        private final List<Interceptor> networkInterceptors = new ArrayList<>();
+        private MetricsRecorder metrics;
+        private Tracer tracer;
+
+        public Builder consumerKey(String consumerKey) {
+            this.consumerKey = consumerKey;
+            return this;
+        }
+
+        public Builder consumerSecret(String consumerSecret) {
+            this.consumerSecret = consumerSecret;
+            return this;
+        }
+
+        public Builder config(MpesaConfig config) {
+            this.config = config;
+            return this;
+        }
+
+        /**
+         * Sets the HTTP client used for token and API requests. Its timeouts and connection pool are used as is.
+         */
+        public Builder httpClient(OkHttpClient httpClient) {
+            this.transport = new OkHttpTransport(httpClient);
+            return this;
+        }
+
+        /**
+         * Sets the transport used for token and API requests, e.g. a {@link dev.mpesa.sdk.http.JdkHttpTransport}
+         * or one shared with other SDK instances. It overrides {@link MpesaConfig#getTransport()} and is not closed
+         * with the SDK.
+         */
+        public Builder transport(HttpTransport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * Sets the mapper used to serialize requests and deserialize responses. It must not be reconfigured
+         * afterwards.
+         */
+        public Builder objectMapper(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+            return this;
+        }
+
+        /**
+         * Adds an application interceptor, run once per API call around retries and authentication. Interceptors
+         * run in the order they are added.
+         */
+        public Builder interceptor(Interceptor interceptor) {
+            this.interceptors.add(Objects.requireNonNull(interceptor));
+            return this;
+        }
+
+        /**
+         * Adds a network interceptor, run once per attempt with the request exactly as it is sent, including the
+         * {@code Authorization} header and the chosen base URL. Interceptors run in the order they are added.
+         */
+        public Builder networkInterceptor(Interceptor interceptor) {
+            this.networkInterceptors.add(Objects.requireNonNull(interceptor));
+            return this;
+        }
+
+        /**
+         * Sets the recorder for request and token refresh metrics, e.g. a
+         * {@link dev.mpesa.sdk.metrics.HistogramMetricsRecorder} read with {@link MpesaSdk#getMetrics()}. Nothing is
+         * measured without one.
+         */
+        public Builder metrics(MetricsRecorder metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Sets the tracer for API calls, their attempts and the wait for asynchronous results and STK Push
+         * outcomes, e.g. a bridge to your tracing library. Nothing is traced without one.
+         */
+        public Builder tracer(Tracer tracer) {
+            this.tracer = tracer;
+            return this;
+        }
+
+        /**
+         * Builds the SDK. No connections are opened and no threads are started until they are needed.
+         *
+         * @return The SDK.
+         * @throws IllegalArgumentException if either {@code consumerKey} or {@code consumerSecret} is missing.
+         */
+        public MpesaSdk build() {
+            return new MpesaSdk(this);
+        }
+    }
+
+    /**
+     * A component created by its factory on first use and shared afterwards.
+     */
+    private static final class Lazy<T> {
+        private final Supplier<T> factory;
+        private volatile T value;
+
+        Lazy(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        T get() {
+            T current = value;
+            if (current == null) {
+                synchronized (this) {
+                    current = value;
+                    if (current == null) {
+                        current = factory.get();
+                        value = current;
+                    }
+                }
+            }
+            return current;
+        }
+
+        void ifCreated(Consumer<T> action) {
+            T current = value;
+            if (current != null) {
+                action.accept(current);
+            }
+        }
+
+        <R> R ifCreated(Function<T, R> action, R otherwise) {
+            T current = value;
+            return current != null ? action.apply(current) : otherwise;
+        }
+    }
+}
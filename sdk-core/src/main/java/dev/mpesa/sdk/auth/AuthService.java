@@ -7,9 +7,13 @@ import dev.mpesa.sdk.exception.MpesaAuthenticationException;
 import dev.mpesa.sdk.exception.MpesaErrorCode;
 import dev.mpesa.sdk.exception.MpesaNetworkException;
 import dev.mpesa.sdk.exception.MpesaUnexpectedResponseException;
+import dev.mpesa.sdk.http.HttpTransport;
+import dev.mpesa.sdk.http.OkHttpTransport;
+import dev.mpesa.sdk.http.TransportRequest;
+import dev.mpesa.sdk.http.TransportResponse;
+import dev.mpesa.sdk.jfr.TokenRefreshEvent;
+import dev.mpesa.sdk.metrics.MetricsRecorder;
 import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,7 +33,8 @@ public class AuthService {
     private final String consumerSecret;
     private final MpesaConfig config;
     private final ObjectMapper objectMapper;
-    private final OkHttpClient client;
+    private final HttpTransport transport;
+    private final MetricsRecorder metrics;
     private String accessToken;
     private long tokenExpiryTime;
 
@@ -46,7 +51,8 @@ public class AuthService {
         this.config = config;
         this.objectMapper = new ObjectMapper();
         this.tokenExpiryTime = 0;
-        this.client = new OkHttpClient();
+        this.transport = new OkHttpTransport(new OkHttpClient());
+        this.metrics = MetricsRecorder.NOOP;
     }
 
     /**
@@ -63,7 +69,62 @@ public class AuthService {
         this.config = config;
         this.objectMapper = new ObjectMapper();
         this.tokenExpiryTime = 0;
-        this.client = client;
+        this.transport = new OkHttpTransport(client);
+        this.metrics = MetricsRecorder.NOOP;
+    }
+
+    /**
+     * Creates a new instance of AuthService with a custom OkHttpClient and a shared ObjectMapper.
+     *
+     * @param consumerKey    The M-Pesa API consumer key.
+     * @param consumerSecret The M-Pesa API consumer secret.
+     * @param config         The SDK configuration settings.
+     * @param client         The HTTP client to use for API requests.
+     * @param objectMapper   The object mapper used to parse token responses.
+     */
+    public AuthService(String consumerKey, String consumerSecret, MpesaConfig config, OkHttpClient client, ObjectMapper objectMapper) {
+        this.consumerKey = consumerKey;
+        this.consumerSecret = consumerSecret;
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.tokenExpiryTime = 0;
+        this.transport = new OkHttpTransport(client);
+        this.metrics = MetricsRecorder.NOOP;
+    }
+
+    /**
+     * Creates a new instance of AuthService sending token requests through the given transport.
+     *
+     * @param consumerKey    The M-Pesa API consumer key.
+     * @param consumerSecret The M-Pesa API consumer secret.
+     * @param config         The SDK configuration settings.
+     * @param transport      The HTTP transport to use for API requests.
+     * @param objectMapper   The object mapper used to parse token responses.
+     */
+    public AuthService(String consumerKey, String consumerSecret, MpesaConfig config, HttpTransport transport, ObjectMapper objectMapper) {
+        this(consumerKey, consumerSecret, config, transport, objectMapper, MetricsRecorder.NOOP);
+    }
+
+    /**
+     * Creates a new instance of AuthService sending token requests through the given transport and reporting
+     * token refreshes to a metrics recorder.
+     *
+     * @param consumerKey    The M-Pesa API consumer key.
+     * @param consumerSecret The M-Pesa API consumer secret.
+     * @param config         The SDK configuration settings.
+     * @param transport      The HTTP transport to use for API requests.
+     * @param objectMapper   The object mapper used to parse token responses.
+     * @param metrics        The recorder for token refresh metrics.
+     */
+    public AuthService(String consumerKey, String consumerSecret, MpesaConfig config, HttpTransport transport,
+                       ObjectMapper objectMapper, MetricsRecorder metrics) {
+        this.consumerKey = consumerKey;
+        this.consumerSecret = consumerSecret;
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.tokenExpiryTime = 0;
+        this.transport = transport;
+        this.metrics = metrics;
     }
 
     /**
@@ -87,24 +148,40 @@ public class AuthService {
      * @throws MpesaNetworkException              If a network error occurs.
      */
     public synchronized void refreshToken() {
+        TokenRefreshEvent event = new TokenRefreshEvent();
+        event.begin();
+        long startedAt = System.nanoTime();
+        try {
+            fetchToken();
+        } catch (RuntimeException e) {
+            metrics.recordTokenRefresh(System.nanoTime() - startedAt, false);
+            event.complete(e);
+            throw e;
+        }
+        metrics.recordTokenRefresh(System.nanoTime() - startedAt, true);
+        event.complete(null);
+    }
+
+    private void fetchToken() {
         String basicAuth = Base64.getEncoder().encodeToString((consumerKey + ":" + consumerSecret).getBytes());
-        Request request = new Request.Builder()
+        TransportRequest request = new TransportRequest.Builder()
                 .url(config.getAuthUrl())
-                .addHeader("Authorization", "Basic " + basicAuth)
-                .addHeader("Content-Type", "application/json")
+                .header("Authorization", "Basic " + basicAuth)
+                .header("Content-Type", "application/json")
                 .build();
 
-        try (Response response = client.newCall(request).execute()) {
-            if (response.code() == 401) {
+        try {
+            TransportResponse response = transport.execute(request);
+            if (response.getCode() == 401) {
                 logger.error("Authentication failed with M-Pesa: 401 Unauthorized - Invalid API credentials");
-                throw new MpesaAuthenticationException(response.body() != null ? response.body().string() : "",
-                        "Invalid API credentials: " + response.code() + " - " + response.message());
-            } else if (response.body() == null) {
-                logger.error("Unexpected response from M-Pesa: Response body is null");
-                throw new MpesaUnexpectedResponseException(MpesaErrorCode.INVALID_RESPONSE, null, "Response body is null");
+                throw new MpesaAuthenticationException(response.getBodyAsString(),
+                        "Invalid API credentials: " + response.getCode() + " - Unauthorized");
+            } else if (response.getBody().length == 0) {
+                logger.error("Unexpected response from M-Pesa: Response body is empty");
+                throw new MpesaUnexpectedResponseException(MpesaErrorCode.INVALID_RESPONSE, null, "Response body is empty");
             }
 
-            String responseBody = response.body().string();
+            String responseBody = response.getBodyAsString();
             try {
                 TokenResponse tokenResponse = objectMapper.readValue(responseBody, TokenResponse.class);
                 this.accessToken = tokenResponse.getAccessToken();
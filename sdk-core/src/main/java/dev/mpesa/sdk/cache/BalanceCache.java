@@ -0,0 +1,166 @@
+package dev.mpesa.sdk.cache;
+
+import dev.mpesa.sdk.callback.ResultCorrelator;
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.request.AccountBalanceRequest;
+import dev.mpesa.sdk.dto.response.AccountBalanceResponse;
+import dev.mpesa.sdk.exception.MpesaErrorCode;
+import dev.mpesa.sdk.exception.MpesaUnexpectedResponseException;
+import dev.mpesa.sdk.service.AccountService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches account balance results per shortcode ({@code PartyA}).
+ * <p>
+ * A balance query is only acknowledged synchronously; the balance itself arrives later as a
+ * {@link ServiceResultResponse} on the {@code ResultURL}. This cache sends the query, waits for the result through
+ * a {@link ResultCorrelator} and keeps a successful result for a fixed time-to-live. Callers asking for the same
+ * shortcode while a query is in flight share it instead of sending their own.
+ * <p>
+ * Entries should be invalidated whenever money leaves the account. {@link dev.mpesa.sdk.MpesaSdk} does this for
+ * every B2C payment and reversal it sends; applications using this cache on its own should call
+ * {@link #invalidate(String)} themselves.
+ */
+public class BalanceCache {
+    private static final Logger logger = LoggerFactory.getLogger(BalanceCache.class);
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AccountService accountService;
+    private final ResultCorrelator resultCorrelator;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Creates a balance cache.
+     *
+     * @param accountService   the service used to send balance queries
+     * @param resultCorrelator the correlator the balance results are delivered to
+     * @param ttlMillis        how long a balance is served from the cache
+     */
+    public BalanceCache(AccountService accountService, ResultCorrelator resultCorrelator, long ttlMillis) {
+        this(accountService, resultCorrelator, ttlMillis, System::nanoTime);
+    }
+
+    BalanceCache(AccountService accountService, ResultCorrelator resultCorrelator, long ttlMillis, LongSupplier clock) {
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("ttlMillis must not be negative.");
+        }
+        this.accountService = accountService;
+        this.resultCorrelator = resultCorrelator;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the balance result for the request's shortcode, from the cache if it is fresh, from a query already
+     * in flight, or by sending the request.
+     *
+     * @param request the balance query to send on a miss; its {@code PartyA} is the cache key
+     * @return a future completed with the balance result
+     */
+    public CompletableFuture<ServiceResultResponse> getBalance(AccountBalanceRequest request) {
+        String shortCode = request.getPartyA();
+        long now = clock.getAsLong();
+        Entry entry = entries.get(shortCode);
+        if (entry != null && entry.isUsable(now, ttlNanos)) {
+            hits.increment();
+            return entry.future;
+        }
+
+        Entry created = new Entry();
+        Entry winner = entries.compute(shortCode, (key, current) ->
+                current != null && current.isUsable(now, ttlNanos) ? current : created);
+        if (winner != created) {
+            hits.increment();
+            return winner.future;
+        }
+
+        misses.increment();
+        load(shortCode, created, request);
+        return created.future;
+    }
+
+    /**
+     * Drops the cached balance of a shortcode, including any query in flight for it, so the next lookup sends a
+     * new query.
+     *
+     * @param shortCode the shortcode whose balance has changed
+     */
+    public void invalidate(String shortCode) {
+        if (shortCode != null && entries.remove(shortCode) != null) {
+            invalidations.increment();
+            logger.debug("Invalidated cached balance for shortcode {}", shortCode);
+        }
+    }
+
+    /**
+     * Drops every cached balance.
+     */
+    public void invalidateAll() {
+        for (String shortCode : entries.keySet()) {
+            invalidate(shortCode);
+        }
+    }
+
+    /** @return A snapshot of the cache's hit, miss and invalidation counters. */
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), loadFailures.sum(), 0, invalidations.sum(), entries.size());
+    }
+
+    private void load(String shortCode, Entry entry, AccountBalanceRequest request) {
+        CompletableFuture<ServiceResultResponse> result;
+        try {
+            AccountBalanceResponse acknowledgement = accountService.checkAccountBalance(request);
+            if (acknowledgement.isSuccessful()) {
+                result = resultCorrelator.register(acknowledgement);
+            } else {
+                // A rejected query gets no result callback; failing now spares the callers the result timeout.
+                result = CompletableFuture.failedFuture(new MpesaUnexpectedResponseException(
+                        MpesaErrorCode.INVALID_REQUEST, null, "Balance query for shortcode " + shortCode
+                        + " was rejected: " + acknowledgement.getResponseDescription()));
+            }
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((response, error) -> {
+            boolean successful = error == null && response != null && response.result != null && response.result.resultCode == 0;
+            if (successful) {
+                entry.loadedAt = clock.getAsLong();
+            } else {
+                // Failed queries are not cached; the next lookup tries again.
+                loadFailures.increment();
+                entries.remove(shortCode, entry);
+            }
+            if (error != null) {
+                entry.future.completeExceptionally(error);
+            } else {
+                entry.future.complete(response);
+            }
+        });
+    }
+
+    private static final class Entry {
+        final CompletableFuture<ServiceResultResponse> future = new CompletableFuture<>();
+        // Set before the future completes; entries still loading are always usable.
+        volatile long loadedAt;
+
+        boolean isUsable(long now, long ttlNanos) {
+            if (!future.isDone()) {
+                return true;
+            }
+            return !future.isCompletedExceptionally() && now - loadedAt < ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package dev.mpesa.sdk.cache;
+
+/**
+ * An immutable snapshot of a cache's counters.
+ */
+public final class CacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long loadFailureCount;
+    private final long evictionCount;
+    private final long invalidationCount;
+    private final long size;
+
+    public CacheStats(long hitCount, long missCount, long loadFailureCount, long evictionCount, long invalidationCount, long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadFailureCount = loadFailureCount;
+        this.evictionCount = evictionCount;
+        this.invalidationCount = invalidationCount;
+        this.size = size;
+    }
+
+    /** @return Number of lookups answered from the cache, including those that joined a load already in flight. */
+    public long getHitCount() { return hitCount; }
+
+    /** @return Number of lookups that started a load. */
+    public long getMissCount() { return missCount; }
+
+    /** @return Number of loads that failed and were not cached. */
+    public long getLoadFailureCount() { return loadFailureCount; }
+
+    /** @return Number of entries dropped to stay within the cache's capacity. */
+    public long getEvictionCount() { return evictionCount; }
+
+    /** @return Number of entries removed by explicit invalidation. */
+    public long getInvalidationCount() { return invalidationCount; }
+
+    /** @return Number of entries held when the snapshot was taken. */
+    public long getSize() { return size; }
+
+    /** @return Total number of lookups. */
+    public long getRequestCount() { return hitCount + missCount; }
+
+    /** @return Fraction of lookups that were hits, or {@code 1.0} if there were none. */
+    public double getHitRate() {
+        long requests = getRequestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", loadFailureCount=" + loadFailureCount +
+                ", evictionCount=" + evictionCount +
+                ", invalidationCount=" + invalidationCount +
+                ", size=" + size +
+                '}';
+    }
+}
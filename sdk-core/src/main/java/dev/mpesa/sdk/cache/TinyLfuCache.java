@@ -0,0 +1,275 @@
+package dev.mpesa.sdk.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A size-bounded map with a simplified W-TinyLFU eviction policy.
+ * <p>
+ * New entries enter a small LRU admission window (1% of the capacity). Entries leaving the window compete for a
+ * place in the main area, a segmented LRU split into probation and protected segments, against the main area's
+ * eviction victim; whichever a count-min sketch of recent access frequencies rates as used less often is evicted.
+ * One-off lookups therefore cannot flush out entries that are read repeatedly.
+ * <p>
+ * Reads are served from a {@link ConcurrentHashMap} without locking. The policy is updated under a single lock;
+ * a read that finds the lock busy skips its recency update rather than wait, which only makes the policy
+ * slightly less precise.
+ */
+final class TinyLfuCache<K, V> {
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final Node<K, V> window = Node.sentinel();
+    private final Node<K, V> probation = Node.sentinel();
+    private final Node<K, V> protectedSegment = Node.sentinel();
+    private final int windowMax;
+    private final int mainMax;
+    private final int protectedMax;
+    private final LongAdder evictions = new LongAdder();
+
+    private int windowSize;
+    private int probationSize;
+    private int protectedSize;
+
+    TinyLfuCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0.");
+        }
+        this.windowMax = Math.max(1, capacity / 100);
+        this.mainMax = Math.max(1, capacity - windowMax);
+        this.protectedMax = Math.max(1, mainMax * 4 / 5);
+        this.sketch = new FrequencySketch(capacity);
+    }
+
+    V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (lock.tryLock()) {
+            try {
+                if (node.queue >= 0) {
+                    onAccess(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    void put(K key, V value) {
+        lock.lock();
+        try {
+            Node<K, V> existing = data.get(key);
+            if (existing != null) {
+                existing.value = value;
+                onAccess(existing);
+                return;
+            }
+            Node<K, V> node = new Node<>(key, value);
+            data.put(key, node);
+            sketch.increment(key.hashCode());
+            node.queue = WINDOW;
+            linkLast(window, node);
+            windowSize++;
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean remove(K key) {
+        lock.lock();
+        try {
+            Node<K, V> node = data.remove(key);
+            if (node == null) {
+                return false;
+            }
+            detach(node);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            for (Node<K, V> node : data.values()) {
+                detach(node);
+            }
+            data.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        return data.size();
+    }
+
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    private void onAccess(Node<K, V> node) {
+        sketch.increment(node.key.hashCode());
+        switch (node.queue) {
+            case WINDOW:
+                unlink(node);
+                linkLast(window, node);
+                break;
+            case PROBATION:
+                unlink(node);
+                probationSize--;
+                node.queue = PROTECTED;
+                linkLast(protectedSegment, node);
+                protectedSize++;
+                if (protectedSize > protectedMax) {
+                    Node<K, V> demoted = protectedSegment.next;
+                    unlink(demoted);
+                    protectedSize--;
+                    demoted.queue = PROBATION;
+                    linkLast(probation, demoted);
+                    probationSize++;
+                }
+                break;
+            default:
+                unlink(node);
+                linkLast(protectedSegment, node);
+        }
+    }
+
+    private void evict() {
+        // Entries leaving the window become candidates at the tail of probation.
+        while (windowSize > windowMax) {
+            Node<K, V> candidate = window.next;
+            unlink(candidate);
+            windowSize--;
+            candidate.queue = PROBATION;
+            linkLast(probation, candidate);
+            probationSize++;
+        }
+        while (probationSize + protectedSize > mainMax) {
+            Node<K, V> victim = probationSize > 0 ? probation.next : protectedSegment.next;
+            Node<K, V> candidate = probationSize > 1 ? probation.prev : victim;
+            Node<K, V> evicted = victim;
+            if (candidate != victim && sketch.frequency(candidate.key.hashCode()) <= sketch.frequency(victim.key.hashCode())) {
+                evicted = candidate;
+            }
+            data.remove(evicted.key, evicted);
+            detach(evicted);
+            evictions.increment();
+        }
+    }
+
+    private void detach(Node<K, V> node) {
+        if (node.queue < 0) {
+            return;
+        }
+        unlink(node);
+        if (node.queue == WINDOW) {
+            windowSize--;
+        } else if (node.queue == PROBATION) {
+            probationSize--;
+        } else {
+            protectedSize--;
+        }
+        node.queue = -1;
+    }
+
+    private static <K, V> void linkLast(Node<K, V> head, Node<K, V> node) {
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+    }
+
+    private static <K, V> void unlink(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        Node<K, V> prev;
+        Node<K, V> next;
+        // Guarded by the lock; -1 once the node has left the cache.
+        volatile int queue = -1;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        static <K, V> Node<K, V> sentinel() {
+            Node<K, V> head = new Node<>(null, null);
+            head.prev = head;
+            head.next = head;
+            return head;
+        }
+    }
+
+    /**
+     * A count-min sketch of 4-bit counters, four per key, packed sixteen to a {@code long}. All counters are halved
+     * once the number of increments reaches ten times the cache capacity, so old popularity fades.
+     */
+    static final class FrequencySketch {
+        private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            int length = Integer.highestOneBit(Math.max(16, Math.min(capacity, 1 << 24)) - 1) << 1;
+            this.table = new long[length];
+            this.sampleSize = 10 * Math.max(16, capacity);
+        }
+
+        int frequency(int hashCode) {
+            int frequency = 15;
+            for (int depth = 0; depth < SEEDS.length; depth++) {
+                long h = mix(hashCode, depth);
+                int index = (int) h & (table.length - 1);
+                int shift = (int) ((h >>> 32) & 15) << 2;
+                frequency = Math.min(frequency, (int) ((table[index] >>> shift) & 15));
+            }
+            return frequency;
+        }
+
+        void increment(int hashCode) {
+            boolean added = false;
+            for (int depth = 0; depth < SEEDS.length; depth++) {
+                long h = mix(hashCode, depth);
+                int index = (int) h & (table.length - 1);
+                int shift = (int) ((h >>> 32) & 15) << 2;
+                if (((table[index] >>> shift) & 15) < 15) {
+                    table[index] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & RESET_MASK;
+                }
+                additions /= 2;
+            }
+        }
+
+        private static long mix(int hashCode, int depth) {
+            long h = (hashCode + SEEDS[depth]) * SEEDS[depth];
+            return h ^ (h >>> 29);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package dev.mpesa.sdk.cache;
+
+import dev.mpesa.sdk.callback.ResultCorrelator;
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.request.TransactionStatusRequest;
+import dev.mpesa.sdk.dto.response.TransactionStatusResponse;
+import dev.mpesa.sdk.exception.MpesaErrorCode;
+import dev.mpesa.sdk.exception.MpesaUnexpectedResponseException;
+import dev.mpesa.sdk.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches transaction status results per {@code TransactionID}, keeping only those that can no longer change.
+ * <p>
+ * A transaction whose status is {@code Completed}, {@code Failed} or {@code Reversed} stays that way, so its
+ * status result is kept until it is evicted; any other result (a pending transaction, or a query M-Pesa rejected)
+ * is handed to the callers waiting for it and then forgotten. Concurrent lookups for the same transaction share a
+ * single query and its result callback.
+ * <p>
+ * The number of cached results is bounded. When the cache is full, transactions that are looked up rarely are
+ * evicted before those looked up often (see {@link TinyLfuCache}).
+ */
+public class TransactionStatusCache {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionStatusCache.class);
+
+    /** The {@code ResultParameter} key carrying the transaction's status. */
+    public static final String TRANSACTION_STATUS = "TransactionStatus";
+
+    private final TinyLfuCache<String, ServiceResultResponse> terminal;
+    private final ConcurrentHashMap<String, CompletableFuture<ServiceResultResponse>> inFlight = new ConcurrentHashMap<>();
+    private final TransactionService transactionService;
+    private final ResultCorrelator resultCorrelator;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Creates a transaction status cache.
+     *
+     * @param transactionService the service used to send status queries
+     * @param resultCorrelator   the correlator the status results are delivered to
+     * @param maximumSize        the maximum number of terminal results kept
+     */
+    public TransactionStatusCache(TransactionService transactionService, ResultCorrelator resultCorrelator, int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be greater than 0.");
+        }
+        this.transactionService = transactionService;
+        this.resultCorrelator = resultCorrelator;
+        this.terminal = new TinyLfuCache<>(maximumSize);
+    }
+
+    /**
+     * Returns the status result for the request's transaction, from the cache if it is terminal, from a query
+     * already in flight, or by sending the request.
+     *
+     * @param request the status query to send on a miss; its {@code TransactionID} is the cache key
+     * @return a future completed with the status result
+     */
+    public CompletableFuture<ServiceResultResponse> getStatus(TransactionStatusRequest request) {
+        String transactionID = request.getTransactionID();
+        ServiceResultResponse cached = terminal.get(transactionID);
+        if (cached != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<ServiceResultResponse> created = new CompletableFuture<>();
+        CompletableFuture<ServiceResultResponse> existing = inFlight.putIfAbsent(transactionID, created);
+        if (existing != null) {
+            hits.increment();
+            return existing;
+        }
+
+        // A query that finished between the lookup above and claiming the slot may have just stored its result.
+        cached = terminal.get(transactionID);
+        if (cached != null) {
+            inFlight.remove(transactionID, created);
+            hits.increment();
+            created.complete(cached);
+            return created;
+        }
+
+        misses.increment();
+        load(transactionID, created, request);
+        return created;
+    }
+
+    /**
+     * Drops the cached status of a transaction, so the next lookup sends a new query. A query in flight is still
+     * answered, but its result is not cached.
+     *
+     * @param transactionID the transaction whose status has changed, e.g. because it is being reversed
+     */
+    public void invalidate(String transactionID) {
+        if (transactionID == null) {
+            return;
+        }
+        boolean removed = inFlight.remove(transactionID) != null;
+        if (terminal.remove(transactionID) || removed) {
+            invalidations.increment();
+            logger.debug("Invalidated cached status for transaction {}", transactionID);
+        }
+    }
+
+    /**
+     * Drops every cached status.
+     */
+    public void invalidateAll() {
+        inFlight.clear();
+        terminal.clear();
+    }
+
+    /** @return A snapshot of the cache's hit, miss, eviction and invalidation counters. */
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), loadFailures.sum(), terminal.evictionCount(),
+                invalidations.sum(), terminal.size());
+    }
+
+    /**
+     * Tells whether a status result is final: the query succeeded and the transaction is {@code Completed},
+     * {@code Failed} or {@code Reversed}.
+     *
+     * @param response a transaction status result
+     * @return {@code true} if the result will not change when queried again
+     */
+    public static boolean isTerminal(ServiceResultResponse response) {
+        if (response == null || response.result == null || response.result.resultCode != 0
+                || response.result.resultParameters == null) {
+            return false;
+        }
+        String status = response.result.resultParameters.getString(TRANSACTION_STATUS);
+        return "Completed".equalsIgnoreCase(status)
+                || "Failed".equalsIgnoreCase(status)
+                || "Reversed".equalsIgnoreCase(status);
+    }
+
+    private void load(String transactionID, CompletableFuture<ServiceResultResponse> future, TransactionStatusRequest request) {
+        CompletableFuture<ServiceResultResponse> result;
+        try {
+            TransactionStatusResponse acknowledgement = transactionService.checkTransactionStatus(request);
+            if (acknowledgement.isSuccessful()) {
+                result = resultCorrelator.register(acknowledgement);
+            } else {
+                // A rejected query gets no result callback; failing now spares the lookups the result timeout.
+                result = CompletableFuture.failedFuture(new MpesaUnexpectedResponseException(
+                        MpesaErrorCode.INVALID_REQUEST, null, "Status query for transaction " + transactionID
+                        + " was rejected: " + acknowledgement.getResponseDescription()));
+            }
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((response, error) -> {
+            // Only store the result if the slot was not invalidated while the query was in flight.
+            boolean current = inFlight.get(transactionID) == future;
+            if (error == null && isTerminal(response)) {
+                if (current) {
+                    terminal.put(transactionID, response);
+                }
+            } else if (error != null || response == null || response.result == null || response.result.resultCode != 0) {
+                loadFailures.increment();
+            }
+            inFlight.remove(transactionID, future);
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(response);
+            }
+        });
+    }
+}
@@ -0,0 +1,316 @@
+package dev.mpesa.sdk.callback;
+
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.callback.StkPushCallbackResponse;
+import dev.mpesa.sdk.dto.callback.ValidationConfirmationRequest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Drops callbacks M-Pesa has already delivered once.
+ * <p>
+ * M-Pesa redelivers callbacks it believes were not received, so the same {@code TransID},
+ * {@code CheckoutRequestID} or {@code TransactionID} can arrive more than once. This filter remembers the IDs it
+ * has seen for a configurable window using bounded memory:
+ * <ul>
+ *     <li>an exact, lock-striped LRU of the most recent IDs, which makes concurrent redeliveries of the same
+ *     callback race-free, and</li>
+ *     <li>a ring of Bloom filters, each covering a slice of the window, that remembers older IDs in a few bits
+ *     apiece. The oldest filter is cleared as time moves on, so memory does not grow with traffic.</li>
+ * </ul>
+ * IDs that have fallen out of the LRU are checked against every live Bloom filter, so each filter is sized for a
+ * share of the configured false-positive probability; together they report a brand-new ID as a duplicate with at
+ * most that probability while traffic stays within {@code expectedPerWindow}. Size it generously.
+ */
+public class CallbackDeduplicator {
+    private static final int STRIPES = 64;
+    private static final int GENERATIONS = 4;
+
+    private final LongSupplier clock;
+    private final long windowMillis;
+    private final long sliceMillis;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final Generation[] generations = new Generation[GENERATIONS];
+
+    private final LongAdder unique = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+
+    /**
+     * Creates a deduplicator remembering one hour of callbacks, sized for a million callbacks per hour with a
+     * one-in-a-million false-positive rate and the last 100,000 IDs held exactly.
+     */
+    public CallbackDeduplicator() {
+        this(Duration.ofHours(1), 1_000_000, 1e-6, 100_000);
+    }
+
+    /**
+     * Creates a deduplicator.
+     *
+     * @param window            how long an ID is remembered (at least)
+     * @param expectedPerWindow the number of distinct callbacks expected within one window
+     * @param falsePositiveRate the acceptable probability of treating a new ID as a duplicate
+     * @param recentCapacity    how many of the most recent IDs are remembered exactly
+     */
+    public CallbackDeduplicator(Duration window, int expectedPerWindow, double falsePositiveRate, int recentCapacity) {
+        this(window, expectedPerWindow, falsePositiveRate, recentCapacity, System::currentTimeMillis);
+    }
+
+    CallbackDeduplicator(Duration window, int expectedPerWindow, double falsePositiveRate, int recentCapacity, LongSupplier clock) {
+        if (window.toMillis() < GENERATIONS) {
+            throw new IllegalArgumentException("window must be at least " + GENERATIONS + " ms.");
+        }
+        if (expectedPerWindow <= 0 || recentCapacity <= 0) {
+            throw new IllegalArgumentException("expectedPerWindow and recentCapacity must be greater than 0.");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1.");
+        }
+        this.clock = clock;
+        this.windowMillis = window.toMillis();
+        // Each generation covers a slice; with one generation always filling, the others span the full window.
+        this.sliceMillis = windowMillis / (GENERATIONS - 1);
+
+        int perStripe = Math.max(1, recentCapacity / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        int perGeneration = Math.max(1, expectedPerWindow / (GENERATIONS - 1));
+        // A new ID is checked against up to GENERATIONS filters, and their false positives add up.
+        double perGenerationRate = falsePositiveRate / GENERATIONS;
+        for (int i = 0; i < GENERATIONS; i++) {
+            generations[i] = new Generation(new BloomFilter(perGeneration, perGenerationRate));
+        }
+    }
+
+    /**
+     * Records the ID and reports whether this is the first time it has been seen within the window.
+     *
+     * @param id the callback's unique ID
+     * @return {@code true} if the callback should be processed; {@code false} if it is a duplicate
+     */
+    public boolean firstSeen(String id) {
+        if (id == null || id.isEmpty()) {
+            // Nothing to deduplicate on, let it through.
+            return true;
+        }
+        long now = clock.getAsLong();
+        long hash = hash(id);
+        Stripe stripe = stripes[(int) (hash >>> 58) & (STRIPES - 1)];
+
+        // An ID always maps to the same stripe, so holding its lock across the Bloom check and insert keeps
+        // concurrent redeliveries from both getting through, even when the LRU evicts the ID in between.
+        synchronized (stripe) {
+            Long seenAt = stripe.get(id);
+            if (seenAt != null && now - seenAt < windowMillis) {
+                duplicates.increment();
+                return false;
+            }
+            stripe.put(id, now);
+            if (seenAt == null && seenBefore(hash, now / sliceMillis)) {
+                duplicates.increment();
+                return false;
+            }
+            current(now / sliceMillis).filter.add(hash);
+        }
+        unique.increment();
+        return true;
+    }
+
+    private boolean seenBefore(long hash, long epoch) {
+        for (Generation generation : generations) {
+            long age = epoch - generation.epoch;
+            if (age >= 0 && age < GENERATIONS && generation.filter.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** @return {@code true} if the STK Push callback should be processed. */
+    public boolean firstSeen(StkPushCallbackResponse callback) {
+        return firstSeen(keyOf(callback));
+    }
+
+    /** @return {@code true} if the result callback should be processed. */
+    public boolean firstSeen(ServiceResultResponse callback) {
+        return firstSeen(keyOf(callback));
+    }
+
+    /** @return {@code true} if the C2B confirmation should be processed. */
+    public boolean firstSeen(ValidationConfirmationRequest confirmation) {
+        return firstSeen(keyOf(confirmation));
+    }
+
+    /** @return {@code true} if the scanned callback should be processed. */
+    public boolean firstSeen(CallbackEnvelope envelope) {
+        return firstSeen(keyOf(envelope));
+    }
+
+    /** @return Number of callbacks let through as new. */
+    public long getUniqueCount() { return unique.sum(); }
+
+    /** @return Number of callbacks dropped as duplicates. */
+    public long getDuplicateCount() { return duplicates.sum(); }
+
+    /**
+     * @return The deduplication key of an STK Push callback, derived from its {@code CheckoutRequestID}.
+     */
+    public static String keyOf(StkPushCallbackResponse callback) {
+        if (callback == null || callback.body == null || callback.body.stkCallback == null) {
+            return null;
+        }
+        return prefixed("stk:", callback.body.stkCallback.checkoutRequestID);
+    }
+
+    /**
+     * @return The deduplication key of a result callback, derived from its {@code TransactionID}, or its
+     * {@code ConversationID} for results that carry no transaction.
+     */
+    public static String keyOf(ServiceResultResponse callback) {
+        if (callback == null || callback.result == null) {
+            return null;
+        }
+        String transactionID = callback.result.transactionID;
+        if (transactionID != null && !transactionID.isEmpty()) {
+            return "result:" + transactionID;
+        }
+        return prefixed("result:", callback.result.conversationID);
+    }
+
+    /**
+     * @return The deduplication key of a C2B confirmation, derived from its {@code TransID}.
+     */
+    public static String keyOf(ValidationConfirmationRequest confirmation) {
+        return confirmation == null ? null : prefixed("c2b:", confirmation.transID);
+    }
+
+    /**
+     * @return The deduplication key of a scanned callback; the same key {@code keyOf} gives for the decoded DTO.
+     */
+    public static String keyOf(CallbackEnvelope envelope) {
+        if (envelope == null) {
+            return null;
+        }
+        if (envelope.checkoutRequestID() != null) {
+            return prefixed("stk:", envelope.checkoutRequestID());
+        }
+        if (envelope.transactionID() != null && !envelope.transactionID().isEmpty()) {
+            return "result:" + envelope.transactionID();
+        }
+        if (envelope.conversationID() != null) {
+            return prefixed("result:", envelope.conversationID());
+        }
+        return prefixed("c2b:", envelope.transID());
+    }
+
+    private static String prefixed(String prefix, String id) {
+        return id == null || id.isEmpty() ? null : prefix + id;
+    }
+
+    private Generation current(long epoch) {
+        Generation generation = generations[(int) (epoch % GENERATIONS)];
+        if (generation.epoch != epoch) {
+            synchronized (generation) {
+                if (generation.epoch != epoch) {
+                    generation.filter.clear();
+                    generation.epoch = epoch;
+                }
+            }
+        }
+        return generation;
+    }
+
+    private static long hash(String id) {
+        // FNV-1a over the UTF-16 chars followed by a MurmurHash3 finalizer.
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            h ^= id.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Long> {
+        private final int capacity;
+
+        Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private static final class Generation {
+        final BloomFilter filter;
+        volatile long epoch = Long.MIN_VALUE;
+
+        Generation(BloomFilter filter) {
+            this.filter = filter;
+        }
+    }
+
+    /**
+     * Lock-free Bloom filter over pre-hashed 64-bit keys.
+     */
+    private static final class BloomFilter {
+        private final AtomicLongArray bits;
+        private final long numBits;
+        private final int numHashes;
+
+        BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) >>> 6);
+            this.bits = new AtomicLongArray(Math.max(1, words));
+            this.numBits = (long) bits.length() << 6;
+            this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+        }
+
+        void add(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= numHashes; i++) {
+                long index = ((h1 + (long) i * h2) & Long.MAX_VALUE) % numBits;
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long current;
+                while (((current = bits.get(word)) & mask) == 0) {
+                    if (bits.compareAndSet(word, current, current | mask)) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= numHashes; i++) {
+                long index = ((h1 + (long) i * h2) & Long.MAX_VALUE) % numBits;
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void clear() {
+            for (int i = 0; i < bits.length(); i++) {
+                bits.set(i, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package dev.mpesa.sdk.callback;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.callback.StkPushCallbackResponse;
+import dev.mpesa.sdk.dto.callback.ValidationConfirmationRequest;
+
+import java.io.IOException;
+
+/**
+ * A received callback body together with the few fields needed to route it.
+ * <p>
+ * {@link #parse(byte[])} makes a single streaming pass over the JSON tokens, checking that the body is
+ * well-formed and picking out the correlation IDs and {@code ResultCode} wherever they are nested, without
+ * building an object tree. Binding to the full callback DTO is deferred until {@link #decode(ObjectReader)}
+ * (or one of its typed shortcuts) is called, typically on a worker thread after M-Pesa has been acknowledged.
+ * <p>
+ * The first occurrence of each field wins. Field names are matched exactly, so {@code Key}/{@code Value}
+ * parameter entries with the same names are not mistaken for them.
+ */
+public final class CallbackEnvelope {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final ObjectMapper DEFAULT_MAPPER = new ObjectMapper();
+    private static final ObjectReader STK_PUSH_READER = DEFAULT_MAPPER.readerFor(StkPushCallbackResponse.class);
+    private static final ObjectReader SERVICE_RESULT_READER = DEFAULT_MAPPER.readerFor(ServiceResultResponse.class);
+    private static final ObjectReader C2B_READER = DEFAULT_MAPPER.readerFor(ValidationConfirmationRequest.class);
+
+    private final byte[] body;
+    private String checkoutRequestID;
+    private String conversationID;
+    private String originatorConversationID;
+    private String transactionID;
+    private String transID;
+    private boolean hasResultCode;
+    private int resultCode;
+
+    private volatile Object decoded;
+
+    private CallbackEnvelope(byte[] body) {
+        this.body = body;
+    }
+
+    /**
+     * Scans a callback body.
+     *
+     * @param body the raw request body; it is not copied and must not be modified afterwards
+     * @return the envelope
+     * @throws IOException if the body is not a well-formed JSON object
+     */
+    public static CallbackEnvelope parse(byte[] body) throws IOException {
+        CallbackEnvelope envelope = new CallbackEnvelope(body);
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Callback body is not a JSON object");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME) {
+                    envelope.capture(parser);
+                }
+            }
+        }
+        return envelope;
+    }
+
+    private void capture(JsonParser parser) throws IOException {
+        switch (parser.currentName()) {
+            case "CheckoutRequestID":
+                if (checkoutRequestID == null) checkoutRequestID = scalar(parser);
+                break;
+            case "ConversationID":
+                if (conversationID == null) conversationID = scalar(parser);
+                break;
+            case "OriginatorConversationID":
+                if (originatorConversationID == null) originatorConversationID = scalar(parser);
+                break;
+            case "TransactionID":
+                if (transactionID == null) transactionID = scalar(parser);
+                break;
+            case "TransID":
+                if (transID == null) transID = scalar(parser);
+                break;
+            case "ResultCode":
+                if (!hasResultCode) captureResultCode(parser);
+                break;
+            default:
+                // Other fields are left to the token loop, which steps through their values.
+        }
+    }
+
+    private static String scalar(JsonParser parser) throws IOException {
+        JsonToken value = parser.nextToken();
+        return value != null && value.isScalarValue() && value != JsonToken.VALUE_NULL ? parser.getText() : null;
+    }
+
+    private void captureResultCode(JsonParser parser) throws IOException {
+        JsonToken value = parser.nextToken();
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            resultCode = parser.getIntValue();
+            hasResultCode = true;
+        } else if (value == JsonToken.VALUE_STRING) {
+            // C2B responses carry the code as a string, e.g. "0" or "C2B00011"; only numeric ones are kept.
+            String text = parser.getText();
+            int code = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9' || i >= 9) {
+                    return;
+                }
+                code = code * 10 + (c - '0');
+            }
+            if (!text.isEmpty()) {
+                resultCode = code;
+                hasResultCode = true;
+            }
+        }
+    }
+
+    /** @return The raw callback body. The array is shared, not copied. */
+    public byte[] body() { return body; }
+
+    /**
+     * @return The ID used to correlate the callback with its request: the {@code CheckoutRequestID} of an STK
+     * Push callback, the {@code ConversationID} of a result, or the {@code TransID} of a C2B callback;
+     * {@code null} if none is present.
+     */
+    public String correlationId() {
+        if (checkoutRequestID != null) {
+            return checkoutRequestID;
+        }
+        return conversationID != null ? conversationID : transID;
+    }
+
+    /** @return The STK Push {@code CheckoutRequestID}, or {@code null}. */
+    public String checkoutRequestID() { return checkoutRequestID; }
+
+    /** @return The result {@code ConversationID}, or {@code null}. */
+    public String conversationID() { return conversationID; }
+
+    /** @return The result {@code OriginatorConversationID}, or {@code null}. */
+    public String originatorConversationID() { return originatorConversationID; }
+
+    /** @return The result {@code TransactionID}, or {@code null}. */
+    public String transactionID() { return transactionID; }
+
+    /** @return The C2B {@code TransID}, or {@code null}. */
+    public String transID() { return transID; }
+
+    /** @return {@code true} if a numeric {@code ResultCode} was found. */
+    public boolean hasResultCode() { return hasResultCode; }
+
+    /** @return The {@code ResultCode}, or {@code 0} if {@link #hasResultCode()} is {@code false}. */
+    public int resultCode() { return resultCode; }
+
+    /** @return {@code true} if the callback reports success ({@code ResultCode} 0). */
+    public boolean isSuccessful() { return hasResultCode && resultCode == 0; }
+
+    /**
+     * Binds the body to a callback DTO. The result is kept, so decoding again with a reader for the same type
+     * returns the same instance.
+     *
+     * @param reader a reader configured for the target type
+     * @return the decoded callback
+     * @throws IOException if the body does not match the target type
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T decode(ObjectReader reader) throws IOException {
+        Object current = decoded;
+        if (current != null && reader.getValueType().getRawClass() == current.getClass()) {
+            return (T) current;
+        }
+        T value = reader.readValue(body);
+        decoded = value;
+        return value;
+    }
+
+    /** @return The body decoded as an STK Push callback. */
+    public StkPushCallbackResponse stkPush() throws IOException {
+        return decode(STK_PUSH_READER);
+    }
+
+    /** @return The body decoded as a result callback. */
+    public ServiceResultResponse serviceResult() throws IOException {
+        return decode(SERVICE_RESULT_READER);
+    }
+
+    /** @return The body decoded as a C2B validation or confirmation request. */
+    public ValidationConfirmationRequest validationConfirmation() throws IOException {
+        return decode(C2B_READER);
+    }
+}
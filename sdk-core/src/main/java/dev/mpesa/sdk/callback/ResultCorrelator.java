@@ -0,0 +1,267 @@
+package dev.mpesa.sdk.callback;
+
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.response.ConversationAcknowledgement;
+import dev.mpesa.sdk.exception.MpesaException;
+import dev.mpesa.sdk.exception.MpesaTimeoutException;
+import dev.mpesa.sdk.tracing.Span;
+import dev.mpesa.sdk.tracing.Tracer;
+import dev.mpesa.sdk.tracing.TracingContext;
+import dev.mpesa.sdk.util.HashedTimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Matches asynchronous {@link ServiceResultResponse} callbacks back to the requests that caused them.
+ * <p>
+ * B2C payments, transaction status queries, reversals and balance queries are only acknowledged synchronously;
+ * the outcome is posted later to the request's {@code ResultURL} (or {@code QueueTimeOutURL}). Registering the
+ * acknowledgement here returns a future that completes when the application hands the matching callback to
+ * {@link #complete(ServiceResultResponse)}, keyed by {@code ConversationID} and {@code OriginatorConversationID}.
+ * <p>
+ * Deadlines are tracked on a single {@link HashedTimingWheel} rather than one scheduled task per request, so
+ * the cost of waiting on a large number of outstanding results stays flat. A future whose result does not
+ * arrive in time completes exceptionally with a {@link MpesaTimeoutException}.
+ * <p>
+ * With a {@link Tracer}, each wait is traced as a {@code mpesa.result.await} span under the span current when it
+ * was registered, and that span is made current again while the future is completed.
+ */
+public class ResultCorrelator implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ResultCorrelator.class);
+
+    private final Map<String, PendingResult> pending = new ConcurrentHashMap<>();
+    private final HashedTimingWheel timer;
+    private final boolean ownsTimer;
+    private final long defaultTimeoutMillis;
+    private final Executor timeoutExecutor;
+    private final Tracer tracer;
+
+    /**
+     * Creates a correlator with its own timing wheel (100 ms ticks) that times out futures on the common pool.
+     *
+     * @param defaultTimeoutMillis how long to wait for a result when no explicit timeout is given
+     */
+    public ResultCorrelator(long defaultTimeoutMillis) {
+        this(new HashedTimingWheel("mpesa-result-timer", 100, TimeUnit.MILLISECONDS, 1024),
+                true, defaultTimeoutMillis, ForkJoinPool.commonPool(), Tracer.NOOP);
+    }
+
+    /**
+     * Creates a correlator on a shared timing wheel. The wheel is not closed by {@link #close()}.
+     *
+     * @param timer                the timing wheel used to track deadlines
+     * @param defaultTimeoutMillis how long to wait for a result when no explicit timeout is given
+     * @param timeoutExecutor      the executor that completes timed-out futures, keeping dependent stages
+     *                             off the timer thread
+     */
+    public ResultCorrelator(HashedTimingWheel timer, long defaultTimeoutMillis, Executor timeoutExecutor) {
+        this(timer, false, defaultTimeoutMillis, timeoutExecutor, Tracer.NOOP);
+    }
+
+    /**
+     * Creates a correlator on a shared timing wheel that traces each wait. The wheel is not closed by
+     * {@link #close()}.
+     *
+     * @param timer                the timing wheel used to track deadlines
+     * @param defaultTimeoutMillis how long to wait for a result when no explicit timeout is given
+     * @param timeoutExecutor      the executor that completes timed-out futures, keeping dependent stages
+     *                             off the timer thread
+     * @param tracer               the tracer starting a span per awaited result
+     */
+    public ResultCorrelator(HashedTimingWheel timer, long defaultTimeoutMillis, Executor timeoutExecutor, Tracer tracer) {
+        this(timer, false, defaultTimeoutMillis, timeoutExecutor, tracer);
+    }
+
+    private ResultCorrelator(HashedTimingWheel timer, boolean ownsTimer, long defaultTimeoutMillis, Executor timeoutExecutor,
+                             Tracer tracer) {
+        if (defaultTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("defaultTimeoutMillis must be greater than 0.");
+        }
+        this.timer = timer;
+        this.ownsTimer = ownsTimer;
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        this.timeoutExecutor = timeoutExecutor;
+        this.tracer = tracer;
+    }
+
+    /**
+     * Waits for the result of an acknowledged request using the default timeout.
+     *
+     * @param acknowledgement the synchronous response returned by the M-Pesa API
+     * @return a future that completes with the result callback
+     */
+    public CompletableFuture<ServiceResultResponse> register(ConversationAcknowledgement acknowledgement) {
+        return register(acknowledgement.getConversationID(), acknowledgement.getOriginatorConversationID(), defaultTimeoutMillis);
+    }
+
+    /**
+     * Waits for the result carrying either of the given IDs. Registering an ID that is already pending returns
+     * the existing future.
+     *
+     * @param conversationID           the {@code ConversationID} assigned by M-Pesa, may be null
+     * @param originatorConversationID the {@code OriginatorConversationID} of the request, may be null
+     * @param timeoutMillis            how long to wait before failing the future
+     * @return a future that completes with the result callback
+     * @throws IllegalArgumentException if both IDs are empty
+     */
+    public CompletableFuture<ServiceResultResponse> register(String conversationID, String originatorConversationID, long timeoutMillis) {
+        boolean hasConversationID = conversationID != null && !conversationID.isEmpty();
+        boolean hasOriginatorID = originatorConversationID != null && !originatorConversationID.isEmpty();
+        if (!hasConversationID && !hasOriginatorID) {
+            throw new IllegalArgumentException("ConversationID or OriginatorConversationID is required to await a result.");
+        }
+
+        PendingResult entry = new PendingResult(hasConversationID ? conversationID : null, hasOriginatorID ? originatorConversationID : null,
+                tracer != Tracer.NOOP ? TracingContext.current() : null);
+        // The span is started before the entry is published: a result can arrive and release the entry as soon
+        // as it is in the map.
+        if (tracer != Tracer.NOOP) {
+            entry.span = tracer.startSpan("mpesa.result.await", entry.parent)
+                    .setAttribute("mpesa.conversation_id", entry.conversationID)
+                    .setAttribute("mpesa.originator_conversation_id", entry.originatorConversationID);
+        }
+        if (entry.conversationID != null) {
+            PendingResult existing = pending.putIfAbsent(entry.conversationID, entry);
+            if (existing != null) {
+                abandon(entry);
+                return existing.future;
+            }
+        }
+        if (entry.originatorConversationID != null) {
+            PendingResult existing = pending.putIfAbsent(entry.originatorConversationID, entry);
+            if (existing != null) {
+                if (entry.conversationID != null) {
+                    pending.remove(entry.conversationID, entry);
+                }
+                abandon(entry);
+                return existing.future;
+            }
+        }
+
+        String id = entry.conversationID != null ? entry.conversationID : entry.originatorConversationID;
+        entry.timeout = timer.schedule(() -> timeoutExecutor.execute(() -> completeInContext(entry, () ->
+                entry.future.completeExceptionally(new MpesaTimeoutException(id,
+                        "No result received for " + id + " within " + timeoutMillis + " ms.")))),
+                timeoutMillis, TimeUnit.MILLISECONDS);
+        entry.future.whenComplete((result, error) -> release(entry, result, error));
+        logger.debug("Awaiting result for ConversationID: {}, OriginatorConversationID: {}", conversationID, originatorConversationID);
+        return entry.future;
+    }
+
+    /**
+     * Completes the future waiting on this result, if any. Call this from the {@code ResultURL} and
+     * {@code QueueTimeOutURL} handlers.
+     *
+     * @param result the deserialized callback body
+     * @return {@code true} if a pending request was completed; {@code false} if the result was not awaited
+     *         (already completed, timed out, or never registered)
+     */
+    public boolean complete(ServiceResultResponse result) {
+        if (result == null || result.result == null) {
+            return false;
+        }
+        PendingResult entry = lookup(result.result.conversationID);
+        if (entry == null) {
+            entry = lookup(result.result.originatorConversationID);
+        }
+        if (entry == null) {
+            logger.debug("No pending request for result with ConversationID: {}", result.result.conversationID);
+            return false;
+        }
+        PendingResult found = entry;
+        return completeInContext(found, () -> found.future.complete(result));
+    }
+
+    /** @return The number of results currently being awaited. */
+    public int pendingCount() {
+        int count = 0;
+        for (Map.Entry<String, PendingResult> e : pending.entrySet()) {
+            PendingResult entry = e.getValue();
+            // Entries registered under both IDs are counted once.
+            if (e.getKey().equals(entry.conversationID != null ? entry.conversationID : entry.originatorConversationID)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Fails every outstanding future and, if the correlator created its own timing wheel, stops it.
+     */
+    @Override
+    public void close() {
+        for (PendingResult entry : pending.values()) {
+            entry.future.completeExceptionally(new MpesaException("Result correlator closed before a result was received."));
+        }
+        if (ownsTimer) {
+            timer.close();
+        }
+    }
+
+    private PendingResult lookup(String id) {
+        return id == null ? null : pending.get(id);
+    }
+
+    /** Completes a future with the span current at registration, so dependent stages continue its trace. */
+    private boolean completeInContext(PendingResult entry, BooleanSupplier completion) {
+        if (tracer == Tracer.NOOP) {
+            return completion.getAsBoolean();
+        }
+        try (TracingContext.Scope ignored = TracingContext.makeCurrent(entry.parent)) {
+            return completion.getAsBoolean();
+        }
+    }
+
+    /** Ends the span of an entry that lost the race to an already pending one and was never awaited. */
+    private static void abandon(PendingResult entry) {
+        Span span = entry.span;
+        if (span != null) {
+            span.end();
+        }
+    }
+
+    private void release(PendingResult entry, ServiceResultResponse result, Throwable error) {
+        if (entry.conversationID != null) {
+            pending.remove(entry.conversationID, entry);
+        }
+        if (entry.originatorConversationID != null) {
+            pending.remove(entry.originatorConversationID, entry);
+        }
+        HashedTimingWheel.Timeout timeout = entry.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        Span span = entry.span;
+        if (span != null) {
+            if (result != null) {
+                span.setAttribute("mpesa.result_code", result.result.resultCode);
+            } else {
+                span.recordError(error);
+            }
+            span.end();
+        }
+    }
+
+    private static final class PendingResult {
+        final String conversationID;
+        final String originatorConversationID;
+        final CompletableFuture<ServiceResultResponse> future = new CompletableFuture<>();
+        volatile HashedTimingWheel.Timeout timeout;
+        final Span parent;
+        volatile Span span;
+
+        PendingResult(String conversationID, String originatorConversationID, Span parent) {
+            this.conversationID = conversationID;
+            this.originatorConversationID = originatorConversationID;
+            this.parent = parent;
+        }
+    }
+}
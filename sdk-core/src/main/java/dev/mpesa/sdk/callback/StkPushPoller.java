@@ -0,0 +1,414 @@
+package dev.mpesa.sdk.callback;
+
+import dev.mpesa.sdk.dto.callback.StkPushCallbackResponse;
+import dev.mpesa.sdk.dto.request.StkPushQueryRequest;
+import dev.mpesa.sdk.dto.response.MpesaErrorResponse;
+import dev.mpesa.sdk.dto.response.StkPushQueryResponse;
+import dev.mpesa.sdk.exception.MpesaException;
+import dev.mpesa.sdk.exception.MpesaHttpException;
+import dev.mpesa.sdk.exception.MpesaNetworkException;
+import dev.mpesa.sdk.exception.MpesaTimeoutException;
+import dev.mpesa.sdk.exception.MpesaUnexpectedResponseException;
+import dev.mpesa.sdk.service.StkPushService;
+import dev.mpesa.sdk.tracing.Span;
+import dev.mpesa.sdk.tracing.Tracer;
+import dev.mpesa.sdk.tracing.TracingContext;
+import dev.mpesa.sdk.util.HashedTimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Resolves STK Push prompts whose callback never arrives.
+ * <p>
+ * Each tracked {@code CheckoutRequestID} gets a future and a schedule of escalating delays. When a delay
+ * elapses without the callback having been passed to {@link #complete(StkPushCallbackResponse)}, the poller
+ * queries M-Pesa for the outcome. If M-Pesa answers that the transaction is still being processed, or the query
+ * fails on the network or with a server error, the next delay is scheduled; any other failure, such as a rejected
+ * token or an invalid password, fails the future with the query's exception. Whichever arrives first, the callback
+ * or a conclusive query, completes the future and cancels the rest of the schedule. Once the schedule is exhausted
+ * the future fails with a {@link MpesaTimeoutException}.
+ * <p>
+ * All delays are tracked on a single {@link HashedTimingWheel}, so a large number of pending prompts costs one
+ * timer thread and a small entry each. The queries themselves run on a separate executor.
+ * <p>
+ * With a {@link Tracer}, each prompt is traced as a {@code mpesa.stk_push.track} span under the span current when
+ * it was tracked. Its queries run with that span current, and the span they were tracked under is made current
+ * again while the future is completed.
+ */
+public class StkPushPoller implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(StkPushPoller.class);
+
+    private static final String STILL_PROCESSING_ERROR_CODE = "500.001.1001";
+
+    /** Default delays between queries: 15 s, 30 s, 1 min, 2 min and 4 min. */
+    public static final long[] DEFAULT_DELAYS_MILLIS = {15_000, 30_000, 60_000, 120_000, 240_000};
+
+    private final Map<String, PendingPrompt> pending = new ConcurrentHashMap<>();
+    private final StkPushService stkPushService;
+    private final HashedTimingWheel timer;
+    private final Executor queryExecutor;
+    private final boolean ownsResources;
+    private final long[] delaysMillis;
+    private final Tracer tracer;
+
+    /**
+     * Creates a poller with its own timing wheel and four query threads, using {@link #DEFAULT_DELAYS_MILLIS}.
+     *
+     * @param stkPushService the service used to query M-Pesa
+     */
+    public StkPushPoller(StkPushService stkPushService) {
+        this(stkPushService, new HashedTimingWheel("mpesa-stk-poller-timer", 100, TimeUnit.MILLISECONDS, 1024),
+                newQueryExecutor(4), true, Tracer.NOOP, DEFAULT_DELAYS_MILLIS);
+    }
+
+    /**
+     * Creates a poller on a shared timing wheel and executor. Neither is shut down by {@link #close()}.
+     *
+     * @param stkPushService the service used to query M-Pesa
+     * @param timer          the timing wheel used to schedule queries
+     * @param queryExecutor  the executor that runs the (blocking) queries
+     * @param delaysMillis   the delay before each query, in milliseconds
+     */
+    public StkPushPoller(StkPushService stkPushService, HashedTimingWheel timer, Executor queryExecutor, long... delaysMillis) {
+        this(stkPushService, timer, queryExecutor, false, Tracer.NOOP, delaysMillis);
+    }
+
+    /**
+     * Creates a poller on a shared timing wheel and executor that traces each prompt. Neither is shut down by
+     * {@link #close()}.
+     *
+     * @param stkPushService the service used to query M-Pesa
+     * @param timer          the timing wheel used to schedule queries
+     * @param queryExecutor  the executor that runs the (blocking) queries
+     * @param tracer         the tracer starting a span per tracked prompt
+     * @param delaysMillis   the delay before each query, in milliseconds
+     */
+    public StkPushPoller(StkPushService stkPushService, HashedTimingWheel timer, Executor queryExecutor, Tracer tracer,
+                         long... delaysMillis) {
+        this(stkPushService, timer, queryExecutor, false, tracer, delaysMillis);
+    }
+
+    private StkPushPoller(StkPushService stkPushService, HashedTimingWheel timer, Executor queryExecutor,
+                          boolean ownsResources, Tracer tracer, long[] delaysMillis) {
+        if (delaysMillis == null || delaysMillis.length == 0) {
+            throw new IllegalArgumentException("At least one polling delay is required.");
+        }
+        for (long delay : delaysMillis) {
+            if (delay <= 0) {
+                throw new IllegalArgumentException("Polling delays must be greater than 0.");
+            }
+        }
+        this.stkPushService = stkPushService;
+        this.timer = timer;
+        this.queryExecutor = queryExecutor;
+        this.ownsResources = ownsResources;
+        this.delaysMillis = delaysMillis.clone();
+        this.tracer = tracer;
+    }
+
+    /**
+     * Starts tracking an STK Push. Tracking an ID that is already pending returns the existing future.
+     *
+     * @param query the query to send if the callback is late; its {@code CheckoutRequestID} identifies the prompt
+     * @return a future that completes with the outcome of the prompt
+     */
+    public CompletableFuture<Outcome> track(StkPushQueryRequest query) {
+        String id = query.getCheckoutRequestID();
+        PendingPrompt entry = new PendingPrompt(id, query, tracer != Tracer.NOOP ? TracingContext.current() : null);
+        // The span is started before the entry is published: the callback can arrive and release the entry as soon
+        // as it is in the map.
+        if (tracer != Tracer.NOOP) {
+            entry.span = tracer.startSpan("mpesa.stk_push.track", entry.parent)
+                    .setAttribute("mpesa.checkout_request_id", id);
+        }
+        PendingPrompt existing = pending.putIfAbsent(id, entry);
+        if (existing != null) {
+            if (entry.span != null) {
+                entry.span.end();
+            }
+            return existing.future;
+        }
+        entry.future.whenComplete((outcome, error) -> release(entry, outcome, error));
+        schedule(entry);
+        logger.debug("Tracking STK Push CheckoutRequestID: {}", id);
+        return entry.future;
+    }
+
+    /**
+     * Completes the prompt this callback belongs to and cancels its remaining queries. Call this from the STK
+     * Push {@code CallBackURL} handler.
+     *
+     * @param callback the deserialized callback body
+     * @return {@code true} if a tracked prompt was completed
+     */
+    public boolean complete(StkPushCallbackResponse callback) {
+        if (callback == null || callback.body == null || callback.body.stkCallback == null) {
+            return false;
+        }
+        StkPushCallbackResponse.StkCallback stkCallback = callback.body.stkCallback;
+        PendingPrompt entry = lookup(stkCallback.checkoutRequestID);
+        return entry != null && completeInContext(entry, () -> entry.future.complete(
+                new Outcome(entry.checkoutRequestID, stkCallback.resultCode, stkCallback.resultDesc, callback, null)));
+    }
+
+    /**
+     * Completes the prompt a scanned callback belongs to. The body is only decoded if the prompt is being
+     * tracked. See {@link #complete(StkPushCallbackResponse)}.
+     *
+     * @param envelope the scanned callback body
+     * @return {@code true} if a tracked prompt was completed
+     */
+    public boolean complete(CallbackEnvelope envelope) {
+        if (envelope == null || !envelope.hasResultCode()) {
+            return false;
+        }
+        PendingPrompt entry = lookup(envelope.checkoutRequestID());
+        if (entry == null) {
+            return false;
+        }
+        StkPushCallbackResponse callback;
+        try {
+            callback = envelope.stkPush();
+        } catch (IOException e) {
+            logger.warn("Could not decode STK Push callback for {}: {}", entry.checkoutRequestID, e.getMessage());
+            return false;
+        }
+        return complete(callback);
+    }
+
+    /** @return The number of prompts still awaiting an outcome. */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Fails every outstanding future and, if the poller created its own timer and executor, stops them.
+     */
+    @Override
+    public void close() {
+        for (PendingPrompt entry : pending.values()) {
+            entry.future.completeExceptionally(new MpesaException("STK Push poller closed before an outcome was received."));
+        }
+        if (ownsResources) {
+            timer.close();
+            ((ExecutorService) queryExecutor).shutdownNow();
+        }
+    }
+
+    private PendingPrompt lookup(String id) {
+        return id == null ? null : pending.get(id);
+    }
+
+    private void schedule(PendingPrompt entry) {
+        int attempt = entry.attempt;
+        if (attempt >= delaysMillis.length) {
+            completeInContext(entry, () -> entry.future.completeExceptionally(new MpesaTimeoutException(entry.checkoutRequestID,
+                    "No outcome for STK Push " + entry.checkoutRequestID + " after " + attempt + " queries.")));
+            return;
+        }
+        entry.timeout = timer.schedule(() -> submitQuery(entry), delaysMillis[attempt], TimeUnit.MILLISECONDS);
+        if (entry.future.isDone()) {
+            // Completed while scheduling; release() may have missed the new timeout.
+            entry.timeout.cancel();
+        }
+    }
+
+    private void submitQuery(PendingPrompt entry) {
+        try {
+            queryExecutor.execute(() -> query(entry));
+        } catch (RejectedExecutionException e) {
+            entry.future.completeExceptionally(new MpesaException("STK Push query could not be scheduled.", e));
+        }
+    }
+
+    private void query(PendingPrompt entry) {
+        if (entry.future.isDone()) {
+            return;
+        }
+        if (entry.span == null) {
+            runQuery(entry);
+            return;
+        }
+        try (TracingContext.Scope ignored = TracingContext.makeCurrent(entry.span)) {
+            runQuery(entry);
+        }
+    }
+
+    private void runQuery(PendingPrompt entry) {
+        entry.attempt++;
+        try {
+            StkPushQueryResponse response = stkPushService.queryStkPush(entry.query);
+            if (response != null && response.hasResult()) {
+                int resultCode = parseResultCode(response.getResultCode());
+                completeInContext(entry, () -> entry.future.complete(
+                        new Outcome(entry.checkoutRequestID, resultCode, response.getResultDesc(), null, response)));
+                return;
+            }
+            logger.debug("STK Push {} has no outcome yet (attempt {})", entry.checkoutRequestID, entry.attempt);
+        } catch (MpesaException e) {
+            if (isStillProcessing(e)) {
+                // M-Pesa answers with this error while the customer has not yet responded to the prompt.
+                logger.debug("STK Push {} is still being processed (attempt {})",
+                        entry.checkoutRequestID, entry.attempt);
+            } else if (isTransient(e)) {
+                logger.warn("STK Push query for {} failed (attempt {}), querying again later: {}",
+                        entry.checkoutRequestID, entry.attempt, e.getMessage());
+            } else {
+                logger.warn("STK Push query for {} failed (attempt {}), giving up: {}",
+                        entry.checkoutRequestID, entry.attempt, e.getMessage());
+                completeInContext(entry, () -> entry.future.completeExceptionally(e));
+                return;
+            }
+        } catch (RuntimeException e) {
+            completeInContext(entry, () -> entry.future.completeExceptionally(e));
+            return;
+        }
+        if (!entry.future.isDone()) {
+            schedule(entry);
+        }
+    }
+
+    /**
+     * Whether M-Pesa gave its documented answer to a query sent before the customer responded to the prompt:
+     * "The transaction is being processed".
+     */
+    private static boolean isStillProcessing(MpesaException e) {
+        if (!(e instanceof MpesaUnexpectedResponseException)) {
+            return false;
+        }
+        MpesaErrorResponse error = ((MpesaUnexpectedResponseException) e).errorResponse();
+        return error != null && STILL_PROCESSING_ERROR_CODE.equals(error.getErrorCode())
+                && error.getErrorMessage() != null
+                && error.getErrorMessage().toLowerCase(Locale.ROOT).contains("being processed");
+    }
+
+    /** Failures a later query may not hit: the network, and server errors other than the one above. */
+    private static boolean isTransient(MpesaException e) {
+        if (e instanceof MpesaNetworkException) {
+            return true;
+        }
+        Throwable cause = e instanceof MpesaHttpException ? e : e.getCause();
+        if (cause instanceof MpesaHttpException) {
+            int status = ((MpesaHttpException) cause).getStatusCode();
+            return status == 429 || status >= 500;
+        }
+        return false;
+    }
+
+    private static int parseResultCode(String resultCode) {
+        try {
+            return Integer.parseInt(resultCode.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Completes a future with the span current when it was tracked, so dependent stages continue its trace. */
+    private boolean completeInContext(PendingPrompt entry, BooleanSupplier completion) {
+        if (tracer == Tracer.NOOP) {
+            return completion.getAsBoolean();
+        }
+        try (TracingContext.Scope ignored = TracingContext.makeCurrent(entry.parent)) {
+            return completion.getAsBoolean();
+        }
+    }
+
+    private void release(PendingPrompt entry, Outcome outcome, Throwable error) {
+        pending.remove(entry.checkoutRequestID, entry);
+        HashedTimingWheel.Timeout timeout = entry.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        Span span = entry.span;
+        if (span != null) {
+            span.setAttribute("mpesa.queries", entry.attempt);
+            if (outcome != null) {
+                span.setAttribute("mpesa.result_code", outcome.getResultCode())
+                        .setAttribute("mpesa.outcome_source", outcome.isFromCallback() ? "callback" : "query");
+            } else {
+                span.recordError(error);
+            }
+            span.end();
+        }
+    }
+
+    private static ExecutorService newQueryExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "mpesa-stk-poller-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static final class PendingPrompt {
+        final String checkoutRequestID;
+        final StkPushQueryRequest query;
+        final CompletableFuture<Outcome> future = new CompletableFuture<>();
+        volatile HashedTimingWheel.Timeout timeout;
+        // Only touched by one query at a time: the next query is scheduled after the previous one finishes.
+        volatile int attempt;
+        final Span parent;
+        volatile Span span;
+
+        PendingPrompt(String checkoutRequestID, StkPushQueryRequest query, Span parent) {
+            this.checkoutRequestID = checkoutRequestID;
+            this.query = query;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * The final outcome of an STK Push, taken from its callback or from a status query.
+     */
+    public static final class Outcome {
+        private final String checkoutRequestID;
+        private final int resultCode;
+        private final String resultDesc;
+        private final StkPushCallbackResponse callback;
+        private final StkPushQueryResponse queryResponse;
+
+        Outcome(String checkoutRequestID, int resultCode, String resultDesc,
+                StkPushCallbackResponse callback, StkPushQueryResponse queryResponse) {
+            this.checkoutRequestID = checkoutRequestID;
+            this.resultCode = resultCode;
+            this.resultDesc = resultDesc;
+            this.callback = callback;
+            this.queryResponse = queryResponse;
+        }
+
+        /** @return The {@code CheckoutRequestID} of the STK Push. */
+        public String getCheckoutRequestID() { return checkoutRequestID; }
+
+        /** @return The M-Pesa result code, e.g. {@code 0} for success or {@code 1032} if the customer cancelled. */
+        public int getResultCode() { return resultCode; }
+
+        /** @return The M-Pesa result description. */
+        public String getResultDesc() { return resultDesc; }
+
+        /** @return The callback, or {@code null} if the outcome came from a status query. */
+        public StkPushCallbackResponse getCallback() { return callback; }
+
+        /** @return The status query response, or {@code null} if the outcome came from the callback. */
+        public StkPushQueryResponse getQueryResponse() { return queryResponse; }
+
+        /** @return {@code true} if the outcome came from the callback rather than a status query. */
+        public boolean isFromCallback() { return callback != null; }
+
+        /** @return {@code true} if the customer completed the payment. */
+        public boolean isSuccessful() { return resultCode == 0; }
+    }
+}
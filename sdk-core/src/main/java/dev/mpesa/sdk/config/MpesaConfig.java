@@ -4,6 +4,8 @@ import dev.mpesa.sdk.util.MpesaConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 /**
  * Configuration class for the M-Pesa SDK.
  * <p>
@@ -19,6 +21,12 @@ public class MpesaConfig {
      */
     public enum Environment { SANDBOX, PRODUCTION }
 
+    /**
+     * Enum representing the HTTP client requests are sent with.
+     * {@code OKHTTP} uses OkHttp; {@code JDK} uses the JDK's {@code java.net.http.HttpClient}.
+     */
+    public enum Transport { OKHTTP, JDK }
+
     private final String authUrl;
     private final String c2bRegisterUrl;
     private final String c2bPaymentUrl;
@@ -28,12 +36,23 @@ public class MpesaConfig {
     private final long writeTimeout;
     private final long retryBackoffTime;
     private final int maxRetries;
+    private final long resultTimeout;
+    private final long balanceCacheTtl;
+    private final int transactionStatusCacheSize;
+    private final long endpointEjectionTime;
+    private final int warmUpConnections;
+    private final int batchConcurrency;
+    private final boolean captureCallTimings;
+    private final int successLogInterval;
+    private final List<String> baseUrls;
     private final String stkPushUrl;
+    private final String stkPushQueryUrl;
     private final String b2cPaymentUrl;
     private final String transactionStatusUrl;
     private final String transactionReversalUrl;
     private final String accountBalanceUrl;
     private final Environment environment;
+    private final Transport transport;
 
     /**
      * Private constructor to enforce the use of the {@link Builder} class.
@@ -42,15 +61,22 @@ public class MpesaConfig {
      */
     private MpesaConfig(Builder builder) {
         this.environment = builder.environment != null ? builder.environment : Environment.SANDBOX;
-        String baseUrl = (this.environment == Environment.PRODUCTION)
-                ? MpesaConstants.PRODUCTION_BASE_URL
-                : MpesaConstants.SANDBOX_BASE_URL;
+        this.transport = builder.transport != null ? builder.transport : Transport.OKHTTP;
+        if (builder.baseUrls != null && !builder.baseUrls.isEmpty()) {
+            this.baseUrls = List.copyOf(builder.baseUrls);
+        } else {
+            this.baseUrls = List.of((this.environment == Environment.PRODUCTION)
+                    ? MpesaConstants.PRODUCTION_BASE_URL
+                    : MpesaConstants.SANDBOX_BASE_URL);
+        }
+        String baseUrl = this.baseUrls.get(0);
 
         this.authUrl = builder.authUrl != null ? builder.authUrl : baseUrl + MpesaConstants.TOKEN_GENERATE;
         this.c2bRegisterUrl = builder.c2bRegisterUrl != null ? builder.c2bRegisterUrl : baseUrl + MpesaConstants.C2B_REGISTER;
         this.c2bPaymentUrl = builder.c2bPaymentUrl != null ? builder.c2bPaymentUrl : baseUrl + MpesaConstants.C2B_PAYMENT;
         this.c2bSimulatePaymentUrl = builder.c2bSimulatePaymentUrl != null ? builder.c2bSimulatePaymentUrl : baseUrl + MpesaConstants.C2B_SIMULATE_PAYMENT;
         this.stkPushUrl = builder.stkPushUrl != null ? builder.stkPushUrl : baseUrl + MpesaConstants.STK_PUSH;
+        this.stkPushQueryUrl = builder.stkPushQueryUrl != null ? builder.stkPushQueryUrl : baseUrl + MpesaConstants.STK_PUSH_QUERY;
         this.b2cPaymentUrl = builder.b2cPaymentUrl != null ? builder.b2cPaymentUrl : baseUrl + MpesaConstants.B2C_PAYMENT;
         this.transactionStatusUrl = builder.transactionStatusUrl != null ? builder.transactionStatusUrl : baseUrl + MpesaConstants.TRANSACTION_STATUS;
         this.transactionReversalUrl = builder.transactionReversalUrl != null ? builder.transactionReversalUrl : baseUrl + MpesaConstants.TRANSACTION_REVERSAL;
@@ -60,6 +86,14 @@ public class MpesaConfig {
         this.writeTimeout = builder.writeTimeout != null ? builder.writeTimeout : MpesaConstants.DEFAULT_WRITE_TIMEOUT;
         this.retryBackoffTime = builder.retryBackoffTime != null ? builder.retryBackoffTime : MpesaConstants.DEFAULT_RETRY_BACKOFF_TIME;
         this.maxRetries = builder.maxRetries != null ? builder.maxRetries : MpesaConstants.DEFAULT_MAX_RETRIES;
+        this.resultTimeout = builder.resultTimeout != null ? builder.resultTimeout : MpesaConstants.DEFAULT_RESULT_TIMEOUT;
+        this.balanceCacheTtl = builder.balanceCacheTtl != null ? builder.balanceCacheTtl : MpesaConstants.DEFAULT_BALANCE_CACHE_TTL;
+        this.transactionStatusCacheSize = builder.transactionStatusCacheSize != null ? builder.transactionStatusCacheSize : MpesaConstants.DEFAULT_TRANSACTION_STATUS_CACHE_SIZE;
+        this.endpointEjectionTime = builder.endpointEjectionTime != null ? builder.endpointEjectionTime : MpesaConstants.DEFAULT_ENDPOINT_EJECTION_TIME;
+        this.warmUpConnections = builder.warmUpConnections != null ? builder.warmUpConnections : MpesaConstants.DEFAULT_WARM_UP_CONNECTIONS;
+        this.successLogInterval = builder.successLogInterval != null ? builder.successLogInterval : MpesaConstants.DEFAULT_SUCCESS_LOG_INTERVAL;
+        this.captureCallTimings = builder.captureCallTimings != null ? builder.captureCallTimings : MpesaConstants.DEFAULT_CAPTURE_CALL_TIMINGS;
+        this.batchConcurrency = builder.batchConcurrency != null ? builder.batchConcurrency : MpesaConstants.DEFAULT_BATCH_CONCURRENCY;
     }
 
     /** @return Authentication URL for obtaining access tokens. */
@@ -77,6 +111,9 @@ public class MpesaConfig {
     /** @return URL for STK Push requests. */
     public String getStkPushUrl() { return stkPushUrl; }
 
+    /** @return URL for STK Push status queries. */
+    public String getStkPushQueryUrl() { return stkPushQueryUrl; }
+
     /** @return URL for B2C payments. */
     public String getB2cPaymentUrl() { return b2cPaymentUrl; }
 
@@ -104,20 +141,61 @@ public class MpesaConfig {
     /** @return Maximum number of retries for failed API requests. */
     public int getMaxRetries() { return maxRetries; }
 
+    /** @return Time in milliseconds to wait for an asynchronous result callback before failing. */
+    public long getResultTimeout() { return resultTimeout; }
+
+    /** @return Time in milliseconds a cached account balance is served before it is queried again. */
+    public long getBalanceCacheTtl() { return balanceCacheTtl; }
+
+    /** @return Maximum number of terminal transaction status results kept in the cache. */
+    public int getTransactionStatusCacheSize() { return transactionStatusCacheSize; }
+
+    /**
+     * @return The interchangeable base URLs requests are balanced across. Endpoint URLs default to the first one;
+     * requests to any URL under one of them may be sent to another.
+     */
+    public List<String> getBaseUrls() { return baseUrls; }
+
+    /** @return Time in milliseconds a failing base URL is taken out of rotation the first time. */
+    public long getEndpointEjectionTime() { return endpointEjectionTime; }
+
+    /** @return Number of connections opened to each base URL when the SDK is warmed up. */
+    public int getWarmUpConnections() { return warmUpConnections; }
+
+    /** @return Number of {@code BATCH} priority calls that may be in flight at once; further ones wait for a slot. */
+    public int getBatchConcurrency() { return batchConcurrency; }
+
+    /**
+     * @return Whether the DNS, connect, TLS, first-byte and transfer times of each attempt are captured, even without
+     * a metrics recorder, and attached to {@link dev.mpesa.sdk.exception.MpesaNetworkException}s.
+     */
+    public boolean isCaptureCallTimings() { return captureCallTimings; }
+
+    /**
+     * @return Minimum interval in milliseconds between INFO logs of successful requests. The successes in between
+     * are logged at DEBUG and counted in the next INFO log; 0 logs every success at INFO.
+     */
+    public int getSuccessLogInterval() { return successLogInterval; }
+
     /** @return The configured M-Pesa environment (sandbox or production). */
     public Environment getEnvironment() { return environment; }
 
+    /** @return The HTTP client requests are sent with (OkHttp by default). */
+    public Transport getTransport() { return transport; }
+
     /**
      * Builder class for {@link MpesaConfig}.
      * Provides a flexible way to construct an immutable configuration object.
      */
     public static class Builder {
         private Environment environment = Environment.SANDBOX;
+        private Transport transport;
         private String authUrl;
         private String c2bRegisterUrl;
         private String c2bPaymentUrl;
         private String c2bSimulatePaymentUrl;
         private String stkPushUrl;
+        private String stkPushQueryUrl;
         private String b2cPaymentUrl;
         private String transactionStatusUrl;
         private String transactionReversalUrl;
@@ -127,12 +205,26 @@ public class MpesaConfig {
         private Integer writeTimeout;
         private Integer retryBackoffTime;
         private Integer maxRetries;
+        private Integer resultTimeout;
+        private Integer balanceCacheTtl;
+        private Integer transactionStatusCacheSize;
+        private Integer endpointEjectionTime;
+        private Integer warmUpConnections;
+        private Integer batchConcurrency;
+        private Boolean captureCallTimings;
+        private Integer successLogInterval;
+        private List<String> baseUrls;
 
         public Builder environment(Environment environment) {
             this.environment = environment;
             return this;
         }
 
+        public Builder transport(Transport transport) {
+            this.transport = transport;
+            return this;
+        }
+
         public Builder authUrl(String authUrl) {
             this.authUrl = authUrl;
             return this;
@@ -158,6 +250,11 @@ public class MpesaConfig {
             return this;
         }
 
+        public Builder stkPushQueryUrl(String stkPushQueryUrl) {
+            this.stkPushQueryUrl = stkPushQueryUrl;
+            return this;
+        }
+
         public Builder b2cPaymentUrl(String b2cPaymentUrl) {
             this.b2cPaymentUrl = b2cPaymentUrl;
             return this;
@@ -203,6 +300,51 @@ public class MpesaConfig {
             return this;
         }
 
+        public Builder resultTimeout(Integer resultTimeout) {
+            this.resultTimeout = resultTimeout;
+            return this;
+        }
+
+        public Builder balanceCacheTtl(Integer balanceCacheTtl) {
+            this.balanceCacheTtl = balanceCacheTtl;
+            return this;
+        }
+
+        public Builder transactionStatusCacheSize(Integer transactionStatusCacheSize) {
+            this.transactionStatusCacheSize = transactionStatusCacheSize;
+            return this;
+        }
+
+        public Builder baseUrls(List<String> baseUrls) {
+            this.baseUrls = baseUrls;
+            return this;
+        }
+
+        public Builder endpointEjectionTime(Integer endpointEjectionTime) {
+            this.endpointEjectionTime = endpointEjectionTime;
+            return this;
+        }
+
+        public Builder warmUpConnections(Integer warmUpConnections) {
+            this.warmUpConnections = warmUpConnections;
+            return this;
+        }
+
+        public Builder batchConcurrency(Integer batchConcurrency) {
+            this.batchConcurrency = batchConcurrency;
+            return this;
+        }
+
+        public Builder captureCallTimings(Boolean captureCallTimings) {
+            this.captureCallTimings = captureCallTimings;
+            return this;
+        }
+
+        public Builder successLogInterval(Integer successLogInterval) {
+            this.successLogInterval = successLogInterval;
+            return this;
+        }
+
 
         /**
          * Builds the {@link MpesaConfig} object.
@@ -226,12 +368,23 @@ public class MpesaConfig {
                 ", writeTimeout=" + writeTimeout +
                 ", retryBackoffTime=" + retryBackoffTime +
                 ", maxRetries=" + maxRetries +
+                ", resultTimeout=" + resultTimeout +
+                ", balanceCacheTtl=" + balanceCacheTtl +
+                ", transactionStatusCacheSize=" + transactionStatusCacheSize +
+                ", endpointEjectionTime=" + endpointEjectionTime +
+                ", warmUpConnections=" + warmUpConnections +
+                ", batchConcurrency=" + batchConcurrency +
+                ", captureCallTimings=" + captureCallTimings +
+                ", successLogInterval=" + successLogInterval +
+                ", baseUrls=" + baseUrls +
                 ", stkPushUrl='" + stkPushUrl + '\'' +
+                ", stkPushQueryUrl='" + stkPushQueryUrl + '\'' +
                 ", b2cPaymentUrl='" + b2cPaymentUrl + '\'' +
                 ", transactionStatusUrl='" + transactionStatusUrl + '\'' +
                 ", transactionReversalUrl='" + transactionReversalUrl + '\'' +
                 ", accountBalanceUrl='" + accountBalanceUrl + '\'' +
                 ", environment=" + environment +
+                ", transport=" + transport +
                 '}';
     }
 
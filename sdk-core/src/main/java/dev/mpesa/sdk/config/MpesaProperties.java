@@ -0,0 +1,157 @@
+package dev.mpesa.sdk.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * Reads the SDK settings from {@code mpesa.*} properties, the keys used in an application's
+ * {@code application.properties}. This is the one mapping from those keys to {@link MpesaConfig}: sdk-spring reads
+ * them from the Spring {@code Environment} and the load generator from a properties file.
+ * <p>
+ * Blank values count as unset, so the {@link MpesaConfig} default applies. Comma-separated values, such as
+ * {@code mpesa.config.base-urls}, are split and trimmed. Enum values are case-insensitive.
+ */
+public final class MpesaProperties {
+
+    private final Function<String, String> source;
+
+    /**
+     * @param source looks up a property by its full key, returning null when it is not set
+     */
+    public MpesaProperties(Function<String, String> source) {
+        this.source = source;
+    }
+
+    public static MpesaProperties of(Properties properties) {
+        return new MpesaProperties(properties::getProperty);
+    }
+
+    /** Returns {@code mpesa.consumer-key}, or null if not set. */
+    public String getConsumerKey() {
+        return string("mpesa.consumer-key");
+    }
+
+    /** Returns {@code mpesa.consumer-secret}, or null if not set. */
+    public String getConsumerSecret() {
+        return string("mpesa.consumer-secret");
+    }
+
+    /** Returns {@code mpesa.config.warm-up}: whether to warm the SDK up before use. Defaults to true. */
+    public boolean isWarmUp() {
+        Boolean warmUp = bool("mpesa.config.warm-up");
+        return warmUp == null || warmUp;
+    }
+
+    /**
+     * Returns {@code mpesa.config.metrics}: whether to keep metrics in a {@code HistogramMetricsRecorder} when no
+     * other recorder is given. Defaults to false.
+     */
+    public boolean isMetrics() {
+        return Boolean.TRUE.equals(bool("mpesa.config.metrics"));
+    }
+
+    /**
+     * Returns a builder with every {@code mpesa.config.*} setting applied, so callers can override some before
+     * building.
+     *
+     * @throws IllegalArgumentException if a value cannot be parsed
+     */
+    public MpesaConfig.Builder configBuilder() {
+        return new MpesaConfig.Builder()
+                .environment(enumValue("mpesa.config.environment", MpesaConfig.Environment.class))
+                .transport(enumValue("mpesa.config.transport", MpesaConfig.Transport.class))
+                .authUrl(string("mpesa.config.auth-url"))
+                .c2bRegisterUrl(string("mpesa.config.c2b-register-url"))
+                .c2bPaymentUrl(string("mpesa.config.c2b-payment-url"))
+                .c2bSimulatePaymentUrl(string("mpesa.config.c2b-simulate-payment-url"))
+                .stkPushUrl(string("mpesa.config.stk-push-url"))
+                .stkPushQueryUrl(string("mpesa.config.stk-push-query-url"))
+                .b2cPaymentUrl(string("mpesa.config.b2c-payment-url"))
+                .transactionStatusUrl(string("mpesa.config.transaction-status-url"))
+                .transactionReversalUrl(string("mpesa.config.transaction-reversal-url"))
+                .accountBalanceUrl(string("mpesa.config.account-balance-url"))
+                .connectTimeout(integer("mpesa.config.connect-timeout"))
+                .readTimeout(integer("mpesa.config.read-timeout"))
+                .writeTimeout(integer("mpesa.config.write-timeout"))
+                .retryBackoffTime(integer("mpesa.config.retry-backoff-time"))
+                .maxRetries(integer("mpesa.config.max-retries"))
+                .resultTimeout(integer("mpesa.config.result-timeout"))
+                .balanceCacheTtl(integer("mpesa.config.balance-cache-ttl"))
+                .transactionStatusCacheSize(integer("mpesa.config.transaction-status-cache-size"))
+                .baseUrls(list("mpesa.config.base-urls"))
+                .endpointEjectionTime(integer("mpesa.config.endpoint-ejection-time"))
+                .warmUpConnections(integer("mpesa.config.warm-up-connections"))
+                .batchConcurrency(integer("mpesa.config.batch-concurrency"))
+                .captureCallTimings(bool("mpesa.config.capture-call-timings"))
+                .successLogInterval(integer("mpesa.config.success-log-interval"));
+    }
+
+    /**
+     * Builds the {@link MpesaConfig} described by the {@code mpesa.config.*} properties.
+     *
+     * @throws IllegalArgumentException if a value cannot be parsed
+     */
+    public MpesaConfig toConfig() {
+        return configBuilder().build();
+    }
+
+    private String string(String key) {
+        String value = source.apply(key);
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private Integer integer(String key) {
+        String value = string(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be an integer: " + value);
+        }
+    }
+
+    private Boolean bool(String key) {
+        String value = string(key);
+        if (value == null) {
+            return null;
+        }
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException(key + " must be true or false: " + value);
+        }
+        return Boolean.valueOf(value);
+    }
+
+    private <E extends Enum<E>> E enumValue(String key, Class<E> type) {
+        String value = string(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(key + " must be one of " + List.of(type.getEnumConstants()) + ": " + value);
+        }
+    }
+
+    private List<String> list(String key) {
+        String value = string(key);
+        if (value == null) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        for (String part : value.split(",")) {
+            if (!part.trim().isEmpty()) {
+                values.add(part.trim());
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,169 @@
+package dev.mpesa.sdk.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-call settings overriding the global {@link MpesaConfig} for one API call, e.g. a short deadline and no
+ * retries for an STK push a customer is waiting on, or generous retries at low priority for a nightly status sweep.
+ * <p>
+ * Every setting is optional; unset values fall back to the configuration. Instances are immutable and can be
+ * shared; create them with the {@link Builder} class.
+ */
+public final class RequestOptions {
+
+    /** Options that change nothing: every call uses the configuration. */
+    public static final RequestOptions DEFAULT = new Builder().build();
+
+    /**
+     * Enum representing how urgent a call is.
+     * {@code BATCH} calls share a limited number of concurrent slots ({@link MpesaConfig#getBatchConcurrency()})
+     * so bulk jobs cannot crowd out {@code INTERACTIVE} and {@code NORMAL} calls.
+     */
+    public enum Priority { INTERACTIVE, NORMAL, BATCH }
+
+    private final Long deadline;
+    private final Integer maxRetries;
+    private final Long retryBackoffTime;
+    private final Priority priority;
+    private final String idempotencyKey;
+    private final Map<String, String> tags;
+
+    private RequestOptions(Builder builder) {
+        if (builder.deadline != null && builder.deadline <= 0) {
+            throw new IllegalArgumentException("deadline must be positive");
+        }
+        if (builder.maxRetries != null && builder.maxRetries < 1) {
+            throw new IllegalArgumentException("maxRetries must be at least 1");
+        }
+        this.deadline = builder.deadline != null ? builder.deadline.longValue() : null;
+        this.maxRetries = builder.maxRetries;
+        this.retryBackoffTime = builder.retryBackoffTime != null ? builder.retryBackoffTime.longValue() : null;
+        this.priority = builder.priority != null ? builder.priority : Priority.NORMAL;
+        this.idempotencyKey = builder.idempotencyKey;
+        this.tags = Collections.unmodifiableMap(new LinkedHashMap<>(builder.tags));
+    }
+
+    /**
+     * @return Time in milliseconds the whole call may take, including retries and backoff, or {@code null} to
+     * only apply the configured timeouts to each attempt.
+     */
+    public Long getDeadline() { return deadline; }
+
+    /** @return Maximum number of attempts, or {@code null} to use {@link MpesaConfig#getMaxRetries()}. */
+    public Integer getMaxRetries() { return maxRetries; }
+
+    /** @return Base backoff time in milliseconds, or {@code null} to use {@link MpesaConfig#getRetryBackoffTime()}. */
+    public Long getRetryBackoffTime() { return retryBackoffTime; }
+
+    /** @return How urgent the call is; {@code NORMAL} by default. */
+    public Priority getPriority() { return priority; }
+
+    /**
+     * @return The key sent in the {@code Idempotency-Key} header of every attempt, so a gateway or proxy that
+     * deduplicates on it executes a retried call once; or {@code null}.
+     */
+    public String getIdempotencyKey() { return idempotencyKey; }
+
+    /** @return Labels identifying the call in logs and metrics, e.g. {@code flow=checkout}. */
+    public Map<String, String> getTags() { return tags; }
+
+    /**
+     * @param config the configuration providing the default
+     * @return The maximum number of attempts for this call.
+     */
+    public int maxRetries(MpesaConfig config) {
+        return maxRetries != null ? maxRetries : config.getMaxRetries();
+    }
+
+    /**
+     * @param config the configuration providing the default
+     * @return The base backoff time in milliseconds for this call.
+     */
+    public long retryBackoffTime(MpesaConfig config) {
+        return retryBackoffTime != null ? retryBackoffTime : config.getRetryBackoffTime();
+    }
+
+    /**
+     * @return A builder initialized with these options.
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.deadline = deadline != null ? deadline.intValue() : null;
+        builder.maxRetries = maxRetries;
+        builder.retryBackoffTime = retryBackoffTime != null ? retryBackoffTime.intValue() : null;
+        builder.priority = priority;
+        builder.idempotencyKey = idempotencyKey;
+        builder.tags.putAll(tags);
+        return builder;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestOptions{" +
+                "deadline=" + deadline +
+                ", maxRetries=" + maxRetries +
+                ", retryBackoffTime=" + retryBackoffTime +
+                ", priority=" + priority +
+                ", idempotencyKey='" + idempotencyKey + '\'' +
+                ", tags=" + tags +
+                '}';
+    }
+
+    /**
+     * Builder class for {@link RequestOptions}.
+     */
+    public static class Builder {
+        private Integer deadline;
+        private Integer maxRetries;
+        private Integer retryBackoffTime;
+        private Priority priority;
+        private String idempotencyKey;
+        private final Map<String, String> tags = new LinkedHashMap<>();
+
+        public Builder deadline(Integer deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
+        public Builder maxRetries(Integer maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        public Builder retryBackoffTime(Integer retryBackoffTime) {
+            this.retryBackoffTime = retryBackoffTime;
+            return this;
+        }
+
+        public Builder noRetries() {
+            return maxRetries(1);
+        }
+
+        public Builder priority(Priority priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        public Builder idempotencyKey(String idempotencyKey) {
+            this.idempotencyKey = idempotencyKey;
+            return this;
+        }
+
+        public Builder tag(String key, String value) {
+            this.tags.put(key, value);
+            return this;
+        }
+
+        /**
+         * Builds the {@link RequestOptions} object.
+         *
+         * @return Configured instance of {@link RequestOptions}.
+         * @throws IllegalArgumentException if the deadline is not positive or fewer than one attempt is allowed.
+         */
+        public RequestOptions build() {
+            return new RequestOptions(this);
+        }
+    }
+}
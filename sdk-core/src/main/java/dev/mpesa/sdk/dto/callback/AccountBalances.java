@@ -0,0 +1,242 @@
+package dev.mpesa.sdk.dto.callback;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * The balances reported by an account balance result, parsed from its packed {@code AccountBalance} parameter:
+ * <pre>
+ * Working Account|ETB|46713.00|46713.00|0.00|0.00&amp;Utility Account|ETB|1000.00|1000.00|0.00|0.00&amp;...
+ * </pre>
+ * Each account carries a name, a currency and its current, available, reserved and uncleared balances.
+ * Amounts are held as {@code long} minor units (cents), so {@code 46713.00} is {@code 4671300}.
+ * <p>
+ * Parsing is a single pass over the characters without regular expressions or intermediate strings; the common
+ * account names and currencies are shared constants rather than new substrings.
+ */
+public final class AccountBalances {
+    private static final int FIELDS = 4;
+    private static final int CURRENT = 0;
+    private static final int AVAILABLE = 1;
+    private static final int RESERVED = 2;
+    private static final int UNCLEARED = 3;
+
+    private static final String[] KNOWN_NAMES = {
+            "Working Account", "Utility Account", "Charges Paid Account", "Float Account",
+            "Organization Settlement Account", "Merchant Account", "Organization Account", "Suspense Account"
+    };
+    private static final String[] KNOWN_CURRENCIES = {"ETB", "KES", "USD", "TZS", "UGX"};
+
+    private final String[] names;
+    private final String[] currencies;
+    private final long[] amounts;
+
+    private AccountBalances(String[] names, String[] currencies, long[] amounts) {
+        this.names = names;
+        this.currencies = currencies;
+        this.amounts = amounts;
+    }
+
+    /**
+     * Parses a packed {@code AccountBalance} value. Missing trailing balance fields are read as zero.
+     *
+     * @param value the parameter value
+     * @return the parsed balances
+     * @throws IllegalArgumentException if the value is malformed
+     */
+    public static AccountBalances parse(CharSequence value) {
+        if (value == null) {
+            throw new IllegalArgumentException("AccountBalance value is null");
+        }
+        int length = value.length();
+        if (length > 0 && value.charAt(length - 1) == '&') {
+            length--;
+        }
+        if (length == 0) {
+            return new AccountBalances(new String[0], new String[0], new long[0]);
+        }
+        int accounts = 1;
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) == '&') {
+                accounts++;
+            }
+        }
+
+        String[] names = new String[accounts];
+        String[] currencies = new String[accounts];
+        long[] amounts = new long[accounts * FIELDS];
+        int account = 0;
+        int field = 0;
+        int start = 0;
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? value.charAt(i) : '&';
+            if (c != '|' && c != '&') {
+                continue;
+            }
+            if (field == 0) {
+                names[account] = canonical(value, start, i, KNOWN_NAMES);
+            } else if (field == 1) {
+                currencies[account] = canonical(value, start, i, KNOWN_CURRENCIES);
+            } else if (field - 2 < FIELDS) {
+                amounts[account * FIELDS + field - 2] = parseMinorUnits(value, start, i);
+            } else {
+                throw new IllegalArgumentException("Too many fields for account " + names[account]);
+            }
+            field++;
+            start = i + 1;
+            if (c == '&') {
+                if (field < 3) {
+                    throw new IllegalArgumentException("Account entry " + (account + 1) + " has no balance");
+                }
+                account++;
+                field = 0;
+            }
+        }
+        return new AccountBalances(names, currencies, amounts);
+    }
+
+    /**
+     * Parses a decimal amount such as {@code -4510.5} into minor units ({@code -451050}).
+     */
+    static long parseMinorUnits(CharSequence s, int start, int end) {
+        if (start == end) {
+            return 0;
+        }
+        int i = start;
+        boolean negative = s.charAt(i) == '-';
+        if (negative || s.charAt(i) == '+') {
+            i++;
+        }
+        long units = 0;
+        int fractionDigits = -1;
+        boolean digits = false;
+        for (; i < end; i++) {
+            char c = s.charAt(i);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            if (c == ',' && fractionDigits < 0) {
+                // Thousands separator.
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Invalid amount: " + s.subSequence(start, end));
+            }
+            digits = true;
+            if (fractionDigits >= 0 && ++fractionDigits > 2) {
+                if (c != '0') {
+                    throw new IllegalArgumentException("Amount has more than two decimals: " + s.subSequence(start, end));
+                }
+                continue;
+            }
+            if (units > (Long.MAX_VALUE - (c - '0')) / 10) {
+                throw new IllegalArgumentException("Amount out of range: " + s.subSequence(start, end));
+            }
+            units = units * 10 + (c - '0');
+        }
+        if (!digits) {
+            throw new IllegalArgumentException("Invalid amount: " + s.subSequence(start, end));
+        }
+        for (int scale = Math.max(fractionDigits, 0); scale < 2; scale++) {
+            if (units > Long.MAX_VALUE / 10) {
+                throw new IllegalArgumentException("Amount out of range: " + s.subSequence(start, end));
+            }
+            units *= 10;
+        }
+        return negative ? -units : units;
+    }
+
+    private static String canonical(CharSequence s, int start, int end, String[] known) {
+        int length = end - start;
+        for (String candidate : known) {
+            if (candidate.length() == length && regionEquals(s, start, candidate)) {
+                return candidate;
+            }
+        }
+        return s.subSequence(start, end).toString();
+    }
+
+    private static boolean regionEquals(CharSequence s, int start, String candidate) {
+        for (int i = 0; i < candidate.length(); i++) {
+            if (s.charAt(start + i) != candidate.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return The number of accounts. */
+    public int size() { return names.length; }
+
+    /** @return The position of the named account, or {@code -1} if it is not present. */
+    public int indexOf(String accountName) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(accountName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** @return The name of the account at {@code index}, e.g. {@code Working Account}. */
+    public String name(int index) { return names[index]; }
+
+    /** @return The currency of the account at {@code index}, e.g. {@code ETB}. */
+    public String currency(int index) { return currencies[index]; }
+
+    /** @return The current balance of the account at {@code index}, in minor units. */
+    public long currentBalance(int index) { return amount(index, CURRENT); }
+
+    /** @return The available balance of the account at {@code index}, in minor units. */
+    public long availableBalance(int index) { return amount(index, AVAILABLE); }
+
+    /** @return The reserved balance of the account at {@code index}, in minor units. */
+    public long reservedBalance(int index) { return amount(index, RESERVED); }
+
+    /** @return The uncleared balance of the account at {@code index}, in minor units. */
+    public long unclearedBalance(int index) { return amount(index, UNCLEARED); }
+
+    /**
+     * @return The available balance of the named account in minor units.
+     * @throws IllegalArgumentException if the account is not present
+     */
+    public long availableBalance(String accountName) {
+        int index = indexOf(accountName);
+        if (index < 0) {
+            throw new IllegalArgumentException("No such account: " + accountName);
+        }
+        return availableBalance(index);
+    }
+
+    private long amount(int index, int field) {
+        if (index < 0 || index >= names.length) {
+            throw new IndexOutOfBoundsException("Account index " + index + " out of bounds for " + names.length + " accounts");
+        }
+        return amounts[index * FIELDS + field];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AccountBalances)) return false;
+        AccountBalances that = (AccountBalances) o;
+        return Arrays.equals(names, that.names) && Arrays.equals(currencies, that.currencies) && Arrays.equals(amounts, that.amounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(names) + Arrays.hashCode(currencies)) + Arrays.hashCode(amounts);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("AccountBalances{");
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(names[i]).append('=').append(currencies[i]).append(' ')
+                    .append(BigDecimal.valueOf(currentBalance(i), 2).toPlainString());
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,44 @@
+package dev.mpesa.sdk.dto.callback;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * An immutable name-to-parameter index over a callback parameter list.
+ * <p>
+ * Built on first lookup and rebuilt only if the list is replaced or resized, so repeated typed lookups on the
+ * same callback cost one hash probe each instead of a scan. When a name repeats, the first occurrence wins, as
+ * it would with a linear scan.
+ */
+final class ParameterIndex<T> {
+    private final List<T> source;
+    private final int size;
+    private final Map<String, T> byName;
+
+    private ParameterIndex(List<T> source, Map<String, T> byName) {
+        this.source = source;
+        this.size = source.size();
+        this.byName = byName;
+    }
+
+    static <T> ParameterIndex<T> of(List<T> items, Function<T, String> nameOf) {
+        Map<String, T> byName = new HashMap<>(Math.max(4, items.size() * 2));
+        for (T item : items) {
+            String name = item == null ? null : nameOf.apply(item);
+            if (name != null) {
+                byName.putIfAbsent(name, item);
+            }
+        }
+        return new ParameterIndex<>(items, Map.copyOf(byName));
+    }
+
+    boolean covers(List<T> items) {
+        return source == items && size == items.size();
+    }
+
+    T get(String name) {
+        return name == null ? null : byName.get(name);
+    }
+}
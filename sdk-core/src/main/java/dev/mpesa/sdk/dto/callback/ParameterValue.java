@@ -0,0 +1,111 @@
+package dev.mpesa.sdk.dto.callback;
+
+import java.math.BigDecimal;
+
+/**
+ * A callback parameter value decoded once, when it is parsed.
+ * <p>
+ * M-Pesa sends numbers in callback parameter lists inconsistently: as JSON integers, as decimals such as
+ * {@code 1.00}, or as digit strings. Decoding them into a primitive up front saves every reader from
+ * re-parsing and boxing the value.
+ */
+final class ParameterValue {
+    static final ParameterValue NULL = new ParameterValue(null, false, 0);
+
+    /** The raw value this was decoded from, used to detect values replaced after parsing. */
+    final Object source;
+    final boolean integral;
+    final long longValue;
+
+    private ParameterValue(Object source, boolean integral, long longValue) {
+        this.source = source;
+        this.integral = integral;
+        this.longValue = longValue;
+    }
+
+    static ParameterValue of(Object value) {
+        if (value == null) {
+            return NULL;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return new ParameterValue(value, true, ((Number) value).longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            if (d == Math.rint(d) && Math.abs(d) < 0x1p63) {
+                return new ParameterValue(value, true, (long) d);
+            }
+            return new ParameterValue(value, false, 0);
+        }
+        if (value instanceof CharSequence) {
+            return parse(value, (CharSequence) value);
+        }
+        return new ParameterValue(value, false, 0);
+    }
+
+    /**
+     * Parses an optionally signed run of digits, also accepting a fraction made only of zeros ({@code "100.00"}).
+     */
+    private static ParameterValue parse(Object source, CharSequence s) {
+        int length = s.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+')) {
+            negative = s.charAt(0) == '-';
+            i++;
+        }
+        if (i == length) {
+            return new ParameterValue(source, false, 0);
+        }
+        // Accumulate negatively so that Long.MIN_VALUE parses without overflow.
+        long result = 0;
+        int digits = 0;
+        for (; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == '.') {
+                break;
+            }
+            if (c < '0' || c > '9' || result < (Long.MIN_VALUE + (c - '0')) / 10) {
+                return new ParameterValue(source, false, 0);
+            }
+            result = result * 10 - (c - '0');
+            digits++;
+        }
+        if (digits == 0) {
+            return new ParameterValue(source, false, 0);
+        }
+        for (i++; i < length; i++) {
+            if (s.charAt(i) != '0') {
+                return new ParameterValue(source, false, 0);
+            }
+        }
+        if (!negative && result == Long.MIN_VALUE) {
+            return new ParameterValue(source, false, 0);
+        }
+        return new ParameterValue(source, true, negative ? result : -result);
+    }
+
+    BigDecimal decimalValue() {
+        if (integral) {
+            return BigDecimal.valueOf(longValue);
+        }
+        if (source instanceof Double || source instanceof Float) {
+            return BigDecimal.valueOf(((Number) source).doubleValue());
+        }
+        if (source instanceof BigDecimal) {
+            return (BigDecimal) source;
+        }
+        if (source instanceof CharSequence) {
+            try {
+                return new BigDecimal(source.toString());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    String stringValue() {
+        return source == null ? null : source.toString();
+    }
+}
@@ -2,7 +2,9 @@ package dev.mpesa.sdk.dto.callback;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -38,15 +40,108 @@ public class ServiceResultResponse {
         @JsonProperty("ReferenceData")
         public ReferenceData referenceData;
 
+        private String parsedBalanceSource;
+        private AccountBalances parsedBalances;
+
         public Result() {}
 
+        /**
+         * Parses the {@code AccountBalance} parameter of an account balance result. The parsed value is kept, so
+         * repeated calls do not parse again.
+         *
+         * @return The balances, or {@code null} if this result carries no {@code AccountBalance} parameter.
+         * @throws IllegalArgumentException if the parameter is malformed
+         */
+        public AccountBalances accountBalances() {
+            String source = resultParameters == null ? null : resultParameters.getString("AccountBalance");
+            if (source == null) {
+                return null;
+            }
+            AccountBalances balances = parsedBalances;
+            if (balances == null || !source.equals(parsedBalanceSource)) {
+                balances = AccountBalances.parse(source);
+                parsedBalanceSource = source;
+                parsedBalances = balances;
+            }
+            return balances;
+        }
+
+        /**
+         * The {@code Key}/{@code Value} parameters of a result callback. Which keys are present depends on the
+         * API that produced the result.
+         * <p>
+         * The typed accessors look parameters up through an index built on first use, and read numbers that
+         * were decoded when the callback was parsed.
+         */
         @JsonIgnoreProperties(ignoreUnknown = true)
         public static class ResultParameters {
             @JsonProperty("ResultParameter")
             public List<ResultParameter> resultParameter;
 
+            private ParameterIndex<ResultParameter> index;
+
             public ResultParameters() {}
 
+            /**
+             * @return The transaction amount ({@code TransactionAmount} for B2C, {@code Amount} for transaction
+             * status), or {@code null} if absent.
+             */
+            public BigDecimal amount() {
+                ResultParameter parameter = find("TransactionAmount");
+                if (parameter == null) {
+                    parameter = find("Amount");
+                }
+                return parameter == null ? null : parameter.decoded().decimalValue();
+            }
+
+            /**
+             * @return The M-Pesa receipt number ({@code TransactionReceipt} for B2C, {@code ReceiptNo} for
+             * transaction status), or {@code null} if absent.
+             */
+            public String mpesaReceiptNumber() {
+                String receipt = getString("TransactionReceipt");
+                return receipt != null ? receipt : getString("ReceiptNo");
+            }
+
+            /** @return {@code true} if a parameter with the given key is present. */
+            public boolean contains(String key) {
+                return find(key) != null;
+            }
+
+            /** @return The parameter's value as a {@code long}, or {@code 0} if absent or not a whole number. */
+            public long getLong(String key) {
+                return getLong(key, 0);
+            }
+
+            /** @return The parameter's value as a {@code long}, or {@code defaultValue} if absent or not a whole number. */
+            public long getLong(String key, long defaultValue) {
+                ResultParameter parameter = find(key);
+                if (parameter == null) {
+                    return defaultValue;
+                }
+                ParameterValue value = parameter.decoded();
+                return value.integral ? value.longValue : defaultValue;
+            }
+
+            /** @return The parameter's value as a string, or {@code null} if absent. */
+            public String getString(String key) {
+                ResultParameter parameter = find(key);
+                return parameter == null ? null : parameter.decoded().stringValue();
+            }
+
+            private ResultParameter find(String key) {
+                List<ResultParameter> current = resultParameter;
+                if (current == null) {
+                    return null;
+                }
+                ParameterIndex<ResultParameter> index = this.index;
+                if (index == null || !index.covers(current)) {
+                    index = ParameterIndex.of(current, parameter -> parameter.key);
+                    this.index = index;
+                }
+                return index.get(key);
+            }
+
             public static class ResultParameter {
                 @JsonProperty("Key")
                 public String key;
@@ -54,7 +149,25 @@ public class ServiceResultResponse {
                 @JsonProperty("Value")
                 public Object value;
 
+                private ParameterValue decoded;
+
                 public ResultParameter() {}
+
+                @JsonSetter("Value")
+                public void setValue(Object value) {
+                    this.value = value;
+                    this.decoded = ParameterValue.of(value);
+                }
+
+                ParameterValue decoded() {
+                    ParameterValue decoded = this.decoded;
+                    if (decoded == null || decoded.source != value) {
+                        // The public field was assigned directly rather than parsed.
+                        decoded = ParameterValue.of(value);
+                        this.decoded = decoded;
+                    }
+                    return decoded;
+                }
             }
         }
 
@@ -2,6 +2,9 @@ package dev.mpesa.sdk.dto.callback;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+
+import java.math.BigDecimal;
 import java.util.List;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -37,12 +40,85 @@ public class StkPushCallbackResponse {
         public StkCallback() {}
     }
 
+    /**
+     * The {@code Name}/{@code Value} items of a successful STK Push callback.
+     * <p>
+     * The typed accessors look items up through an index built on first use, and read numbers that were
+     * decoded when the callback was parsed.
+     */
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class CallbackMetadata {
+        public static final String AMOUNT = "Amount";
+        public static final String MPESA_RECEIPT_NUMBER = "MpesaReceiptNumber";
+        public static final String TRANSACTION_DATE = "TransactionDate";
+        public static final String PHONE_NUMBER = "PhoneNumber";
+
         @JsonProperty("Item")
         public List<CallbackItem> items;
 
+        private ParameterIndex<CallbackItem> index;
+
         public CallbackMetadata() {}
+
+        /** @return The amount paid, or {@code null} if absent. */
+        public BigDecimal amount() {
+            CallbackItem item = find(AMOUNT);
+            return item == null ? null : item.decoded().decimalValue();
+        }
+
+        /** @return The M-Pesa receipt number, or {@code null} if absent. */
+        public String mpesaReceiptNumber() {
+            return getString(MPESA_RECEIPT_NUMBER);
+        }
+
+        /** @return The transaction time as a {@code yyyyMMddHHmmss} number, or {@code 0} if absent. */
+        public long transactionDate() {
+            return getLong(TRANSACTION_DATE, 0);
+        }
+
+        /** @return The paying phone number, or {@code 0} if absent. */
+        public long phoneNumber() {
+            return getLong(PHONE_NUMBER, 0);
+        }
+
+        /** @return {@code true} if an item with the given name is present. */
+        public boolean contains(String name) {
+            return find(name) != null;
+        }
+
+        /** @return The named item's value as a {@code long}, or {@code 0} if absent or not a whole number. */
+        public long getLong(String name) {
+            return getLong(name, 0);
+        }
+
+        /** @return The named item's value as a {@code long}, or {@code defaultValue} if absent or not a whole number. */
+        public long getLong(String name, long defaultValue) {
+            CallbackItem item = find(name);
+            if (item == null) {
+                return defaultValue;
+            }
+            ParameterValue value = item.decoded();
+            return value.integral ? value.longValue : defaultValue;
+        }
+
+        /** @return The named item's value as a string, or {@code null} if absent. */
+        public String getString(String name) {
+            CallbackItem item = find(name);
+            return item == null ? null : item.decoded().stringValue();
+        }
+
+        private CallbackItem find(String name) {
+            List<CallbackItem> current = items;
+            if (current == null) {
+                return null;
+            }
+            ParameterIndex<CallbackItem> index = this.index;
+            if (index == null || !index.covers(current)) {
+                index = ParameterIndex.of(current, item -> item.name);
+                this.index = index;
+            }
+            return index.get(name);
+        }
     }
 
     @JsonIgnoreProperties(ignoreUnknown = true)
@@ -53,7 +129,25 @@ public class StkPushCallbackResponse {
         @JsonProperty("Value")
         public Object value;
 
+        private ParameterValue decoded;
+
         public CallbackItem() {}
+
+        @JsonSetter("Value")
+        public void setValue(Object value) {
+            this.value = value;
+            this.decoded = ParameterValue.of(value);
+        }
+
+        ParameterValue decoded() {
+            ParameterValue decoded = this.decoded;
+            if (decoded == null || decoded.source != value) {
+                // The public field was assigned directly rather than parsed.
+                decoded = ParameterValue.of(value);
+                this.decoded = decoded;
+            }
+            return decoded;
+        }
     }
 }
 
@@ -0,0 +1,87 @@
+package dev.mpesa.sdk.dto.request;
+
+import dev.mpesa.sdk.util.ValidationUtils;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+public class StkPushQueryRequest implements Serializable {
+    private final String BusinessShortCode;
+    private final String Password;
+    private final String Timestamp;
+    private final String CheckoutRequestID;
+
+    private StkPushQueryRequest(Builder builder) {
+        this.BusinessShortCode = builder.businessShortCode;
+        this.Password = builder.password;
+        this.Timestamp = builder.timestamp != null
+                ? builder.timestamp
+                : LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        this.CheckoutRequestID = builder.checkoutRequestID;
+    }
+
+    public static class Builder {
+        private String businessShortCode;
+        private String password;
+        private String timestamp;
+        private String checkoutRequestID;
+
+        public Builder businessShortCode(String businessShortCode) {
+            ValidationUtils.requireNonEmpty(businessShortCode, "BusinessShortCode");
+            ValidationUtils.requireValidShortCode(businessShortCode, "BusinessShortCode");
+            this.businessShortCode = businessShortCode;
+            return this;
+        }
+
+        public Builder password(String password) {
+            ValidationUtils.requireNonEmpty(password, "Password");
+            ValidationUtils.requireBase64Encoded(password, "Password");
+            this.password = password;
+            return this;
+        }
+
+        /**
+         * Sets the {@code yyyyMMddHHmmss} timestamp the password was derived from. Defaults to the current time.
+         */
+        public Builder timestamp(String timestamp) {
+            ValidationUtils.requireNonEmpty(timestamp, "Timestamp");
+            ValidationUtils.requireNumeric(timestamp, "Timestamp");
+            ValidationUtils.requireLength(timestamp, 14, 14, "Timestamp");
+            this.timestamp = timestamp;
+            return this;
+        }
+
+        public Builder checkoutRequestID(String checkoutRequestID) {
+            ValidationUtils.requireNonEmpty(checkoutRequestID, "CheckoutRequestID");
+            this.checkoutRequestID = checkoutRequestID;
+            return this;
+        }
+
+        public StkPushQueryRequest build() {
+            validateBeforeBuild();
+            return new StkPushQueryRequest(this);
+        }
+
+        private void validateBeforeBuild() {
+            ValidationUtils.requireNonEmpty(businessShortCode, "BusinessShortCode");
+            ValidationUtils.requireNonEmpty(password, "Password");
+            ValidationUtils.requireNonEmpty(checkoutRequestID, "CheckoutRequestID");
+        }
+    }
+
+    public String getBusinessShortCode() { return BusinessShortCode; }
+    public String getPassword() { return Password; }
+    public String getTimestamp() { return Timestamp; }
+    public String getCheckoutRequestID() { return CheckoutRequestID; }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "BusinessShortCode='" + BusinessShortCode + '\'' +
+                ", Password='***HIDDEN***'" +
+                ", Timestamp='" + Timestamp + '\'' +
+                ", CheckoutRequestID='" + CheckoutRequestID + '\'' +
+                '}';
+    }
+}
@@ -91,7 +91,6 @@ public class StkPushRequest implements Serializable {
         public Builder partyA(String partyA) {
             ValidationUtils.requireNonEmpty(partyA, "PartyA");
             ValidationUtils.requireValidPhoneNumber(partyA, "PartyA");
-            ValidationUtils.requireNumeric(partyA, "PartyA");
 
             this.partyA = partyA;
             return this;
@@ -6,7 +6,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class AccountBalanceResponse implements Serializable {
+public class AccountBalanceResponse implements Serializable, ConversationAcknowledgement {
     @JsonProperty("OriginatorConversationID")
     private String originatorConversationID;
 
@@ -0,0 +1,13 @@
+package dev.mpesa.sdk.dto.response;
+
+/**
+ * Common shape of the synchronous acknowledgements returned by asynchronous M-Pesa APIs
+ * (B2C payment, transaction status, transaction reversal and account balance).
+ * The actual outcome is delivered later to the request's {@code ResultURL} and is matched
+ * back to the acknowledgement by these IDs.
+ */
+public interface ConversationAcknowledgement {
+    String getConversationID();
+    String getOriginatorConversationID();
+    boolean isSuccessful();
+}
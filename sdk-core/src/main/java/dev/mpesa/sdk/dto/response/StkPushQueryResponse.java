@@ -0,0 +1,60 @@
+package dev.mpesa.sdk.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StkPushQueryResponse implements Serializable {
+    @JsonProperty("ResponseCode")
+    private String responseCode;
+
+    @JsonProperty("ResponseDescription")
+    private String responseDescription;
+
+    @JsonProperty("MerchantRequestID")
+    private String merchantRequestID;
+
+    @JsonProperty("CheckoutRequestID")
+    private String checkoutRequestID;
+
+    @JsonProperty("ResultCode")
+    private String resultCode;
+
+    @JsonProperty("ResultDesc")
+    private String resultDesc;
+
+    public StkPushQueryResponse() {}
+    public StkPushQueryResponse(String responseCode, String responseDescription, String merchantRequestID, String checkoutRequestID, String resultCode, String resultDesc) {
+        this.responseCode = responseCode;
+        this.responseDescription = responseDescription;
+        this.merchantRequestID = merchantRequestID;
+        this.checkoutRequestID = checkoutRequestID;
+        this.resultCode = resultCode;
+        this.resultDesc = resultDesc;
+    }
+
+    public String getResponseCode() { return responseCode; }
+    public String getResponseDescription() { return responseDescription; }
+    public String getMerchantRequestID() { return merchantRequestID; }
+    public String getCheckoutRequestID() { return checkoutRequestID; }
+    public String getResultCode() { return resultCode; }
+    public String getResultDesc() { return resultDesc; }
+    public void setResponseCode(String responseCode) { this.responseCode = responseCode; }
+    public void setResponseDescription(String responseDescription) { this.responseDescription = responseDescription; }
+    public void setMerchantRequestID(String merchantRequestID) { this.merchantRequestID = merchantRequestID; }
+    public void setCheckoutRequestID(String checkoutRequestID) { this.checkoutRequestID = checkoutRequestID; }
+    public void setResultCode(String resultCode) { this.resultCode = resultCode; }
+    public void setResultDesc(String resultDesc) { this.resultDesc = resultDesc; }
+
+    /** @return {@code true} if the query itself was accepted. */
+    public boolean isSuccessful() {
+        return "0".equals(responseCode);
+    }
+
+    /** @return {@code true} if the query reports the final outcome of the STK Push. */
+    public boolean hasResult() {
+        return isSuccessful() && resultCode != null && !resultCode.isEmpty();
+    }
+}
@@ -1,10 +1,13 @@
 package dev.mpesa.sdk.exception;
 
+import dev.mpesa.sdk.metrics.CallTimings;
+
 /**
  * Exception thrown when a network error occurs, such as when the SDK is unable to communicate with M-Pesa's API.
  * This could happen due to connectivity issues, timeouts, or DNS resolution failures.
  */
 public class MpesaNetworkException extends MpesaException {
+    private final CallTimings callTimings;
 
     /**
      * Constructor for MpesaNetworkException with a message.
@@ -13,6 +16,7 @@ public class MpesaNetworkException extends MpesaException {
      */
     public MpesaNetworkException(String message) {
         super(message);
+        this.callTimings = null;
     }
 
     /**
@@ -23,5 +27,29 @@ public class MpesaNetworkException extends MpesaException {
      */
     public MpesaNetworkException(String message, Throwable cause) {
         super(message, cause);
+        this.callTimings = null;
+    }
+
+    /**
+     * Constructor for MpesaNetworkException with a message, the cause of the error, and the timings of the last
+     * attempt, which are appended to the message.
+     *
+     * @param message A message explaining the network error.
+     * @param cause The cause of the exception, usually another throwable.
+     * @param callTimings Where the time of the last attempt went, or null if it was not captured.
+     */
+    public MpesaNetworkException(String message, Throwable cause, CallTimings callTimings) {
+        super(callTimings != null && callTimings.isCaptured() ? message + " [" + callTimings + "]" : message, cause);
+        this.callTimings = callTimings;
+    }
+
+    /**
+     * Gets the DNS, connect, TLS, first-byte and transfer times of the last attempt, captured when
+     * {@code captureCallTimings} is enabled or metrics are recorded.
+     *
+     * @return The call timings, or null if they were not captured.
+     */
+    public CallTimings getCallTimings() {
+        return callTimings;
     }
 }
@@ -0,0 +1,30 @@
+package dev.mpesa.sdk.exception;
+
+/**
+ * Exception thrown when an asynchronous M-Pesa result does not arrive within the allowed time.
+ * This typically means the result callback for a B2C payment, transaction status query, reversal or balance query
+ * was never delivered to the SDK, so the outcome of the operation is unknown and should be reconciled.
+ */
+public class MpesaTimeoutException extends MpesaException {
+    private final String correlationId;
+
+    /**
+     * Constructor for MpesaTimeoutException with the ID that was being waited on and a message.
+     *
+     * @param correlationId The conversation or request ID the SDK was waiting on.
+     * @param message A message explaining the error.
+     */
+    public MpesaTimeoutException(String correlationId, String message) {
+        super(message);
+        this.correlationId = correlationId;
+    }
+
+    /**
+     * Returns the conversation or request ID the SDK was waiting on.
+     *
+     * @return The correlation ID.
+     */
+    public String correlationId() {
+        return correlationId;
+    }
+}
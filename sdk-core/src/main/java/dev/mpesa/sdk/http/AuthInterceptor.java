@@ -0,0 +1,52 @@
+package dev.mpesa.sdk.http;
+
+import dev.mpesa.sdk.auth.AuthService;
+import dev.mpesa.sdk.exception.MpesaAuthenticationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * Built-in interceptor adding the bearer token to each attempt. On a 401 it refreshes the token and resends the
+ * request once with only the {@code Authorization} header changed; a second 401 fails the call. The refresh is
+ * allowed once per call, not per attempt: a 401 on an attempt retried after the refresh fails the call too.
+ */
+final class AuthInterceptor implements Interceptor {
+    private static final Logger logger = LoggerFactory.getLogger(AuthInterceptor.class);
+
+    private final AuthService authService;
+
+    AuthInterceptor(AuthService authService) {
+        this.authService = authService;
+    }
+
+    @Override
+    public TransportResponse intercept(Chain chain) throws IOException {
+        TransportRequest request = chain.request();
+        TransportResponse response = chain.proceed(authorize(request));
+        if (response.getCode() != 401) {
+            return response;
+        }
+
+        logger.warn("Authentication failed for request to {}: 401 Unauthorized", request.getUrl());
+        if (!((InterceptorChain) chain).tokenRefreshed().compareAndSet(false, true)) {
+            throw new MpesaAuthenticationException(response.getBodyAsString(),
+                    "Failed to authenticate despite having a valid token.");
+        }
+        authService.refreshToken();
+        // Only the token changes; the serialized body is reused as is.
+        response = chain.proceed(authorize(request));
+        if (response.getCode() == 401) {
+            throw new MpesaAuthenticationException(response.getBodyAsString(),
+                    "Failed to authenticate despite having a valid token.");
+        }
+        return response;
+    }
+
+    private TransportRequest authorize(TransportRequest request) {
+        return request.newBuilder()
+                .header("Authorization", "Bearer " + authService.getAccessToken())
+                .build();
+    }
+}
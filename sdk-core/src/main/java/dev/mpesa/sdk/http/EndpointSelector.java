@@ -0,0 +1,299 @@
+package dev.mpesa.sdk.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Chooses which of several equivalent base URLs (gateways, egress proxies, regions) a request is sent to.
+ * <p>
+ * Every response, or failure to get one, updates an exponentially weighted moving average (EWMA) of the
+ * endpoint's latency and error rate. Requests go to the endpoint with the lowest expected cost, its average
+ * latency inflated by its error rate and by the number of requests it is already serving. Endpoints that have not
+ * been measured yet are tried first, by a single probe request: until the probe completes, other requests go to
+ * measured endpoints, and only when there are none are they spread over the endpoints being probed.
+ * <p>
+ * An endpoint that fails {@value #EJECTION_THRESHOLD} times in a row is ejected: it receives no traffic until its
+ * ejection time has passed, and each further ejection lasts longer. An endpoint coming back is unmeasured again and
+ * is probed the same way, and a single failure ejects it again. The last endpoint is never ejected; if every
+ * endpoint is ejected the one due back first is used.
+ * <p>
+ * This class is internal to the SDK and is used by {@link RequestHandler}.
+ */
+public class EndpointSelector {
+    private static final Logger logger = LoggerFactory.getLogger(EndpointSelector.class);
+
+    /** Consecutive failures after which an endpoint is ejected. */
+    static final int EJECTION_THRESHOLD = 5;
+    /** Weight of the newest observation in the moving averages. */
+    static final double ALPHA = 0.3;
+    /** How strongly the error rate inflates an endpoint's expected cost. */
+    static final double ERROR_PENALTY = 10.0;
+    /** Upper bound on the ejection time, however often an endpoint has been ejected. */
+    static final long MAX_EJECTION_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final List<Endpoint> endpoints;
+    private final long ejectionNanos;
+    private final LongSupplier clock;
+
+    /**
+     * Creates a selector over the given base URLs.
+     *
+     * @param baseUrls        the base URLs, e.g. {@code https://api.safaricom.et}; at least one is required
+     * @param ejectionMillis  how long an endpoint is ejected the first time
+     */
+    public EndpointSelector(List<String> baseUrls, long ejectionMillis) {
+        this(baseUrls, ejectionMillis, System::nanoTime);
+    }
+
+    EndpointSelector(List<String> baseUrls, long ejectionMillis, LongSupplier clock) {
+        if (baseUrls == null || baseUrls.isEmpty()) {
+            throw new IllegalArgumentException("At least one base URL is required.");
+        }
+        List<Endpoint> list = new ArrayList<>(baseUrls.size());
+        for (String baseUrl : baseUrls) {
+            list.add(new Endpoint(stripTrailingSlash(baseUrl)));
+        }
+        this.endpoints = Collections.unmodifiableList(list);
+        this.ejectionNanos = TimeUnit.MILLISECONDS.toNanos(ejectionMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * Finds the base URL a request URL starts with.
+     *
+     * @param url the full request URL
+     * @return the matching endpoint, or {@code null} if the URL is not on any of the managed base URLs
+     */
+    public Endpoint match(String url) {
+        for (Endpoint endpoint : endpoints) {
+            String base = endpoint.baseUrl;
+            if (url.startsWith(base) && (url.length() == base.length() || "/?#".indexOf(url.charAt(base.length())) >= 0)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Picks the endpoint the next request should go to. Picking an unmeasured endpoint makes the request its probe,
+     * so the request must be sent and {@link #record(Endpoint, long, boolean) recorded}.
+     *
+     * @return the endpoint with the lowest expected cost
+     */
+    public Endpoint select() {
+        if (endpoints.size() == 1) {
+            return endpoints.get(0);
+        }
+        while (true) {
+            long now = clock.getAsLong();
+            Endpoint best = null;
+            double bestCost = Double.MAX_VALUE;
+            Endpoint leastBusyProbing = null;
+            Endpoint soonest = null;
+            for (Endpoint endpoint : endpoints) {
+                synchronized (endpoint) {
+                    if (endpoint.isEjected(now)) {
+                        if (soonest == null || endpoint.ejectedUntil - soonest.ejectedUntil < 0) {
+                            soonest = endpoint;
+                        }
+                        continue;
+                    }
+                    endpoint.readmitIfDue();
+                    if (endpoint.probing) {
+                        if (leastBusyProbing == null || endpoint.inFlight < leastBusyProbing.inFlight) {
+                            leastBusyProbing = endpoint;
+                        }
+                        continue;
+                    }
+                    double cost = endpoint.cost();
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        best = endpoint;
+                    }
+                }
+            }
+            if (best == null) {
+                return leastBusyProbing != null ? leastBusyProbing : soonest;
+            }
+            synchronized (best) {
+                if (best.measured) {
+                    return best;
+                }
+                if (!best.probing) {
+                    best.probing = true;
+                    return best;
+                }
+            }
+            // Another request claimed the probe since the scan; look again without it.
+        }
+    }
+
+    /**
+     * Rewrites a request URL onto another endpoint.
+     *
+     * @param url    a full request URL on {@code from}
+     * @param from   the endpoint the URL was written for, as returned by {@link #match(String)}
+     * @param target the endpoint to send it to
+     * @return the rewritten URL
+     */
+    public String rewrite(String url, Endpoint from, Endpoint target) {
+        return from == target ? url : target.baseUrl + url.substring(from.baseUrl.length());
+    }
+
+    /**
+     * Marks the start of a request to an endpoint.
+     *
+     * @param endpoint the endpoint returned by {@link #select()}
+     * @return the start time to pass to {@link #record(Endpoint, long, boolean)}
+     */
+    public long begin(Endpoint endpoint) {
+        synchronized (endpoint) {
+            endpoint.inFlight++;
+        }
+        return clock.getAsLong();
+    }
+
+    /**
+     * Records the outcome of a request started with {@link #begin(Endpoint)}.
+     *
+     * @param endpoint  the endpoint the request went to
+     * @param startedAt the value returned by {@link #begin(Endpoint)}
+     * @param success   {@code false} if the request failed at the network level or the endpoint answered with
+     *                  a server error or throttling response
+     */
+    public void record(Endpoint endpoint, long startedAt, boolean success) {
+        record(endpoint, startedAt, success, true);
+    }
+
+    /**
+     * Records the outcome of a warm-up request started with {@link #begin(Endpoint)} without going through
+     * {@link #select()}. It feeds the averages like any request, but a warm-up request is never the probe, so a probe
+     * claimed by a real request stays outstanding until that request is recorded.
+     *
+     * @param endpoint  the endpoint the request went to
+     * @param startedAt the value returned by {@link #begin(Endpoint)}
+     * @param success   as for {@link #record(Endpoint, long, boolean)}
+     */
+    public void recordWarmUp(Endpoint endpoint, long startedAt, boolean success) {
+        record(endpoint, startedAt, success, false);
+    }
+
+    private void record(Endpoint endpoint, long startedAt, boolean success, boolean selected) {
+        long now = clock.getAsLong();
+        synchronized (endpoint) {
+            endpoint.inFlight--;
+            if (selected) {
+                endpoint.probing = false;
+            }
+            endpoint.observe(now - startedAt, success);
+            if (success) {
+                endpoint.consecutiveFailures = 0;
+                return;
+            }
+            if (++endpoint.consecutiveFailures >= EJECTION_THRESHOLD && !isLastHealthy(endpoint, now)) {
+                endpoint.ejections++;
+                long duration = Math.min(ejectionNanos * endpoint.ejections, MAX_EJECTION_NANOS);
+                endpoint.ejectedUntil = now + duration;
+                endpoint.ejected = true;
+                logger.warn("Ejecting endpoint {} for {} ms after {} consecutive failures",
+                        endpoint.baseUrl, TimeUnit.NANOSECONDS.toMillis(duration), endpoint.consecutiveFailures);
+            }
+        }
+    }
+
+    /** @return The endpoints, in configuration order. */
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    private boolean isLastHealthy(Endpoint candidate, long now) {
+        for (Endpoint endpoint : endpoints) {
+            // Reads of other endpoints are racy; at worst two endpoints are ejected at once and the sooner one is used.
+            if (endpoint != candidate && !endpoint.isEjected(now)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String stripTrailingSlash(String baseUrl) {
+        return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    /**
+     * A base URL and the statistics observed for it. Guarded by its own monitor.
+     */
+    public static final class Endpoint {
+        private final String baseUrl;
+        private double latencyNanos;
+        private double errorRate;
+        private boolean measured;
+        /** Whether a request has been picked to probe this unmeasured endpoint and has not completed yet. */
+        private boolean probing;
+        private int inFlight;
+        private int consecutiveFailures;
+        private int ejections;
+        private boolean ejected;
+        private long ejectedUntil;
+
+        Endpoint(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        /** @return The base URL, without a trailing slash. */
+        public String getBaseUrl() { return baseUrl; }
+
+        /** @return The moving average of the endpoint's latency, in milliseconds. */
+        public synchronized double getLatencyMillis() { return latencyNanos / 1_000_000.0; }
+
+        /** @return The moving average of the endpoint's error rate, between 0 and 1. */
+        public synchronized double getErrorRate() { return errorRate; }
+
+        /** @return The number of times the endpoint has been ejected. */
+        public synchronized int getEjectionCount() { return ejections; }
+
+        boolean isEjected(long now) {
+            return ejected && now - ejectedUntil < 0;
+        }
+
+        void readmitIfDue() {
+            if (ejected) {
+                // Back on probation: forget the old averages so it gets a probe, and eject it again on the next failure.
+                ejected = false;
+                measured = false;
+                errorRate = 0;
+                consecutiveFailures = EJECTION_THRESHOLD - 1;
+                logger.info("Endpoint {} readmitted after ejection", baseUrl);
+            }
+        }
+
+        double cost() {
+            if (!measured) {
+                return inFlight;
+            }
+            return latencyNanos * (1 + ERROR_PENALTY * errorRate) * (inFlight + 1);
+        }
+
+        void observe(long elapsedNanos, boolean success) {
+            if (!measured) {
+                latencyNanos = elapsedNanos;
+                errorRate = success ? 0 : 1;
+                measured = true;
+                return;
+            }
+            latencyNanos += ALPHA * (elapsedNanos - latencyNanos);
+            errorRate += ALPHA * ((success ? 0 : 1) - errorRate);
+        }
+
+        @Override
+        public String toString() {
+            return baseUrl;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package dev.mpesa.sdk.http;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The HTTP client the SDK sends requests through. {@link RequestHandler} and
+ * {@link dev.mpesa.sdk.auth.AuthService} only talk to this interface; authentication, retries, endpoint selection
+ * and JSON handling stay in the SDK.
+ * <p>
+ * Two implementations ship with the SDK:
+ * <ul>
+ *     <li>{@link OkHttpTransport}, the default, on OkHttp</li>
+ *     <li>{@link JdkHttpTransport}, on the JDK's {@code java.net.http.HttpClient}, which needs no extra dependency
+ *     and multiplexes requests over HTTP/2 where the server supports it</li>
+ * </ul>
+ * Implementations must be thread-safe. A non-2xx status is a normal response, not an exception.
+ */
+public interface HttpTransport extends Closeable {
+
+    /**
+     * Sends a request and waits for the complete response.
+     *
+     * @param request the request to send
+     * @return the response, with its body read
+     * @throws IOException if the request could not be sent or the response could not be read, including timeouts
+     */
+    TransportResponse execute(TransportRequest request) throws IOException;
+
+    /**
+     * Sends a request without blocking the calling thread.
+     *
+     * @param request the request to send
+     * @return a future completed with the response, or exceptionally with an {@link IOException}
+     */
+    CompletableFuture<TransportResponse> executeAsync(TransportRequest request);
+
+    /**
+     * Releases pooled connections and threads the transport owns. Transports wrapping a client supplied by the
+     * application leave that client alone. The default does nothing.
+     */
+    @Override
+    default void close() {
+    }
+}
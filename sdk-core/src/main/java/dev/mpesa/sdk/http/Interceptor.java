@@ -0,0 +1,62 @@
+package dev.mpesa.sdk.http;
+
+import dev.mpesa.sdk.config.RequestOptions;
+
+import java.io.IOException;
+
+/**
+ * Observes, rewrites or short-circuits the API requests the SDK sends, e.g. to record metrics, apply a rate limit
+ * or answer from a cache. Interceptors see requests already serialized: the body is JSON bytes and the URL is final.
+ * <p>
+ * Interceptors form an ordered chain around the {@link HttpTransport}:
+ * <ol>
+ *     <li>application interceptors, in registration order, run once per call;</li>
+ *     <li>the built-in retry interceptor repeats the rest of the chain on network errors and 429/5xx responses;</li>
+ *     <li>the built-in auth interceptor adds the {@code Authorization} header and refreshes the token on a 401;</li>
+ *     <li>the built-in routing interceptor picks the base URL for the attempt;</li>
+ *     <li>network interceptors, in registration order, run once per attempt and see the request as it is sent.</li>
+ * </ol>
+ * An interceptor inspects or replaces {@link Chain#request()} before calling {@link Chain#proceed(TransportRequest)}
+ * and inspects or replaces the response afterwards. It may also return a response without proceeding. Beyond the
+ * retry interceptor, failures arrive as {@link dev.mpesa.sdk.exception.MpesaException}s rather than
+ * {@link IOException}s. Interceptors are shared by all calls and must be thread-safe.
+ */
+@FunctionalInterface
+public interface Interceptor {
+
+    /**
+     * Handles one call, or one attempt for a network interceptor.
+     *
+     * @param chain the request and the rest of the chain
+     * @return the response, never {@code null}
+     * @throws IOException if the request could not be sent
+     */
+    TransportResponse intercept(Chain chain) throws IOException;
+
+    /**
+     * The request being handled and the interceptors and transport after the current one.
+     */
+    interface Chain {
+
+        /** @return The request as handed to this interceptor. */
+        TransportRequest request();
+
+        /** @return The per-call options. */
+        RequestOptions options();
+
+        /**
+         * @return The {@link System#nanoTime()} by which the call must finish, or 0 if it has no
+         * {@link RequestOptions#getDeadline() deadline}.
+         */
+        long deadline();
+
+        /**
+         * Passes a request to the next interceptor, or the transport after the last one.
+         *
+         * @param request the request to send, usually {@link #request()} or a copy of it
+         * @return the response
+         * @throws IOException if the request could not be sent
+         */
+        TransportResponse proceed(TransportRequest request) throws IOException;
+    }
+}
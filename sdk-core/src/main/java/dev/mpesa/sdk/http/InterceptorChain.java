@@ -0,0 +1,75 @@
+package dev.mpesa.sdk.http;
+
+import dev.mpesa.sdk.config.RequestOptions;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The {@link Interceptor.Chain} passed to each interceptor. The interceptors are held in an array built once per
+ * {@link RequestHandler}; a call only allocates one small chain object per interceptor it passes through, all
+ * sharing the call's {@link #tokenRefreshed()} flag.
+ */
+final class InterceptorChain implements Interceptor.Chain {
+    private final Interceptor[] interceptors;
+    private final int index;
+    private final HttpTransport transport;
+    private final TransportRequest request;
+    private final RequestOptions options;
+    private final long deadline;
+    private final AtomicBoolean tokenRefreshed;
+
+    InterceptorChain(Interceptor[] interceptors, int index, HttpTransport transport,
+                     TransportRequest request, RequestOptions options, long deadline) {
+        this(interceptors, index, transport, request, options, deadline, new AtomicBoolean());
+    }
+
+    private InterceptorChain(Interceptor[] interceptors, int index, HttpTransport transport,
+                             TransportRequest request, RequestOptions options, long deadline,
+                             AtomicBoolean tokenRefreshed) {
+        this.interceptors = interceptors;
+        this.index = index;
+        this.transport = transport;
+        this.request = request;
+        this.options = options;
+        this.deadline = deadline;
+        this.tokenRefreshed = tokenRefreshed;
+    }
+
+    @Override
+    public TransportRequest request() {
+        return request;
+    }
+
+    @Override
+    public RequestOptions options() {
+        return options;
+    }
+
+    @Override
+    public long deadline() {
+        return deadline;
+    }
+
+    /**
+     * Whether the access token has already been refreshed during this call. Retried attempts pass through
+     * {@link AuthInterceptor} again, so the flag lives on the call rather than on one attempt.
+     */
+    AtomicBoolean tokenRefreshed() {
+        return tokenRefreshed;
+    }
+
+    @Override
+    public TransportResponse proceed(TransportRequest request) throws IOException {
+        if (index == interceptors.length) {
+            return transport.execute(request);
+        }
+        Interceptor interceptor = interceptors[index];
+        TransportResponse response = interceptor.intercept(
+                new InterceptorChain(interceptors, index + 1, transport, request, options, deadline, tokenRefreshed));
+        if (response == null) {
+            throw new IllegalStateException("Interceptor " + interceptor + " returned no response");
+        }
+        return response;
+    }
+}
@@ -0,0 +1,128 @@
+package dev.mpesa.sdk.http;
+
+import dev.mpesa.sdk.config.MpesaConfig;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link HttpTransport} on the JDK's {@code java.net.http.HttpClient}. It needs no dependency beyond the JDK,
+ * negotiates HTTP/2 where the server supports it, so concurrent requests share one multiplexed connection per
+ * host, and {@link #executeAsync(TransportRequest)} uses the client's non-blocking {@code sendAsync}. Blocking
+ * calls from virtual threads park instead of pinning a carrier thread.
+ * <p>
+ * The JDK client has no read or write timeout; each request is given the configured read and write timeouts
+ * together as its deadline for the response headers.
+ */
+public class JdkHttpTransport implements HttpTransport {
+    /** Headers the JDK client manages itself and refuses to have set. */
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.addAll(Set.of("Connection", "Content-Length", "Expect", "Host", "Upgrade"));
+    }
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final boolean owned;
+
+    /**
+     * Creates a transport on a new client with the configured connect timeout, preferring HTTP/2. The client is
+     * shut down by {@link #close()} on Java 21 and newer, which can close it.
+     *
+     * @param config the configuration settings for timeouts
+     */
+    public JdkHttpTransport(MpesaConfig config) {
+        this(HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .connectTimeout(Duration.ofMillis(config.getConnectTimeout()))
+                        .followRedirects(HttpClient.Redirect.NORMAL)
+                        .build(),
+                Duration.ofMillis(config.getReadTimeout() + config.getWriteTimeout()),
+                true);
+    }
+
+    /**
+     * Creates a transport on an existing client. {@link #close()} leaves it running.
+     *
+     * @param client         the HTTP client
+     * @param requestTimeout how long to wait for the response headers of each request
+     */
+    public JdkHttpTransport(HttpClient client, Duration requestTimeout) {
+        this(client, requestTimeout, false);
+    }
+
+    private JdkHttpTransport(HttpClient client, Duration requestTimeout, boolean owned) {
+        this.client = client;
+        this.requestTimeout = requestTimeout;
+        this.owned = owned;
+    }
+
+    /** @return The underlying JDK client. */
+    public HttpClient getClient() {
+        return client;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        try {
+            return toTransport(client.send(toJdk(request), HttpResponse.BodyHandlers.ofByteArray()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + request.getUrl());
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+        HttpRequest jdkRequest;
+        try {
+            jdkRequest = toJdk(request);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return client.sendAsync(jdkRequest, HttpResponse.BodyHandlers.ofByteArray()).thenApply(JdkHttpTransport::toTransport);
+    }
+
+    @Override
+    public void close() {
+        // HttpClient is AutoCloseable from Java 21; on older runtimes it shuts down once unreachable.
+        if (owned && client instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) client).close();
+            } catch (Exception ignored) {
+                // Nothing to recover; the client is being discarded.
+            }
+        }
+    }
+
+    private HttpRequest toJdk(TransportRequest request) {
+        byte[] body = request.getBody();
+        Duration timeout = request.getTimeout() > 0
+                ? Duration.ofMillis(Math.min(request.getTimeout(), requestTimeout.toMillis()))
+                : requestTimeout;
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.getUrl()))
+                .timeout(timeout)
+                .method(request.getMethod(), body != null
+                        ? HttpRequest.BodyPublishers.ofByteArray(body)
+                        : HttpRequest.BodyPublishers.noBody());
+        request.getHeaders().forEach((name, value) -> {
+            if (!RESTRICTED_HEADERS.contains(name)) {
+                builder.header(name, value);
+            }
+        });
+        return builder.build();
+    }
+
+    private static TransportResponse toTransport(HttpResponse<byte[]> response) {
+        return new TransportResponse(response.statusCode(), response.headers().map(), response.body());
+    }
+}
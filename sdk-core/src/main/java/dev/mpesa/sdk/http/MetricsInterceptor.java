@@ -0,0 +1,58 @@
+package dev.mpesa.sdk.http;
+
+import dev.mpesa.sdk.exception.MpesaAuthenticationException;
+import dev.mpesa.sdk.exception.MpesaHttpException;
+import dev.mpesa.sdk.metrics.MetricsRecorder;
+
+import java.io.IOException;
+
+/**
+ * Built-in interceptor reporting calls or attempts to a {@link MetricsRecorder}. The call-level instance runs
+ * outside the retry interceptor, the attempt-level one inside the auth interceptor, so both see the URL the call
+ * was made to. Neither is installed when the recorder is {@link MetricsRecorder#NOOP}.
+ */
+final class MetricsInterceptor implements Interceptor {
+
+    private final MetricsRecorder metrics;
+    private final boolean perAttempt;
+
+    MetricsInterceptor(MetricsRecorder metrics, boolean perAttempt) {
+        this.metrics = metrics;
+        this.perAttempt = perAttempt;
+    }
+
+    @Override
+    public TransportResponse intercept(Chain chain) throws IOException {
+        TransportRequest request = chain.request();
+        long startedAt = System.nanoTime();
+        TransportResponse response = null;
+        int statusCode = 0;
+        try {
+            response = chain.proceed(request);
+            statusCode = response.getCode();
+            return response;
+        } catch (RuntimeException e) {
+            statusCode = statusCodeOf(e);
+            throw e;
+        } finally {
+            long duration = System.nanoTime() - startedAt;
+            if (perAttempt) {
+                byte[] sent = request.getBody();
+                byte[] received = response != null ? response.getBody() : null;
+                metrics.recordAttempt(request.getUrl(), duration, statusCode,
+                        sent != null ? sent.length : 0, received != null ? received.length : 0);
+            } else {
+                metrics.recordCall(request.getUrl(), chain.options(), duration, statusCode);
+            }
+        }
+    }
+
+    /** The status code of the last response behind a failure, e.g. the 503 after which retries ran out. */
+    static int statusCodeOf(RuntimeException e) {
+        if (e instanceof MpesaAuthenticationException) {
+            return 401;
+        }
+        Throwable cause = e instanceof MpesaHttpException ? e : e.getCause();
+        return cause instanceof MpesaHttpException ? ((MpesaHttpException) cause).getStatusCode() : 0;
+    }
+}
@@ -0,0 +1,170 @@
+package dev.mpesa.sdk.http;
+
+import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.metrics.CallTimings;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HttpTransport} on OkHttp, the SDK's default. Connections are pooled and reused across requests;
+ * {@link #executeAsync(TransportRequest)} runs on OkHttp's dispatcher.
+ */
+public class OkHttpTransport implements HttpTransport {
+    private final OkHttpClient client;
+    private final boolean owned;
+
+    /**
+     * Creates a transport on a new client configured by {@link #newHttpClient(MpesaConfig)}. The client is shut
+     * down by {@link #close()}.
+     *
+     * @param config the configuration settings for timeouts and base URLs
+     */
+    public OkHttpTransport(MpesaConfig config) {
+        this.client = newHttpClient(config);
+        this.owned = true;
+    }
+
+    /**
+     * Creates a transport on an existing client, e.g. one shared with the rest of the application. The client's
+     * timeouts and connection pool are used as is, and {@link #close()} leaves it running.
+     *
+     * @param client the HTTP client
+     */
+    public OkHttpTransport(OkHttpClient client) {
+        this.client = client;
+        this.owned = false;
+    }
+
+    /**
+     * Creates the HTTP client the SDK uses by default, with the configured timeouts and a connection pool that keeps
+     * up to {@link MpesaConfig#getWarmUpConnections()} times the number of base URLs idle connections, or five if
+     * that is more. This caps the pool's total across all hosts and keeps nothing aside for any one host: when the
+     * cap is reached, the connection idle longest is evicted, whichever host it goes to. All SDK traffic goes to a
+     * handful of hosts, so asynchronous calls may use the dispatcher's whole limit on any one host instead of
+     * OkHttp's default of five. The {@link TimingEventListener} fills in the phase timings of requests that ask for
+     * them.
+     *
+     * @param config the configuration settings for timeouts and base URLs
+     * @return a new HTTP client
+     */
+    public static OkHttpClient newHttpClient(MpesaConfig config) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(dispatcher.getMaxRequests());
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectTimeout(config.getConnectTimeout(), TimeUnit.MILLISECONDS)
+                .readTimeout(config.getReadTimeout(), TimeUnit.MILLISECONDS)
+                .writeTimeout(config.getWriteTimeout(), TimeUnit.MILLISECONDS)
+                .connectionPool(new ConnectionPool(
+                        Math.max(5, config.getWarmUpConnections() * config.getBaseUrls().size()), 5, TimeUnit.MINUTES))
+                .eventListenerFactory(TimingEventListener.FACTORY)
+                .build();
+    }
+
+    /** @return The underlying OkHttp client. */
+    public OkHttpClient getClient() {
+        return client;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        try (Response response = newCall(request).execute()) {
+            return toTransport(response);
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+        CompletableFuture<TransportResponse> future = new CompletableFuture<>();
+        Call call;
+        try {
+            call = newCall(request);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                TransportResponse transportResponse;
+                try (response) {
+                    transportResponse = toTransport(response);
+                } catch (IOException e) {
+                    future.completeExceptionally(e);
+                    return;
+                }
+                // Completed after the response is closed, so its call timings are final.
+                future.complete(transportResponse);
+            }
+        });
+        // Cancelling the future cancels the call, releasing its connection.
+        future.whenComplete((response, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public void close() {
+        if (owned) {
+            client.dispatcher().executorService().shutdown();
+            client.connectionPool().evictAll();
+        }
+    }
+
+    private Call newCall(TransportRequest request) {
+        Call call = client.newCall(toOkHttp(request));
+        if (request.getTimeout() > 0) {
+            // A call timeout spans the whole exchange, on top of the client's connect, read and write timeouts.
+            call.timeout().timeout(request.getTimeout(), TimeUnit.MILLISECONDS);
+        }
+        return call;
+    }
+
+    private static Request toOkHttp(TransportRequest request) {
+        Request.Builder builder = new Request.Builder().url(request.getUrl());
+        if (request.getTimings() != null) {
+            builder.tag(CallTimings.class, request.getTimings());
+        }
+        request.getHeaders().forEach(builder::header);
+        byte[] body = request.getBody();
+        RequestBody requestBody = null;
+        if (body != null) {
+            String contentType = request.getHeader("Content-Type");
+            requestBody = RequestBody.create(body, contentType != null ? MediaType.parse(contentType) : null);
+        } else if (requiresBody(request.getMethod())) {
+            // OkHttp rejects these methods without a body.
+            requestBody = RequestBody.create(new byte[0], null);
+        }
+        return builder.method(request.getMethod(), requestBody).build();
+    }
+
+    private static boolean requiresBody(String method) {
+        return "POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method);
+    }
+
+    private static TransportResponse toTransport(Response response) throws IOException {
+        ResponseBody body = response.body();
+        return new TransportResponse(response.code(), response.headers().toMultimap(),
+                body != null ? body.bytes() : null);
+    }
+}
@@ -4,45 +4,97 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.mpesa.sdk.auth.AuthService;
 import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.config.RequestOptions;
 import dev.mpesa.sdk.exception.*;
-import okhttp3.*;
+import dev.mpesa.sdk.metrics.MetricsRecorder;
+import dev.mpesa.sdk.tracing.Tracer;
+import dev.mpesa.sdk.util.LogPayload;
+import dev.mpesa.sdk.util.LogThrottle;
+import okhttp3.OkHttpClient;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Handles HTTP requests within the M-Pesa SDK.
  * This class is responsible for making authenticated HTTP requests, handling retries, and processing responses.
  * It handles serialization of request objects but does NOT deserialize response bodies.
+ * Authentication, retries and routing are built-in {@link Interceptor}s; application and network interceptors
+ * can be added around them.
  * It is **internal to the SDK** and should not be accessed by external users.
  */
 public class RequestHandler {
     private static final Logger logger = LoggerFactory.getLogger(RequestHandler.class);
 
+    /** Header carrying {@link RequestOptions#getIdempotencyKey()}. */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final AuthService authService;
-    private final OkHttpClient httpClient;
+    private final HttpTransport transport;
     private final ObjectMapper objectMapper;
     private final MpesaConfig config;
+    private final EndpointSelector endpointSelector;
+    private final Semaphore batchSlots;
+    private final LogThrottle successLogThrottle;
+    private final Interceptor[] interceptors;
 
     /**
-     * Creates a new {@code RequestHandler} with default OkHttpClient and ObjectMapper.
+     * Creates a new {@code RequestHandler} with the configured transport and a default ObjectMapper.
      *
      * @param authService the authentication service for retrieving access tokens
      * @param config      the configuration settings for timeouts and retries
      */
     public RequestHandler(AuthService authService, MpesaConfig config) {
-        this(authService, config,
-                new OkHttpClient.Builder()
-                        .connectTimeout(config.getConnectTimeout(), TimeUnit.MILLISECONDS)
-                        .readTimeout(config.getReadTimeout(), TimeUnit.MILLISECONDS)
-                        .writeTimeout(config.getWriteTimeout(), TimeUnit.MILLISECONDS)
-                        .build(),
-                new ObjectMapper()
-        );
+        this(authService, config, new ObjectMapper());
+    }
+
+    /**
+     * Creates a new {@code RequestHandler} with the transport selected by {@link MpesaConfig#getTransport()}
+     * (see {@link #newTransport(MpesaConfig)}) and a shared ObjectMapper.
+     *
+     * @param authService  the authentication service for retrieving access tokens
+     * @param config       the configuration settings for timeouts and retries
+     * @param objectMapper the JSON object mapper used to serialize request bodies
+     */
+    public RequestHandler(AuthService authService, MpesaConfig config, ObjectMapper objectMapper) {
+        this(authService, config, newTransport(config), objectMapper);
+    }
+
+    /**
+     * Creates the HTTP client the SDK uses by default for the OkHttp transport.
+     *
+     * @param config the configuration settings for timeouts and base URLs
+     * @return a new HTTP client
+     * @see OkHttpTransport#newHttpClient(MpesaConfig)
+     */
+    public static OkHttpClient newHttpClient(MpesaConfig config) {
+        return OkHttpTransport.newHttpClient(config);
+    }
+
+    /**
+     * Creates the transport selected by {@link MpesaConfig#getTransport()}, configured with its timeouts.
+     *
+     * @param config the configuration settings
+     * @return a new transport, owning its HTTP client
+     */
+    public static HttpTransport newTransport(MpesaConfig config) {
+        return config.getTransport() == MpesaConfig.Transport.JDK
+                ? new JdkHttpTransport(config)
+                : new OkHttpTransport(config);
     }
 
     /**
@@ -55,10 +107,183 @@ public class RequestHandler {
      * @param objectMapper  a custom JSON object mapper
      */
     public RequestHandler(AuthService authService, MpesaConfig config, OkHttpClient httpClient, ObjectMapper objectMapper) {
+        this(authService, config, new OkHttpTransport(httpClient), objectMapper);
+    }
+
+    /**
+     * Creates a new {@code RequestHandler} sending requests through the given transport.
+     *
+     * @param authService   the authentication service
+     * @param config        the configuration settings
+     * @param transport     the HTTP transport
+     * @param objectMapper  a custom JSON object mapper
+     */
+    public RequestHandler(AuthService authService, MpesaConfig config, HttpTransport transport, ObjectMapper objectMapper) {
+        this(authService, config, transport, objectMapper, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Creates a new {@code RequestHandler} sending requests through the given transport and interceptors.
+     *
+     * @param authService         the authentication service
+     * @param config              the configuration settings
+     * @param transport           the HTTP transport
+     * @param objectMapper        a custom JSON object mapper
+     * @param interceptors        application interceptors, run once per call, outermost first
+     * @param networkInterceptors network interceptors, run once per attempt, outermost first
+     */
+    public RequestHandler(AuthService authService, MpesaConfig config, HttpTransport transport, ObjectMapper objectMapper,
+                          List<Interceptor> interceptors, List<Interceptor> networkInterceptors) {
+        this(authService, config, transport, objectMapper, interceptors, networkInterceptors, MetricsRecorder.NOOP);
+    }
+
+    /**
+     * Creates a new {@code RequestHandler} sending requests through the given transport and interceptors and
+     * reporting them to a metrics recorder.
+     *
+     * @param authService         the authentication service
+     * @param config              the configuration settings
+     * @param transport           the HTTP transport
+     * @param objectMapper        a custom JSON object mapper
+     * @param interceptors        application interceptors, run once per call, outermost first
+     * @param networkInterceptors network interceptors, run once per attempt, outermost first
+     * @param metrics             the recorder for call, attempt and retry metrics
+     */
+    public RequestHandler(AuthService authService, MpesaConfig config, HttpTransport transport, ObjectMapper objectMapper,
+                          List<Interceptor> interceptors, List<Interceptor> networkInterceptors, MetricsRecorder metrics) {
+        this(authService, config, transport, objectMapper, interceptors, networkInterceptors, metrics, Tracer.NOOP);
+    }
+
+    /**
+     * Creates a new {@code RequestHandler} sending requests through the given transport and interceptors,
+     * reporting them to a metrics recorder and tracing them.
+     *
+     * @param authService         the authentication service
+     * @param config              the configuration settings
+     * @param transport           the HTTP transport
+     * @param objectMapper        a custom JSON object mapper
+     * @param interceptors        application interceptors, run once per call, outermost first
+     * @param networkInterceptors network interceptors, run once per attempt, outermost first
+     * @param metrics             the recorder for call, attempt and retry metrics
+     * @param tracer              the tracer starting a span per call and per attempt
+     */
+    public RequestHandler(AuthService authService, MpesaConfig config, HttpTransport transport, ObjectMapper objectMapper,
+                          List<Interceptor> interceptors, List<Interceptor> networkInterceptors, MetricsRecorder metrics,
+                          Tracer tracer) {
         this.authService = authService;
         this.config = config;
         this.objectMapper = objectMapper;
-        this.httpClient = httpClient;
+        this.transport = transport;
+        this.endpointSelector = new EndpointSelector(config.getBaseUrls(), config.getEndpointEjectionTime());
+        this.batchSlots = new Semaphore(Math.max(1, config.getBatchConcurrency()), true);
+        this.successLogThrottle = new LogThrottle(Math.max(0, config.getSuccessLogInterval()));
+
+        boolean measured = metrics != MetricsRecorder.NOOP;
+        boolean traced = tracer != Tracer.NOOP;
+        List<Interceptor> chain = new ArrayList<>(interceptors);
+        if (measured) {
+            chain.add(new MetricsInterceptor(metrics, false));
+        }
+        if (traced) {
+            chain.add(new TracingInterceptor(tracer, false));
+        }
+        chain.add(new RetryInterceptor(config, metrics));
+        chain.add(new AuthInterceptor(authService));
+        if (measured) {
+            chain.add(new MetricsInterceptor(metrics, true));
+        }
+        if (traced) {
+            chain.add(new TracingInterceptor(tracer, true));
+        }
+        chain.add(new RoutingInterceptor(endpointSelector));
+        chain.addAll(networkInterceptors);
+        this.interceptors = chain.toArray(new Interceptor[0]);
+    }
+
+    /**
+     * @return The transport requests are sent through.
+     */
+    public HttpTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * @return The selector routing requests across the configured base URLs, e.g. to inspect their latencies.
+     */
+    public EndpointSelector getEndpointSelector() {
+        return endpointSelector;
+    }
+
+    /**
+     * Opens connections to every configured base URL ahead of traffic, so the first requests do not pay for
+     * DNS resolution, the TCP handshake and the TLS handshake. The requested number of unauthenticated
+     * {@code HEAD} requests is sent to each base URL at the same time, each on its own connection; the responses
+     * are ignored and the connections stay in the pool. Endpoints multiplexing over HTTP/2 share one connection.
+     * <p>
+     * The observed latencies seed the {@link EndpointSelector}.
+     *
+     * @param connectionsPerHost the number of connections to open per base URL
+     * @return the number of connections that were opened successfully
+     */
+    public int warmUp(int connectionsPerHost) {
+        List<EndpointSelector.Endpoint> endpoints = endpointSelector.getEndpoints();
+        int total = connectionsPerHost * endpoints.size();
+        if (total <= 0) {
+            return 0;
+        }
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(total, runnable -> {
+            Thread thread = new Thread(runnable, "mpesa-warm-up-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>(total);
+            for (EndpointSelector.Endpoint endpoint : endpoints) {
+                for (int i = 0; i < connectionsPerHost; i++) {
+                    results.add(executor.submit(() -> {
+                        // Released together so the requests overlap and cannot reuse each other's connection.
+                        start.await();
+                        return preconnect(endpoint);
+                    }));
+                }
+            }
+            start.countDown();
+            long deadline = System.nanoTime()
+                    + TimeUnit.MILLISECONDS.toNanos(config.getConnectTimeout() + config.getReadTimeout());
+            int opened = 0;
+            for (Future<Boolean> result : results) {
+                try {
+                    if (result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                        opened++;
+                    }
+                } catch (ExecutionException | TimeoutException e) {
+                    logger.debug("Warm-up connection did not complete: {}", e.toString());
+                }
+            }
+            logger.info("Warm-up opened {} of {} connections to {}", opened, total, endpoints);
+            return opened;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean preconnect(EndpointSelector.Endpoint endpoint) {
+        TransportRequest request = new TransportRequest.Builder().url(endpoint.getBaseUrl() + "/").head().build();
+        long startedAt = endpointSelector.begin(endpoint);
+        try {
+            TransportResponse response = transport.execute(request);
+            endpointSelector.recordWarmUp(endpoint, startedAt, !RetryInterceptor.isRetryable(response.getCode()));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            endpointSelector.recordWarmUp(endpoint, startedAt, false);
+            logger.warn("Warm-up connection to {} failed: {}", endpoint.getBaseUrl(), e.getMessage());
+            return false;
+        }
     }
 
     /**
@@ -70,8 +295,20 @@ public class RequestHandler {
      * @throws JsonProcessingException if JSON processing fails
      */
     public String get(String url) throws MpesaNetworkException, JsonProcessingException {
-        logger.debug("Sending GET request to: {}", url);
-        return execute(buildRequest(url, "GET", null));
+        return get(url, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Sends an authenticated GET request with per-call options.
+     *
+     * @param url     the endpoint URL
+     * @param options the deadline, retry policy, priority, idempotency key and tags for this call
+     * @return the response body as a string
+     * @throws MpesaNetworkException if a network error occurs or the deadline passes
+     * @throws JsonProcessingException if JSON processing fails
+     */
+    public String get(String url, RequestOptions options) throws MpesaNetworkException, JsonProcessingException {
+        return execute(buildRequest(url, "GET", null, options), options);
     }
 
     /**
@@ -84,8 +321,21 @@ public class RequestHandler {
      * @throws JsonProcessingException if JSON processing fails
      */
     public String post(String url, Object requestBody) throws MpesaNetworkException, JsonProcessingException {
-        logger.debug("Sending POST request to: {}, Body: {}", url, requestBody);
-        return execute(buildRequest(url, "POST", requestBody));
+        return post(url, requestBody, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Sends an authenticated POST request with per-call options.
+     *
+     * @param url         the endpoint URL
+     * @param requestBody the request payload
+     * @param options     the deadline, retry policy, priority, idempotency key and tags for this call
+     * @return the response body as a string
+     * @throws MpesaNetworkException if a network error occurs or the deadline passes
+     * @throws JsonProcessingException if JSON processing fails
+     */
+    public String post(String url, Object requestBody, RequestOptions options) throws MpesaNetworkException, JsonProcessingException {
+        return execute(buildRequest(url, "POST", requestBody, options), options);
     }
 
     /**
@@ -98,8 +348,21 @@ public class RequestHandler {
      * @throws JsonProcessingException if JSON processing fails
      */
     public String put(String url, Object requestBody) throws MpesaNetworkException, JsonProcessingException {
-        logger.debug("Sending PUT request to: {}, Body: {}", url, requestBody);
-        return execute(buildRequest(url, "PUT", requestBody));
+        return put(url, requestBody, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Sends an authenticated PUT request with per-call options.
+     *
+     * @param url         the endpoint URL
+     * @param requestBody the request payload
+     * @param options     the deadline, retry policy, priority, idempotency key and tags for this call
+     * @return the response body as a string
+     * @throws MpesaNetworkException if a network error occurs or the deadline passes
+     * @throws JsonProcessingException if JSON processing fails
+     */
+    public String put(String url, Object requestBody, RequestOptions options) throws MpesaNetworkException, JsonProcessingException {
+        return execute(buildRequest(url, "PUT", requestBody, options), options);
     }
 
     /**
@@ -111,111 +374,133 @@ public class RequestHandler {
      * @throws JsonProcessingException if JSON processing fails
      */
     public String delete(String url) throws MpesaNetworkException, JsonProcessingException {
-        logger.debug("Sending DELETE request to: {}", url);
-        return execute(buildRequest(url, "DELETE", null));
+        return delete(url, RequestOptions.DEFAULT);
     }
 
     /**
-     * Builds an HTTP request with authentication headers.
+     * Sends an authenticated DELETE request with per-call options.
+     *
+     * @param url     the endpoint URL
+     * @param options the deadline, retry policy, priority, idempotency key and tags for this call
+     * @return the response body as a string
+     * @throws MpesaNetworkException if a network error occurs or the deadline passes
+     * @throws JsonProcessingException if JSON processing fails
+     */
+    public String delete(String url, RequestOptions options) throws MpesaNetworkException, JsonProcessingException {
+        return execute(buildRequest(url, "DELETE", null, options), options);
+    }
+
+    /**
+     * Builds an HTTP request. The {@code Authorization} header is added by the auth interceptor on each attempt.
      *
      * @param url         the request URL
      * @param method      the HTTP method (GET, POST, etc.)
      * @param requestBody the request body (if applicable)
-     * @return the constructed {@link Request} object
+     * @param options     the per-call options, for the idempotency key
+     * @return the constructed {@link TransportRequest} object
      * @throws JsonProcessingException if JSON serialization fails
      */
-    private Request buildRequest(String url, String method, Object requestBody) throws JsonProcessingException {
-        Request.Builder builder = new Request.Builder()
-                .url(url)
-                .addHeader("Authorization", "Bearer " + authService.getAccessToken())
-                .addHeader("Content-Type", "application/json");
-
+    private TransportRequest buildRequest(String url, String method, Object requestBody, RequestOptions options)
+            throws JsonProcessingException {
+        byte[] body = null;
         if ("POST".equals(method) || "PUT".equals(method)) {
-            String json = objectMapper.writeValueAsString(requestBody);
-            RequestBody body = RequestBody.create(json, MediaType.get("application/json"));
-            builder.method(method, body);
-        } else {
-            builder.method(method, null);
+            // Serialized straight to UTF-8 bytes, skipping the intermediate String.
+            body = objectMapper.writeValueAsBytes(requestBody);
+        }
+        TransportRequest.Builder builder = new TransportRequest.Builder()
+                .url(url)
+                .method(method, body)
+                .header("Content-Type", "application/json");
+        if (options.getIdempotencyKey() != null) {
+            builder.header(IDEMPOTENCY_KEY_HEADER, options.getIdempotencyKey());
         }
-
         return builder.build();
     }
 
     /**
-     * Executes the HTTP request, handling retries and authentication failures.
+     * Executes the HTTP request under the call's options. {@code BATCH} calls first wait for one of the
+     * {@link MpesaConfig#getBatchConcurrency()} batch slots, so bulk jobs cannot crowd out interactive calls.
      *
      * @param request the request to execute
+     * @param options the per-call options
      * @return the response body as a string
-     * @throws MpesaNetworkException if all retries fail
+     * @throws MpesaNetworkException if all retries fail or the deadline passes
      */
-    private String execute(Request request) throws MpesaNetworkException {
-        int attempt = 0;
-        boolean initialAuthAttempt = true;
-
-        while (attempt < config.getMaxRetries()) {
-            try (Response response = httpClient.newCall(request).execute()) {
-                if (response.isSuccessful()) {
-                    logger.info("Request to {} successful with status code {}", request.url(), response.code());
-                    return Objects.requireNonNull(response.body()).string();
-                }
-
-                if (response.code() == 401) {
-                    logger.warn("Authentication failed for request to {}: 401 Unauthorized", request.url());
-                    if (!initialAuthAttempt) {
-                        throw new MpesaAuthenticationException(response.body() != null ? response.body().string() : "",
-                                "Failed to authenticate despite having a valid token.");
-                    }
-                    initialAuthAttempt = false;
-                    authService.refreshToken();
-                    request = buildRequest(request.url().toString(), request.method(), null);
-                    continue;
-                }
-
-                if (shouldRetry(response.code())) {
-                    logger.warn("Request to {} failed with status code {}. Retrying...", request.url(), response.code());
-                    attempt++;
-                    sleepBeforeRetry(attempt);
-                    continue;
-                }
+    private String execute(TransportRequest request, RequestOptions options) throws MpesaNetworkException {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Sending {} request to: {}, Body: {}, Tags: {}", request.getMethod(), request.getUrl(),
+                    LogPayload.json(request.getBody()), options.getTags());
+        }
+        long deadlineAt = options.getDeadline() != null
+                ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(options.getDeadline())
+                : 0;
+        if (options.getPriority() != RequestOptions.Priority.BATCH) {
+            return executeChain(request, options, deadlineAt);
+        }
+        acquireBatchSlot(request, options, deadlineAt);
+        try {
+            return executeChain(request, options, deadlineAt);
+        } finally {
+            batchSlots.release();
+        }
+    }
 
-                String responseBody = response.body() != null ? response.body().string() : "";
-                throw new MpesaHttpException(response.code(), responseBody, "HTTP error: " + response.code());
-            } catch (IOException e) {
-                logger.error("Network error during request to {}: {}", request.url(), e.getMessage());
-                if (attempt < config.getMaxRetries() - 1) {
-                    attempt++;
-                    sleepBeforeRetry(attempt);
-                    continue;
-                }
-                throw new MpesaNetworkException("Network error after retries: " + e.getMessage(), e);
+    private void acquireBatchSlot(TransportRequest request, RequestOptions options, long deadlineAt) {
+        try {
+            if (deadlineAt == 0) {
+                batchSlots.acquire();
+            } else if (!batchSlots.tryAcquire(deadlineAt - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw RetryInterceptor.deadlineExceeded(request, options, null);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MpesaNetworkException("Interrupted while waiting for a batch slot for " + request.getUrl(), e);
         }
-
-        throw new MpesaNetworkException("Request failed after all retries.");
     }
 
     /**
-     * Determines if the request should be retried based on the HTTP response code.
+     * Passes the request through the interceptor chain and turns the final response into the body or an exception.
      *
-     * @param responseCode the HTTP status code
-     * @return {@code true} if the request should be retried; {@code false} otherwise
+     * @param request    the request to execute
+     * @param options    the per-call options
+     * @param deadlineAt the {@link System#nanoTime()} by which the call must finish, or 0 for none
+     * @return the response body as a string
+     * @throws MpesaNetworkException if all retries fail or the deadline passes
      */
-    private boolean shouldRetry(int responseCode) {
-        return responseCode == 500 || responseCode == 502 || responseCode == 503 || responseCode == 429;
+    private String executeChain(TransportRequest request, RequestOptions options, long deadlineAt) throws MpesaNetworkException {
+        TransportResponse response;
+        try {
+            response = new InterceptorChain(interceptors, 0, transport, request, options, deadlineAt).proceed(request);
+        } catch (IOException e) {
+            // Only an application interceptor can get here; the retry interceptor wraps transport failures.
+            logger.error("Network error during request to {}: {}", request.getUrl(), e.getMessage());
+            throw new MpesaNetworkException("Network error: " + e.getMessage(), e);
+        }
+        if (response.isSuccessful()) {
+            logSuccess(request, response);
+            return response.getBodyAsString();
+        }
+        throw new MpesaHttpException(response.getCode(), response.getBodyAsString(), "HTTP error: " + response.getCode());
     }
 
     /**
-     * Sleeps for a calculated backoff time before retrying a failed request.
-     *
-     * @param attempt the current retry attempt (used for exponential backoff)
+     * Logs a successful request at INFO at most once per {@link MpesaConfig#getSuccessLogInterval()}, and at
+     * DEBUG otherwise.
      */
-    private void sleepBeforeRetry(int attempt) {
-        try {
-            long backoffTime = (long) (config.getRetryBackoffTime() * Math.pow(2, attempt)); // Exponential backoff
-            logger.debug("Sleeping for {} ms before retrying", backoffTime);
-            Thread.sleep(backoffTime);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    private void logSuccess(TransportRequest request, TransportResponse response) {
+        if (logger.isInfoEnabled()) {
+            long suppressed = successLogThrottle.tryAcquire();
+            if (suppressed == 0) {
+                logger.info("Request to {} successful with status code {}", request.getUrl(), response.getCode());
+                return;
+            } else if (suppressed > 0) {
+                logger.info("Request to {} successful with status code {} ({} more successful requests since the last message)",
+                        request.getUrl(), response.getCode(), suppressed);
+                return;
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Request to {} successful with status code {}", request.getUrl(), response.getCode());
         }
     }
 }
@@ -0,0 +1,164 @@
+package dev.mpesa.sdk.http;
+
+import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.config.RequestOptions;
+import dev.mpesa.sdk.exception.MpesaHttpException;
+import dev.mpesa.sdk.exception.MpesaNetworkException;
+import dev.mpesa.sdk.jfr.MpesaRequestEvent;
+import dev.mpesa.sdk.jfr.RetryBackoffEvent;
+import dev.mpesa.sdk.metrics.CallTimings;
+import dev.mpesa.sdk.metrics.MetricsRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Built-in interceptor repeating the rest of the chain on network errors and 429/5xx responses, with exponential
+ * backoff, up to {@link RequestOptions#maxRetries(MpesaConfig)} attempts. With a deadline, each attempt is limited
+ * to the time left, and no retry is started that could not finish in time.
+ * <p>
+ * When call timings are captured, each attempt gets its own {@link CallTimings}; they are reported to the metrics
+ * recorder and attached to the {@link MpesaNetworkException} that ends the call.
+ * <p>
+ * Each attempt is reported to Flight Recorder as a {@link MpesaRequestEvent}, and each backoff as a
+ * {@link RetryBackoffEvent}.
+ */
+final class RetryInterceptor implements Interceptor {
+    private static final Logger logger = LoggerFactory.getLogger(RetryInterceptor.class);
+
+    private final MpesaConfig config;
+    private final MetricsRecorder metrics;
+    private final boolean captureTimings;
+
+    RetryInterceptor(MpesaConfig config, MetricsRecorder metrics) {
+        this.config = config;
+        this.metrics = metrics;
+        this.captureTimings = config.isCaptureCallTimings() || metrics != MetricsRecorder.NOOP;
+    }
+
+    @Override
+    public TransportResponse intercept(Chain chain) throws IOException {
+        TransportRequest request = chain.request();
+        RequestOptions options = chain.options();
+        long deadlineAt = chain.deadline();
+        int maxRetries = options.maxRetries(config);
+        long backoffTime = options.retryBackoffTime(config);
+        int attempt = 0;
+
+        while (true) {
+            TransportRequest attemptRequest = request;
+            CallTimings timings = captureTimings ? new CallTimings() : null;
+            if (deadlineAt != 0 || timings != null) {
+                TransportRequest.Builder builder = request.newBuilder().timings(timings);
+                if (deadlineAt != 0) {
+                    long remaining = TimeUnit.NANOSECONDS.toMillis(deadlineAt - System.nanoTime());
+                    if (remaining <= 0) {
+                        throw deadlineExceeded(request, options, null);
+                    }
+                    builder.timeout(remaining);
+                }
+                attemptRequest = builder.build();
+            }
+
+            TransportResponse response;
+            MpesaRequestEvent event = new MpesaRequestEvent();
+            event.begin();
+            try {
+                response = chain.proceed(attemptRequest);
+            } catch (RuntimeException e) {
+                event.complete(request.getUrl(), request.getMethod(), attempt + 1, 0, bodySize(request.getBody()), 0, e);
+                throw e;
+            } catch (IOException e) {
+                event.complete(request.getUrl(), request.getMethod(), attempt + 1, 0, bodySize(request.getBody()), 0, e);
+                recordTimings(request, timings);
+                logger.error("Network error during request to {}: {}", request.getUrl(), e.getMessage());
+                if (++attempt >= maxRetries) {
+                    throw new MpesaNetworkException("Network error after retries: " + e.getMessage(), e, timings);
+                }
+                if (!sleepBeforeRetry(request.getUrl(), attempt, backoffTime, deadlineAt, 0)) {
+                    throw deadlineExceeded(request, options, e, timings);
+                }
+                metrics.recordRetry(request.getUrl());
+                continue;
+            }
+
+            event.complete(request.getUrl(), request.getMethod(), attempt + 1, response.getCode(),
+                    bodySize(request.getBody()), bodySize(response.getBody()), null);
+            recordTimings(request, timings);
+            if (!isRetryable(response.getCode())) {
+                return response;
+            }
+            MpesaHttpException failure = new MpesaHttpException(response.getCode(), response.getBodyAsString(),
+                    "HTTP error: " + response.getCode());
+            if (++attempt >= maxRetries) {
+                logger.warn("Request to {} failed with status code {}", request.getUrl(), response.getCode());
+                throw new MpesaNetworkException("Request failed after all retries.", failure, timings);
+            }
+            logger.warn("Request to {} failed with status code {}. Retrying...", request.getUrl(), response.getCode());
+            if (!sleepBeforeRetry(request.getUrl(), attempt, backoffTime, deadlineAt, response.getCode())) {
+                throw deadlineExceeded(request, options, failure, timings);
+            }
+            metrics.recordRetry(request.getUrl());
+        }
+    }
+
+    /**
+     * Determines if the request should be retried based on the HTTP response code.
+     *
+     * @param responseCode the HTTP status code
+     * @return {@code true} if the request should be retried; {@code false} otherwise
+     */
+    static boolean isRetryable(int responseCode) {
+        return responseCode == 500 || responseCode == 502 || responseCode == 503 || responseCode == 429;
+    }
+
+    static MpesaNetworkException deadlineExceeded(TransportRequest request, RequestOptions options, Exception cause) {
+        return deadlineExceeded(request, options, cause, null);
+    }
+
+    private static MpesaNetworkException deadlineExceeded(TransportRequest request, RequestOptions options,
+                                                          Exception cause, CallTimings timings) {
+        String message = "Deadline of " + options.getDeadline() + " ms exceeded for request to " + request.getUrl();
+        logger.warn(message);
+        return new MpesaNetworkException(message, cause, timings);
+    }
+
+    private void recordTimings(TransportRequest request, CallTimings timings) {
+        if (timings != null && timings.isCaptured()) {
+            metrics.recordCallTimings(request.getUrl(), timings);
+        }
+    }
+
+    private static long bodySize(byte[] body) {
+        return body != null ? body.length : 0;
+    }
+
+    /**
+     * Sleeps for a calculated backoff time before retrying a failed request.
+     *
+     * @param url         the URL the call was made to
+     * @param attempt     the current retry attempt (used for exponential backoff)
+     * @param backoffTime the base backoff time in milliseconds
+     * @param deadlineAt  the {@link System#nanoTime()} by which the call must finish, or 0 for none
+     * @param statusCode  the status code of the failed attempt, or 0 after a network error
+     * @return {@code false}, without sleeping, if the deadline would pass before the retry could be sent
+     */
+    private static boolean sleepBeforeRetry(String url, int attempt, long backoffTime, long deadlineAt, int statusCode) {
+        long backoff = (long) (backoffTime * Math.pow(2, attempt)); // Exponential backoff
+        if (deadlineAt != 0 && System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff) - deadlineAt >= 0) {
+            return false;
+        }
+        RetryBackoffEvent event = new RetryBackoffEvent();
+        event.begin();
+        try {
+            logger.debug("Sleeping for {} ms before retrying", backoff);
+            Thread.sleep(backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        event.complete(url, attempt, backoff, statusCode);
+        return true;
+    }
+}
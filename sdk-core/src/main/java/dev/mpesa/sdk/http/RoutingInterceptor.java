@@ -0,0 +1,39 @@
+package dev.mpesa.sdk.http;
+
+import java.io.IOException;
+
+/**
+ * Built-in interceptor routing each attempt to a URL under one of the configured base URLs to the endpoint chosen
+ * by the {@link EndpointSelector}, so a retry moves away from an endpoint that has just failed. The outcome is
+ * recorded as soon as the response arrives, before any backoff, so it measures the endpoint alone.
+ */
+final class RoutingInterceptor implements Interceptor {
+
+    private final EndpointSelector endpointSelector;
+
+    RoutingInterceptor(EndpointSelector endpointSelector) {
+        this.endpointSelector = endpointSelector;
+    }
+
+    @Override
+    public TransportResponse intercept(Chain chain) throws IOException {
+        TransportRequest request = chain.request();
+        EndpointSelector.Endpoint origin = endpointSelector.match(request.getUrl());
+        if (origin == null) {
+            return chain.proceed(request);
+        }
+        EndpointSelector.Endpoint endpoint = endpointSelector.select();
+        if (endpoint != origin) {
+            request = request.newBuilder().url(endpointSelector.rewrite(request.getUrl(), origin, endpoint)).build();
+        }
+        long startedAt = endpointSelector.begin(endpoint);
+        boolean healthy = false;
+        try {
+            TransportResponse response = chain.proceed(request);
+            healthy = !RetryInterceptor.isRetryable(response.getCode());
+            return response;
+        } finally {
+            endpointSelector.record(endpoint, startedAt, healthy);
+        }
+    }
+}
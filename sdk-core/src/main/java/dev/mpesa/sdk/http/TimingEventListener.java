@@ -0,0 +1,128 @@
+package dev.mpesa.sdk.http;
+
+import dev.mpesa.sdk.metrics.CallTimings;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+/**
+ * OkHttp {@link EventListener} filling in the {@link CallTimings} attached to a request by
+ * {@link TransportRequest#getTimings()}. Calls without timings get {@link EventListener#NONE}, so the listener
+ * costs nothing unless timings are requested.
+ * <p>
+ * {@link OkHttpTransport#newHttpClient(MpesaConfig)} installs {@link #FACTORY}; install it on your own client with
+ * {@code new OkHttpClient.Builder().eventListenerFactory(TimingEventListener.FACTORY)} to get timings with it.
+ */
+public final class TimingEventListener extends EventListener {
+
+    /** Creates a listener for calls carrying {@link CallTimings}, and none for the others. */
+    public static final EventListener.Factory FACTORY = call -> {
+        CallTimings timings = call.request().tag(CallTimings.class);
+        return timings != null ? new TimingEventListener(timings) : EventListener.NONE;
+    };
+
+    private final CallTimings timings;
+
+    private TimingEventListener(CallTimings timings) {
+        this.timings = timings;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        timings.callStart();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        timings.dnsStart();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        timings.dnsEnd();
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        timings.connectStart();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        timings.secureConnectStart();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, okhttp3.Handshake handshake) {
+        timings.secureConnectEnd();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        timings.connectEnd();
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol, IOException ioe) {
+        timings.connectEnd();
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        timings.connectionAcquired();
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        timings.requestStart();
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        timings.requestEnd();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        timings.requestEnd();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        timings.responseStart();
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        timings.responseEnd();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        timings.responseEnd();
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        timings.callEnd();
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        timings.callFailed(ioe);
+    }
+
+    @Override
+    public void canceled(Call call) {
+        timings.callFailed(new IOException("Canceled"));
+    }
+}
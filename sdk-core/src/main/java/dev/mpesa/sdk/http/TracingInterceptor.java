@@ -0,0 +1,58 @@
+package dev.mpesa.sdk.http;
+
+import dev.mpesa.sdk.metrics.HistogramMetricsRecorder;
+import dev.mpesa.sdk.tracing.Span;
+import dev.mpesa.sdk.tracing.Tracer;
+import dev.mpesa.sdk.tracing.TracingContext;
+
+import java.io.IOException;
+
+/**
+ * Built-in interceptor wrapping calls or attempts in {@link Span}s. The call-level instance runs outside the retry
+ * interceptor and makes its span current, so that the attempt-level one, inside the auth interceptor, nests under
+ * it and lets the tracer inject its headers into each attempt. Neither is installed when the tracer is
+ * {@link Tracer#NOOP}.
+ */
+final class TracingInterceptor implements Interceptor {
+
+    static final String CALL_SPAN = "mpesa.call";
+    static final String ATTEMPT_SPAN = "mpesa.attempt";
+
+    private final Tracer tracer;
+    private final boolean perAttempt;
+
+    TracingInterceptor(Tracer tracer, boolean perAttempt) {
+        this.tracer = tracer;
+        this.perAttempt = perAttempt;
+    }
+
+    @Override
+    public TransportResponse intercept(Chain chain) throws IOException {
+        TransportRequest request = chain.request();
+        Span span = tracer.startSpan(perAttempt ? ATTEMPT_SPAN : CALL_SPAN, TracingContext.current());
+        span.setAttribute("http.method", request.getMethod());
+        span.setAttribute("url.path", HistogramMetricsRecorder.endpointOf(request.getUrl()));
+        if (perAttempt) {
+            TransportRequest.Builder builder = request.newBuilder();
+            tracer.inject(span, builder::header);
+            request = builder.build();
+        }
+        try (TracingContext.Scope ignored = TracingContext.makeCurrent(span)) {
+            TransportResponse response = chain.proceed(request);
+            span.setAttribute("http.status_code", response.getCode());
+            return response;
+        } catch (IOException e) {
+            span.recordError(e);
+            throw e;
+        } catch (RuntimeException e) {
+            int statusCode = MetricsInterceptor.statusCodeOf(e);
+            if (statusCode != 0) {
+                span.setAttribute("http.status_code", statusCode);
+            }
+            span.recordError(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package dev.mpesa.sdk.http;
+
+import dev.mpesa.sdk.metrics.CallTimings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An HTTP request as handed to an {@link HttpTransport}: method, URL, headers and an already serialized body.
+ * <p>
+ * Instances are immutable; use {@link #newBuilder()} to derive a modified copy, e.g. with a fresh
+ * {@code Authorization} header or a URL on another endpoint. The body is shared between copies and must not be
+ * modified.
+ */
+public final class TransportRequest {
+    private final String method;
+    private final String url;
+    private final Map<String, String> headers;
+    private final byte[] body;
+    private final long timeout;
+    private final CallTimings timings;
+
+    private TransportRequest(Builder builder) {
+        if (builder.url == null) {
+            throw new IllegalArgumentException("url is required");
+        }
+        this.method = builder.method;
+        this.url = builder.url;
+        Map<String, String> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        copy.putAll(builder.headers);
+        this.headers = Collections.unmodifiableMap(copy);
+        this.body = builder.body;
+        this.timeout = builder.timeout;
+        this.timings = builder.timings;
+    }
+
+    /** @return The HTTP method, e.g. {@code POST}. */
+    public String getMethod() { return method; }
+
+    /** @return The full request URL. */
+    public String getUrl() { return url; }
+
+    /** @return The request headers, keyed case-insensitively. */
+    public Map<String, String> getHeaders() { return headers; }
+
+    /**
+     * @param name the header name, in any case
+     * @return The header value, or {@code null} if the header is not set.
+     */
+    public String getHeader(String name) { return headers.get(name); }
+
+    /** @return The serialized body, or {@code null} for requests without one. Must not be modified. */
+    public byte[] getBody() { return body; }
+
+    /**
+     * @return Time in milliseconds the transport may spend on this request, from sending it to reading the whole
+     * response, or 0 to apply only the transport's own timeouts.
+     */
+    public long getTimeout() { return timeout; }
+
+    /**
+     * @return The timings the transport should fill in for this exchange, or {@code null} if none are wanted.
+     * Shared between copies made with {@link #newBuilder()}.
+     */
+    public CallTimings getTimings() { return timings; }
+
+    /**
+     * @return A builder initialized with this request's method, URL, headers and body.
+     */
+    public Builder newBuilder() {
+        Builder builder = new Builder();
+        builder.method = method;
+        builder.url = url;
+        builder.headers.putAll(headers);
+        builder.body = body;
+        builder.timeout = timeout;
+        builder.timings = timings;
+        return builder;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + url + (body != null ? " (" + body.length + " bytes)" : "");
+    }
+
+    /**
+     * Builder class for {@link TransportRequest}. Requests default to {@code GET} without a body.
+     */
+    public static class Builder {
+        private String method = "GET";
+        private String url;
+        private final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private byte[] body;
+        private long timeout;
+        private CallTimings timings;
+
+        public Builder url(String url) {
+            this.url = url;
+            return this;
+        }
+
+        public Builder method(String method, byte[] body) {
+            this.method = method;
+            this.body = body;
+            return this;
+        }
+
+        public Builder header(String name, String value) {
+            this.headers.put(name, value);
+            return this;
+        }
+
+        public Builder removeHeader(String name) {
+            this.headers.remove(name);
+            return this;
+        }
+
+        public Builder timeout(long timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        public Builder timings(CallTimings timings) {
+            this.timings = timings;
+            return this;
+        }
+
+        public Builder get() {
+            return method("GET", null);
+        }
+
+        public Builder head() {
+            return method("HEAD", null);
+        }
+
+        public Builder post(String json) {
+            return method("POST", json.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Builds the {@link TransportRequest}.
+         *
+         * @return the request
+         */
+        public TransportRequest build() {
+            return new TransportRequest(this);
+        }
+    }
+}
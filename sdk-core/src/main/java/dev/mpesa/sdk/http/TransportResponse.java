@@ -0,0 +1,68 @@
+package dev.mpesa.sdk.http;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An HTTP response returned by an {@link HttpTransport}, with the body fully read into memory. M-Pesa responses
+ * are small JSON documents, so nothing is streamed.
+ */
+public final class TransportResponse {
+    private static final byte[] EMPTY = new byte[0];
+
+    private final int code;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+
+    /**
+     * @param code    the HTTP status code
+     * @param headers the response headers; names are matched case-insensitively
+     * @param body    the response body, or {@code null} for an empty one
+     */
+    public TransportResponse(int code, Map<String, List<String>> headers, byte[] body) {
+        this.code = code;
+        Map<String, List<String>> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (headers != null) {
+            // HTTP/2 pseudo-headers and the JDK's null status-line key are not headers.
+            headers.forEach((name, values) -> {
+                if (name != null && !name.startsWith(":")) {
+                    copy.put(name, List.copyOf(values));
+                }
+            });
+        }
+        this.headers = Collections.unmodifiableMap(copy);
+        this.body = body != null ? body : EMPTY;
+    }
+
+    /** @return The HTTP status code. */
+    public int getCode() { return code; }
+
+    /** @return {@code true} if the status code is in the 2xx range. */
+    public boolean isSuccessful() { return code >= 200 && code < 300; }
+
+    /** @return The response headers, keyed case-insensitively. */
+    public Map<String, List<String>> getHeaders() { return headers; }
+
+    /**
+     * @param name the header name, in any case
+     * @return The first value of the header, or {@code null} if it is absent.
+     */
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /** @return The response body; empty, never {@code null}, if there was none. Must not be modified. */
+    public byte[] getBody() { return body; }
+
+    /** @return The response body decoded as UTF-8, the encoding the M-Pesa API uses for JSON. */
+    public String getBodyAsString() { return new String(body, StandardCharsets.UTF_8); }
+
+    @Override
+    public String toString() {
+        return "TransportResponse{code=" + code + ", " + body.length + " bytes}";
+    }
+}
@@ -0,0 +1,60 @@
+package dev.mpesa.sdk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a callback received from M-Pesa, from reading its body to acknowledging it. Handling the callback
+ * happens later and is not part of the event.
+ */
+@Name("dev.mpesa.sdk.CallbackIngest")
+@Label("M-Pesa Callback Ingest")
+@Category("M-Pesa")
+@Description("Callback received from M-Pesa and acknowledged")
+@StackTrace(false)
+public final class CallbackIngestEvent extends Event {
+
+    @Label("Callback Type")
+    String callbackType;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status Code")
+    @Description("HTTP status code the callback was answered with")
+    int statusCode;
+
+    @Label("Bytes Received")
+    @DataAmount
+    long bytesReceived;
+
+    @Label("Correlation ID")
+    @Description("CheckoutRequestID, ConversationID or TransID identifying the transaction")
+    String correlationId;
+
+    /**
+     * Ends the event and commits it if it is enabled and over its threshold.
+     *
+     * @param callbackType  the kind of callback, e.g. {@code STK_PUSH}
+     * @param path          the path the callback was posted to
+     * @param statusCode    the HTTP status code it was answered with
+     * @param bytesReceived the size of its body
+     * @param correlationId the ID identifying its transaction, or {@code null} if it could not be read
+     */
+    public void complete(String callbackType, String path, int statusCode, long bytesReceived, String correlationId) {
+        end();
+        if (shouldCommit()) {
+            this.callbackType = callbackType;
+            this.path = path;
+            this.statusCode = statusCode;
+            this.bytesReceived = bytesReceived;
+            this.correlationId = correlationId;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package dev.mpesa.sdk.jfr;
+
+import dev.mpesa.sdk.metrics.HistogramMetricsRecorder;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one attempt of an M-Pesa API call, from sending it to its response or failure, including an
+ * access token refresh after a 401.
+ */
+@Name("dev.mpesa.sdk.Request")
+@Label("M-Pesa Request")
+@Category("M-Pesa")
+@Description("One attempt of an M-Pesa API call")
+@StackTrace(false)
+public final class MpesaRequestEvent extends Event {
+
+    @Label("Endpoint")
+    @Description("Path of the URL the call was made to")
+    String endpoint;
+
+    @Label("Method")
+    String method;
+
+    @Label("Attempt")
+    @Description("1 for the first attempt, 2 for the first retry, and so on")
+    int attempt;
+
+    @Label("Status Code")
+    @Description("HTTP status code, or 0 if no response was received")
+    int statusCode;
+
+    @Label("Bytes Sent")
+    @DataAmount
+    long bytesSent;
+
+    @Label("Bytes Received")
+    @DataAmount
+    long bytesReceived;
+
+    @Label("Failure")
+    String failure;
+
+    /**
+     * Ends the event and commits it if it is enabled and over its threshold. The fields are only filled in then,
+     * so the call costs next to nothing while no recording is running.
+     *
+     * @param url           the URL the call was made to
+     * @param method        the HTTP method
+     * @param attempt       the attempt's number, starting at 1
+     * @param statusCode    the HTTP status code, or 0 if no response was received
+     * @param bytesSent     the size of the request body
+     * @param bytesReceived the size of the response body
+     * @param failure       the error that ended the attempt, or {@code null}
+     */
+    public void complete(String url, String method, int attempt, int statusCode, long bytesSent, long bytesReceived,
+                         Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.endpoint = HistogramMetricsRecorder.endpointOf(url);
+            this.method = method;
+            this.attempt = attempt;
+            this.statusCode = statusCode;
+            this.bytesSent = bytesSent;
+            this.bytesReceived = bytesReceived;
+            this.failure = failure != null ? failure.toString() : null;
+            commit();
+        }
+    }
+}
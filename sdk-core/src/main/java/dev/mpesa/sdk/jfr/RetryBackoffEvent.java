@@ -0,0 +1,56 @@
+package dev.mpesa.sdk.jfr;
+
+import dev.mpesa.sdk.metrics.HistogramMetricsRecorder;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for the backoff before an M-Pesa API call is retried. Its duration is the time actually slept.
+ */
+@Name("dev.mpesa.sdk.RetryBackoff")
+@Label("M-Pesa Retry Backoff")
+@Category("M-Pesa")
+@Description("Backoff before an M-Pesa API call is retried")
+@StackTrace(false)
+public final class RetryBackoffEvent extends Event {
+
+    @Label("Endpoint")
+    @Description("Path of the URL the call was made to")
+    String endpoint;
+
+    @Label("Retry")
+    @Description("1 for the first retry, 2 for the second, and so on")
+    int retry;
+
+    @Label("Planned Backoff")
+    @Timespan(Timespan.MILLISECONDS)
+    long backoff;
+
+    @Label("Status Code")
+    @Description("HTTP status code of the failed attempt, or 0 after a network error")
+    int statusCode;
+
+    /**
+     * Ends the event and commits it if it is enabled and over its threshold.
+     *
+     * @param url           the URL the call was made to
+     * @param retry         the retry's number, starting at 1
+     * @param backoffMillis the backoff that was planned, in milliseconds
+     * @param statusCode    the status code of the failed attempt, or 0 after a network error
+     */
+    public void complete(String url, int retry, long backoffMillis, int statusCode) {
+        end();
+        if (shouldCommit()) {
+            this.endpoint = HistogramMetricsRecorder.endpointOf(url);
+            this.retry = retry;
+            this.backoff = backoffMillis;
+            this.statusCode = statusCode;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package dev.mpesa.sdk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for an access token refresh, on expiry or after a 401. Threads waiting for the refresh to finish are
+ * blocked on the auth service's monitor, which JFR reports separately.
+ */
+@Name("dev.mpesa.sdk.TokenRefresh")
+@Label("M-Pesa Token Refresh")
+@Category("M-Pesa")
+@Description("Request for a new M-Pesa access token")
+@StackTrace(false)
+public final class TokenRefreshEvent extends Event {
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Failure")
+    String failure;
+
+    /**
+     * Ends the event and commits it if it is enabled and over its threshold.
+     *
+     * @param failure the error that ended the refresh, or {@code null} if a new token was obtained
+     */
+    public void complete(Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.success = failure == null;
+            this.failure = failure != null ? failure.toString() : null;
+            commit();
+        }
+    }
+}
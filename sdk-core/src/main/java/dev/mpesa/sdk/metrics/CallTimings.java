@@ -0,0 +1,154 @@
+package dev.mpesa.sdk.metrics;
+
+import java.util.Locale;
+
+/**
+ * Where the time of one HTTP exchange went: DNS, TCP connect, TLS handshake, sending the request, waiting for the
+ * first byte of the response and reading its body. It also tells whether a pooled connection was reused.
+ * <p>
+ * An instance is attached to a request and filled in by the transport, e.g. through
+ * {@link dev.mpesa.sdk.http.TimingEventListener} on OkHttp. Transports that cannot observe the phases leave it
+ * empty. The stamp methods, such as {@link #dnsStart()}, are for transports; only one exchange writes to an
+ * instance, and it is read once the exchange is over.
+ */
+public final class CallTimings {
+
+    /**
+     * The phases of an HTTP exchange. Phases that did not happen, e.g. DNS and connect on a reused connection,
+     * have no duration.
+     */
+    public enum Phase {
+        /** Resolving the host name. */
+        DNS,
+        /** Opening the TCP connection, up to the start of the TLS handshake. */
+        CONNECT,
+        /** The TLS handshake. */
+        TLS,
+        /** Writing the request headers and body. */
+        REQUEST,
+        /** From the request being sent to the first byte of the response headers: the server's time plus one round trip. */
+        TIME_TO_FIRST_BYTE,
+        /** Reading the response headers and body. */
+        RESPONSE,
+        /** The whole exchange, from the transport starting it to it completing or failing. */
+        TOTAL
+    }
+
+    private long callStart;
+    private long dnsStart;
+    private long dnsEnd;
+    private long connectStart;
+    private long secureConnectStart;
+    private long secureConnectEnd;
+    private long connectEnd;
+    private long requestStart;
+    private long requestEnd;
+    private long responseStart;
+    private long responseEnd;
+    private long callEnd;
+    private boolean connectionAcquired;
+    private String failure;
+
+    /** Stamps the start of the exchange. */
+    public void callStart() { callStart = System.nanoTime(); }
+
+    public void dnsStart() { dnsStart = System.nanoTime(); }
+
+    public void dnsEnd() { dnsEnd = System.nanoTime(); }
+
+    public void connectStart() { connectStart = System.nanoTime(); }
+
+    public void secureConnectStart() { secureConnectStart = System.nanoTime(); }
+
+    public void secureConnectEnd() { secureConnectEnd = System.nanoTime(); }
+
+    public void connectEnd() { connectEnd = System.nanoTime(); }
+
+    public void connectionAcquired() { connectionAcquired = true; }
+
+    public void requestStart() { requestStart = System.nanoTime(); }
+
+    public void requestEnd() { requestEnd = System.nanoTime(); }
+
+    public void responseStart() { responseStart = System.nanoTime(); }
+
+    public void responseEnd() { responseEnd = System.nanoTime(); }
+
+    /** Stamps the end of a successful exchange. */
+    public void callEnd() { callEnd = System.nanoTime(); }
+
+    /**
+     * Stamps the end of a failed exchange.
+     *
+     * @param error the failure
+     */
+    public void callFailed(Exception error) {
+        callEnd = System.nanoTime();
+        failure = error.toString();
+    }
+
+    /** @return Whether the transport filled in these timings. */
+    public boolean isCaptured() { return callStart != 0 && callEnd != 0; }
+
+    /** @return Whether a connection was acquired without opening a new one, i.e. taken from the pool. */
+    public boolean isConnectionReused() { return connectionAcquired && connectStart == 0; }
+
+    /** @return Whether a new connection was opened for this exchange. */
+    public boolean isNewConnection() { return connectStart != 0; }
+
+    /** @return The failure that ended the exchange, or {@code null} if it completed. */
+    public String getFailure() { return failure; }
+
+    /**
+     * @param phase the phase
+     * @return The phase's duration in nanoseconds, or -1 if it did not happen or was not observed.
+     */
+    public long getNanos(Phase phase) {
+        switch (phase) {
+            case DNS:
+                return between(dnsStart, dnsEnd);
+            case CONNECT:
+                return between(connectStart, secureConnectStart != 0 ? secureConnectStart : connectEnd);
+            case TLS:
+                return between(secureConnectStart, secureConnectEnd);
+            case REQUEST:
+                return between(requestStart, requestEnd);
+            case TIME_TO_FIRST_BYTE:
+                return between(requestEnd, responseStart);
+            case RESPONSE:
+                return between(responseStart, responseEnd);
+            case TOTAL:
+                return between(callStart, callEnd);
+            default:
+                throw new IllegalArgumentException("Unknown phase " + phase);
+        }
+    }
+
+    private static long between(long start, long end) {
+        return start != 0 && end != 0 ? Math.max(0, end - start) : -1;
+    }
+
+    /**
+     * @return The observed phases in milliseconds, e.g.
+     * {@code dns=1.2ms connect=20.5ms tls=45.0ms request=0.1ms ttfb=812.3ms response=0.4ms total=880.1ms (new connection)}.
+     */
+    @Override
+    public String toString() {
+        if (!isCaptured()) {
+            return "not captured";
+        }
+        StringBuilder text = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            long nanos = getNanos(phase);
+            if (nanos >= 0) {
+                String name = phase == Phase.TIME_TO_FIRST_BYTE ? "ttfb" : phase.name().toLowerCase(Locale.ROOT);
+                text.append(name).append('=').append(String.format(Locale.ROOT, "%.1f", nanos / 1e6)).append("ms ");
+            }
+        }
+        text.append(isNewConnection() ? "(new connection)" : isConnectionReused() ? "(reused connection)" : "(no connection)");
+        if (failure != null) {
+            text.append(" failed: ").append(failure);
+        }
+        return text.toString();
+    }
+}
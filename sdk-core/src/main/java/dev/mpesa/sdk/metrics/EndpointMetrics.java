@@ -0,0 +1,81 @@
+package dev.mpesa.sdk.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the metrics recorded for one M-Pesa endpoint.
+ */
+public final class EndpointMetrics {
+    private final String endpoint;
+    private final long calls;
+    private final long failedCalls;
+    private final long attempts;
+    private final long retries;
+    private final long bytesSent;
+    private final long bytesReceived;
+    private final Map<Integer, Long> statusCodes;
+    private final HistogramSnapshot callLatency;
+    private final HistogramSnapshot attemptLatency;
+
+    public EndpointMetrics(String endpoint, long calls, long failedCalls, long attempts, long retries,
+                           long bytesSent, long bytesReceived, Map<Integer, Long> statusCodes,
+                           HistogramSnapshot callLatency, HistogramSnapshot attemptLatency) {
+        this.endpoint = endpoint;
+        this.calls = calls;
+        this.failedCalls = failedCalls;
+        this.attempts = attempts;
+        this.retries = retries;
+        this.bytesSent = bytesSent;
+        this.bytesReceived = bytesReceived;
+        this.statusCodes = Collections.unmodifiableMap(statusCodes);
+        this.callLatency = callLatency;
+        this.attemptLatency = attemptLatency;
+    }
+
+    /** @return The endpoint's path, e.g. {@code /mpesa/stkpush/v1/processrequest}. */
+    public String getEndpoint() { return endpoint; }
+
+    /** @return Number of completed calls. */
+    public long getCalls() { return calls; }
+
+    /** @return Number of calls that did not end with a 2xx response. */
+    public long getFailedCalls() { return failedCalls; }
+
+    /** @return Number of HTTP exchanges, including retries and resends after a token refresh. */
+    public long getAttempts() { return attempts; }
+
+    /** @return Number of retries after network errors or 429/5xx responses. */
+    public long getRetries() { return retries; }
+
+    /** @return Total size of the request bodies sent. */
+    public long getBytesSent() { return bytesSent; }
+
+    /** @return Total size of the response bodies received. */
+    public long getBytesReceived() { return bytesReceived; }
+
+    /** @return Number of attempts per HTTP status code, with 0 counting attempts that got no response. */
+    public Map<Integer, Long> getStatusCodes() { return statusCodes; }
+
+    /** @return Latency of whole calls, including retries and backoff, in microseconds. */
+    public HistogramSnapshot getCallLatency() { return callLatency; }
+
+    /** @return Latency of single attempts, in microseconds. */
+    public HistogramSnapshot getAttemptLatency() { return attemptLatency; }
+
+    @Override
+    public String toString() {
+        return "EndpointMetrics{" +
+                "endpoint='" + endpoint + '\'' +
+                ", calls=" + calls +
+                ", failedCalls=" + failedCalls +
+                ", attempts=" + attempts +
+                ", retries=" + retries +
+                ", bytesSent=" + bytesSent +
+                ", bytesReceived=" + bytesReceived +
+                ", statusCodes=" + statusCodes +
+                ", callLatency=" + callLatency +
+                ", attemptLatency=" + attemptLatency +
+                '}';
+    }
+}
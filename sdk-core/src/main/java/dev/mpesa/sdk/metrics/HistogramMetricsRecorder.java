@@ -0,0 +1,163 @@
+package dev.mpesa.sdk.metrics;
+
+import dev.mpesa.sdk.config.RequestOptions;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link MetricsRecorder} keeping per-endpoint {@link LatencyHistogram}s and counters in memory, read with
+ * {@link #snapshot()}. Endpoints are keyed by the URL's path, so calls routed to different base URLs, or sandbox
+ * and production, are counted together, and query strings such as the C2B registration's API key are dropped.
+ * <p>
+ * Phase timings and connection reuse are kept across all endpoints, since connections are per host.
+ * <p>
+ * Recording is lock-free and, once an endpoint has been seen, allocation-free. Each endpoint takes about 30 KB.
+ */
+public class HistogramMetricsRecorder implements MetricsRecorder {
+
+    /** Distinct URLs remembered for the path lookup; further URLs are parsed on every event. */
+    private static final int MAX_CACHED_URLS = 1024;
+
+    private final ConcurrentHashMap<String, Stats> byUrl = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Stats> byEndpoint = new ConcurrentHashMap<>();
+    private final LongAdder tokenRefreshes = new LongAdder();
+    private final LongAdder failedTokenRefreshes = new LongAdder();
+    private final LatencyHistogram tokenRefreshLatency = new LatencyHistogram();
+    private final EnumMap<CallTimings.Phase, LatencyHistogram> phaseLatency = new EnumMap<>(CallTimings.Phase.class);
+    private final LongAdder newConnections = new LongAdder();
+    private final LongAdder reusedConnections = new LongAdder();
+
+    public HistogramMetricsRecorder() {
+        for (CallTimings.Phase phase : CallTimings.Phase.values()) {
+            phaseLatency.put(phase, new LatencyHistogram());
+        }
+    }
+
+    @Override
+    public void recordCall(String url, RequestOptions options, long durationNanos, int statusCode) {
+        Stats stats = stats(url);
+        stats.calls.increment();
+        if (statusCode < 200 || statusCode >= 300) {
+            stats.failedCalls.increment();
+        }
+        stats.callLatency.recordNanos(durationNanos);
+    }
+
+    @Override
+    public void recordAttempt(String url, long durationNanos, int statusCode, long bytesSent, long bytesReceived) {
+        Stats stats = stats(url);
+        stats.attempts.increment();
+        stats.statusCodes.incrementAndGet(statusCode >= 0 && statusCode < Stats.STATUS_CODES ? statusCode : 0);
+        stats.bytesSent.add(bytesSent);
+        stats.bytesReceived.add(bytesReceived);
+        stats.attemptLatency.recordNanos(durationNanos);
+    }
+
+    @Override
+    public void recordRetry(String url) {
+        stats(url).retries.increment();
+    }
+
+    @Override
+    public void recordCallTimings(String url, CallTimings timings) {
+        for (CallTimings.Phase phase : CallTimings.Phase.values()) {
+            long nanos = timings.getNanos(phase);
+            if (nanos >= 0) {
+                phaseLatency.get(phase).recordNanos(nanos);
+            }
+        }
+        if (timings.isNewConnection()) {
+            newConnections.increment();
+        } else if (timings.isConnectionReused()) {
+            reusedConnections.increment();
+        }
+    }
+
+    @Override
+    public void recordTokenRefresh(long durationNanos, boolean success) {
+        tokenRefreshes.increment();
+        if (!success) {
+            failedTokenRefreshes.increment();
+        }
+        tokenRefreshLatency.recordNanos(durationNanos);
+    }
+
+    @Override
+    public MetricsSnapshot snapshot() {
+        Map<String, EndpointMetrics> endpoints = new TreeMap<>();
+        byEndpoint.forEach((endpoint, stats) -> endpoints.put(endpoint, stats.snapshot(endpoint)));
+        Map<CallTimings.Phase, HistogramSnapshot> phases = new EnumMap<>(CallTimings.Phase.class);
+        phaseLatency.forEach((phase, histogram) -> {
+            HistogramSnapshot snapshot = histogram.snapshot();
+            if (snapshot.getCount() > 0) {
+                phases.put(phase, snapshot);
+            }
+        });
+        return new MetricsSnapshot(endpoints, tokenRefreshes.sum(), failedTokenRefreshes.sum(),
+                tokenRefreshLatency.snapshot(), phases, newConnections.sum(), reusedConnections.sum());
+    }
+
+    private Stats stats(String url) {
+        Stats stats = byUrl.get(url);
+        if (stats == null) {
+            stats = byEndpoint.computeIfAbsent(endpointOf(url), endpoint -> new Stats());
+            if (byUrl.size() < MAX_CACHED_URLS) {
+                byUrl.putIfAbsent(url, stats);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the path of a URL, without the query string or fragment.
+     *
+     * @param url the URL
+     * @return the path, or {@code "/"} if it has none
+     */
+    public static String endpointOf(String url) {
+        int start = url.indexOf("://");
+        start = start < 0 ? 0 : url.indexOf('/', start + 3);
+        if (start < 0) {
+            return "/";
+        }
+        int end = url.length();
+        for (int i = start; i < end; i++) {
+            char c = url.charAt(i);
+            if (c == '?' || c == '#') {
+                end = i;
+            }
+        }
+        return start == end ? "/" : url.substring(start, end);
+    }
+
+    private static final class Stats {
+        static final int STATUS_CODES = 600;
+
+        final LongAdder calls = new LongAdder();
+        final LongAdder failedCalls = new LongAdder();
+        final LongAdder attempts = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder bytesSent = new LongAdder();
+        final LongAdder bytesReceived = new LongAdder();
+        final AtomicLongArray statusCodes = new AtomicLongArray(STATUS_CODES);
+        final LatencyHistogram callLatency = new LatencyHistogram();
+        final LatencyHistogram attemptLatency = new LatencyHistogram();
+
+        EndpointMetrics snapshot(String endpoint) {
+            Map<Integer, Long> codes = new TreeMap<>();
+            for (int code = 0; code < STATUS_CODES; code++) {
+                long count = statusCodes.get(code);
+                if (count > 0) {
+                    codes.put(code, count);
+                }
+            }
+            return new EndpointMetrics(endpoint, calls.sum(), failedCalls.sum(), attempts.sum(), retries.sum(),
+                    bytesSent.sum(), bytesReceived.sum(), codes, callLatency.snapshot(), attemptLatency.snapshot());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package dev.mpesa.sdk.metrics;
+
+/**
+ * An immutable copy of a {@link LatencyHistogram}. All values are in microseconds.
+ */
+public final class HistogramSnapshot {
+
+    /** A snapshot of a histogram nothing was recorded in. */
+    public static final HistogramSnapshot EMPTY = new HistogramSnapshot(new long[LatencyHistogram.BUCKET_COUNT], 0, 0);
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    HistogramSnapshot(long[] counts, long sum, long max) {
+        this.counts = counts;
+        long total = 0;
+        for (long bucket : counts) {
+            total += bucket;
+        }
+        this.count = total;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /** @return Number of recorded values. */
+    public long getCount() { return count; }
+
+    /** @return Largest recorded value, or 0 if none were recorded. */
+    public long getMax() { return max; }
+
+    /** @return Smallest recorded value, to the bucket's precision, or 0 if none were recorded. */
+    public long getMin() {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                return LatencyHistogram.lowestValueAt(i);
+            }
+        }
+        return 0;
+    }
+
+    /** @return Mean of the recorded values, or 0 if none were recorded. */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the value below which the given percentage of recorded values fall, to the bucket's precision.
+     *
+     * @param percentile the percentile, from 0 to 100, e.g. {@code 99.9}
+     * @return the value at the percentile, or 0 if none were recorded
+     * @throws IllegalArgumentException if the percentile is outside 0 to 100
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestValueAt(i), max);
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramSnapshot{" +
+                "count=" + count +
+                ", p50=" + getValueAtPercentile(50) +
+                ", p90=" + getValueAtPercentile(90) +
+                ", p99=" + getValueAtPercentile(99) +
+                ", p999=" + getValueAtPercentile(99.9) +
+                ", max=" + max +
+                '}';
+    }
+}
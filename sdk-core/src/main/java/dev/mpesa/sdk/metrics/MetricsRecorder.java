@@ -0,0 +1,80 @@
+package dev.mpesa.sdk.metrics;
+
+import dev.mpesa.sdk.config.RequestOptions;
+
+/**
+ * Receives the SDK's request metrics: one event per API call, per attempt, per retry and per token refresh.
+ * Implement it to forward the events to a metrics library, or use {@link HistogramMetricsRecorder}, which keeps
+ * per-endpoint latency histograms and counters in memory.
+ * <p>
+ * Events are reported on the calling thread, so implementations must be thread-safe and should not block.
+ * Endpoints are identified by the URL the call was made to, before routing to another base URL; durations are in
+ * nanoseconds. By default the SDK uses {@link #NOOP}, and then does not measure anything at all.
+ */
+public interface MetricsRecorder {
+
+    /** A recorder that ignores every event; the SDK skips instrumentation entirely when it is used. */
+    MetricsRecorder NOOP = new MetricsRecorder() {
+        @Override
+        public String toString() {
+            return "MetricsRecorder.NOOP";
+        }
+    };
+
+    /**
+     * Records a completed API call, including its retries and backoff.
+     *
+     * @param url           the URL the call was made to
+     * @param options       the per-call options, e.g. for their {@link RequestOptions#getTags() tags}
+     * @param durationNanos how long the call took
+     * @param statusCode    the final HTTP status code, or 0 if the call failed without a response
+     */
+    default void recordCall(String url, RequestOptions options, long durationNanos, int statusCode) {
+    }
+
+    /**
+     * Records one attempt of an API call, i.e. one HTTP exchange.
+     *
+     * @param url           the URL the call was made to
+     * @param durationNanos how long the attempt took
+     * @param statusCode    the HTTP status code, or 0 if no response was received
+     * @param bytesSent     the size of the request body
+     * @param bytesReceived the size of the response body
+     */
+    default void recordAttempt(String url, long durationNanos, int statusCode, long bytesSent, long bytesReceived) {
+    }
+
+    /**
+     * Records that an API call is retried after a network error or a 429/5xx response.
+     *
+     * @param url the URL the call was made to
+     */
+    default void recordRetry(String url) {
+    }
+
+    /**
+     * Records where the time of one attempt went, when the transport captured it, e.g. OkHttp through
+     * {@link dev.mpesa.sdk.http.TimingEventListener}.
+     *
+     * @param url     the URL the call was made to
+     * @param timings the attempt's phase timings and whether it reused a connection
+     */
+    default void recordCallTimings(String url, CallTimings timings) {
+    }
+
+    /**
+     * Records an access token refresh, on expiry or after a 401.
+     *
+     * @param durationNanos how long the refresh took
+     * @param success       whether a new token was obtained
+     */
+    default void recordTokenRefresh(long durationNanos, boolean success) {
+    }
+
+    /**
+     * @return The metrics recorded so far, or {@link MetricsSnapshot#EMPTY} if this recorder does not keep any.
+     */
+    default MetricsSnapshot snapshot() {
+        return MetricsSnapshot.EMPTY;
+    }
+}
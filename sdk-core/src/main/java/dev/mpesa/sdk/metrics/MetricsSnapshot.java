@@ -0,0 +1,78 @@
+package dev.mpesa.sdk.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the SDK's request metrics, per endpoint and for token refreshes.
+ */
+public final class MetricsSnapshot {
+
+    /** A snapshot with no metrics, returned by recorders that keep none. */
+    public static final MetricsSnapshot EMPTY = new MetricsSnapshot(Collections.emptyMap(), 0, 0, HistogramSnapshot.EMPTY,
+            new EnumMap<>(CallTimings.Phase.class), 0, 0);
+
+    private final Map<String, EndpointMetrics> endpoints;
+    private final long tokenRefreshes;
+    private final long failedTokenRefreshes;
+    private final HistogramSnapshot tokenRefreshLatency;
+    private final Map<CallTimings.Phase, HistogramSnapshot> phaseLatency;
+    private final long newConnections;
+    private final long reusedConnections;
+
+    public MetricsSnapshot(Map<String, EndpointMetrics> endpoints, long tokenRefreshes, long failedTokenRefreshes,
+                           HistogramSnapshot tokenRefreshLatency, Map<CallTimings.Phase, HistogramSnapshot> phaseLatency,
+                           long newConnections, long reusedConnections) {
+        this.endpoints = Collections.unmodifiableMap(endpoints);
+        this.tokenRefreshes = tokenRefreshes;
+        this.failedTokenRefreshes = failedTokenRefreshes;
+        this.tokenRefreshLatency = tokenRefreshLatency;
+        this.phaseLatency = Collections.unmodifiableMap(phaseLatency);
+        this.newConnections = newConnections;
+        this.reusedConnections = reusedConnections;
+    }
+
+    /** @return Metrics per endpoint, keyed by the endpoint's path. */
+    public Map<String, EndpointMetrics> getEndpoints() { return endpoints; }
+
+    /**
+     * @param endpoint the endpoint's path, e.g. {@code /mpesa/stkpush/v1/processrequest}
+     * @return The endpoint's metrics, or {@code null} if it has not been called.
+     */
+    public EndpointMetrics getEndpoint(String endpoint) { return endpoints.get(endpoint); }
+
+    /** @return Number of access token refreshes, including failed ones. */
+    public long getTokenRefreshes() { return tokenRefreshes; }
+
+    /** @return Number of access token refreshes that failed. */
+    public long getFailedTokenRefreshes() { return failedTokenRefreshes; }
+
+    /** @return Latency of access token refreshes, in microseconds. */
+    public HistogramSnapshot getTokenRefreshLatency() { return tokenRefreshLatency; }
+
+    /**
+     * @return Latency of each phase of the attempts whose timings were captured, across all endpoints, in
+     * microseconds. Phases that never happened, e.g. TLS over plain HTTP, are missing.
+     */
+    public Map<CallTimings.Phase, HistogramSnapshot> getPhaseLatency() { return phaseLatency; }
+
+    /** @return Number of captured attempts that opened a new connection. */
+    public long getNewConnections() { return newConnections; }
+
+    /** @return Number of captured attempts that reused a pooled connection. */
+    public long getReusedConnections() { return reusedConnections; }
+
+    @Override
+    public String toString() {
+        return "MetricsSnapshot{" +
+                "endpoints=" + endpoints.values() +
+                ", tokenRefreshes=" + tokenRefreshes +
+                ", failedTokenRefreshes=" + failedTokenRefreshes +
+                ", tokenRefreshLatency=" + tokenRefreshLatency +
+                ", phaseLatency=" + phaseLatency +
+                ", newConnections=" + newConnections +
+                ", reusedConnections=" + reusedConnections +
+                '}';
+    }
+}
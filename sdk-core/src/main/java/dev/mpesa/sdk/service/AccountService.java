@@ -1,5 +1,6 @@
 package dev.mpesa.sdk.service;
 
+import dev.mpesa.sdk.config.RequestOptions;
 import dev.mpesa.sdk.dto.request.AccountBalanceRequest;
 import dev.mpesa.sdk.dto.response.AccountBalanceResponse;
 import dev.mpesa.sdk.exception.MpesaAuthenticationException;
@@ -20,5 +21,20 @@ public interface AccountService {
      * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
      * @throws MpesaNetworkException If there is a network issue.
      */
-    AccountBalanceResponse checkAccountBalance(AccountBalanceRequest request);
+    default AccountBalanceResponse checkAccountBalance(AccountBalanceRequest request) {
+        return checkAccountBalance(request, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #checkAccountBalance(AccountBalanceRequest)}, with per-call options
+     * overriding the configured timeouts and retries.
+     *
+     * @param request the account balance request containing necessary details
+     * @param options the deadline, retry policy, priority, idempotency key and tags for this call
+     * @return the account balance response from M-Pesa
+     * @throws MpesaUnexpectedResponseException if the response cannot be parsed or an unexpected error occurs
+     * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
+     * @throws MpesaNetworkException If there is a network issue.
+     */
+    AccountBalanceResponse checkAccountBalance(AccountBalanceRequest request, RequestOptions options);
 }
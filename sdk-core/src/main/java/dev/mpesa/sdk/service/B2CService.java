@@ -1,5 +1,6 @@
 package dev.mpesa.sdk.service;
 
+import dev.mpesa.sdk.config.RequestOptions;
 import dev.mpesa.sdk.dto.request.B2CPaymentRequest;
 import dev.mpesa.sdk.dto.response.B2CPaymentResponse;
 import dev.mpesa.sdk.exception.MpesaAuthenticationException;
@@ -20,5 +21,20 @@ public interface B2CService {
      * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
      * @throws MpesaNetworkException If there is a network issue.
      */
-    B2CPaymentResponse initiateB2CPayment(B2CPaymentRequest request);
+    default B2CPaymentResponse initiateB2CPayment(B2CPaymentRequest request) {
+        return initiateB2CPayment(request, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #initiateB2CPayment(B2CPaymentRequest)}, with per-call options
+     * overriding the configured timeouts and retries.
+     *
+     * @param request the B2C payment request containing necessary details
+     * @param options the deadline, retry policy, priority, idempotency key and tags for this call
+     * @return the response from the M-Pesa API
+     * @throws MpesaUnexpectedResponseException if the response cannot be parsed or an unexpected error occurs
+     * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
+     * @throws MpesaNetworkException If there is a network issue.
+     */
+    B2CPaymentResponse initiateB2CPayment(B2CPaymentRequest request, RequestOptions options);
 }
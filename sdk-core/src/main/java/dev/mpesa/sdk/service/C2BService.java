@@ -1,5 +1,6 @@
 package dev.mpesa.sdk.service;
 
+import dev.mpesa.sdk.config.RequestOptions;
 import dev.mpesa.sdk.dto.request.C2BPaymentRequest;
 import dev.mpesa.sdk.dto.request.C2BRegisterRequest;
 import dev.mpesa.sdk.dto.request.C2BSimulatePaymentRequest;
@@ -33,7 +34,23 @@ public interface C2BService {
      * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
      * @throws MpesaNetworkException If there is a network issue.
      */
-    C2BRegisterResponse registerC2B(C2BRegisterRequest request, String apiKey);
+    default C2BRegisterResponse registerC2B(C2BRegisterRequest request, String apiKey) {
+        return registerC2B(request, apiKey, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #registerC2B(C2BRegisterRequest, String)}, with per-call options
+     * overriding the configured timeouts and retries.
+     *
+     * @param request the C2B registration request containing the short code and callback URLs
+     * @param apiKey the API key required for authentication
+     * @param options the deadline, retry policy, priority, idempotency key and tags for this call
+     * @return the response containing registration details
+     * @throws MpesaUnexpectedResponseException If the API response is invalid or cannot be parsed.
+     * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
+     * @throws MpesaNetworkException If there is a network issue.
+     */
+    C2BRegisterResponse registerC2B(C2BRegisterRequest request, String apiKey, RequestOptions options);
 
     /**
      * Initiates a C2B payment request.
@@ -44,7 +61,22 @@ public interface C2BService {
      * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
      * @throws MpesaNetworkException If there is a network issue.
      */
-    C2BPaymentResponse initiatePayment(C2BPaymentRequest request);
+    default C2BPaymentResponse initiatePayment(C2BPaymentRequest request) {
+        return initiatePayment(request, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #initiatePayment(C2BPaymentRequest)}, with per-call options
+     * overriding the configured timeouts and retries.
+     *
+     * @param request the payment request containing customer details and transaction amount
+     * @param options the deadline, retry policy, priority, idempotency key and tags for this call
+     * @return the response containing payment details
+     * @throws MpesaUnexpectedResponseException If the API response is invalid or cannot be parsed.
+     * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
+     * @throws MpesaNetworkException If there is a network issue.
+     */
+    C2BPaymentResponse initiatePayment(C2BPaymentRequest request, RequestOptions options);
 
     /**
      * Simulates a C2B payment for testing purposes.
@@ -55,5 +87,20 @@ public interface C2BService {
      * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
      * @throws MpesaNetworkException If there is a network issue.
      */
-    C2BSimulatePaymentResponse simulateC2BPayment(C2BSimulatePaymentRequest request);
+    default C2BSimulatePaymentResponse simulateC2BPayment(C2BSimulatePaymentRequest request) {
+        return simulateC2BPayment(request, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #simulateC2BPayment(C2BSimulatePaymentRequest)}, with per-call options
+     * overriding the configured timeouts and retries.
+     *
+     * @param request the simulation request containing transaction details
+     * @param options the deadline, retry policy, priority, idempotency key and tags for this call
+     * @return the response containing simulated payment details
+     * @throws MpesaUnexpectedResponseException If the API response is invalid or cannot be parsed.
+     * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
+     * @throws MpesaNetworkException If there is a network issue.
+     */
+    C2BSimulatePaymentResponse simulateC2BPayment(C2BSimulatePaymentRequest request, RequestOptions options);
 }
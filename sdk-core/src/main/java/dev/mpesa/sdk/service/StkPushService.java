@@ -1,6 +1,9 @@
 package dev.mpesa.sdk.service;
 
+import dev.mpesa.sdk.config.RequestOptions;
+import dev.mpesa.sdk.dto.request.StkPushQueryRequest;
 import dev.mpesa.sdk.dto.request.StkPushRequest;
+import dev.mpesa.sdk.dto.response.StkPushQueryResponse;
 import dev.mpesa.sdk.dto.response.StkPushResponse;
 import dev.mpesa.sdk.exception.MpesaAuthenticationException;
 import dev.mpesa.sdk.exception.MpesaNetworkException;
@@ -24,5 +27,48 @@ public interface StkPushService {
      * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
      * @throws MpesaNetworkException If there is a network issue.
      */
-    StkPushResponse requestStkPush(StkPushRequest request);
+    default StkPushResponse requestStkPush(StkPushRequest request) {
+        return requestStkPush(request, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #requestStkPush(StkPushRequest)}, with per-call options
+     * overriding the configured timeouts and retries.
+     *
+     * @param request The STK Push request details, including phone number and amount.
+     * @param options The deadline, retry policy, priority, idempotency key and tags for this call.
+     * @return The response from M-Pesa containing transaction details.
+     * @throws MpesaUnexpectedResponseException If the API response is invalid or cannot be parsed.
+     * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
+     * @throws MpesaNetworkException If there is a network issue.
+     */
+    StkPushResponse requestStkPush(StkPushRequest request, RequestOptions options);
+
+    /**
+     * Queries the outcome of an STK Push, for when its callback has not arrived.
+     *
+     * @param request The query details, including the {@code CheckoutRequestID} of the STK Push.
+     * @return The response from M-Pesa, carrying the result once the customer has responded to the prompt.
+     * @throws MpesaUnexpectedResponseException If the API response is invalid or cannot be parsed, including
+     * while M-Pesa is still processing the transaction.
+     * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
+     * @throws MpesaNetworkException If there is a network issue.
+     */
+    default StkPushQueryResponse queryStkPush(StkPushQueryRequest request) {
+        return queryStkPush(request, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #queryStkPush(StkPushQueryRequest)}, with per-call options
+     * overriding the configured timeouts and retries.
+     *
+     * @param request The query details, including the {@code CheckoutRequestID} of the STK Push.
+     * @param options The deadline, retry policy, priority, idempotency key and tags for this call.
+     * @return The response from M-Pesa, carrying the result once the customer has responded to the prompt.
+     * @throws MpesaUnexpectedResponseException If the API response is invalid or cannot be parsed, including
+     * while M-Pesa is still processing the transaction.
+     * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
+     * @throws MpesaNetworkException If there is a network issue.
+     */
+    StkPushQueryResponse queryStkPush(StkPushQueryRequest request, RequestOptions options);
 }
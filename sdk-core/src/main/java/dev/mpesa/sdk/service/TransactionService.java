@@ -1,5 +1,6 @@
 package dev.mpesa.sdk.service;
 
+import dev.mpesa.sdk.config.RequestOptions;
 import dev.mpesa.sdk.dto.request.TransactionReversalRequest;
 import dev.mpesa.sdk.dto.request.TransactionStatusRequest;
 import dev.mpesa.sdk.dto.response.TransactionReversalResponse;
@@ -26,7 +27,22 @@ public interface TransactionService {
      * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
      * @throws MpesaNetworkException If there is a network issue.
      */
-    TransactionStatusResponse checkTransactionStatus(TransactionStatusRequest request);
+    default TransactionStatusResponse checkTransactionStatus(TransactionStatusRequest request) {
+        return checkTransactionStatus(request, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #checkTransactionStatus(TransactionStatusRequest)}, with per-call options
+     * overriding the configured timeouts and retries.
+     *
+     * @param request The transaction status request details, including the transaction ID.
+     * @param options The deadline, retry policy, priority, idempotency key and tags for this call.
+     * @return The response from M-Pesa containing the transaction status details.
+     * @throws MpesaUnexpectedResponseException If the API response is invalid or cannot be parsed.
+     * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
+     * @throws MpesaNetworkException If there is a network issue.
+     */
+    TransactionStatusResponse checkTransactionStatus(TransactionStatusRequest request, RequestOptions options);
 
     /**
      * Reverses a previously completed transaction.
@@ -37,6 +53,21 @@ public interface TransactionService {
      * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
      * @throws MpesaNetworkException If there is a network issue.
      */
-    TransactionReversalResponse reverseTransaction(TransactionReversalRequest request);
+    default TransactionReversalResponse reverseTransaction(TransactionReversalRequest request) {
+        return reverseTransaction(request, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #reverseTransaction(TransactionReversalRequest)}, with per-call options
+     * overriding the configured timeouts and retries.
+     *
+     * @param request The transaction reversal request details, including the transaction ID.
+     * @param options The deadline, retry policy, priority, idempotency key and tags for this call.
+     * @return The response from M-Pesa indicating whether the reversal was successful.
+     * @throws MpesaUnexpectedResponseException If the API response is invalid or cannot be parsed.
+     * @throws MpesaAuthenticationException If the user can not be authenticated with the current credentials.
+     * @throws MpesaNetworkException If there is a network issue.
+     */
+    TransactionReversalResponse reverseTransaction(TransactionReversalRequest request, RequestOptions options);
 }
 
@@ -3,6 +3,7 @@ package dev.mpesa.sdk.service.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.config.RequestOptions;
 import dev.mpesa.sdk.dto.request.AccountBalanceRequest;
 import dev.mpesa.sdk.dto.response.AccountBalanceResponse;
 import dev.mpesa.sdk.exception.MpesaErrorCode;
@@ -10,6 +11,7 @@ import dev.mpesa.sdk.exception.MpesaHttpException;
 import dev.mpesa.sdk.exception.MpesaUnexpectedResponseException;
 import dev.mpesa.sdk.http.RequestHandler;
 import dev.mpesa.sdk.service.AccountService;
+import dev.mpesa.sdk.util.LogPayload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,13 +52,15 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
-    public AccountBalanceResponse checkAccountBalance(AccountBalanceRequest request) {
+    public AccountBalanceResponse checkAccountBalance(AccountBalanceRequest request, RequestOptions options) {
         String url = config.getAccountBalanceUrl();
         String responseJson = "";
         try {
-            logger.info("Checking account balance. URL: {}", url);
-            responseJson = requestHandler.post(url, request);
-            logger.debug("Account balance response received: {}", responseJson);
+            logger.debug("Checking account balance. URL: {}", url);
+            responseJson = requestHandler.post(url, request, options);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Account balance response received: {}", LogPayload.json(responseJson));
+            }
             return objectMapper.readValue(responseJson, AccountBalanceResponse.class);
         } catch (MpesaHttpException e) {
             logger.error("Error during account balance request to M-Pesa. URL: {}, Response: {}", url, e.getResponseBody(), e);
@@ -3,6 +3,7 @@ package dev.mpesa.sdk.service.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.config.RequestOptions;
 import dev.mpesa.sdk.dto.request.B2CPaymentRequest;
 import dev.mpesa.sdk.dto.response.B2CPaymentResponse;
 import dev.mpesa.sdk.exception.MpesaErrorCode;
@@ -10,6 +11,7 @@ import dev.mpesa.sdk.exception.MpesaHttpException;
 import dev.mpesa.sdk.exception.MpesaUnexpectedResponseException;
 import dev.mpesa.sdk.http.RequestHandler;
 import dev.mpesa.sdk.service.B2CService;
+import dev.mpesa.sdk.util.LogPayload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,15 +38,30 @@ public class B2CServiceImpl implements B2CService {
         this.objectMapper = new ObjectMapper();
     }
 
+    /**
+     * Constructs a {@code B2CServiceImpl} with a custom JSON mapper for injection.
+     *
+     * @param requestHandler the HTTP request handler for making API calls
+     * @param config the M-Pesa configuration containing API endpoints and timeouts
+     * @param objectMapper the custom object mapper for JSON serialization/deserialization
+     */
+    public B2CServiceImpl(RequestHandler requestHandler, MpesaConfig config, ObjectMapper objectMapper) {
+        this.requestHandler = requestHandler;
+        this.config = config;
+        this.objectMapper = objectMapper;
+    }
+
     @Override
-    public B2CPaymentResponse initiateB2CPayment(B2CPaymentRequest request) {
+    public B2CPaymentResponse initiateB2CPayment(B2CPaymentRequest request, RequestOptions options) {
         String url = config.getB2cPaymentUrl();
         String responseJson = "";
 
         try {
-            logger.info("Initiating B2C Payment request. URL: {}", url);
-            responseJson = requestHandler.post(url, request);
-            logger.debug("B2C Payment response received: {}", responseJson);
+            logger.debug("Initiating B2C Payment request. URL: {}", url);
+            responseJson = requestHandler.post(url, request, options);
+            if (logger.isDebugEnabled()) {
+                logger.debug("B2C Payment response received: {}", LogPayload.json(responseJson));
+            }
             return objectMapper.readValue(responseJson, B2CPaymentResponse.class);
         } catch (MpesaHttpException e) {
             logger.error("Error during B2C Payment request. URL: {}, Response: {}", url, e.getResponseBody(), e);
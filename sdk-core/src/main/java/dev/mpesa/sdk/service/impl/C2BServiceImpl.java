@@ -3,6 +3,7 @@ package dev.mpesa.sdk.service.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.config.RequestOptions;
 import dev.mpesa.sdk.dto.request.C2BPaymentRequest;
 import dev.mpesa.sdk.dto.request.C2BRegisterRequest;
 import dev.mpesa.sdk.dto.request.C2BSimulatePaymentRequest;
@@ -14,6 +15,7 @@ import dev.mpesa.sdk.exception.MpesaHttpException;
 import dev.mpesa.sdk.exception.MpesaUnexpectedResponseException;
 import dev.mpesa.sdk.http.RequestHandler;
 import dev.mpesa.sdk.service.C2BService;
+import dev.mpesa.sdk.util.LogPayload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,15 +42,30 @@ public class C2BServiceImpl implements C2BService {
         this.objectMapper = new ObjectMapper();
     }
 
+    /**
+     * Constructs a {@code C2BServiceImpl} with a custom JSON mapper for injection.
+     *
+     * @param requestHandler the HTTP request handler for making API calls
+     * @param config the M-Pesa configuration containing API endpoints and timeouts
+     * @param objectMapper the custom object mapper for JSON serialization/deserialization
+     */
+    public C2BServiceImpl(RequestHandler requestHandler, MpesaConfig config, ObjectMapper objectMapper) {
+        this.requestHandler = requestHandler;
+        this.config = config;
+        this.objectMapper = objectMapper;
+    }
+
     @Override
-    public C2BRegisterResponse registerC2B(C2BRegisterRequest request, String apiKey) {
+    public C2BRegisterResponse registerC2B(C2BRegisterRequest request, String apiKey, RequestOptions options) {
         String url = config.getC2bRegisterUrl() + "?apikey=" + apiKey;
         String responseJson = "";
 
         try {
-            logger.info("Initiating C2B Registration request. URL: {}", url);
-            responseJson = requestHandler.post(url, request);
-            logger.debug("C2B Registration response received: {}", responseJson);
+            logger.debug("Initiating C2B Registration request. URL: {}", url);
+            responseJson = requestHandler.post(url, request, options);
+            if (logger.isDebugEnabled()) {
+                logger.debug("C2B Registration response received: {}", LogPayload.json(responseJson));
+            }
             return objectMapper.readValue(responseJson, C2BRegisterResponse.class);
         } catch (MpesaHttpException e) {
             if (e.getStatusCode() == 400 && e.getResponseBody().contains("Short Code already Registered")) {
@@ -73,14 +90,16 @@ public class C2BServiceImpl implements C2BService {
     }
 
     @Override
-    public C2BPaymentResponse initiatePayment(C2BPaymentRequest request) {
+    public C2BPaymentResponse initiatePayment(C2BPaymentRequest request, RequestOptions options) {
         String url = config.getC2bPaymentUrl();
         String responseJson = "";
 
         try {
-            logger.info("Initiating C2B Payment request. URL: {}", url);
-            responseJson = requestHandler.post(url, request);
-            logger.debug("C2B Payment response received: {}", responseJson);
+            logger.debug("Initiating C2B Payment request. URL: {}", url);
+            responseJson = requestHandler.post(url, request, options);
+            if (logger.isDebugEnabled()) {
+                logger.debug("C2B Payment response received: {}", LogPayload.json(responseJson));
+            }
             return objectMapper.readValue(responseJson, C2BPaymentResponse.class);
         } catch (MpesaHttpException e) {
             if (e.getStatusCode() == 400 && e.getResponseBody().contains("The initiator information is invalid.")) {
@@ -105,14 +124,16 @@ public class C2BServiceImpl implements C2BService {
     }
 
     @Override
-    public C2BSimulatePaymentResponse simulateC2BPayment(C2BSimulatePaymentRequest request) {
+    public C2BSimulatePaymentResponse simulateC2BPayment(C2BSimulatePaymentRequest request, RequestOptions options) {
         String url = config.getC2bSimulatePaymentUrl();
         String responseJson = "";
 
         try {
-            logger.info("Initiating C2B Payment Simulation. URL: {}", url);
-            responseJson = requestHandler.post(url, request);
-            logger.debug("C2B Payment Simulation Response received: {}", responseJson);
+            logger.debug("Initiating C2B Payment Simulation. URL: {}", url);
+            responseJson = requestHandler.post(url, request, options);
+            if (logger.isDebugEnabled()) {
+                logger.debug("C2B Payment Simulation Response received: {}", LogPayload.json(responseJson));
+            }
             return objectMapper.readValue(responseJson, C2BSimulatePaymentResponse.class);
         } catch (MpesaHttpException e) {
             if (e.getStatusCode() == 400 && e.getResponseBody().contains("invalid")) {
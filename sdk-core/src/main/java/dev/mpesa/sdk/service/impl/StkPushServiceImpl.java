@@ -3,13 +3,17 @@ package dev.mpesa.sdk.service.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.config.RequestOptions;
+import dev.mpesa.sdk.dto.request.StkPushQueryRequest;
 import dev.mpesa.sdk.dto.request.StkPushRequest;
+import dev.mpesa.sdk.dto.response.StkPushQueryResponse;
 import dev.mpesa.sdk.dto.response.StkPushResponse;
 import dev.mpesa.sdk.exception.MpesaErrorCode;
 import dev.mpesa.sdk.exception.MpesaHttpException;
 import dev.mpesa.sdk.exception.MpesaUnexpectedResponseException;
 import dev.mpesa.sdk.http.RequestHandler;
 import dev.mpesa.sdk.service.StkPushService;
+import dev.mpesa.sdk.util.LogPayload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,15 +39,30 @@ public class StkPushServiceImpl implements StkPushService {
         this.objectMapper = new ObjectMapper();
     }
 
+    /**
+     * Constructs an instance of {@code StkPushServiceImpl} with a shared {@link ObjectMapper}.
+     *
+     * @param requestHandler The HTTP request handler for interacting with the M-Pesa API.
+     * @param config The M-Pesa configuration containing API URLs and settings.
+     * @param objectMapper The object mapper used for JSON serialization and deserialization.
+     */
+    public StkPushServiceImpl(RequestHandler requestHandler, MpesaConfig config, ObjectMapper objectMapper) {
+        this.requestHandler = requestHandler;
+        this.config = config;
+        this.objectMapper = objectMapper;
+    }
+
     @Override
-    public StkPushResponse requestStkPush(StkPushRequest request) {
+    public StkPushResponse requestStkPush(StkPushRequest request, RequestOptions options) {
         String url = config.getStkPushUrl();
         String responseJson = "";
 
         try {
-            logger.info("Initiating STK Push request. URL: {}", url);
-            responseJson = requestHandler.post(url, request);
-            logger.debug("STK Push response received: {}", responseJson);
+            logger.debug("Initiating STK Push request. URL: {}", url);
+            responseJson = requestHandler.post(url, request, options);
+            if (logger.isDebugEnabled()) {
+                logger.debug("STK Push response received: {}", LogPayload.json(responseJson));
+            }
             return objectMapper.readValue(responseJson, StkPushResponse.class);
         } catch (MpesaHttpException e) {
             logger.error("STK Push HTTP error. URL: {}, Status: {}, Response: {}", url, e.getStatusCode(), e.getResponseBody(), e);
@@ -63,4 +82,35 @@ public class StkPushServiceImpl implements StkPushService {
             );
         }
     }
+
+    @Override
+    public StkPushQueryResponse queryStkPush(StkPushQueryRequest request, RequestOptions options) {
+        String url = config.getStkPushQueryUrl();
+        String responseJson = "";
+
+        try {
+            logger.debug("Querying STK Push status. URL: {}, CheckoutRequestID: {}", url, request.getCheckoutRequestID());
+            responseJson = requestHandler.post(url, request, options);
+            if (logger.isDebugEnabled()) {
+                logger.debug("STK Push query response received: {}", LogPayload.json(responseJson));
+            }
+            return objectMapper.readValue(responseJson, StkPushQueryResponse.class);
+        } catch (MpesaHttpException e) {
+            logger.error("STK Push query HTTP error. URL: {}, Status: {}, Response: {}", url, e.getStatusCode(), e.getResponseBody(), e);
+            throw new MpesaUnexpectedResponseException(
+                    MpesaErrorCode.UNKNOWN_ERROR,
+                    e.getResponseBody(),
+                    "Unexpected error in STK Push query.",
+                    e
+            );
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to parse STK Push query response. URL: {}, Response: {}", url, responseJson, e);
+            throw new MpesaUnexpectedResponseException(
+                    MpesaErrorCode.INVALID_RESPONSE,
+                    responseJson,
+                    "Failed to parse STK Push query response.",
+                    e
+            );
+        }
+    }
 }
@@ -3,6 +3,7 @@ package dev.mpesa.sdk.service.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.config.RequestOptions;
 import dev.mpesa.sdk.dto.request.TransactionReversalRequest;
 import dev.mpesa.sdk.dto.request.TransactionStatusRequest;
 import dev.mpesa.sdk.dto.response.TransactionReversalResponse;
@@ -12,6 +13,7 @@ import dev.mpesa.sdk.exception.MpesaHttpException;
 import dev.mpesa.sdk.exception.MpesaUnexpectedResponseException;
 import dev.mpesa.sdk.http.RequestHandler;
 import dev.mpesa.sdk.service.TransactionService;
+import dev.mpesa.sdk.util.LogPayload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,15 +39,30 @@ public class TransactionServiceImpl implements TransactionService {
         this.objectMapper = new ObjectMapper();
     }
 
+    /**
+     * Constructs an instance of {@code TransactionServiceImpl} with a shared {@link ObjectMapper}.
+     *
+     * @param requestHandler The HTTP request handler for communicating with the M-Pesa API.
+     * @param config The M-Pesa configuration containing API URLs and settings.
+     * @param objectMapper The object mapper used for JSON serialization and deserialization.
+     */
+    public TransactionServiceImpl(RequestHandler requestHandler, MpesaConfig config, ObjectMapper objectMapper) {
+        this.requestHandler = requestHandler;
+        this.config = config;
+        this.objectMapper = objectMapper;
+    }
+
     @Override
-    public TransactionStatusResponse checkTransactionStatus(TransactionStatusRequest request) {
+    public TransactionStatusResponse checkTransactionStatus(TransactionStatusRequest request, RequestOptions options) {
         String url = config.getTransactionStatusUrl();
         String responseJson = "";
 
         try {
-            logger.info("Checking transaction status. URL: {}", url);
-            responseJson = requestHandler.post(url, request);
-            logger.debug("Transaction status response received: {}", responseJson);
+            logger.debug("Checking transaction status. URL: {}", url);
+            responseJson = requestHandler.post(url, request, options);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Transaction status response received: {}", LogPayload.json(responseJson));
+            }
             return objectMapper.readValue(responseJson, TransactionStatusResponse.class);
         } catch (MpesaHttpException e) {
             logger.error("Transaction status HTTP error. URL: {}, Status: {}, Response: {}", url, e.getStatusCode(), e.getResponseBody(), e);
@@ -67,14 +84,16 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    public TransactionReversalResponse reverseTransaction(TransactionReversalRequest request) {
+    public TransactionReversalResponse reverseTransaction(TransactionReversalRequest request, RequestOptions options) {
         String url = config.getTransactionReversalUrl();
         String responseJson = "";
 
         try {
-            logger.info("Initiating transaction reversal. URL: {}", url);
-            responseJson = requestHandler.post(url, request);
-            logger.debug("Transaction reversal response received: {}", responseJson);
+            logger.debug("Initiating transaction reversal. URL: {}", url);
+            responseJson = requestHandler.post(url, request, options);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Transaction reversal response received: {}", LogPayload.json(responseJson));
+            }
             return objectMapper.readValue(responseJson, TransactionReversalResponse.class);
         } catch (MpesaHttpException e) {
             logger.error("Transaction reversal HTTP error. URL: {}, Status: {}, Response: {}", url, e.getStatusCode(), e.getResponseBody(), e);
@@ -0,0 +1,161 @@
+package dev.mpesa.sdk.tracing;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link Tracer} keeping ended spans in memory, to check the SDK's spans in tests without a tracing backend.
+ * Trace and span IDs follow the W3C Trace Context format, and {@link #inject(Span, BiConsumer)} adds a
+ * {@code traceparent} header to each attempt.
+ */
+public class InMemoryTracer implements Tracer {
+
+    private final ConcurrentLinkedQueue<RecordedSpan> finished = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public Span startSpan(String name, Span parent) {
+        if (parent instanceof RecordedSpan) {
+            RecordedSpan recordedParent = (RecordedSpan) parent;
+            return new RecordedSpan(this, name, recordedParent.traceId, randomHex(16), recordedParent.spanId);
+        }
+        return new RecordedSpan(this, name, randomHex(32), randomHex(16), null);
+    }
+
+    @Override
+    public void inject(Span span, BiConsumer<String, String> headers) {
+        if (span instanceof RecordedSpan) {
+            RecordedSpan recorded = (RecordedSpan) span;
+            headers.accept("traceparent", "00-" + recorded.traceId + "-" + recorded.spanId + "-01");
+        }
+    }
+
+    /** @return The spans ended so far, in the order they ended. */
+    public List<RecordedSpan> getFinishedSpans() {
+        return new ArrayList<>(finished);
+    }
+
+    /**
+     * @param name the span name, e.g. {@code mpesa.call}
+     * @return The spans with that name ended so far, in the order they ended.
+     */
+    public List<RecordedSpan> getFinishedSpans(String name) {
+        return finished.stream().filter(span -> span.name.equals(name)).collect(Collectors.toList());
+    }
+
+    /** Forgets the spans ended so far. */
+    public void reset() {
+        finished.clear();
+    }
+
+    private static String randomHex(int length) {
+        StringBuilder hex = new StringBuilder(length);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (hex.length() < length) {
+            String chunk = Long.toHexString(random.nextLong() | Long.MIN_VALUE);
+            hex.append(chunk, 0, Math.min(chunk.length(), length - hex.length()));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * A span started by an {@link InMemoryTracer}.
+     */
+    public static final class RecordedSpan implements Span {
+        private final InMemoryTracer tracer;
+        private final String name;
+        private final String traceId;
+        private final String spanId;
+        private final String parentSpanId;
+        private final long startNanos = System.nanoTime();
+        private final Map<String, Object> attributes = new LinkedHashMap<>();
+        private Throwable error;
+        private long endNanos;
+
+        RecordedSpan(InMemoryTracer tracer, String name, String traceId, String spanId, String parentSpanId) {
+            this.tracer = tracer;
+            this.name = name;
+            this.traceId = traceId;
+            this.spanId = spanId;
+            this.parentSpanId = parentSpanId;
+        }
+
+        @Override
+        public synchronized Span setAttribute(String key, String value) {
+            if (value != null) {
+                attributes.put(key, value);
+            }
+            return this;
+        }
+
+        @Override
+        public synchronized Span setAttribute(String key, long value) {
+            attributes.put(key, value);
+            return this;
+        }
+
+        @Override
+        public synchronized Span recordError(Throwable error) {
+            this.error = error;
+            return this;
+        }
+
+        @Override
+        public void end() {
+            synchronized (this) {
+                if (endNanos != 0) {
+                    return;
+                }
+                endNanos = System.nanoTime();
+            }
+            tracer.finished.add(this);
+        }
+
+        /** @return The span's name. */
+        public String getName() { return name; }
+
+        /** @return The 32 hex digit ID of the span's trace. */
+        public String getTraceId() { return traceId; }
+
+        /** @return The span's 16 hex digit ID. */
+        public String getSpanId() { return spanId; }
+
+        /** @return The parent span's ID, or {@code null} for a root span. */
+        public String getParentSpanId() { return parentSpanId; }
+
+        /** @return A copy of the span's attributes, in the order they were first set. */
+        public synchronized Map<String, Object> getAttributes() { return new LinkedHashMap<>(attributes); }
+
+        /**
+         * @param key the attribute name
+         * @return The attribute's value, or {@code null} if it is not set.
+         */
+        public synchronized Object getAttribute(String key) { return attributes.get(key); }
+
+        /** @return The failure recorded on the span, or {@code null}. */
+        public synchronized Throwable getError() { return error; }
+
+        /** @return Whether the span has ended. */
+        public synchronized boolean isEnded() { return endNanos != 0; }
+
+        /** @return How long the span lasted in nanoseconds, or -1 if it has not ended. */
+        public synchronized long getDurationNanos() { return endNanos != 0 ? endNanos - startNanos : -1; }
+
+        @Override
+        public synchronized String toString() {
+            return "RecordedSpan{" +
+                    "name='" + name + '\'' +
+                    ", traceId='" + traceId + '\'' +
+                    ", spanId='" + spanId + '\'' +
+                    ", parentSpanId='" + parentSpanId + '\'' +
+                    ", attributes=" + attributes +
+                    ", error=" + error +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package dev.mpesa.sdk.tracing;
+
+/**
+ * A unit of work traced by a {@link Tracer}: an API call, one attempt of it, or the wait for an asynchronous
+ * result. Spans are started by the tracer and must be ended exactly once with {@link #end()}.
+ * <p>
+ * The SDK may set attributes and end a span on a different thread from the one that started it, so
+ * implementations must be thread-safe.
+ */
+public interface Span {
+
+    /** A span that ignores everything, returned by {@link Tracer#NOOP}. */
+    Span NOOP = new Span() {
+        @Override
+        public Span setAttribute(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public Span setAttribute(String key, long value) {
+            return this;
+        }
+
+        @Override
+        public Span recordError(Throwable error) {
+            return this;
+        }
+
+        @Override
+        public void end() {
+        }
+
+        @Override
+        public String toString() {
+            return "Span.NOOP";
+        }
+    };
+
+    /**
+     * @param key   the attribute name, e.g. {@code url.path}
+     * @param value the value; {@code null} values are ignored
+     * @return This span.
+     */
+    Span setAttribute(String key, String value);
+
+    /**
+     * @param key   the attribute name, e.g. {@code http.status_code}
+     * @param value the value
+     * @return This span.
+     */
+    Span setAttribute(String key, long value);
+
+    /**
+     * Marks the span as failed.
+     *
+     * @param error the failure
+     * @return This span.
+     */
+    Span recordError(Throwable error);
+
+    /**
+     * Ends the span. Further calls have no effect.
+     */
+    void end();
+}
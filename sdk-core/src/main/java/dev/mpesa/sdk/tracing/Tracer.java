@@ -0,0 +1,49 @@
+package dev.mpesa.sdk.tracing;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Starts the spans the SDK reports its calls with. Implement it to bridge to a tracing library, or use
+ * {@link InMemoryTracer} to check spans in tests.
+ * <p>
+ * The SDK starts a span per API call ({@code mpesa.call}) and per attempt ({@code mpesa.attempt}), and spans for
+ * the wait on an asynchronous result ({@code mpesa.result.await}) and an STK Push outcome
+ * ({@code mpesa.stk_push.track}). Parents are taken from {@link TracingContext#current()}, which the SDK carries
+ * across its own threads and futures. By default the SDK uses {@link #NOOP}, and then creates no spans and touches
+ * no context at all.
+ */
+public interface Tracer {
+
+    /** A tracer that creates no spans; the SDK skips tracing entirely when it is used. */
+    Tracer NOOP = new Tracer() {
+        @Override
+        public Span startSpan(String name, Span parent) {
+            return Span.NOOP;
+        }
+
+        @Override
+        public String toString() {
+            return "Tracer.NOOP";
+        }
+    };
+
+    /**
+     * Starts a span.
+     *
+     * @param name   the span's name, e.g. {@code mpesa.call}
+     * @param parent the parent span, or {@code null} if there is none in {@link TracingContext}; a bridge may then
+     *               use its library's own current span
+     * @return The started span.
+     */
+    Span startSpan(String name, Span parent);
+
+    /**
+     * Adds headers identifying a span to an outgoing request, e.g. a W3C {@code traceparent}. Called once per
+     * attempt with the attempt's span. Does nothing by default.
+     *
+     * @param span    the attempt's span
+     * @param headers receives each header's name and value
+     */
+    default void inject(Span span, BiConsumer<String, String> headers) {
+    }
+}
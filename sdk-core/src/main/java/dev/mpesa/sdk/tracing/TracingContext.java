@@ -0,0 +1,92 @@
+package dev.mpesa.sdk.tracing;
+
+import java.util.concurrent.Executor;
+
+/**
+ * The span current on each thread, used by the SDK as the parent of the spans it starts.
+ * <p>
+ * Make a span current around SDK calls to attach them to it:
+ * <pre>{@code
+ * Span checkout = tracer.startSpan("checkout", null);
+ * try (TracingContext.Scope scope = TracingContext.makeCurrent(checkout)) {
+ *     mpesaSdk.requestStkPush(request);
+ * } finally {
+ *     checkout.end();
+ * }
+ * }</pre>
+ * The SDK captures the current span when a future is created, e.g. by {@code trackStkPush} or
+ * {@code awaitResult}, and makes it current again while the future is completed, so dependent stages run
+ * synchronously by the completing thread continue the same trace.
+ */
+public final class TracingContext {
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private TracingContext() {
+    }
+
+    /**
+     * Restores the previously current span when closed. Scopes must be closed on the thread that opened them,
+     * in reverse order.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /** @return The span current on this thread, or {@code null} if there is none. */
+    public static Span current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes a span current on this thread until the returned scope is closed.
+     *
+     * @param span the span, or {@code null} to clear the current span
+     * @return The scope to close.
+     */
+    public static Scope makeCurrent(Span span) {
+        Span previous = CURRENT.get();
+        if (previous == span) {
+            return () -> { };
+        }
+        set(span);
+        return () -> set(previous);
+    }
+
+    /**
+     * Wraps a task so that it runs with the span current at the time of wrapping.
+     *
+     * @param task the task
+     * @return The wrapped task, or the task itself if no span is current.
+     */
+    public static Runnable wrap(Runnable task) {
+        Span span = CURRENT.get();
+        if (span == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = makeCurrent(span)) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Wraps an executor so that every task runs with the span current when it was submitted.
+     *
+     * @param executor the executor
+     * @return The wrapping executor.
+     */
+    public static Executor wrap(Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+
+    private static void set(Span span) {
+        if (span == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(span);
+        }
+    }
+}
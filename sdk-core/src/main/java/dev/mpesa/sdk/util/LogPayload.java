@@ -0,0 +1,165 @@
+package dev.mpesa.sdk.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A JSON body to be logged, rendered only when the log statement is actually written, i.e. when its
+ * {@link #toString()} is called.
+ * <p>
+ * Rendering redacts the values of sensitive fields: secrets such as {@code Password} and
+ * {@code SecurityCredential} are replaced with {@code ***}, and phone numbers such as {@code PhoneNumber},
+ * {@code PartyA} and {@code MSISDN} keep only their first three and last two digits. Bodies longer than
+ * {@link #MAX_CHARS} are truncated. The body is scanned once, without being parsed.
+ */
+public final class LogPayload {
+
+    /** Characters of a body rendered before it is truncated. */
+    public static final int MAX_CHARS = 2048;
+
+    private static final Map<String, Boolean> SENSITIVE_FIELDS = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        // true: secret, fully masked; false: phone number, partly masked.
+        SENSITIVE_FIELDS.put("Password", true);
+        SENSITIVE_FIELDS.put("SecurityCredential", true);
+        SENSITIVE_FIELDS.put("SecretKey", true);
+        SENSITIVE_FIELDS.put("access_token", true);
+        SENSITIVE_FIELDS.put("PhoneNumber", false);
+        SENSITIVE_FIELDS.put("PartyA", false);
+        SENSITIVE_FIELDS.put("PartyB", false);
+        SENSITIVE_FIELDS.put("ReceiverParty", false);
+        SENSITIVE_FIELDS.put("MSISDN", false);
+    }
+
+    private final byte[] bytes;
+    private final String text;
+
+    private LogPayload(byte[] bytes, String text) {
+        this.bytes = bytes;
+        this.text = text;
+    }
+
+    /**
+     * @param body the UTF-8 encoded JSON body, may be null
+     * @return The body, to be passed as a log argument.
+     */
+    public static LogPayload json(byte[] body) {
+        return new LogPayload(body, null);
+    }
+
+    /**
+     * @param body the JSON body, may be null
+     * @return The body, to be passed as a log argument.
+     */
+    public static LogPayload json(String body) {
+        return new LogPayload(null, body);
+    }
+
+    /** @return The redacted and possibly truncated body. */
+    @Override
+    public String toString() {
+        String json = text != null ? text : bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+        return json == null ? "null" : redact(json);
+    }
+
+    /**
+     * Masks the values of sensitive fields in a JSON document. Malformed input is rendered as far as it can be
+     * scanned.
+     *
+     * @param json the JSON document
+     * @return The redacted document, truncated after {@link #MAX_CHARS} characters.
+     */
+    static String redact(String json) {
+        int length = json.length();
+        StringBuilder out = new StringBuilder(Math.min(length, MAX_CHARS) + 32);
+        int i = 0;
+        while (i < length && out.length() < MAX_CHARS) {
+            char c = json.charAt(i);
+            if (c != '"') {
+                out.append(c);
+                i++;
+                continue;
+            }
+            int end = endOfString(json, i);
+            out.append(json, i, end);
+            int colon = skipWhitespace(json, end);
+            Boolean secret = colon < length && json.charAt(colon) == ':' && end - i >= 2
+                    ? SENSITIVE_FIELDS.get(json.substring(i + 1, end - 1))
+                    : null;
+            i = end;
+            if (secret == null) {
+                continue;
+            }
+            int valueStart = skipWhitespace(json, colon + 1);
+            if (valueStart >= length || json.charAt(valueStart) == '{' || json.charAt(valueStart) == '[') {
+                continue;
+            }
+            boolean quoted = json.charAt(valueStart) == '"';
+            int valueEnd = quoted ? endOfString(json, valueStart) : endOfScalar(json, valueStart);
+            out.append(json, end, valueStart);
+            if (quoted) {
+                out.append('"');
+                mask(json, valueStart + 1, Math.max(valueStart + 1, valueEnd - 1), secret, out);
+                out.append('"');
+            } else {
+                mask(json, valueStart, valueEnd, secret, out);
+            }
+            i = valueEnd;
+        }
+        if (i < length) {
+            out.append("...(").append(length).append(" chars)");
+        }
+        return out.toString();
+    }
+
+    private static void mask(String json, int start, int end, boolean secret, StringBuilder out) {
+        int length = end - start;
+        if (secret || length <= 5) {
+            out.append("***");
+            return;
+        }
+        out.append(json, start, start + 3);
+        for (int i = 0; i < length - 5; i++) {
+            out.append('*');
+        }
+        out.append(json, end - 2, end);
+    }
+
+    /** @return The index after the closing quote of the string starting at {@code start}. */
+    private static int endOfString(String json, int start) {
+        int i = start + 1;
+        while (i < json.length()) {
+            char c = json.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '"') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return json.length();
+    }
+
+    private static int endOfScalar(String json, int start) {
+        int i = start;
+        while (i < json.length()) {
+            char c = json.charAt(i);
+            if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipWhitespace(String json, int start) {
+        int i = start;
+        while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
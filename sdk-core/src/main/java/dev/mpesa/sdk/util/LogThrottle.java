@@ -0,0 +1,45 @@
+package dev.mpesa.sdk.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets one log message through per interval and counts the ones held back, so that a message logged on every
+ * request does not flood the appenders at high volume. Checking costs a clock read and, when the message is held
+ * back, an uncontended counter increment.
+ */
+public final class LogThrottle {
+
+    private final long intervalNanos;
+    private final AtomicLong nextAt = new AtomicLong(System.nanoTime());
+    private final LongAdder suppressed = new LongAdder();
+
+    /**
+     * @param intervalMillis the minimum interval between messages; 0 lets every message through
+     */
+    public LogThrottle(long intervalMillis) {
+        if (intervalMillis < 0) {
+            throw new IllegalArgumentException("intervalMillis must not be negative.");
+        }
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    /**
+     * Decides whether a message may be logged now.
+     *
+     * @return The number of messages held back since the last one let through, or -1 if this one is held back.
+     */
+    public long tryAcquire() {
+        if (intervalNanos == 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long next = nextAt.get();
+        if (now - next < 0 || !nextAt.compareAndSet(next, now + intervalNanos)) {
+            suppressed.increment();
+            return -1;
+        }
+        return suppressed.sumThenReset();
+    }
+}
@@ -26,12 +26,37 @@ public class MpesaConstants {
     /** Default maximum number of retries for failed requests. */
     public static final int DEFAULT_MAX_RETRIES = 3;
 
+    /** Default time in milliseconds to wait for an asynchronous result callback. */
+    public static final long DEFAULT_RESULT_TIMEOUT = 300000;
+
+    /** Default time in milliseconds a cached account balance is served before it is queried again. */
+    public static final long DEFAULT_BALANCE_CACHE_TTL = 30000;
+
+    /** Default maximum number of terminal transaction status results kept in the cache. */
+    public static final int DEFAULT_TRANSACTION_STATUS_CACHE_SIZE = 10000;
+
+    /** Default time in milliseconds a failing base URL is taken out of rotation the first time. */
+    public static final long DEFAULT_ENDPOINT_EJECTION_TIME = 30000;
+
+    /** Default number of connections opened to each base URL when the SDK is warmed up. */
+    public static final int DEFAULT_WARM_UP_CONNECTIONS = 2;
+
+    /** Default number of BATCH priority calls that may be in flight at once. */
+    public static final int DEFAULT_BATCH_CONCURRENCY = 4;
+
+    /** Whether per-phase call timings are captured and attached to network exceptions by default. */
+    public static final boolean DEFAULT_CAPTURE_CALL_TIMINGS = false;
+
+    /** Default minimum interval between INFO logs of successful requests, in milliseconds. */
+    public static final int DEFAULT_SUCCESS_LOG_INTERVAL = 1000;
+
     /** Default endpoint paths for different M-Pesa services. */
     public static final String TOKEN_GENERATE = "/v1/token/generate?grant_type=client_credentials";
     public static final String C2B_REGISTER = "/v1/c2b-register-url/register";
     public static final String C2B_PAYMENT = "/c2b/payments";
     public static final String C2B_SIMULATE_PAYMENT = "/mpesa/b2c/simulatetransaction/v1/request";
     public static final String STK_PUSH = "/mpesa/stkpush/v3/processrequest";
+    public static final String STK_PUSH_QUERY = "/mpesa/stkpushquery/v1/query";
     public static final String B2C_PAYMENT = "/mpesa/b2c/v1/paymentrequest";
     public static final String TRANSACTION_STATUS = "/mpesa/transactionstatus/v1/query";
     public static final String TRANSACTION_REVERSAL = "/mpesa/reversal/v2/request";
@@ -1,15 +1,20 @@
 package dev.mpesa.sdk.util;
 
-import java.util.regex.Pattern;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Field checks run by the request builders. They run on every setter, so bulk builds of B2C rows are dominated by
+ * them: the character checks scan the string directly instead of running a regex, and never allocate. Each accepts
+ * exactly what the pattern in its comment did.
+ */
 public class ValidationUtils {
-    private static final Pattern NUMERIC_PATTERN = Pattern.compile("^\\d+$");
-    private static final Pattern BASE64_PATTERN = Pattern.compile("^[A-Za-z0-9+/=]+$");
-    private static final Pattern BUSINESS_SHORTCODE_PATTERN = Pattern.compile("\\d{4,9}");
-    private static final Pattern PHONE_NUMBER_PATTERN = Pattern.compile("^(2517\\d{8}|2547\\d{8})$");
 
+    /** Distinct URLs remembered as valid; further URLs are parsed on every check. */
+    private static final int MAX_CACHED_URLS = 1024;
+
+    private static final ConcurrentHashMap<String, Boolean> validUrls = new ConcurrentHashMap<>();
 
     public static void requireNonEmpty(String value, String fieldName) {
         if (value == null || value.trim().isEmpty()) {
@@ -17,14 +22,16 @@ public class ValidationUtils {
         }
     }
 
+    // ^\d+$
     public static void requireNumeric(String value, String fieldName) {
-        if (!NUMERIC_PATTERN.matcher(value).matches()) {
+        if (value.isEmpty() || !isDigits(value, 0, value.length())) {
             throw new IllegalArgumentException(fieldName + " must be numeric.");
         }
     }
 
+    // ^[A-Za-z0-9+/=]+$
     public static void requireBase64Encoded(String value, String fieldName) {
-        if (value == null || !BASE64_PATTERN.matcher(value).matches()) {
+        if (value == null || value.isEmpty() || !isBase64(value)) {
             throw new IllegalArgumentException(fieldName + " must be a valid base64 encoded string.");
         }
     }
@@ -36,23 +43,60 @@ public class ValidationUtils {
         }
     }
 
+    /**
+     * Checks that a value parses as a {@link URL}. Callback URLs are the same for every request, so values that
+     * passed are remembered and not parsed again.
+     */
     public static void requireValidURL(String value, String fieldName) {
+        if (value != null && validUrls.containsKey(value)) {
+            return;
+        }
         try {
             new URL(value);
         } catch (MalformedURLException e) {
             throw new IllegalArgumentException(fieldName + " must be a valid URL.");
         }
+        if (validUrls.size() < MAX_CACHED_URLS) {
+            validUrls.putIfAbsent(value, Boolean.TRUE);
+        }
     }
 
+    // ^(2517\d{8}|2547\d{8})$
     public static void requireValidPhoneNumber(String phoneNumber, String fieldName) {
-        if (!PHONE_NUMBER_PATTERN.matcher(phoneNumber).matches()) {
+        if (phoneNumber.length() != 12
+                || !phoneNumber.startsWith("251") && !phoneNumber.startsWith("254")
+                || phoneNumber.charAt(3) != '7'
+                || !isDigits(phoneNumber, 4, 12)) {
             throw new IllegalArgumentException(fieldName + " must be a valid Ethiopian (2517xxxxxxxx) or Kenyan (2547xxxxxxxx) number.");
         }
     }
 
+    // \d{4,9}
     public static void requireValidShortCode(String shortCode, String fieldName) {
-        if (!BUSINESS_SHORTCODE_PATTERN.matcher(shortCode).matches()) {
+        int length = shortCode.length();
+        if (length < 4 || length > 9 || !isDigits(shortCode, 0, length)) {
             throw new IllegalArgumentException(fieldName + " must be a valid business shortcode (5-7 digits).");
         }
     }
-}
\ No newline at end of file
+
+    /** ASCII digits only, as {@code \d} matches without {@code UNICODE_CHARACTER_CLASS}. */
+    private static boolean isDigits(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBase64(String value) {
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (!(c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '+' || c == '/' || c == '=')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
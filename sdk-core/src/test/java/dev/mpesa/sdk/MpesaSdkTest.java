@@ -0,0 +1,80 @@
+package dev.mpesa.sdk;
+
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.callback.StkPushCallbackResponse;
+import dev.mpesa.sdk.exception.MpesaNetworkException;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MpesaSdkTest {
+
+    @Test
+    void build_MissingCredentials_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new MpesaSdk.Builder().consumerKey("key").build());
+    }
+
+    @Test
+    void build_CreatesComponentsOnFirstUseAndSharesThem() {
+        OkHttpClient httpClient = mock(OkHttpClient.class);
+        try (MpesaSdk sdk = new MpesaSdk.Builder()
+                .consumerKey("key")
+                .consumerSecret("secret")
+                .httpClient(httpClient)
+                .build()) {
+            assertSame(sdk.getResultCorrelator(), sdk.getResultCorrelator());
+            assertNotNull(sdk.getBalanceCache());
+            assertNotNull(sdk.getTransactionStatusCache());
+        }
+
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    void callbacks_BeforeAnythingIsAwaited_AreNotMatched() {
+        OkHttpClient httpClient = mock(OkHttpClient.class);
+        ServiceResultResponse result = new ServiceResultResponse();
+        result.result = new ServiceResultResponse.Result();
+        result.result.conversationID = "AG_1";
+        StkPushCallbackResponse callback = new StkPushCallbackResponse();
+        callback.body = new StkPushCallbackResponse.StkPushCallbackBody();
+        callback.body.stkCallback = new StkPushCallbackResponse.StkCallback();
+        callback.body.stkCallback.checkoutRequestID = "ws_CO_1";
+
+        try (MpesaSdk sdk = new MpesaSdk.Builder()
+                .consumerKey("key")
+                .consumerSecret("secret")
+                .httpClient(httpClient)
+                .build()) {
+            assertFalse(sdk.handleServiceResult(result));
+            assertFalse(sdk.handleStkPushCallback(callback));
+        }
+
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    void sharedHttpClient_IsUsedForTokenRequests() throws IOException {
+        OkHttpClient httpClient = mock(OkHttpClient.class);
+        Call call = mock(Call.class);
+        when(httpClient.newCall(any(Request.class))).thenReturn(call);
+        when(call.execute()).thenThrow(new IOException("offline"));
+
+        try (MpesaSdk sdk = new MpesaSdk.Builder()
+                .consumerKey("key")
+                .consumerSecret("secret")
+                .httpClient(httpClient)
+                .build()) {
+            assertThrows(MpesaNetworkException.class, sdk::testAuth);
+        }
+
+        verify(httpClient).newCall(any(Request.class));
+    }
+}
@@ -0,0 +1,90 @@
+package dev.mpesa.sdk;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.mpesa.sdk.callback.CallbackEnvelope;
+import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.dto.callback.StkPushCallbackResponse;
+import dev.mpesa.sdk.dto.request.StkPushQueryRequest;
+import dev.mpesa.sdk.dto.response.StkPushQueryResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end check of the SDK against a local stub server: token request, request serialization, response and
+ * callback deserialization. It uses no mocks, so the {@code native} profile also runs it as a native executable to
+ * verify the reachability metadata.
+ */
+class NativeSmokeTest {
+
+    private static final String STK_CALLBACK = "{\"Body\":{\"stkCallback\":{\"MerchantRequestID\":\"m-1\","
+            + "\"CheckoutRequestID\":\"ws_CO_1\",\"ResultCode\":0,\"ResultDesc\":\"Success\","
+            + "\"CallbackMetadata\":{\"Item\":[{\"Name\":\"Amount\",\"Value\":10.5},"
+            + "{\"Name\":\"MpesaReceiptNumber\",\"Value\":\"NLJ7RT61SV\"}]}}}}";
+
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/token/generate", exchange ->
+                respond(exchange, "{\"access_token\":\"stub-token\",\"token_type\":\"Bearer\",\"expires_in\":3599}"));
+        server.createContext("/mpesa/stkpushquery/v1/query", exchange -> {
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            respond(exchange, "{\"ResponseCode\":\"0\",\"ResponseDescription\":\"Accepted\",\"MerchantRequestID\":\"m-1\","
+                    + "\"CheckoutRequestID\":\"ws_CO_1\",\"ResultCode\":\"0\",\"ResultDesc\":\"Success\"}");
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Test
+    void stkPushQuery_RoundTripsThroughStubServer() throws IOException {
+        MpesaConfig config = new MpesaConfig.Builder()
+                .baseUrls(List.of("http://localhost:" + server.getAddress().getPort()))
+                .maxRetries(1)
+                .build();
+        StkPushQueryRequest request = new StkPushQueryRequest.Builder()
+                .businessShortCode("174379")
+                .password("c3R1Yi1wYXNzd29yZA==")
+                .checkoutRequestID("ws_CO_1")
+                .build();
+
+        try (MpesaSdk sdk = new MpesaSdk("key", "secret", config)) {
+            StkPushQueryResponse response = sdk.queryStkPush(request);
+
+            assertTrue(response.isSuccessful());
+            assertEquals("ws_CO_1", response.getCheckoutRequestID());
+        }
+        assertTrue(receivedBody.get().contains("\"checkoutRequestID\":\"ws_CO_1\""), receivedBody.get());
+
+        StkPushCallbackResponse callback = CallbackEnvelope.parse(STK_CALLBACK.getBytes(StandardCharsets.UTF_8)).stkPush();
+        assertEquals("NLJ7RT61SV", callback.body.stkCallback.callbackMetadata.mpesaReceiptNumber());
+        assertEquals(0, callback.body.stkCallback.callbackMetadata.amount().compareTo(new BigDecimal("10.5")));
+    }
+}
@@ -0,0 +1,120 @@
+package dev.mpesa.sdk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mpesa.sdk.auth.TokenResponse;
+import dev.mpesa.sdk.dto.KeyValue;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the native-image reflection metadata covers every type Jackson binds, including nested types, so a
+ * DTO added without updating {@code reflect-config.json} fails here rather than in a native executable. The bound
+ * types are found by scanning the {@code dto} packages on the classpath and keeping the classes Jackson sees
+ * properties on.
+ */
+class ReachabilityMetadataTest {
+
+    private static final String REFLECT_CONFIG = "/META-INF/native-image/dev.mpesa/sdk-core/reflect-config.json";
+
+    private static final String DTO_PACKAGE = KeyValue.class.getPackageName();
+
+    // Bound outside the dto packages.
+    private static final List<Class<?>> OTHER_BOUND_TYPES = List.of(TokenResponse.class);
+
+    @Test
+    void reflectConfig_CoversAllBoundTypes() throws IOException {
+        Set<String> registered = new HashSet<>();
+        try (InputStream in = getClass().getResourceAsStream(REFLECT_CONFIG)) {
+            assertNotNull(in, "Missing " + REFLECT_CONFIG);
+            for (JsonNode entry : new ObjectMapper().readTree(in)) {
+                registered.add(entry.get("name").asText());
+                assertTrue(entry.path("allDeclaredFields").asBoolean(), entry.toString());
+            }
+        }
+
+        List<Class<?>> boundTypes = boundTypes();
+        assertTrue(boundTypes.contains(KeyValue.class), "Scan missed the dto classes: " + boundTypes);
+        Set<String> missing = new TreeSet<>();
+        for (Class<?> type : boundTypes) {
+            collect(type, registered, missing);
+        }
+        assertEquals(Set.of(), missing);
+    }
+
+    /**
+     * Top-level classes in the dto packages that Jackson finds properties on; helpers such as
+     * {@code AccountBalances}, which are parsed by hand, are left out.
+     */
+    private static List<Class<?>> boundTypes() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<Class<?>> types = new ArrayList<>(OTHER_BOUND_TYPES);
+        for (Class<?> type : dtoClasses()) {
+            if (type.isInterface() || !Modifier.isPublic(type.getModifiers())) {
+                continue;
+            }
+            boolean hasProperties = !mapper.getSerializationConfig()
+                    .introspect(mapper.constructType(type)).findProperties().isEmpty();
+            if (hasProperties) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+
+    private static List<Class<?>> dtoClasses() throws IOException {
+        Path root;
+        try {
+            root = Path.of(KeyValue.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+        Path packageDir = root.resolve(DTO_PACKAGE.replace('.', '/'));
+        assertTrue(Files.isDirectory(packageDir), "Not a class directory: " + packageDir);
+        List<Class<?>> classes = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(packageDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = root.relativize(file).toString();
+                // Nested classes are reached through their enclosing class.
+                if (!name.endsWith(".class") || name.contains("$")) {
+                    continue;
+                }
+                String className = name.substring(0, name.length() - ".class".length())
+                        .replace(file.getFileSystem().getSeparator(), ".");
+                try {
+                    classes.add(Class.forName(className));
+                } catch (ClassNotFoundException e) {
+                    throw new IOException(e);
+                }
+            }
+        }
+        return classes;
+    }
+
+    private static void collect(Class<?> type, Set<String> registered, Set<String> missing) {
+        // Builders are plain Java; Jackson never sees them.
+        if (type.getSimpleName().equals("Builder")) {
+            return;
+        }
+        if (!registered.contains(type.getName())) {
+            missing.add(type.getName());
+        }
+        for (Class<?> nested : type.getDeclaredClasses()) {
+            collect(nested, registered, missing);
+        }
+    }
+}
@@ -5,13 +5,16 @@ import dev.mpesa.sdk.config.MpesaConfig;
 import dev.mpesa.sdk.exception.MpesaAuthenticationException;
 import dev.mpesa.sdk.exception.MpesaNetworkException;
 import dev.mpesa.sdk.exception.MpesaUnexpectedResponseException;
-import okhttp3.*;
+import dev.mpesa.sdk.http.HttpTransport;
+import dev.mpesa.sdk.http.TransportRequest;
+import dev.mpesa.sdk.http.TransportResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -22,16 +25,7 @@ class AuthServiceTest {
     private AuthService authService;
 
     @Mock
-    private OkHttpClient mockHttpClient;
-
-    @Mock
-    private Call mockCall;
-
-    @Mock
-    private Response mockResponse;
-
-    @Mock
-    private ResponseBody mockResponseBody;
+    private HttpTransport mockTransport;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -41,19 +35,17 @@ class AuthServiceTest {
         MpesaConfig config = new MpesaConfig.Builder()
                 .authUrl("https://api.safaricom.co.ke/oauth/v1/generate?grant_type=client_credentials")
                 .build();
-        authService = new AuthService("valid-key", "valid-secret", config, mockHttpClient);
+        authService = new AuthService("valid-key", "valid-secret", config, mockTransport, objectMapper);
+    }
+
+    private static TransportResponse response(int code, String body) {
+        return new TransportResponse(code, null, body != null ? body.getBytes(StandardCharsets.UTF_8) : null);
     }
 
     @Test
     void refreshToken_SuccessfulResponse_SetsAccessToken() throws IOException {
         String tokenJson = "{\"access_token\": \"test-token\", \"token_type\": \"Bearer\", \"expires_in\": 3600}";
-        when(mockResponseBody.string()).thenReturn(tokenJson);
-
-        when(mockResponse.isSuccessful()).thenReturn(true);
-        when(mockResponse.body()).thenReturn(mockResponseBody);
-        when(mockCall.execute()).thenReturn(mockResponse);
-
-        when(mockHttpClient.newCall(any(Request.class))).thenReturn(mockCall);
+        when(mockTransport.execute(any(TransportRequest.class))).thenReturn(response(200, tokenJson));
 
         authService.refreshToken();
 
@@ -63,35 +55,38 @@ class AuthServiceTest {
     @Test
     void refreshToken_ExpiredToken_RefreshesToken() throws IOException {
         String firstTokenJson = "{\"access_token\": \"old-token\", \"token_type\": \"Bearer\", \"expires_in\": 1}";
-        when(mockResponseBody.string()).thenReturn(firstTokenJson);
-        when(mockResponse.isSuccessful()).thenReturn(true);
-        when(mockResponse.body()).thenReturn(mockResponseBody);
-        when(mockCall.execute()).thenReturn(mockResponse);
-        when(mockHttpClient.newCall(any(Request.class))).thenReturn(mockCall);
+        when(mockTransport.execute(any(TransportRequest.class))).thenReturn(response(200, firstTokenJson));
 
         authService.refreshToken();
 
         authService.setTokenExpiryTime(System.currentTimeMillis() - 1000);
 
         String newTokenJson = "{\"access_token\": \"new-token\", \"token_type\": \"Bearer\", \"expires_in\": 3600}";
-        when(mockResponseBody.string()).thenReturn(newTokenJson);
-        when(mockResponse.isSuccessful()).thenReturn(true);
-        when(mockResponse.body()).thenReturn(mockResponseBody);
-        when(mockCall.execute()).thenReturn(mockResponse);
-        when(mockHttpClient.newCall(any(Request.class))).thenReturn(mockCall);
+        when(mockTransport.execute(any(TransportRequest.class))).thenReturn(response(200, newTokenJson));
 
         String token = authService.getAccessToken();
 
         assertEquals("new-token", token);
     }
 
+    @Test
+    void refreshToken_SendsBasicCredentials() throws IOException {
+        String tokenJson = "{\"access_token\": \"test-token\", \"token_type\": \"Bearer\", \"expires_in\": 3600}";
+        when(mockTransport.execute(any(TransportRequest.class))).thenAnswer(invocation -> {
+            TransportRequest request = invocation.getArgument(0);
+            assertEquals("GET", request.getMethod());
+            assertEquals("Basic dmFsaWQta2V5OnZhbGlkLXNlY3JldA==", request.getHeader("Authorization"));
+            return response(200, tokenJson);
+        });
+
+        authService.refreshToken();
+
+        verify(mockTransport).execute(any(TransportRequest.class));
+    }
+
     @Test
     void refreshToken_InvalidCredentials_ThrowsAuthenticationException() throws IOException {
-        when(mockResponse.code()).thenReturn(401);
-        when(mockResponse.message()).thenReturn("Unauthorized");
-        when(mockResponse.isSuccessful()).thenReturn(false);
-        when(mockCall.execute()).thenReturn(mockResponse);
-        when(mockHttpClient.newCall(any(Request.class))).thenReturn(mockCall);
+        when(mockTransport.execute(any(TransportRequest.class))).thenReturn(response(401, null));
 
         MpesaAuthenticationException exception = assertThrows(
                 MpesaAuthenticationException.class,
@@ -103,8 +98,7 @@ class AuthServiceTest {
 
     @Test
     void refreshToken_NetworkFailure_ThrowsNetworkException() throws IOException {
-        when(mockCall.execute()).thenThrow(new IOException("Network error"));
-        when(mockHttpClient.newCall(any(Request.class))).thenReturn(mockCall);
+        when(mockTransport.execute(any(TransportRequest.class))).thenThrow(new IOException("Network error"));
 
         MpesaNetworkException exception = assertThrows(
                 MpesaNetworkException.class,
@@ -117,11 +111,7 @@ class AuthServiceTest {
     @Test
     void refreshToken_MalformedResponse_ThrowsUnexpectedResponseException() throws IOException {
         String invalidJson = "{\"invalid_field\": \"unexpected_data\"}";
-        when(mockResponseBody.string()).thenReturn(invalidJson);
-        when(mockResponse.isSuccessful()).thenReturn(true);
-        when(mockResponse.body()).thenReturn(mockResponseBody);
-        when(mockCall.execute()).thenReturn(mockResponse);
-        when(mockHttpClient.newCall(any(Request.class))).thenReturn(mockCall);
+        when(mockTransport.execute(any(TransportRequest.class))).thenReturn(response(200, invalidJson));
 
         MpesaUnexpectedResponseException exception = assertThrows(
                 MpesaUnexpectedResponseException.class,
@@ -0,0 +1,143 @@
+package dev.mpesa.sdk.cache;
+
+import dev.mpesa.sdk.callback.ResultCorrelator;
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.request.AccountBalanceRequest;
+import dev.mpesa.sdk.dto.response.AccountBalanceResponse;
+import dev.mpesa.sdk.exception.MpesaNetworkException;
+import dev.mpesa.sdk.exception.MpesaUnexpectedResponseException;
+import dev.mpesa.sdk.service.AccountService;
+import dev.mpesa.sdk.util.HashedTimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BalanceCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger conversations = new AtomicInteger();
+    private HashedTimingWheel timer;
+    private ResultCorrelator correlator;
+    private AccountService accountService;
+    private BalanceCache cache;
+    private AccountBalanceRequest request;
+
+    @BeforeEach
+    void setUp() {
+        timer = new HashedTimingWheel("test-timer", 10, TimeUnit.MILLISECONDS, 64);
+        correlator = new ResultCorrelator(timer, 5000, Runnable::run);
+        accountService = mock(AccountService.class);
+        when(accountService.checkAccountBalance(any())).thenAnswer(invocation ->
+                new AccountBalanceResponse("orig", "AG_" + conversations.incrementAndGet(), "0", "Accepted"));
+        cache = new BalanceCache(accountService, correlator, 1000, clock::get);
+        request = mock(AccountBalanceRequest.class);
+        when(request.getPartyA()).thenReturn("600000");
+    }
+
+    @AfterEach
+    void tearDown() {
+        correlator.close();
+        timer.close();
+    }
+
+    private void deliverResult(String conversationID, int resultCode) {
+        ServiceResultResponse response = new ServiceResultResponse();
+        response.result = new ServiceResultResponse.Result();
+        response.result.conversationID = conversationID;
+        response.result.resultCode = resultCode;
+        assertTrue(correlator.complete(response));
+    }
+
+    @Test
+    void getBalance_ConcurrentCallers_ShareOneQuery() {
+        CompletableFuture<ServiceResultResponse> first = cache.getBalance(request);
+        CompletableFuture<ServiceResultResponse> second = cache.getBalance(request);
+
+        assertSame(first, second);
+        verify(accountService, times(1)).checkAccountBalance(request);
+
+        deliverResult("AG_1", 0);
+        assertTrue(first.isDone());
+        assertSame(first, cache.getBalance(request));
+        assertEquals(2, cache.getStats().getHitCount());
+        assertEquals(1, cache.getStats().getMissCount());
+    }
+
+    @Test
+    void getBalance_AfterTtl_QueriesAgain() {
+        cache.getBalance(request);
+        deliverResult("AG_1", 0);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1001));
+        cache.getBalance(request);
+
+        verify(accountService, times(2)).checkAccountBalance(request);
+    }
+
+    @Test
+    void invalidate_DropsCachedBalance() {
+        cache.getBalance(request);
+        deliverResult("AG_1", 0);
+
+        cache.invalidate("600000");
+        cache.getBalance(request);
+
+        verify(accountService, times(2)).checkAccountBalance(request);
+        assertEquals(1, cache.getStats().getInvalidationCount());
+    }
+
+    @Test
+    void getBalance_FailedResult_IsNotCached() {
+        CompletableFuture<ServiceResultResponse> failed = cache.getBalance(request);
+        deliverResult("AG_1", 2001);
+
+        assertEquals(2001, failed.join().result.resultCode);
+        cache.getBalance(request);
+
+        verify(accountService, times(2)).checkAccountBalance(request);
+        assertEquals(1, cache.getStats().getLoadFailureCount());
+    }
+
+    @Test
+    void getBalance_QueryThrows_FailsFutureAndRetriesNextTime() {
+        when(accountService.checkAccountBalance(any())).thenThrow(new MpesaNetworkException("down"));
+
+        CompletableFuture<ServiceResultResponse> future = cache.getBalance(request);
+
+        assertTrue(future.isCompletedExceptionally());
+        assertNotSame(future, cache.getBalance(request));
+        assertEquals(0, cache.getStats().getSize());
+    }
+
+    @Test
+    void getBalance_RejectedQuery_FailsWithoutWaitingForAResult() {
+        when(accountService.checkAccountBalance(any()))
+                .thenReturn(new AccountBalanceResponse("orig", "AG_9", "1", "Invalid Initiator"));
+
+        CompletableFuture<ServiceResultResponse> future = cache.getBalance(request);
+
+        assertTrue(future.isCompletedExceptionally());
+        CompletionException e = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(MpesaUnexpectedResponseException.class, e.getCause());
+        assertTrue(e.getCause().getMessage().contains("Invalid Initiator"), e.getCause().getMessage());
+        assertFalse(correlator.complete(resultFor("AG_9")));
+        assertEquals(1, cache.getStats().getLoadFailureCount());
+        assertEquals(0, cache.getStats().getSize());
+    }
+
+    private static ServiceResultResponse resultFor(String conversationID) {
+        ServiceResultResponse response = new ServiceResultResponse();
+        response.result = new ServiceResultResponse.Result();
+        response.result.conversationID = conversationID;
+        return response;
+    }
+}
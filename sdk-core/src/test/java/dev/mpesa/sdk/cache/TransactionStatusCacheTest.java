@@ -0,0 +1,190 @@
+package dev.mpesa.sdk.cache;
+
+import dev.mpesa.sdk.callback.ResultCorrelator;
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.request.TransactionStatusRequest;
+import dev.mpesa.sdk.dto.response.TransactionStatusResponse;
+import dev.mpesa.sdk.exception.MpesaUnexpectedResponseException;
+import dev.mpesa.sdk.service.TransactionService;
+import dev.mpesa.sdk.util.HashedTimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TransactionStatusCacheTest {
+
+    private final AtomicInteger conversations = new AtomicInteger();
+    private HashedTimingWheel timer;
+    private ResultCorrelator correlator;
+    private TransactionService transactionService;
+    private TransactionStatusCache cache;
+
+    @BeforeEach
+    void setUp() {
+        timer = new HashedTimingWheel("test-timer", 10, TimeUnit.MILLISECONDS, 64);
+        correlator = new ResultCorrelator(timer, 5000, Runnable::run);
+        transactionService = mock(TransactionService.class);
+        when(transactionService.checkTransactionStatus(any())).thenAnswer(invocation ->
+                new TransactionStatusResponse("orig", "AG_" + conversations.incrementAndGet(), "0", "Accepted"));
+        cache = new TransactionStatusCache(transactionService, correlator, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        correlator.close();
+        timer.close();
+    }
+
+    private static TransactionStatusRequest request(String transactionID) {
+        TransactionStatusRequest request = mock(TransactionStatusRequest.class);
+        when(request.getTransactionID()).thenReturn(transactionID);
+        return request;
+    }
+
+    private void deliverResult(String conversationID, int resultCode, String status) {
+        ServiceResultResponse response = new ServiceResultResponse();
+        response.result = new ServiceResultResponse.Result();
+        response.result.conversationID = conversationID;
+        response.result.resultCode = resultCode;
+        if (status != null) {
+            ServiceResultResponse.Result.ResultParameters.ResultParameter parameter =
+                    new ServiceResultResponse.Result.ResultParameters.ResultParameter();
+            parameter.key = TransactionStatusCache.TRANSACTION_STATUS;
+            parameter.setValue(status);
+            response.result.resultParameters = new ServiceResultResponse.Result.ResultParameters();
+            response.result.resultParameters.resultParameter = List.of(parameter);
+        }
+        assertTrue(correlator.complete(response));
+    }
+
+    @Test
+    void getStatus_ConcurrentLookups_ShareOneQuery() throws Exception {
+        TransactionStatusRequest request = request("T1");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<CompletableFuture<ServiceResultResponse>>> lookups = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                lookups.add(executor.submit(() -> {
+                    start.await();
+                    return cache.getStatus(request);
+                }));
+            }
+            start.countDown();
+            List<CompletableFuture<ServiceResultResponse>> futures = new ArrayList<>();
+            for (Future<CompletableFuture<ServiceResultResponse>> lookup : lookups) {
+                futures.add(lookup.get(2, TimeUnit.SECONDS));
+            }
+
+            verify(transactionService, times(1)).checkTransactionStatus(request);
+            deliverResult("AG_1", 0, "Completed");
+            for (CompletableFuture<ServiceResultResponse> future : futures) {
+                assertEquals("AG_1", future.join().result.conversationID);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getStatus_TerminalResult_IsServedFromCache() {
+        TransactionStatusRequest request = request("T1");
+        cache.getStatus(request);
+        deliverResult("AG_1", 0, "completed");
+
+        CompletableFuture<ServiceResultResponse> cached = cache.getStatus(request);
+
+        assertEquals("AG_1", cached.join().result.conversationID);
+        verify(transactionService, times(1)).checkTransactionStatus(request);
+        assertEquals(1, cache.getStats().getHitCount());
+        assertEquals(1, cache.getStats().getSize());
+    }
+
+    @Test
+    void getStatus_PendingOrRejectedResult_IsNotCached() {
+        TransactionStatusRequest request = request("T1");
+        cache.getStatus(request);
+        deliverResult("AG_1", 0, "Pending");
+        cache.getStatus(request);
+        deliverResult("AG_2", 2001, null);
+        cache.getStatus(request);
+
+        verify(transactionService, times(3)).checkTransactionStatus(request);
+        assertEquals(0, cache.getStats().getSize());
+        assertEquals(1, cache.getStats().getLoadFailureCount());
+    }
+
+    @Test
+    void getStatus_RejectedQuery_FailsWithoutWaitingForAResult() {
+        when(transactionService.checkTransactionStatus(any()))
+                .thenReturn(new TransactionStatusResponse("orig", "AG_9", "1", "Invalid TransactionID"))
+                .thenAnswer(invocation -> new TransactionStatusResponse("orig", "AG_10", "0", "Accepted"));
+        TransactionStatusRequest request = request("T1");
+
+        CompletableFuture<ServiceResultResponse> rejected = cache.getStatus(request);
+
+        CompletionException e = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(MpesaUnexpectedResponseException.class, e.getCause());
+        assertTrue(e.getCause().getMessage().contains("Invalid TransactionID"), e.getCause().getMessage());
+        assertEquals(1, cache.getStats().getLoadFailureCount());
+        assertNotSame(rejected, cache.getStatus(request));
+        verify(transactionService, times(2)).checkTransactionStatus(request);
+    }
+
+    @Test
+    void invalidate_DropsCachedStatusAndInFlightResult() {
+        TransactionStatusRequest request = request("T1");
+        cache.getStatus(request);
+        deliverResult("AG_1", 0, "Completed");
+
+        cache.invalidate("T1");
+        CompletableFuture<ServiceResultResponse> inFlight = cache.getStatus(request);
+        cache.invalidate("T1");
+        deliverResult("AG_2", 0, "Reversed");
+
+        assertEquals("AG_2", inFlight.join().result.conversationID);
+        assertEquals(0, cache.getStats().getSize());
+        assertEquals(2, cache.getStats().getInvalidationCount());
+        verify(transactionService, times(2)).checkTransactionStatus(request);
+    }
+
+    @Test
+    void tinyLfu_StaysWithinCapacityAndKeepsFrequentEntries() {
+        TinyLfuCache<String, String> lfu = new TinyLfuCache<>(100);
+        for (int i = 0; i < 50; i++) {
+            lfu.put("hot-" + i, "v");
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                assertNotNull(lfu.get("hot-" + i));
+            }
+        }
+        for (int i = 0; i < 1000; i++) {
+            lfu.put("cold-" + i, "v");
+        }
+
+        assertTrue(lfu.size() <= 100);
+        assertEquals(950, lfu.evictionCount());
+        int retained = 0;
+        for (int i = 0; i < 50; i++) {
+            if (lfu.get("hot-" + i) != null) {
+                retained++;
+            }
+        }
+        assertEquals(50, retained);
+    }
+}
@@ -0,0 +1,135 @@
+package dev.mpesa.sdk.callback;
+
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.callback.StkPushCallbackResponse;
+import dev.mpesa.sdk.dto.callback.ValidationConfirmationRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallbackDeduplicatorTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private CallbackDeduplicator deduplicator(int recentCapacity) {
+        return new CallbackDeduplicator(Duration.ofMinutes(3), 10_000, 1e-6, recentCapacity, clock::get);
+    }
+
+    @Test
+    void firstSeen_RepeatedId_IsDuplicate() {
+        CallbackDeduplicator deduplicator = deduplicator(1000);
+
+        assertTrue(deduplicator.firstSeen("RKTQDM7W6S"));
+        assertFalse(deduplicator.firstSeen("RKTQDM7W6S"));
+        assertTrue(deduplicator.firstSeen("RKTQDM7W6T"));
+
+        assertEquals(2, deduplicator.getUniqueCount());
+        assertEquals(1, deduplicator.getDuplicateCount());
+    }
+
+    @Test
+    void firstSeen_EvictedFromRecentEntries_StillCaughtByBloomFilters() {
+        CallbackDeduplicator deduplicator = deduplicator(64);
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(deduplicator.firstSeen("id-" + i));
+        }
+
+        for (int i = 0; i < 5000; i++) {
+            assertFalse(deduplicator.firstSeen("id-" + i), "id-" + i);
+        }
+    }
+
+    @Test
+    void firstSeen_FalsePositiveRate_StaysWithinConfiguredRateAcrossGenerations() {
+        double falsePositiveRate = 0.05;
+        int expectedPerWindow = 30_000;
+        clock.set(3_000_000);
+        CallbackDeduplicator deduplicator = new CallbackDeduplicator(Duration.ofSeconds(3), expectedPerWindow,
+                falsePositiveRate, 64, clock::get);
+        // Fill the three older generations to capacity, one slice each.
+        for (int slice = 0; slice < 3; slice++) {
+            for (int i = 0; i < expectedPerWindow / 3; i++) {
+                deduplicator.firstSeen("fill-" + slice + "-" + i);
+            }
+            clock.addAndGet(1000);
+        }
+
+        int probes = expectedPerWindow / 3;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (!deduplicator.firstSeen("probe-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        double observed = (double) falsePositives / probes;
+        assertTrue(observed <= falsePositiveRate, "observed false-positive rate " + observed);
+    }
+
+    @Test
+    void firstSeen_AfterWindow_IsForgotten() {
+        CallbackDeduplicator deduplicator = deduplicator(1000);
+        assertTrue(deduplicator.firstSeen("ws_CO_1"));
+
+        clock.addAndGet(Duration.ofMinutes(2).toMillis());
+        assertFalse(deduplicator.firstSeen("ws_CO_1"));
+
+        clock.addAndGet(Duration.ofMinutes(5).toMillis());
+        assertTrue(deduplicator.firstSeen("ws_CO_1"));
+    }
+
+    @Test
+    void firstSeen_MissingId_IsLetThrough() {
+        CallbackDeduplicator deduplicator = deduplicator(1000);
+
+        assertTrue(deduplicator.firstSeen((String) null));
+        assertTrue(deduplicator.firstSeen(new StkPushCallbackResponse()));
+        assertTrue(deduplicator.firstSeen(new StkPushCallbackResponse()));
+    }
+
+    @Test
+    void keyOf_UsesTypeSpecificIds() {
+        ServiceResultResponse result = new ServiceResultResponse();
+        result.result = new ServiceResultResponse.Result();
+        result.result.conversationID = "AG_1";
+        assertEquals("result:AG_1", CallbackDeduplicator.keyOf(result));
+        result.result.transactionID = "T1";
+        assertEquals("result:T1", CallbackDeduplicator.keyOf(result));
+
+        ValidationConfirmationRequest confirmation = new ValidationConfirmationRequest();
+        confirmation.transID = "T1";
+        assertEquals("c2b:T1", CallbackDeduplicator.keyOf(confirmation));
+    }
+
+    @Test
+    void firstSeen_ConcurrentRedeliveries_LetExactlyOneThrough() throws Exception {
+        CallbackDeduplicator deduplicator = deduplicator(1000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 1000; j++) {
+                    if (deduplicator.firstSeen("tx-" + j)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, accepted.get());
+    }
+}
@@ -0,0 +1,73 @@
+package dev.mpesa.sdk.callback;
+
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.callback.StkPushCallbackResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallbackEnvelopeTest {
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void parse_StkCallback_ExtractsCheckoutRequestIdAndResultCode() throws Exception {
+        CallbackEnvelope envelope = CallbackEnvelope.parse(bytes("{\"Body\":{\"stkCallback\":{"
+                + "\"MerchantRequestID\":\"m-1\",\"CheckoutRequestID\":\"ws_CO_1\",\"ResultCode\":1032,"
+                + "\"ResultDesc\":\"Request cancelled by user\"}}}"));
+
+        assertEquals("ws_CO_1", envelope.correlationId());
+        assertTrue(envelope.hasResultCode());
+        assertEquals(1032, envelope.resultCode());
+        assertFalse(envelope.isSuccessful());
+    }
+
+    @Test
+    void parse_ServiceResult_IgnoresParameterKeys() throws Exception {
+        CallbackEnvelope envelope = CallbackEnvelope.parse(bytes("{\"Result\":{\"ResultType\":0,\"ResultCode\":0,"
+                + "\"OriginatorConversationID\":\"orig-1\",\"ConversationID\":\"AG_1\",\"TransactionID\":\"T1\","
+                + "\"ResultParameters\":{\"ResultParameter\":[{\"Key\":\"ConversationID\",\"Value\":\"other\"}]}}}"));
+
+        assertEquals("AG_1", envelope.correlationId());
+        assertEquals("orig-1", envelope.originatorConversationID());
+        assertEquals("T1", envelope.transactionID());
+        assertTrue(envelope.isSuccessful());
+        assertEquals("result:T1", CallbackDeduplicator.keyOf(envelope));
+    }
+
+    @Test
+    void parse_C2bCallback_UsesTransId() throws Exception {
+        CallbackEnvelope envelope = CallbackEnvelope.parse(bytes("{\"TransactionType\":\"Pay Bill\","
+                + "\"TransID\":\"RKTQDM7W6S\",\"TransAmount\":\"10\"}"));
+
+        assertEquals("RKTQDM7W6S", envelope.correlationId());
+        assertFalse(envelope.hasResultCode());
+        assertEquals("c2b:RKTQDM7W6S", CallbackDeduplicator.keyOf(envelope));
+    }
+
+    @Test
+    void parse_MalformedBody_Throws() {
+        assertThrows(IOException.class, () -> CallbackEnvelope.parse(bytes("not json")));
+        assertThrows(IOException.class, () -> CallbackEnvelope.parse(bytes("[1,2]")));
+        assertThrows(IOException.class, () -> CallbackEnvelope.parse(bytes("{\"Result\":{\"ResultCode\":0}")));
+    }
+
+    @Test
+    void decode_BindsLazilyAndOnce() throws Exception {
+        String json = "{\"Body\":{\"stkCallback\":{\"CheckoutRequestID\":\"ws_CO_1\",\"ResultCode\":0}}}";
+        CallbackEnvelope envelope = CallbackEnvelope.parse(bytes(json));
+
+        StkPushCallbackResponse callback = envelope.stkPush();
+
+        assertEquals("ws_CO_1", callback.body.stkCallback.checkoutRequestID);
+        assertSame(callback, envelope.stkPush());
+        assertEquals(CallbackDeduplicator.keyOf(callback), CallbackDeduplicator.keyOf(envelope));
+        ServiceResultResponse asResult = envelope.serviceResult();
+        assertNull(asResult.result);
+    }
+}
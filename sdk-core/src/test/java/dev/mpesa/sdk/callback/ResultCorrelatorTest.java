@@ -0,0 +1,105 @@
+package dev.mpesa.sdk.callback;
+
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.response.B2CPaymentResponse;
+import dev.mpesa.sdk.exception.MpesaTimeoutException;
+import dev.mpesa.sdk.util.HashedTimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultCorrelatorTest {
+
+    private HashedTimingWheel timer;
+    private ResultCorrelator correlator;
+
+    @BeforeEach
+    void setUp() {
+        timer = new HashedTimingWheel("test-timer", 10, TimeUnit.MILLISECONDS, 64);
+        correlator = new ResultCorrelator(timer, 5000, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        correlator.close();
+        timer.close();
+    }
+
+    private static ServiceResultResponse result(String conversationID, String originatorConversationID) {
+        ServiceResultResponse response = new ServiceResultResponse();
+        response.result = new ServiceResultResponse.Result();
+        response.result.conversationID = conversationID;
+        response.result.originatorConversationID = originatorConversationID;
+        return response;
+    }
+
+    @Test
+    void complete_MatchingConversationID_CompletesFuture() throws Exception {
+        B2CPaymentResponse ack = new B2CPaymentResponse("AG_1", "orig-1", "0", "Accepted");
+        CompletableFuture<ServiceResultResponse> future = correlator.register(ack);
+
+        ServiceResultResponse result = result("AG_1", null);
+        assertTrue(correlator.complete(result));
+
+        assertSame(result, future.get(1, TimeUnit.SECONDS));
+        assertEquals(0, correlator.pendingCount());
+    }
+
+    @Test
+    void complete_MatchingOriginatorConversationIDOnly_CompletesFuture() throws Exception {
+        CompletableFuture<ServiceResultResponse> future = correlator.register("AG_2", "orig-2", 5000);
+
+        assertTrue(correlator.complete(result("unknown", "orig-2")));
+
+        assertTrue(future.isDone());
+        assertEquals(0, correlator.pendingCount());
+    }
+
+    @Test
+    void complete_UnknownResult_ReturnsFalse() {
+        correlator.register("AG_3", "orig-3", 5000);
+
+        assertFalse(correlator.complete(result("AG_x", "orig-x")));
+        assertEquals(1, correlator.pendingCount());
+    }
+
+    @Test
+    void register_SameIdTwice_ReturnsSameFuture() {
+        CompletableFuture<ServiceResultResponse> first = correlator.register("AG_4", "orig-4", 5000);
+        CompletableFuture<ServiceResultResponse> second = correlator.register("AG_4", null, 5000);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void register_NoIds_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> correlator.register(null, "", 5000));
+    }
+
+    @Test
+    void register_NoResultInTime_FailsWithTimeout() {
+        CompletableFuture<ServiceResultResponse> future = correlator.register("AG_5", null, 50);
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(MpesaTimeoutException.class, thrown.getCause());
+        assertEquals("AG_5", ((MpesaTimeoutException) thrown.getCause()).correlationId());
+        assertEquals(0, correlator.pendingCount());
+        assertFalse(correlator.complete(result("AG_5", null)));
+    }
+
+    @Test
+    void complete_BeforeTimeout_CancelsTimer() {
+        correlator.register("AG_6", null, 60_000);
+        assertEquals(1, timer.pendingTimeouts());
+
+        correlator.complete(result("AG_6", null));
+
+        assertEquals(0, timer.pendingTimeouts());
+    }
+}
@@ -0,0 +1,165 @@
+package dev.mpesa.sdk.callback;
+
+import dev.mpesa.sdk.dto.callback.StkPushCallbackResponse;
+import dev.mpesa.sdk.dto.request.StkPushQueryRequest;
+import dev.mpesa.sdk.dto.response.StkPushQueryResponse;
+import dev.mpesa.sdk.exception.MpesaAuthenticationException;
+import dev.mpesa.sdk.exception.MpesaErrorCode;
+import dev.mpesa.sdk.exception.MpesaHttpException;
+import dev.mpesa.sdk.exception.MpesaNetworkException;
+import dev.mpesa.sdk.exception.MpesaTimeoutException;
+import dev.mpesa.sdk.exception.MpesaUnexpectedResponseException;
+import dev.mpesa.sdk.service.StkPushService;
+import dev.mpesa.sdk.util.HashedTimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StkPushPollerTest {
+
+    private static final String STILL_PROCESSING =
+            "{\"requestId\":\"r-1\",\"errorCode\":\"500.001.1001\","
+                    + "\"errorMessage\":\"The transaction is being processed\"}";
+
+    private HashedTimingWheel timer;
+    private StkPushService stkPushService;
+    private StkPushPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        timer = new HashedTimingWheel("test-timer", 10, TimeUnit.MILLISECONDS, 64);
+        stkPushService = mock(StkPushService.class);
+        poller = new StkPushPoller(stkPushService, timer, Runnable::run, 50, 50, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        poller.close();
+        timer.close();
+    }
+
+    private static StkPushQueryRequest query(String checkoutRequestID) {
+        return new StkPushQueryRequest.Builder()
+                .businessShortCode("123456")
+                .password("base64encodedpassword")
+                .checkoutRequestID(checkoutRequestID)
+                .build();
+    }
+
+    private static StkPushCallbackResponse callback(String checkoutRequestID, int resultCode) {
+        StkPushCallbackResponse callback = new StkPushCallbackResponse();
+        callback.body = new StkPushCallbackResponse.StkPushCallbackBody();
+        callback.body.stkCallback = new StkPushCallbackResponse.StkCallback();
+        callback.body.stkCallback.checkoutRequestID = checkoutRequestID;
+        callback.body.stkCallback.resultCode = resultCode;
+        return callback;
+    }
+
+    @Test
+    void complete_CallbackBeforeFirstQuery_CancelsPolling() throws Exception {
+        CompletableFuture<StkPushPoller.Outcome> future = poller.track(query("ws_CO_1"));
+
+        assertTrue(poller.complete(callback("ws_CO_1", 0)));
+
+        StkPushPoller.Outcome outcome = future.get(1, TimeUnit.SECONDS);
+        assertTrue(outcome.isFromCallback());
+        assertTrue(outcome.isSuccessful());
+        assertEquals(0, poller.pendingCount());
+        Thread.sleep(200);
+        verifyNoInteractions(stkPushService);
+    }
+
+    @Test
+    void track_LateCallback_ResolvedByQuery() throws Exception {
+        when(stkPushService.queryStkPush(any()))
+                .thenThrow(new MpesaUnexpectedResponseException(MpesaErrorCode.UNKNOWN_ERROR, STILL_PROCESSING,
+                        "Unexpected error in STK Push query."))
+                .thenReturn(new StkPushQueryResponse("0", "Accepted", "m-1", "ws_CO_2", "1032", "Request cancelled by user"));
+
+        StkPushPoller.Outcome outcome = poller.track(query("ws_CO_2")).get(2, TimeUnit.SECONDS);
+
+        assertFalse(outcome.isFromCallback());
+        assertEquals(1032, outcome.getResultCode());
+        assertEquals("Request cancelled by user", outcome.getResultDesc());
+        verify(stkPushService, times(2)).queryStkPush(any());
+        assertFalse(poller.complete(callback("ws_CO_2", 0)));
+    }
+
+    @Test
+    void track_QueryRejected_FailsWithoutQueryingAgain() {
+        MpesaUnexpectedResponseException rejected = new MpesaUnexpectedResponseException(MpesaErrorCode.UNKNOWN_ERROR,
+                "{\"errorCode\":\"400.002.02\",\"errorMessage\":\"Bad Request - Invalid Password\"}",
+                "Unexpected error in STK Push query.", new MpesaHttpException(400, "", "HTTP error: 400"));
+        when(stkPushService.queryStkPush(any())).thenThrow(rejected);
+
+        CompletableFuture<StkPushPoller.Outcome> future = poller.track(query("ws_CO_6"));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+        assertSame(rejected, exception.getCause());
+        verify(stkPushService, times(1)).queryStkPush(any());
+    }
+
+    @Test
+    void track_AuthenticationFailure_FailsWithoutQueryingAgain() {
+        when(stkPushService.queryStkPush(any()))
+                .thenThrow(new MpesaAuthenticationException("", "Invalid Access Token"));
+
+        CompletableFuture<StkPushPoller.Outcome> future = poller.track(query("ws_CO_7"));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(MpesaAuthenticationException.class, exception.getCause());
+        verify(stkPushService, times(1)).queryStkPush(any());
+    }
+
+    @Test
+    void track_TransientFailures_AreQueriedAgain() throws Exception {
+        when(stkPushService.queryStkPush(any()))
+                .thenThrow(new MpesaNetworkException("Connection reset"))
+                .thenThrow(new MpesaUnexpectedResponseException(MpesaErrorCode.UNKNOWN_ERROR, "",
+                        "Unexpected error in STK Push query.", new MpesaHttpException(503, "", "HTTP error: 503")))
+                .thenReturn(new StkPushQueryResponse("0", "Accepted", "m-1", "ws_CO_8", "0", "Success"));
+
+        StkPushPoller.Outcome outcome = poller.track(query("ws_CO_8")).get(2, TimeUnit.SECONDS);
+
+        assertEquals(0, outcome.getResultCode());
+        verify(stkPushService, times(3)).queryStkPush(any());
+    }
+
+    @Test
+    void track_NoOutcomeAfterAllQueries_TimesOut() {
+        when(stkPushService.queryStkPush(any())).thenReturn(new StkPushQueryResponse("0", "Accepted", "m-1", "ws_CO_3", null, null));
+
+        CompletableFuture<StkPushPoller.Outcome> future = poller.track(query("ws_CO_3"));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(MpesaTimeoutException.class, exception.getCause());
+        verify(stkPushService, times(3)).queryStkPush(any());
+        assertEquals(0, poller.pendingCount());
+    }
+
+    @Test
+    void track_SameCheckoutRequestID_ReturnsExistingFuture() {
+        CompletableFuture<StkPushPoller.Outcome> first = poller.track(query("ws_CO_4"));
+
+        assertSame(first, poller.track(query("ws_CO_4")));
+        assertEquals(1, poller.pendingCount());
+    }
+
+    @Test
+    void complete_Envelope_CompletesTrackedPrompt() throws Exception {
+        CompletableFuture<StkPushPoller.Outcome> future = poller.track(query("ws_CO_5"));
+        CallbackEnvelope envelope = CallbackEnvelope.parse(("{\"Body\":{\"stkCallback\":{\"CheckoutRequestID\":\"ws_CO_5\","
+                + "\"ResultCode\":1037,\"ResultDesc\":\"No response from user\"}}}").getBytes());
+
+        assertTrue(poller.complete(envelope));
+
+        assertEquals(1037, future.get(1, TimeUnit.SECONDS).getResultCode());
+    }
+}
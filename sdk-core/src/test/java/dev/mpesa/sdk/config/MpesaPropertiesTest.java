@@ -0,0 +1,65 @@
+package dev.mpesa.sdk.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpesaPropertiesTest {
+
+    @Test
+    void configBuilder_AppliesTheConfiguredKeys() {
+        Properties properties = new Properties();
+        properties.setProperty("mpesa.consumer-key", " key ");
+        properties.setProperty("mpesa.consumer-secret", "secret");
+        properties.setProperty("mpesa.config.environment", "production");
+        properties.setProperty("mpesa.config.transport", "JDK");
+        properties.setProperty("mpesa.config.max-retries", "5");
+        properties.setProperty("mpesa.config.base-urls", "https://a.example, https://b.example,");
+        properties.setProperty("mpesa.config.capture-call-timings", "TRUE");
+        properties.setProperty("mpesa.config.warm-up", "false");
+        properties.setProperty("mpesa.config.read-timeout", " ");
+        MpesaProperties mpesaProperties = MpesaProperties.of(properties);
+
+        MpesaConfig config = mpesaProperties.toConfig();
+        assertEquals(MpesaConfig.Environment.PRODUCTION, config.getEnvironment());
+        assertEquals(MpesaConfig.Transport.JDK, config.getTransport());
+        assertEquals(5, config.getMaxRetries());
+        assertEquals(List.of("https://a.example", "https://b.example"), config.getBaseUrls());
+        assertTrue(config.isCaptureCallTimings());
+        assertEquals(new MpesaConfig.Builder().build().getReadTimeout(), config.getReadTimeout());
+        assertEquals("key", mpesaProperties.getConsumerKey());
+        assertEquals("secret", mpesaProperties.getConsumerSecret());
+        assertFalse(mpesaProperties.isWarmUp());
+        assertFalse(mpesaProperties.isMetrics());
+    }
+
+    @Test
+    void unsetKeys_LeaveTheDefaults() {
+        MpesaProperties mpesaProperties = MpesaProperties.of(new Properties());
+        MpesaConfig defaults = new MpesaConfig.Builder().build();
+
+        MpesaConfig config = mpesaProperties.toConfig();
+        assertEquals(defaults.getEnvironment(), config.getEnvironment());
+        assertEquals(defaults.getAuthUrl(), config.getAuthUrl());
+        assertEquals(defaults.getMaxRetries(), config.getMaxRetries());
+        assertNull(mpesaProperties.getConsumerKey());
+        assertTrue(mpesaProperties.isWarmUp());
+    }
+
+    @Test
+    void invalidValues_NameTheKey() {
+        assertEquals("mpesa.config.read-timeout must be an integer: soon", assertThrows(IllegalArgumentException.class,
+                () -> new MpesaProperties(key -> key.equals("mpesa.config.read-timeout") ? "soon" : null).toConfig())
+                .getMessage());
+        assertEquals("mpesa.config.metrics must be true or false: yes", assertThrows(IllegalArgumentException.class,
+                () -> new MpesaProperties(key -> key.equals("mpesa.config.metrics") ? "yes" : null).isMetrics())
+                .getMessage());
+        assertEquals("mpesa.config.transport must be one of [OKHTTP, JDK]: netty", assertThrows(
+                IllegalArgumentException.class,
+                () -> new MpesaProperties(key -> key.equals("mpesa.config.transport") ? "netty" : null).toConfig())
+                .getMessage());
+    }
+}
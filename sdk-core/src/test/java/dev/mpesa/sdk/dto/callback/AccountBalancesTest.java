@@ -0,0 +1,73 @@
+package dev.mpesa.sdk.dto.callback;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountBalancesTest {
+
+    private static final String PACKED = "Working Account|ETB|46713.00|46713.00|0.00|0.00"
+            + "&Float Account|ETB|0.00|0.00|0.00|0.00"
+            + "&Utility Account|ETB|1000.5|999.99|0.51|0.00"
+            + "&Charges Paid Account|ETB|-4510.00|-4510.00|0.00|0.00";
+
+    @Test
+    void parse_PackedValue_ReadsEveryAccountInMinorUnits() {
+        AccountBalances balances = AccountBalances.parse(PACKED);
+
+        assertEquals(4, balances.size());
+        assertEquals("Working Account", balances.name(0));
+        assertEquals("ETB", balances.currency(0));
+        assertEquals(4671300, balances.currentBalance(0));
+        assertEquals(100050, balances.currentBalance(2));
+        assertEquals(99999, balances.availableBalance("Utility Account"));
+        assertEquals(51, balances.reservedBalance(2));
+        assertEquals(-451000, balances.availableBalance(3));
+        assertEquals(-1, balances.indexOf("Merchant Account"));
+    }
+
+    @Test
+    void parse_KnownNamesAndCurrencies_AreShared() {
+        AccountBalances first = AccountBalances.parse(PACKED);
+        AccountBalances second = AccountBalances.parse(PACKED);
+
+        assertSame(first.name(0), second.name(0));
+        assertSame(first.currency(0), second.currency(0));
+        assertEquals(first, second);
+    }
+
+    @Test
+    void parse_ShortAndUnknownEntries() {
+        AccountBalances balances = AccountBalances.parse("Custom Account|XYZ|12&");
+
+        assertEquals(1, balances.size());
+        assertEquals("Custom Account", balances.name(0));
+        assertEquals(1200, balances.currentBalance(0));
+        assertEquals(0, balances.unclearedBalance(0));
+        assertEquals(0, AccountBalances.parse("").size());
+    }
+
+    @Test
+    void parse_MalformedValues_Throw() {
+        assertThrows(IllegalArgumentException.class, () -> AccountBalances.parse("Working Account|ETB|12x.00"));
+        assertThrows(IllegalArgumentException.class, () -> AccountBalances.parse("Working Account|ETB|1.005"));
+        assertThrows(IllegalArgumentException.class, () -> AccountBalances.parse("Working Account&Utility Account|ETB|1"));
+        assertThrows(IllegalArgumentException.class, () -> AccountBalances.parse("Working Account|ETB|1|2|3|4|5"));
+        assertThrows(IllegalArgumentException.class, () -> AccountBalances.parse("Working Account|ETB|99999999999999999999"));
+    }
+
+    @Test
+    void accountBalances_HangsOffResult() throws Exception {
+        String json = "{\"Result\":{\"ResultType\":0,\"ResultCode\":0,\"ConversationID\":\"AG_1\","
+                + "\"ResultParameters\":{\"ResultParameter\":[{\"Key\":\"AccountBalance\",\"Value\":\"" + PACKED + "\"},"
+                + "{\"Key\":\"BOCompletedTime\",\"Value\":20200109125710}]}}}";
+        ServiceResultResponse.Result result = new ObjectMapper().readValue(json, ServiceResultResponse.class).result;
+
+        AccountBalances balances = result.accountBalances();
+
+        assertEquals(4671300, balances.availableBalance("Working Account"));
+        assertSame(balances, result.accountBalances());
+        assertNull(new ServiceResultResponse.Result().accountBalances());
+    }
+}
@@ -0,0 +1,93 @@
+package dev.mpesa.sdk.dto.callback;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallbackParametersTest {
+
+    private static final String STK_CALLBACK = "{\"Body\":{\"stkCallback\":{\"MerchantRequestID\":\"29115-34620561-1\","
+            + "\"CheckoutRequestID\":\"ws_CO_191220191020363925\",\"ResultCode\":0,"
+            + "\"ResultDesc\":\"The service request is processed successfully.\",\"CallbackMetadata\":{\"Item\":["
+            + "{\"Name\":\"Amount\",\"Value\":1.00},"
+            + "{\"Name\":\"MpesaReceiptNumber\",\"Value\":\"NLJ7RT61SV\"},"
+            + "{\"Name\":\"TransactionDate\",\"Value\":20191219102115},"
+            + "{\"Name\":\"PhoneNumber\",\"Value\":254708374149}]}}}}";
+
+    private static final String B2C_RESULT = "{\"Result\":{\"ResultType\":0,\"ResultCode\":0,"
+            + "\"ConversationID\":\"AG_1\",\"TransactionID\":\"NLJ41HAY6Q\",\"ResultParameters\":{\"ResultParameter\":["
+            + "{\"Key\":\"TransactionAmount\",\"Value\":10},"
+            + "{\"Key\":\"TransactionReceipt\",\"Value\":\"NLJ41HAY6Q\"},"
+            + "{\"Key\":\"B2CRecipientIsRegisteredCustomer\",\"Value\":\"Y\"},"
+            + "{\"Key\":\"B2CChargesPaidAccountAvailableFunds\",\"Value\":\"-4510.00\"},"
+            + "{\"Key\":\"ReceiverPartyPublicName\",\"Value\":\"254708374149 - John Doe\"}]}}}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void stkMetadata_TypedAccessors() throws Exception {
+        StkPushCallbackResponse.CallbackMetadata metadata = objectMapper
+                .readValue(STK_CALLBACK, StkPushCallbackResponse.class).body.stkCallback.callbackMetadata;
+
+        assertEquals(0, new BigDecimal("1.00").compareTo(metadata.amount()));
+        assertEquals("NLJ7RT61SV", metadata.mpesaReceiptNumber());
+        assertEquals(20191219102115L, metadata.transactionDate());
+        assertEquals(254708374149L, metadata.phoneNumber());
+        assertEquals(1, metadata.getLong("Amount"));
+        assertEquals(-1, metadata.getLong("MpesaReceiptNumber", -1));
+        assertEquals("254708374149", metadata.getString("PhoneNumber"));
+        assertFalse(metadata.contains("Balance"));
+        assertNull(metadata.getString("Balance"));
+    }
+
+    @Test
+    void resultParameters_TypedAccessors() throws Exception {
+        ServiceResultResponse.Result.ResultParameters parameters = objectMapper
+                .readValue(B2C_RESULT, ServiceResultResponse.class).result.resultParameters;
+
+        assertEquals(0, BigDecimal.TEN.compareTo(parameters.amount()));
+        assertEquals("NLJ41HAY6Q", parameters.mpesaReceiptNumber());
+        assertEquals(-4510, parameters.getLong("B2CChargesPaidAccountAvailableFunds"));
+        assertEquals(7, parameters.getLong("ReceiverPartyPublicName", 7));
+        assertEquals("Y", parameters.getString("B2CRecipientIsRegisteredCustomer"));
+    }
+
+    @Test
+    void accessors_SeeItemsAssignedAfterParsing() {
+        StkPushCallbackResponse.CallbackMetadata metadata = new StkPushCallbackResponse.CallbackMetadata();
+        assertNull(metadata.amount());
+
+        StkPushCallbackResponse.CallbackItem phone = new StkPushCallbackResponse.CallbackItem();
+        phone.name = "PhoneNumber";
+        phone.value = "254708374149";
+        metadata.items = new ArrayList<>(List.of(phone));
+        assertEquals(254708374149L, metadata.phoneNumber());
+
+        StkPushCallbackResponse.CallbackItem amount = new StkPushCallbackResponse.CallbackItem();
+        amount.name = "Amount";
+        amount.value = 5;
+        metadata.items.add(amount);
+        assertEquals(0, BigDecimal.valueOf(5).compareTo(metadata.amount()));
+
+        phone.value = 254700000000L;
+        assertEquals(254700000000L, metadata.phoneNumber());
+    }
+
+    @Test
+    void serialization_IsUnchanged() throws Exception {
+        StkPushCallbackResponse callback = objectMapper.readValue(STK_CALLBACK, StkPushCallbackResponse.class);
+        callback.body.stkCallback.callbackMetadata.amount();
+
+        String json = objectMapper.writeValueAsString(callback.body.stkCallback.callbackMetadata);
+
+        assertEquals("{\"Item\":[{\"Name\":\"Amount\",\"Value\":1.0},"
+                + "{\"Name\":\"MpesaReceiptNumber\",\"Value\":\"NLJ7RT61SV\"},"
+                + "{\"Name\":\"TransactionDate\",\"Value\":20191219102115},"
+                + "{\"Name\":\"PhoneNumber\",\"Value\":254708374149}]}", json);
+    }
+}
@@ -0,0 +1,184 @@
+package dev.mpesa.sdk.http;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointSelectorTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private EndpointSelector selector;
+    private EndpointSelector.Endpoint primary;
+    private EndpointSelector.Endpoint secondary;
+
+    @BeforeEach
+    void setUp() {
+        selector = new EndpointSelector(List.of("https://gw-a.example.com/", "https://gw-b.example.com"), 1000, clock::get);
+        primary = selector.getEndpoints().get(0);
+        secondary = selector.getEndpoints().get(1);
+    }
+
+    private void complete(EndpointSelector.Endpoint endpoint, long latencyMillis, boolean success) {
+        long startedAt = selector.begin(endpoint);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        selector.record(endpoint, startedAt, success);
+    }
+
+    @Test
+    void matchAndRewrite_SwapOnlyTheBaseUrl() {
+        String url = "https://gw-a.example.com/mpesa/b2c/v1/paymentrequest";
+
+        assertSame(primary, selector.match(url));
+        assertNull(selector.match("https://gw-a.example.com.evil.net/mpesa"));
+        assertNull(selector.match("https://other.example.com/mpesa"));
+        assertEquals("https://gw-b.example.com/mpesa/b2c/v1/paymentrequest", selector.rewrite(url, primary, secondary));
+    }
+
+    @Test
+    void select_PrefersUnmeasuredThenFasterEndpoint() {
+        assertSame(primary, selector.select());
+        complete(primary, 200, true);
+
+        assertSame(secondary, selector.select());
+        complete(secondary, 50, true);
+
+        assertSame(secondary, selector.select());
+        assertEquals(50.0, secondary.getLatencyMillis(), 0.001);
+    }
+
+    @Test
+    void select_AvoidsEndpointWithErrors() {
+        complete(primary, 50, true);
+        complete(secondary, 80, true);
+        assertSame(primary, selector.select());
+
+        complete(primary, 50, false);
+
+        assertSame(secondary, selector.select());
+        assertTrue(primary.getErrorRate() > 0);
+    }
+
+    @Test
+    void consecutiveFailures_EjectUntilEjectionTimeHasPassed() {
+        complete(secondary, 500, true);
+        for (int i = 0; i < EndpointSelector.EJECTION_THRESHOLD; i++) {
+            complete(primary, 10, false);
+        }
+        assertEquals(1, primary.getEjectionCount());
+
+        // Even after the secondary looks slow and failing, the ejected endpoint stays out.
+        complete(secondary, 500, false);
+        assertSame(secondary, selector.select());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertSame(primary, selector.select());
+
+        // One failure on probation ejects it again, for longer.
+        complete(primary, 10, false);
+        assertEquals(2, primary.getEjectionCount());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertSame(secondary, selector.select());
+    }
+
+    @Test
+    void readmittedEndpoint_GetsASingleProbeUnderConcurrency() throws Exception {
+        complete(secondary, 500, true);
+        for (int i = 0; i < EndpointSelector.EJECTION_THRESHOLD; i++) {
+            complete(primary, 10, false);
+        }
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<EndpointSelector.Endpoint>> picks = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                picks.add(executor.submit(() -> {
+                    go.await();
+                    EndpointSelector.Endpoint endpoint = selector.select();
+                    selector.begin(endpoint);
+                    return endpoint;
+                }));
+            }
+            go.countDown();
+            int probes = 0;
+            for (Future<EndpointSelector.Endpoint> pick : picks) {
+                if (pick.get(5, TimeUnit.SECONDS) == primary) {
+                    probes++;
+                }
+            }
+            assertEquals(1, probes);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void probeOutcome_LetsTrafficBackOntoTheEndpoint() {
+        complete(secondary, 500, true);
+        assertSame(primary, selector.select());
+        long startedAt = selector.begin(primary);
+
+        // While the probe is out, everything else goes to the measured endpoint.
+        assertSame(secondary, selector.select());
+        assertSame(secondary, selector.select());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+        selector.record(primary, startedAt, true);
+        assertSame(primary, selector.select());
+    }
+
+    @Test
+    void warmUpRequest_LeavesAnOutstandingProbeInPlace() {
+        complete(secondary, 500, true);
+        assertSame(primary, selector.select());
+        long probeStartedAt = selector.begin(primary);
+
+        // A fast warm-up request measures the endpoint while the probe is still out.
+        long warmUpStartedAt = selector.begin(primary);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+        selector.recordWarmUp(primary, warmUpStartedAt, true);
+        assertSame(secondary, selector.select());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+        selector.record(primary, probeStartedAt, true);
+        assertSame(primary, selector.select());
+    }
+
+    @Test
+    void probingEndpoints_StillTakeTrafficWhenNothingIsMeasured() {
+        assertSame(primary, selector.select());
+        selector.begin(primary);
+        assertSame(secondary, selector.select());
+        selector.begin(secondary);
+
+        EndpointSelector.Endpoint next = selector.select();
+        assertNotNull(next);
+        selector.begin(next);
+        assertNotSame(next, selector.select());
+    }
+
+    @Test
+    void lastHealthyEndpoint_IsNeverEjected() {
+        EndpointSelector single = new EndpointSelector(List.of("https://gw-a.example.com"), 1000, clock::get);
+        EndpointSelector.Endpoint only = single.getEndpoints().get(0);
+        for (int i = 0; i < EndpointSelector.EJECTION_THRESHOLD * 2; i++) {
+            long startedAt = single.begin(only);
+            single.record(only, startedAt, false);
+        }
+
+        assertEquals(0, only.getEjectionCount());
+        assertSame(only, single.select());
+    }
+}
@@ -0,0 +1,203 @@
+package dev.mpesa.sdk.http;
+
+import com.sun.net.httpserver.HttpServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mpesa.sdk.auth.AuthService;
+import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.exception.MpesaNetworkException;
+import dev.mpesa.sdk.metrics.CallTimings;
+import dev.mpesa.sdk.metrics.HistogramMetricsRecorder;
+import dev.mpesa.sdk.metrics.MetricsSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the same checks against every {@link HttpTransport} implementation and a local server.
+ */
+class HttpTransportTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private List<HttpTransport> transports;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("X-Method", exchange.getRequestMethod());
+            exchange.getResponseHeaders().add("X-Auth", String.valueOf(exchange.getRequestHeaders().getFirst("Authorization")));
+            exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/missing", exchange -> {
+            byte[] body = "{\"errorCode\":\"404.001.03\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(404, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+
+        MpesaConfig config = new MpesaConfig.Builder().baseUrls(List.of(baseUrl)).build();
+        transports = List.of(new OkHttpTransport(config), new JdkHttpTransport(config));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transports.forEach(HttpTransport::close);
+        server.stop(0);
+    }
+
+    private TransportRequest post(String path, String json) {
+        return new TransportRequest.Builder()
+                .url(baseUrl + path)
+                .post(json)
+                .header("Authorization", "Bearer token")
+                .header("Content-Type", "application/json")
+                .build();
+    }
+
+    @Test
+    void execute_SendsMethodHeadersAndBody() throws IOException {
+        for (HttpTransport transport : transports) {
+            TransportResponse response = transport.execute(post("/echo", "{\"Amount\":10}"));
+
+            assertTrue(response.isSuccessful(), transport.toString());
+            assertEquals("{\"Amount\":10}", response.getBodyAsString(), transport.toString());
+            assertEquals("POST", response.getHeader("x-method"), transport.toString());
+            assertEquals("Bearer token", response.getHeader("X-Auth"), transport.toString());
+        }
+    }
+
+    @Test
+    void execute_ErrorStatus_IsReturnedNotThrown() throws IOException {
+        for (HttpTransport transport : transports) {
+            TransportResponse response = transport.execute(new TransportRequest.Builder().url(baseUrl + "/missing").build());
+
+            assertEquals(404, response.getCode(), transport.toString());
+            assertFalse(response.isSuccessful());
+            assertTrue(response.getBodyAsString().contains("404.001.03"));
+        }
+    }
+
+    @Test
+    void executeAsync_CompletesWithResponse() throws Exception {
+        for (HttpTransport transport : transports) {
+            TransportResponse response = transport.executeAsync(post("/echo", "{}")).get(5, TimeUnit.SECONDS);
+
+            assertEquals(200, response.getCode(), transport.toString());
+            assertEquals("{}", response.getBodyAsString());
+        }
+    }
+
+    @Test
+    void connectionRefused_FailsWithIOException() throws IOException {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        TransportRequest request = new TransportRequest.Builder().url("http://localhost:" + closedPort + "/echo").build();
+
+        for (HttpTransport transport : transports) {
+            assertThrows(IOException.class, () -> transport.execute(request), transport.toString());
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> transport.executeAsync(request).get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, failure.getCause());
+        }
+    }
+
+    @Test
+    void okHttp_FillsCallTimingsAndReportsConnectionReuse() throws IOException {
+        HttpTransport okHttp = transports.get(0);
+        CallTimings first = new CallTimings();
+        CallTimings second = new CallTimings();
+
+        okHttp.execute(post("/echo", "{}").newBuilder().timings(first).build());
+        okHttp.execute(post("/echo", "{}").newBuilder().timings(second).build());
+
+        assertTrue(first.isCaptured(), first.toString());
+        assertTrue(first.isNewConnection());
+        assertTrue(first.getNanos(CallTimings.Phase.CONNECT) >= 0);
+        assertTrue(first.getNanos(CallTimings.Phase.TIME_TO_FIRST_BYTE) >= 0);
+        assertTrue(first.getNanos(CallTimings.Phase.TOTAL) >= first.getNanos(CallTimings.Phase.RESPONSE));
+        assertEquals(-1, first.getNanos(CallTimings.Phase.TLS));
+        assertTrue(second.isConnectionReused(), second.toString());
+        assertEquals(-1, second.getNanos(CallTimings.Phase.CONNECT));
+    }
+
+    @Test
+    void jdk_LeavesCallTimingsEmpty() throws IOException {
+        CallTimings timings = new CallTimings();
+
+        transports.get(1).execute(post("/echo", "{}").newBuilder().timings(timings).build());
+
+        assertFalse(timings.isCaptured());
+        assertEquals("not captured", timings.toString());
+    }
+
+    @Test
+    void networkException_CarriesCallTimingsOfLastAttempt() throws IOException {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        MpesaConfig config = new MpesaConfig.Builder()
+                .maxRetries(2)
+                .retryBackoffTime(1)
+                .captureCallTimings(true)
+                .build();
+        AuthService authService = mock(AuthService.class);
+        when(authService.getAccessToken()).thenReturn("token");
+        RequestHandler handler = new RequestHandler(authService, config, transports.get(0), new ObjectMapper());
+
+        MpesaNetworkException exception = assertThrows(MpesaNetworkException.class,
+                () -> handler.get("http://localhost:" + closedPort + "/echo"));
+
+        CallTimings timings = exception.getCallTimings();
+        assertNotNull(timings);
+        assertTrue(timings.isCaptured());
+        assertNotNull(timings.getFailure());
+        assertTrue(exception.getMessage().contains("total="), exception.getMessage());
+    }
+
+    @Test
+    void metrics_RecordPhaseLatencyAndConnectionReuse() throws IOException {
+        HistogramMetricsRecorder metrics = new HistogramMetricsRecorder();
+        AuthService authService = mock(AuthService.class);
+        when(authService.getAccessToken()).thenReturn("token");
+        MpesaConfig config = new MpesaConfig.Builder().baseUrls(List.of(baseUrl)).build();
+        RequestHandler handler = new RequestHandler(authService, config, transports.get(0), new ObjectMapper(),
+                Collections.emptyList(), Collections.emptyList(), metrics);
+
+        for (int i = 0; i < 3; i++) {
+            handler.post(baseUrl + "/echo", Collections.singletonMap("Amount", i));
+        }
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.getNewConnections(), snapshot.toString());
+        assertEquals(2, snapshot.getReusedConnections());
+        assertEquals(3, snapshot.getPhaseLatency().get(CallTimings.Phase.TIME_TO_FIRST_BYTE).getCount());
+        assertEquals(1, snapshot.getPhaseLatency().get(CallTimings.Phase.CONNECT).getCount());
+        assertFalse(snapshot.getPhaseLatency().containsKey(CallTimings.Phase.TLS));
+    }
+}
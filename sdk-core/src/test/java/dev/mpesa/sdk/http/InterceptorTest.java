@@ -0,0 +1,203 @@
+package dev.mpesa.sdk.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mpesa.sdk.auth.AuthService;
+import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.config.RequestOptions;
+import dev.mpesa.sdk.exception.MpesaAuthenticationException;
+import dev.mpesa.sdk.exception.MpesaNetworkException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class InterceptorTest {
+
+    @Mock private AuthService mockAuthService;
+    @Mock private HttpTransport mockTransport;
+
+    private MpesaConfig config;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        config = new MpesaConfig.Builder()
+                .maxRetries(3)
+                .retryBackoffTime(1)
+                .build();
+        when(mockAuthService.getAccessToken()).thenReturn("token");
+    }
+
+    private RequestHandler handler(List<Interceptor> interceptors, List<Interceptor> networkInterceptors) {
+        return new RequestHandler(mockAuthService, config, mockTransport, new ObjectMapper(), interceptors, networkInterceptors);
+    }
+
+    private static TransportResponse response(int code, String body) {
+        return new TransportResponse(code, null, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void applicationInterceptors_RunOncePerCall_NetworkInterceptorsOncePerAttempt() throws IOException {
+        when(mockTransport.execute(any(TransportRequest.class)))
+                .thenReturn(response(503, ""))
+                .thenReturn(response(200, "{}"));
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        Interceptor application = chain -> {
+            events.add("application:" + chain.request().getHeader("Authorization"));
+            TransportResponse response = chain.proceed(chain.request());
+            events.add("application:" + response.getCode());
+            return response;
+        };
+        Interceptor network = chain -> {
+            events.add("network:" + chain.request().getHeader("Authorization"));
+            TransportResponse response = chain.proceed(chain.request());
+            events.add("network:" + response.getCode());
+            return response;
+        };
+
+        String body = handler(List.of(application), List.of(network)).get("https://example.com/api");
+
+        assertEquals("{}", body);
+        assertEquals(List.of("application:null", "network:Bearer token", "network:503",
+                "network:Bearer token", "network:200", "application:200"), events);
+    }
+
+    @Test
+    void interceptors_RunInRegistrationOrder() throws IOException {
+        when(mockTransport.execute(any(TransportRequest.class))).thenReturn(response(200, "{}"));
+        List<String> order = new ArrayList<>();
+        Interceptor first = chain -> {
+            order.add("first");
+            return chain.proceed(chain.request());
+        };
+        Interceptor second = chain -> {
+            order.add("second");
+            return chain.proceed(chain.request());
+        };
+
+        handler(List.of(first, second), List.of()).get("https://example.com/api");
+
+        assertEquals(List.of("first", "second"), order);
+    }
+
+    @Test
+    void interceptor_CanRewriteRequestAndResponse() throws IOException {
+        List<TransportRequest> sent = new ArrayList<>();
+        when(mockTransport.execute(any(TransportRequest.class))).thenAnswer(invocation -> {
+            sent.add(invocation.getArgument(0));
+            return response(200, "{\"raw\":true}");
+        });
+        Interceptor tagging = chain -> {
+            TransportRequest request = chain.request().newBuilder()
+                    .header("X-Flow", chain.options().getTags().get("flow"))
+                    .build();
+            TransportResponse response = chain.proceed(request);
+            return new TransportResponse(response.getCode(), response.getHeaders(),
+                    "{\"rewritten\":true}".getBytes(StandardCharsets.UTF_8));
+        };
+        RequestOptions options = new RequestOptions.Builder().tag("flow", "checkout").build();
+
+        String body = handler(List.of(), List.of(tagging)).post("https://example.com/api", Collections.emptyMap(), options);
+
+        assertEquals("{\"rewritten\":true}", body);
+        assertEquals("checkout", sent.get(0).getHeader("X-Flow"));
+        assertEquals("Bearer token", sent.get(0).getHeader("Authorization"));
+        assertEquals("{}", new String(sent.get(0).getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void applicationInterceptor_CanShortCircuit() throws IOException {
+        Interceptor cache = chain -> response(200, "{\"cached\":true}");
+
+        String body = handler(List.of(cache), List.of()).get("https://example.com/api");
+
+        assertEquals("{\"cached\":true}", body);
+        verifyNoInteractions(mockTransport);
+        verify(mockAuthService, never()).getAccessToken();
+    }
+
+    @Test
+    void applicationInterceptor_SeesFailureAfterRetries() throws IOException {
+        when(mockTransport.execute(any(TransportRequest.class))).thenThrow(new IOException("Connection reset"));
+        List<RuntimeException> failures = new ArrayList<>();
+        Interceptor observer = chain -> {
+            try {
+                return chain.proceed(chain.request());
+            } catch (RuntimeException e) {
+                failures.add(e);
+                throw e;
+            }
+        };
+
+        assertThrows(MpesaNetworkException.class,
+                () -> handler(List.of(observer), List.of()).get("https://example.com/api"));
+
+        assertEquals(1, failures.size());
+        verify(mockTransport, times(3)).execute(any(TransportRequest.class));
+    }
+
+    @Test
+    void tokenRefresh_HappensAtMostOncePerCallAcrossRetries() throws IOException {
+        when(mockTransport.execute(any(TransportRequest.class)))
+                .thenReturn(response(401, "expired"))
+                .thenReturn(response(503, ""))
+                .thenReturn(response(401, "still expired"))
+                .thenReturn(response(200, "{}"));
+
+        MpesaAuthenticationException e = assertThrows(MpesaAuthenticationException.class,
+                () -> handler(List.of(), List.of()).get("https://example.com/api"));
+
+        assertEquals("still expired", e.responseBody());
+        verify(mockAuthService, times(1)).refreshToken();
+        verify(mockTransport, times(3)).execute(any(TransportRequest.class));
+    }
+
+    @Test
+    void tokenRefresh_IsAllowedAgainOnTheNextCall() throws IOException {
+        when(mockTransport.execute(any(TransportRequest.class)))
+                .thenReturn(response(401, "expired"))
+                .thenReturn(response(200, "{}"))
+                .thenReturn(response(401, "expired"))
+                .thenReturn(response(200, "{}"));
+        RequestHandler handler = handler(List.of(), List.of());
+
+        assertEquals("{}", handler.get("https://example.com/api"));
+        assertEquals("{}", handler.get("https://example.com/api"));
+
+        verify(mockAuthService, times(2)).refreshToken();
+    }
+
+    @Test
+    void networkInterceptor_SeesDeadlineAsAttemptTimeout() throws IOException {
+        when(mockTransport.execute(any(TransportRequest.class))).thenReturn(response(200, "{}"));
+        List<Long> timeouts = new ArrayList<>();
+        Interceptor network = chain -> {
+            assertTrue(chain.deadline() > 0);
+            timeouts.add(chain.request().getTimeout());
+            return chain.proceed(chain.request());
+        };
+
+        handler(List.of(), List.of(network)).get("https://example.com/api",
+                new RequestOptions.Builder().deadline(5000).build());
+
+        assertTrue(timeouts.get(0) > 0 && timeouts.get(0) <= 5000);
+    }
+
+    @Test
+    void interceptorReturningNull_Fails() {
+        Interceptor broken = chain -> null;
+
+        assertThrows(IllegalStateException.class,
+                () -> handler(List.of(broken), List.of()).get("https://example.com/api"));
+    }
+}
@@ -3,15 +3,25 @@ package dev.mpesa.sdk.http;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.mpesa.sdk.auth.AuthService;
 import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.config.RequestOptions;
 import dev.mpesa.sdk.exception.MpesaHttpException;
 import dev.mpesa.sdk.exception.MpesaNetworkException;
-import okhttp3.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -22,10 +32,7 @@ class RequestHandlerTest {
     private RequestHandler requestHandler;
 
     @Mock private AuthService mockAuthService;
-    @Mock private OkHttpClient mockHttpClient;
-    @Mock private Call mockCall;
-    @Mock private Response mockResponse;
-    @Mock private ResponseBody mockResponseBody;
+    @Mock private HttpTransport mockTransport;
     @Mock private ObjectMapper mockObjectMapper;
 
     private MpesaConfig config;
@@ -38,35 +45,29 @@ class RequestHandlerTest {
                 .retryBackoffTime(500)
                 .build();
 
-        requestHandler = new RequestHandler(mockAuthService, config, mockHttpClient, mockObjectMapper);
+        requestHandler = new RequestHandler(mockAuthService, config, mockTransport, mockObjectMapper);
+    }
+
+    private static TransportResponse response(int code, String body) {
+        return new TransportResponse(code, null, body != null ? body.getBytes(StandardCharsets.UTF_8) : null);
     }
 
     @Test
     void get_SuccessfulResponse_ReturnsBody() throws IOException {
         String expectedResponse = "{\"status\": \"success\"}";
-        when(mockResponseBody.string()).thenReturn(expectedResponse);
-
-        when(mockResponse.isSuccessful()).thenReturn(true);
-        when(mockResponse.body()).thenReturn(mockResponseBody);
-        when(mockCall.execute()).thenReturn(mockResponse);
-
-        when(mockHttpClient.newCall(any(Request.class))).thenReturn(mockCall);
+        when(mockTransport.execute(any(TransportRequest.class))).thenReturn(response(200, expectedResponse));
 
         String result = requestHandler.get("https://example.com/api");
 
         assertEquals(expectedResponse, result);
-        verify(mockHttpClient, times(1)).newCall(any(Request.class));
+        verify(mockTransport, times(1)).execute(any(TransportRequest.class));
     }
 
     @Test
     void post_SuccessfulResponse_ReturnsBody() throws IOException {
         String expectedResponse = "{\"status\": \"created\"}";
-        when(mockResponseBody.string()).thenReturn(expectedResponse);
-        when(mockResponse.isSuccessful()).thenReturn(true);
-        when(mockResponse.body()).thenReturn(mockResponseBody);
-        when(mockCall.execute()).thenReturn(mockResponse);
-        when(mockHttpClient.newCall(any(Request.class))).thenReturn(mockCall);
-        when(mockObjectMapper.writeValueAsString(any())).thenReturn(expectedResponse);
+        when(mockTransport.execute(any(TransportRequest.class))).thenReturn(response(201, expectedResponse));
+        when(mockObjectMapper.writeValueAsBytes(any())).thenReturn(expectedResponse.getBytes(StandardCharsets.UTF_8));
 
         String result = requestHandler.post("https://example.com/api", new Object());
 
@@ -76,13 +77,9 @@ class RequestHandlerTest {
     @Test
     void request_AuthenticationFailure_RefreshesTokenAndRetries() throws IOException {
         when(mockAuthService.getAccessToken()).thenReturn("expired-token").thenReturn("new-token");
-        when(mockResponse.code()).thenReturn(401);
-        when(mockResponse.body()).thenReturn(mockResponseBody);
-        when(mockResponseBody.string()).thenReturn("{\"status\": \"success\"}");
-        when(mockResponse.message()).thenReturn("Unauthorized");
-        when(mockResponse.isSuccessful()).thenReturn(false).thenReturn(true);
-        when(mockCall.execute()).thenReturn(mockResponse);
-        when(mockHttpClient.newCall(any(Request.class))).thenReturn(mockCall);
+        when(mockTransport.execute(any(TransportRequest.class)))
+                .thenReturn(response(401, "{\"status\": \"success\"}"))
+                .thenReturn(response(200, "{\"status\": \"success\"}"));
 
         doNothing().when(mockAuthService).refreshToken();
 
@@ -91,13 +88,29 @@ class RequestHandlerTest {
         verify(mockAuthService, times(1)).refreshToken();
     }
 
+    @Test
+    void request_AuthenticationFailure_ResendsSameBodyWithNewToken() throws IOException {
+        byte[] json = "{\"Amount\":10}".getBytes(StandardCharsets.UTF_8);
+        when(mockObjectMapper.writeValueAsBytes(any())).thenReturn(json);
+        when(mockAuthService.getAccessToken()).thenReturn("expired-token").thenReturn("new-token");
+        List<TransportRequest> requests = new ArrayList<>();
+        when(mockTransport.execute(any(TransportRequest.class))).thenAnswer(invocation -> {
+            requests.add(invocation.getArgument(0));
+            return requests.size() == 1 ? response(401, "") : response(200, "{}");
+        });
+
+        requestHandler.post("https://example.com/api", new Object());
+
+        assertEquals(2, requests.size());
+        assertEquals("Bearer new-token", requests.get(1).getHeader("authorization"));
+        assertEquals("POST", requests.get(1).getMethod());
+        assertSame(json, requests.get(1).getBody());
+        verify(mockObjectMapper, times(1)).writeValueAsBytes(any());
+    }
+
     @Test
     void request_ServerErrorRetries_ThenFails() throws IOException {
-        when(mockResponse.code()).thenReturn(500);
-        when(mockResponse.message()).thenReturn("Internal Server Error");
-        when(mockResponse.isSuccessful()).thenReturn(false);
-        when(mockCall.execute()).thenReturn(mockResponse);
-        when(mockHttpClient.newCall(any(Request.class))).thenReturn(mockCall);
+        when(mockTransport.execute(any(TransportRequest.class))).thenReturn(response(500, "Internal Server Error"));
 
         MpesaNetworkException exception = assertThrows(
                 MpesaNetworkException.class,
@@ -105,24 +118,19 @@ class RequestHandlerTest {
         );
 
         assertTrue(exception.getMessage().contains("Request failed after all retries."));
-        verify(mockHttpClient, times(config.getMaxRetries())).newCall(any(Request.class));
+        verify(mockTransport, times(config.getMaxRetries())).execute(any(TransportRequest.class));
     }
 
     @Test
     void request_HttpResponse_ThrowsException() throws IOException {
-        when(mockResponse.code()).thenReturn(400);
-        when(mockResponse.message()).thenReturn("Bad Request");
-        when(mockResponse.isSuccessful()).thenReturn(false);
-        when(mockCall.execute()).thenReturn(mockResponse);
-        when(mockHttpClient.newCall(any(Request.class))).thenReturn(mockCall);
+        when(mockTransport.execute(any(TransportRequest.class))).thenReturn(response(400, "Bad Request"));
 
         assertThrows(MpesaHttpException.class, () -> requestHandler.get("https://example.com/api"));
     }
 
     @Test
     void request_NetworkFailure_ThrowsExceptionAfterRetries() throws IOException {
-        when(mockCall.execute()).thenThrow(new IOException("Network failure"));
-        when(mockHttpClient.newCall(any(Request.class))).thenReturn(mockCall);
+        when(mockTransport.execute(any(TransportRequest.class))).thenThrow(new IOException("Network failure"));
 
         MpesaNetworkException exception = assertThrows(
                 MpesaNetworkException.class,
@@ -131,4 +139,123 @@ class RequestHandlerTest {
 
         assertTrue(exception.getMessage().contains("Network error after retries"));
     }
+
+    @Test
+    void request_NetworkFailure_FailsOverToAnotherBaseUrl() throws IOException {
+        MpesaConfig multiConfig = new MpesaConfig.Builder()
+                .baseUrls(List.of("https://gw-a.example.com", "https://gw-b.example.com"))
+                .maxRetries(3)
+                .retryBackoffTime(1)
+                .build();
+        requestHandler = new RequestHandler(mockAuthService, multiConfig, mockTransport, mockObjectMapper);
+        List<String> urls = new ArrayList<>();
+        when(mockTransport.execute(any(TransportRequest.class))).thenAnswer(invocation -> {
+            urls.add(invocation.getArgument(0, TransportRequest.class).getUrl());
+            if (urls.size() == 1) {
+                throw new IOException("Proxy down");
+            }
+            return response(200, "{}");
+        });
+
+        requestHandler.get(multiConfig.getB2cPaymentUrl());
+
+        assertEquals(List.of("https://gw-a.example.com/mpesa/b2c/v1/paymentrequest",
+                "https://gw-b.example.com/mpesa/b2c/v1/paymentrequest"), urls);
+        assertEquals(1.0, requestHandler.getEndpointSelector().getEndpoints().get(0).getErrorRate());
+    }
+
+    @Test
+    void warmUp_OpensConnectionsToEachBaseUrl() throws IOException {
+        MpesaConfig multiConfig = new MpesaConfig.Builder()
+                .baseUrls(List.of("https://gw-a.example.com", "https://gw-b.example.com"))
+                .build();
+        requestHandler = new RequestHandler(mockAuthService, multiConfig, mockTransport, mockObjectMapper);
+        List<TransportRequest> requests = Collections.synchronizedList(new ArrayList<>());
+        when(mockTransport.execute(any(TransportRequest.class))).thenAnswer(invocation -> {
+            requests.add(invocation.getArgument(0, TransportRequest.class));
+            return response(404, null);
+        });
+
+        int opened = requestHandler.warmUp(3);
+
+        assertEquals(6, opened);
+        assertEquals(3, requests.stream().filter(r -> r.getUrl().startsWith("https://gw-a.example.com/")).count());
+        assertTrue(requests.stream().allMatch(r -> "HEAD".equals(r.getMethod()) && r.getHeader("Authorization") == null));
+        verify(mockAuthService, never()).getAccessToken();
+    }
+
+    @Test
+    void requestOptions_OverrideRetriesAndSendIdempotencyKeyOnEveryAttempt() throws IOException {
+        List<TransportRequest> requests = new ArrayList<>();
+        when(mockTransport.execute(any(TransportRequest.class))).thenAnswer(invocation -> {
+            requests.add(invocation.getArgument(0));
+            return response(503, "Service Unavailable");
+        });
+        RequestOptions options = new RequestOptions.Builder()
+                .maxRetries(2)
+                .retryBackoffTime(1)
+                .idempotencyKey("order-42")
+                .build();
+
+        assertThrows(MpesaNetworkException.class, () -> requestHandler.get("https://example.com/api", options));
+
+        assertEquals(2, requests.size());
+        assertTrue(requests.stream().allMatch(r -> "order-42".equals(r.getHeader(RequestHandler.IDEMPOTENCY_KEY_HEADER))));
+        assertTrue(requests.stream().allMatch(r -> r.getTimeout() == 0));
+    }
+
+    @Test
+    void requestOptions_Deadline_BoundsAttemptsAndSkipsRetriesThatCannotFinish() throws IOException {
+        List<TransportRequest> requests = new ArrayList<>();
+        when(mockTransport.execute(any(TransportRequest.class))).thenAnswer(invocation -> {
+            requests.add(invocation.getArgument(0));
+            return response(500, "Internal Server Error");
+        });
+        RequestOptions options = new RequestOptions.Builder().deadline(300).build();
+
+        long startedAt = System.nanoTime();
+        MpesaNetworkException exception = assertThrows(MpesaNetworkException.class,
+                () -> requestHandler.get("https://example.com/api", options));
+
+        // The first backoff (1000 ms with the configured 500 ms base) would overrun the 300 ms deadline.
+        assertTrue(exception.getMessage().contains("Deadline of 300 ms exceeded"), exception.getMessage());
+        assertInstanceOf(MpesaHttpException.class, exception.getCause());
+        assertEquals(1, requests.size());
+        assertTrue(requests.get(0).getTimeout() > 0 && requests.get(0).getTimeout() <= 300);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) < 300);
+    }
+
+    @Test
+    void batchPriority_IsLimitedToBatchConcurrency() throws Exception {
+        MpesaConfig batchConfig = new MpesaConfig.Builder().batchConcurrency(1).build();
+        requestHandler = new RequestHandler(mockAuthService, batchConfig, mockTransport, mockObjectMapper);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(mockTransport.execute(any(TransportRequest.class))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            release.await(2, TimeUnit.SECONDS);
+            inFlight.decrementAndGet();
+            return response(200, "{}");
+        });
+        RequestOptions batch = new RequestOptions.Builder().priority(RequestOptions.Priority.BATCH).build();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<String> first = executor.submit(() -> requestHandler.get("https://example.com/a", batch));
+            Future<String> second = executor.submit(() -> requestHandler.get("https://example.com/b", batch));
+            Future<String> interactive = executor.submit(() -> requestHandler.get("https://example.com/c",
+                    new RequestOptions.Builder().priority(RequestOptions.Priority.INTERACTIVE).build()));
+            Thread.sleep(200);
+
+            // One batch call holds the only slot; the interactive call is not held back by it.
+            assertEquals(2, inFlight.get());
+            release.countDown();
+            assertEquals("{}", first.get(2, TimeUnit.SECONDS));
+            assertEquals("{}", second.get(2, TimeUnit.SECONDS));
+            assertEquals("{}", interactive.get(2, TimeUnit.SECONDS));
+            assertEquals(2, maxInFlight.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
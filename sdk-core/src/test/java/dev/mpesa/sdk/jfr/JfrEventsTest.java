@@ -0,0 +1,148 @@
+package dev.mpesa.sdk.jfr;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mpesa.sdk.auth.AuthService;
+import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.exception.MpesaAuthenticationException;
+import dev.mpesa.sdk.http.HttpTransport;
+import dev.mpesa.sdk.http.RequestHandler;
+import dev.mpesa.sdk.http.TransportRequest;
+import dev.mpesa.sdk.http.TransportResponse;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JfrEventsTest {
+
+    @Mock private AuthService mockAuthService;
+    @Mock private HttpTransport mockTransport;
+
+    @TempDir Path tempDir;
+
+    private MpesaConfig config;
+    private Recording recording;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        config = new MpesaConfig.Builder()
+                .authUrl("https://example.com/oauth/v1/generate?grant_type=client_credentials")
+                .maxRetries(3)
+                .retryBackoffTime(1)
+                .build();
+        when(mockAuthService.getAccessToken()).thenReturn("token");
+        recording = new Recording();
+        recording.enable(MpesaRequestEvent.class);
+        recording.enable(RetryBackoffEvent.class);
+        recording.enable(TokenRefreshEvent.class);
+        recording.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    private static TransportResponse response(int code, String body) {
+        return new TransportResponse(code, null, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<RecordedEvent> stop() throws IOException {
+        recording.stop();
+        Path file = tempDir.resolve("events.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String eventName) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void requestHandler_EmitsOneRequestEventPerAttemptAndOneBackoffPerRetry() throws IOException {
+        when(mockTransport.execute(any(TransportRequest.class)))
+                .thenReturn(response(503, ""))
+                .thenReturn(response(200, "{\"ok\":true}"));
+        RequestHandler handler = new RequestHandler(mockAuthService, config, mockTransport, new ObjectMapper());
+
+        handler.get("https://example.com/mpesa/accountbalance/v1/query?x=1");
+
+        List<RecordedEvent> events = stop();
+        List<RecordedEvent> requests = named(events, "dev.mpesa.sdk.Request");
+        assertEquals(2, requests.size());
+        assertEquals("/mpesa/accountbalance/v1/query", requests.get(0).getString("endpoint"));
+        assertEquals("GET", requests.get(0).getString("method"));
+        assertEquals(1, requests.get(0).getInt("attempt"));
+        assertEquals(503, requests.get(0).getInt("statusCode"));
+        assertEquals(2, requests.get(1).getInt("attempt"));
+        assertEquals(200, requests.get(1).getInt("statusCode"));
+        assertEquals(11, requests.get(1).getLong("bytesReceived"));
+
+        List<RecordedEvent> backoffs = named(events, "dev.mpesa.sdk.RetryBackoff");
+        assertEquals(1, backoffs.size());
+        assertEquals(1, backoffs.get(0).getInt("retry"));
+        assertEquals(503, backoffs.get(0).getInt("statusCode"));
+    }
+
+    @Test
+    void requestHandler_NetworkError_RecordsFailure() throws IOException {
+        when(mockTransport.execute(any(TransportRequest.class)))
+                .thenThrow(new IOException("connection reset"))
+                .thenReturn(response(200, "{}"));
+        RequestHandler handler = new RequestHandler(mockAuthService, config, mockTransport, new ObjectMapper());
+
+        handler.get("https://example.com/api");
+
+        List<RecordedEvent> requests = named(stop(), "dev.mpesa.sdk.Request");
+        assertEquals(2, requests.size());
+        assertEquals(0, requests.get(0).getInt("statusCode"));
+        assertTrue(requests.get(0).getString("failure").contains("connection reset"));
+        assertNull(requests.get(1).getString("failure"));
+    }
+
+    @Test
+    void refreshToken_EmitsTokenRefreshEvents() throws IOException {
+        when(mockTransport.execute(any(TransportRequest.class)))
+                .thenReturn(response(200, "{\"access_token\":\"t\",\"expires_in\":3600}"))
+                .thenReturn(response(401, ""));
+        AuthService authService = new AuthService("key", "secret", config, mockTransport, new ObjectMapper());
+
+        authService.refreshToken();
+        assertThrows(MpesaAuthenticationException.class, authService::refreshToken);
+
+        List<RecordedEvent> refreshes = named(stop(), "dev.mpesa.sdk.TokenRefresh");
+        assertEquals(2, refreshes.size());
+        assertTrue(refreshes.get(0).getBoolean("success"));
+        assertFalse(refreshes.get(1).getBoolean("success"));
+        assertNotNull(refreshes.get(1).getString("failure"));
+    }
+
+    @Test
+    void events_AreNotCommittedWithoutARecording() {
+        recording.stop();
+        MpesaRequestEvent event = new MpesaRequestEvent();
+        event.begin();
+        event.complete("https://example.com/api", "GET", 1, 200, 0, 0, null);
+
+        assertFalse(event.isEnabled());
+        assertNull(event.endpoint);
+    }
+}
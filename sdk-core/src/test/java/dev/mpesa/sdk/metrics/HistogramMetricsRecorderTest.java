@@ -0,0 +1,146 @@
+package dev.mpesa.sdk.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mpesa.sdk.auth.AuthService;
+import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.exception.MpesaHttpException;
+import dev.mpesa.sdk.exception.MpesaNetworkException;
+import dev.mpesa.sdk.http.HttpTransport;
+import dev.mpesa.sdk.http.RequestHandler;
+import dev.mpesa.sdk.http.TransportRequest;
+import dev.mpesa.sdk.http.TransportResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class HistogramMetricsRecorderTest {
+
+    private static final String TOKEN = "{\"access_token\":\"token\",\"expires_in\":3599}";
+
+    private HistogramMetricsRecorder metrics;
+    private HttpTransport transport;
+    private MpesaConfig config;
+    private RequestHandler requestHandler;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new HistogramMetricsRecorder();
+        transport = mock(HttpTransport.class);
+        config = new MpesaConfig.Builder()
+                .maxRetries(3)
+                .retryBackoffTime(1)
+                .build();
+        ObjectMapper mapper = new ObjectMapper();
+        AuthService authService = new AuthService("key", "secret", config, transport, mapper, metrics);
+        requestHandler = new RequestHandler(authService, config, transport, mapper,
+                Collections.emptyList(), Collections.emptyList(), metrics);
+    }
+
+    private static TransportResponse response(int code, String body) {
+        return new TransportResponse(code, null, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void respond(TransportResponse... apiResponses) throws IOException {
+        var stub = when(transport.execute(any(TransportRequest.class))).thenAnswer(invocation -> {
+            TransportRequest request = invocation.getArgument(0);
+            return request.getUrl().equals(config.getAuthUrl()) ? response(200, TOKEN) : null;
+        });
+        // Token requests are answered above; API requests get the given responses in order.
+        for (TransportResponse apiResponse : apiResponses) {
+            stub = stub.thenAnswer(invocation -> {
+                TransportRequest request = invocation.getArgument(0);
+                return request.getUrl().equals(config.getAuthUrl()) ? response(200, TOKEN) : apiResponse;
+            });
+        }
+    }
+
+    @Test
+    void records_CallsAttemptsRetriesStatusCodesAndBytes() throws IOException {
+        respond(response(503, "{}"), response(200, "{\"ResponseCode\":\"0\"}"));
+
+        requestHandler.post(config.getStkPushUrl(), Map.of("Amount", 1));
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        EndpointMetrics stkPush = snapshot.getEndpoint(HistogramMetricsRecorder.endpointOf(config.getStkPushUrl()));
+        assertNotNull(stkPush, snapshot.toString());
+        assertEquals(1, stkPush.getCalls());
+        assertEquals(0, stkPush.getFailedCalls());
+        assertEquals(2, stkPush.getAttempts());
+        assertEquals(1, stkPush.getRetries());
+        assertEquals(Map.of(200, 1L, 503, 1L), stkPush.getStatusCodes());
+        assertEquals(2 * "{\"Amount\":1}".length(), stkPush.getBytesSent());
+        assertEquals("{}".length() + "{\"ResponseCode\":\"0\"}".length(), stkPush.getBytesReceived());
+        assertEquals(1, stkPush.getCallLatency().getCount());
+        assertEquals(2, stkPush.getAttemptLatency().getCount());
+        assertTrue(stkPush.getCallLatency().getMax() >= stkPush.getAttemptLatency().getMax());
+        assertEquals(1, snapshot.getTokenRefreshes());
+        assertEquals(0, snapshot.getFailedTokenRefreshes());
+    }
+
+    @Test
+    void records_FailedCallsWithFinalStatusCode() throws IOException {
+        respond(response(503, "{}"), response(503, "{}"), response(503, "{}"));
+
+        assertThrows(MpesaNetworkException.class, () -> requestHandler.get(config.getAccountBalanceUrl()));
+
+        EndpointMetrics balance = metrics.snapshot().getEndpoint(HistogramMetricsRecorder.endpointOf(config.getAccountBalanceUrl()));
+        assertEquals(1, balance.getFailedCalls());
+        assertEquals(3, balance.getAttempts());
+        assertEquals(2, balance.getRetries());
+        assertEquals(Map.of(503, 3L), balance.getStatusCodes());
+    }
+
+    @Test
+    void records_TokenRefreshAfter401() throws IOException {
+        respond(response(401, "{}"), response(400, "{\"errorCode\":\"400.002.02\"}"));
+
+        assertThrows(MpesaHttpException.class, () -> requestHandler.get(config.getB2cPaymentUrl()));
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.getTokenRefreshes());
+        EndpointMetrics b2c = snapshot.getEndpoint(HistogramMetricsRecorder.endpointOf(config.getB2cPaymentUrl()));
+        assertEquals(Map.of(401, 1L, 400, 1L), b2c.getStatusCodes());
+        assertEquals(0, b2c.getRetries());
+        assertEquals(1, b2c.getFailedCalls());
+    }
+
+    @Test
+    void records_NetworkFailuresAsStatusZero() throws IOException {
+        when(transport.execute(any(TransportRequest.class))).thenAnswer(invocation -> {
+            TransportRequest request = invocation.getArgument(0);
+            if (request.getUrl().equals(config.getAuthUrl())) {
+                return response(200, TOKEN);
+            }
+            throw new IOException("Connection reset");
+        });
+
+        assertThrows(MpesaNetworkException.class, () -> requestHandler.get(config.getStkPushQueryUrl()));
+
+        EndpointMetrics query = metrics.snapshot().getEndpoint(HistogramMetricsRecorder.endpointOf(config.getStkPushQueryUrl()));
+        assertEquals(Map.of(0, 3L), query.getStatusCodes());
+        assertEquals(0, query.getBytesReceived());
+    }
+
+    @Test
+    void endpointOf_KeepsOnlyThePath() {
+        assertEquals("/mpesa/c2b/v1/registerurl",
+                HistogramMetricsRecorder.endpointOf("https://sandbox.safaricom.co.ke/mpesa/c2b/v1/registerurl?apikey=secret"));
+        assertEquals("/", HistogramMetricsRecorder.endpointOf("https://sandbox.safaricom.co.ke"));
+        assertEquals("/a", HistogramMetricsRecorder.endpointOf("http://localhost:8080/a#frag"));
+    }
+
+    @Test
+    void noopRecorder_KeepsNothing() {
+        MetricsRecorder.NOOP.recordCall("https://example.com/api", null, 1, 200);
+
+        assertSame(MetricsSnapshot.EMPTY, MetricsRecorder.NOOP.snapshot());
+    }
+}
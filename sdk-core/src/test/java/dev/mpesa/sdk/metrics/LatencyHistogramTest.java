@@ -0,0 +1,98 @@
+package dev.mpesa.sdk.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void buckets_CoverEveryValueWithBoundedError() {
+        for (long value : new long[]{0, 1, 63, 64, 65, 127, 128, 129, 1_000, 12_345, 999_999, LatencyHistogram.MAX_VALUE}) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.lowestValueAt(index) <= value, "lowest for " + value);
+            assertTrue(LatencyHistogram.highestValueAt(index) >= value, "highest for " + value);
+            long width = LatencyHistogram.highestValueAt(index) - LatencyHistogram.lowestValueAt(index);
+            assertTrue(width <= value / 64.0, "width for " + value);
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE));
+    }
+
+    @Test
+    void buckets_AreContiguous() {
+        for (int index = 1; index < LatencyHistogram.BUCKET_COUNT; index++) {
+            assertEquals(LatencyHistogram.highestValueAt(index - 1) + 1, LatencyHistogram.lowestValueAt(index));
+        }
+    }
+
+    @Test
+    void snapshot_ReportsPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros);
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(10_000, snapshot.getMax());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(5_000.5, snapshot.getMean(), 0.001);
+        assertEquals(5_000, snapshot.getValueAtPercentile(50), 5_000 / 64.0);
+        assertEquals(9_900, snapshot.getValueAtPercentile(99), 9_900 / 64.0);
+        assertEquals(10_000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    void record_ClampsOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(2, snapshot.getCount());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(LatencyHistogram.MAX_VALUE, snapshot.getMax());
+    }
+
+    @Test
+    void emptySnapshot_ReportsZeros() {
+        HistogramSnapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getValueAtPercentile(99));
+        assertEquals(0, snapshot.getMean());
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getValueAtPercentile(101));
+    }
+
+    @Test
+    void record_ConcurrentWritersLoseNoValues() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        histogram.recordNanos(ThreadLocalRandom.current().nextLong(1_000, 500_000_000));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(800_000, histogram.snapshot().getCount());
+    }
+}
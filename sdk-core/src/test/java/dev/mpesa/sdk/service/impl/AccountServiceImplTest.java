@@ -47,7 +47,7 @@ class AccountServiceImplTest {
         String jsonResponse = "{ \"originatorConversationID\": \"12345\", \"ConversationID\": \"54321\", \"ResponseCode\": \"0\", \"ResponseDescription\": \"Success\" }";
 
         AccountBalanceResponse expectedResponse = new AccountBalanceResponse("12345", "54321", "0", "Success");
-        when(mockRequestHandler.post(anyString(), any())).thenReturn(jsonResponse);
+        when(mockRequestHandler.post(anyString(), any(), any())).thenReturn(jsonResponse);
         when(mockObjectMapper.readValue(jsonResponse, AccountBalanceResponse.class)).thenReturn(expectedResponse);
 
         AccountBalanceResponse actualResponse = accountService.checkAccountBalance(request);
@@ -67,7 +67,7 @@ class AccountServiceImplTest {
                 .resultURL("https://result.url")
                 .build();
 
-        when(mockRequestHandler.post(anyString(), eq(request)))
+        when(mockRequestHandler.post(anyString(), eq(request), any()))
                 .thenThrow(new MpesaHttpException(404, "response-body", "Error response"));
 
         MpesaUnexpectedResponseException thrown = assertThrows(MpesaUnexpectedResponseException.class, () -> {
@@ -95,7 +95,7 @@ class AccountServiceImplTest {
         String invalidJsonResponse = "invalid json";
         AccountServiceImpl accountService1 = new AccountServiceImpl(mockRequestHandler, mockConfig);
 
-        when(mockRequestHandler.post(anyString(), eq(request)))
+        when(mockRequestHandler.post(anyString(), eq(request), any()))
                 .thenReturn(invalidJsonResponse);
 
         MpesaUnexpectedResponseException thrown = assertThrows(MpesaUnexpectedResponseException.class, () -> {
@@ -123,7 +123,7 @@ class AccountServiceImplTest {
 
         String jsonResponse = "{ \"OriginatorConversationID\": \"12345\", \"ConversationID\": \"54321\", \"ResponseCode\": \"0\", \"ResponseDescription\": \"Success\" }";
 
-        when(mockRequestHandler.post(anyString(), eq(request))).thenReturn(jsonResponse);
+        when(mockRequestHandler.post(anyString(), eq(request), any())).thenReturn(jsonResponse);
 
         AccountBalanceResponse actualResponse = accountService1.checkAccountBalance(request);
 
@@ -145,7 +145,7 @@ class AccountServiceImplTest {
 
         String jsonResponse = "{ \"OriginatorConversationID\": \"12345\", \"ConversationID\": \"54321\", \"ResponseCode\": \"1\", \"ResponseDescription\": \"Success\" }";
 
-        when(mockRequestHandler.post(anyString(), eq(request))).thenReturn(jsonResponse);
+        when(mockRequestHandler.post(anyString(), eq(request), any())).thenReturn(jsonResponse);
 
         AccountBalanceResponse actualResponse = accountService1.checkAccountBalance(request);
 
@@ -51,7 +51,7 @@ public class B2CServiceImplTest {
 
         B2CPaymentResponse expectedResponse = new B2CPaymentResponse("67890", "12345", "0", "Success");
 
-        when(mockRequestHandler.post(anyString(), eq(request))).thenReturn(expectedJsonResponse);
+        when(mockRequestHandler.post(anyString(), eq(request), any())).thenReturn(expectedJsonResponse);
 
         B2CPaymentResponse actualResponse = b2CService.initiateB2CPayment(request);
 
@@ -78,7 +78,7 @@ public class B2CServiceImplTest {
                 .resultURL("https://result.url")
                 .build();
 
-        when(mockRequestHandler.post(anyString(), eq(request))).thenReturn(invalidJsonResponse);
+        when(mockRequestHandler.post(anyString(), eq(request), any())).thenReturn(invalidJsonResponse);
 
         MpesaUnexpectedResponseException exception = assertThrows(MpesaUnexpectedResponseException.class, () -> {
             b2CService.initiateB2CPayment(request);
@@ -106,7 +106,7 @@ public class B2CServiceImplTest {
                 .build();
 
         MpesaHttpException mockHttpException = new MpesaHttpException(400, "mock-error-body", "Some error");
-        when(mockRequestHandler.post(anyString(), eq(request))).thenThrow(mockHttpException);
+        when(mockRequestHandler.post(anyString(), eq(request), any())).thenThrow(mockHttpException);
 
         MpesaUnexpectedResponseException exception = assertThrows(MpesaUnexpectedResponseException.class, () -> {
             b2CService.initiateB2CPayment(request);
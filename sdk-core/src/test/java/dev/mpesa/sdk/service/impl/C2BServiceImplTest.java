@@ -72,7 +72,7 @@ class C2BServiceImplTest {
     void testRegisterC2B_success() throws JsonProcessingException {
         String responseJson = "{\"header\":{\"responseCode\":\"0\",\"responseMessage\":\"Success\",\"customerMessage\":\"Customer message\",\"timestamp\":\"2025-03-05T12:00:00\"}}";
 
-        when(mockRequestHandler.post(anyString(), eq(registerRequest))).thenReturn(responseJson);
+        when(mockRequestHandler.post(anyString(), eq(registerRequest), any())).thenReturn(responseJson);
 
         C2BRegisterResponse response = c2bService.registerC2B(registerRequest, "api-key");
 
@@ -85,7 +85,7 @@ class C2BServiceImplTest {
     void testRegisterC2B_httpException_invalidShortCode() throws JsonProcessingException {
         MpesaHttpException httpException = new MpesaHttpException(400, "Short Code already Registered", "some error");
 
-        when(mockRequestHandler.post(anyString(), eq(registerRequest))).thenThrow(httpException);
+        when(mockRequestHandler.post(anyString(), eq(registerRequest), any())).thenThrow(httpException);
 
         MpesaUnexpectedResponseException exception = assertThrows(MpesaUnexpectedResponseException.class, () -> {
             c2bService.registerC2B(registerRequest, "api-key");
@@ -99,7 +99,7 @@ class C2BServiceImplTest {
     void testRegisterC2B_httpException_genericError() throws JsonProcessingException {
         MpesaHttpException httpException = new MpesaHttpException(500, "some-body", "Internal Server Error");
 
-        when(mockRequestHandler.post(anyString(), eq(registerRequest))).thenThrow(httpException);
+        when(mockRequestHandler.post(anyString(), eq(registerRequest), any())).thenThrow(httpException);
 
         MpesaUnexpectedResponseException exception = assertThrows(MpesaUnexpectedResponseException.class, () -> {
             c2bService.registerC2B(registerRequest, "api-key");
@@ -114,7 +114,7 @@ class C2BServiceImplTest {
     void testRegisterC2B_jsonProcessingException() throws JsonProcessingException {
         String invalidJson = "invalid json";
 
-        when(mockRequestHandler.post(anyString(), eq(registerRequest))).thenReturn(invalidJson);
+        when(mockRequestHandler.post(anyString(), eq(registerRequest), any())).thenReturn(invalidJson);
 
         MpesaUnexpectedResponseException exception = assertThrows(MpesaUnexpectedResponseException.class, () -> {
             c2bService.registerC2B(registerRequest, "api-key");
@@ -129,7 +129,7 @@ class C2BServiceImplTest {
     void testInitiatePayment_success() throws JsonProcessingException {
         String responseJson = "{\"RequestRefID\":\"" + paymentRequest.getRequestRefID() + "\",\"ResponseCode\":\"0\",\"ResponseDesc\":\"Success\",\"TransactionID\":\"TX123456\"}";
 
-        when(mockRequestHandler.post(anyString(), eq(paymentRequest))).thenReturn(responseJson);
+        when(mockRequestHandler.post(anyString(), eq(paymentRequest), any())).thenReturn(responseJson);
 
         C2BPaymentResponse response = c2bService.initiatePayment(paymentRequest);
 
@@ -143,7 +143,7 @@ class C2BServiceImplTest {
     void testInitiatePayment_invalidInitiator() throws JsonProcessingException {
         MpesaHttpException mpesaHttpException = new MpesaHttpException(400, "The initiator information is invalid.", "some-error");
 
-        when(mockRequestHandler.post(anyString(), eq(paymentRequest))).thenThrow(mpesaHttpException);
+        when(mockRequestHandler.post(anyString(), eq(paymentRequest), any())).thenThrow(mpesaHttpException);
 
         MpesaUnexpectedResponseException exception = assertThrows(MpesaUnexpectedResponseException.class, () -> {
             c2bService.initiatePayment(paymentRequest);
@@ -157,7 +157,7 @@ class C2BServiceImplTest {
     void testInitiatePayment_genericError() throws JsonProcessingException {
         MpesaHttpException mpesaHttpException = new MpesaHttpException(500, "", "Internal Server Error");
 
-        when(mockRequestHandler.post(anyString(), eq(paymentRequest))).thenThrow(mpesaHttpException);
+        when(mockRequestHandler.post(anyString(), eq(paymentRequest), any())).thenThrow(mpesaHttpException);
 
         MpesaUnexpectedResponseException exception = assertThrows(MpesaUnexpectedResponseException.class, () -> {
             c2bService.initiatePayment(paymentRequest);
@@ -170,7 +170,7 @@ class C2BServiceImplTest {
     @Test
     void testInitiatePayment_jsonProcessingException() throws JsonProcessingException {
         String invalidJson = "invalid json";
-        when(mockRequestHandler.post(anyString(), eq(paymentRequest))).thenReturn(invalidJson);
+        when(mockRequestHandler.post(anyString(), eq(paymentRequest), any())).thenReturn(invalidJson);
 
         MpesaUnexpectedResponseException exception = assertThrows(MpesaUnexpectedResponseException.class, () -> {
             c2bService.initiatePayment(paymentRequest);
@@ -184,7 +184,7 @@ class C2BServiceImplTest {
     void testSimulateC2BPayment_success() throws JsonProcessingException {
         String responseJson = "{\"ConversationID\":\"Conversation123\",\"OriginatorConversationID\":\"Originator123\",\"ResponseCode\":\"0\",\"ResponseDescription\":\"Payment simulated successfully\"}";
 
-        when(mockRequestHandler.post(anyString(), eq(simulateRequest))).thenReturn(responseJson);
+        when(mockRequestHandler.post(anyString(), eq(simulateRequest), any())).thenReturn(responseJson);
 
         C2BSimulatePaymentResponse response = c2bService.simulateC2BPayment(simulateRequest);
 
@@ -198,7 +198,7 @@ class C2BServiceImplTest {
     void testSimulateC2BPayment_invalidRequest() throws JsonProcessingException {
         MpesaHttpException mpesaHttpException = new MpesaHttpException(400, "invalid request parameters", "some message");
 
-        when(mockRequestHandler.post(anyString(), eq(simulateRequest))).thenThrow(mpesaHttpException);
+        when(mockRequestHandler.post(anyString(), eq(simulateRequest), any())).thenThrow(mpesaHttpException);
 
         MpesaUnexpectedResponseException exception = assertThrows(MpesaUnexpectedResponseException.class, () -> {
             c2bService.simulateC2BPayment(simulateRequest);
@@ -212,7 +212,7 @@ class C2BServiceImplTest {
     void testSimulateC2BPayment_genericError() throws JsonProcessingException {
         MpesaHttpException mpesaHttpException = new MpesaHttpException(500, "", "Internal Server Error");
 
-        when(mockRequestHandler.post(anyString(), eq(simulateRequest))).thenThrow(mpesaHttpException);
+        when(mockRequestHandler.post(anyString(), eq(simulateRequest), any())).thenThrow(mpesaHttpException);
 
         MpesaUnexpectedResponseException exception = assertThrows(MpesaUnexpectedResponseException.class, () -> {
             c2bService.simulateC2BPayment(simulateRequest);
@@ -225,7 +225,7 @@ class C2BServiceImplTest {
     @Test
     void testSimulateC2BPayment_jsonProcessingException() throws JsonProcessingException {
         String invalidJson = "invalid json";
-        when(mockRequestHandler.post(anyString(), eq(simulateRequest))).thenReturn(invalidJson);
+        when(mockRequestHandler.post(anyString(), eq(simulateRequest), any())).thenReturn(invalidJson);
 
         MpesaUnexpectedResponseException exception = assertThrows(MpesaUnexpectedResponseException.class, () -> {
             c2bService.simulateC2BPayment(simulateRequest);
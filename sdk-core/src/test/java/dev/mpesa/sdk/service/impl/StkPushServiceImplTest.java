@@ -1,7 +1,10 @@
 package dev.mpesa.sdk.service.impl;
 
 import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.config.RequestOptions;
+import dev.mpesa.sdk.dto.request.StkPushQueryRequest;
 import dev.mpesa.sdk.dto.request.StkPushRequest;
+import dev.mpesa.sdk.dto.response.StkPushQueryResponse;
 import dev.mpesa.sdk.dto.response.StkPushResponse;
 import dev.mpesa.sdk.exception.MpesaHttpException;
 import dev.mpesa.sdk.exception.MpesaUnexpectedResponseException;
@@ -31,6 +34,7 @@ public class StkPushServiceImplTest {
         mockRequestHandler = mock(RequestHandler.class);
         mockConfig = mock(MpesaConfig.class);
         when(mockConfig.getStkPushUrl()).thenReturn("sample-url");
+        when(mockConfig.getStkPushQueryUrl()).thenReturn("sample-query-url");
         stkPushRequest = new StkPushRequest.Builder()
                 .businessShortCode("123456")
                 .password("base64encodedpassword")
@@ -51,7 +55,7 @@ public class StkPushServiceImplTest {
     void testRequestStkPush_Success() throws Exception {
         String mockResponseJson = "{\"MerchantRequestID\":\"1234\", \"CheckoutRequestID\":\"5678\", \"ResponseCode\":\"0\", \"ResponseDescription\":\"Success\", \"CustomerMessage\":\"Request Successful\"}";
 
-        when(mockRequestHandler.post(anyString(), eq(stkPushRequest))).thenReturn(mockResponseJson);
+        when(mockRequestHandler.post(anyString(), eq(stkPushRequest), any())).thenReturn(mockResponseJson);
 
         StkPushResponse response = stkPushService.requestStkPush(stkPushRequest);
 
@@ -64,7 +68,7 @@ public class StkPushServiceImplTest {
 
     @Test
     void testRequestStkPush_HttpException() throws Exception {
-        when(mockRequestHandler.post(anyString(), eq(stkPushRequest))).thenThrow(new MpesaHttpException(500, "Error", "Internal Server Error"));
+        when(mockRequestHandler.post(anyString(), eq(stkPushRequest), any())).thenThrow(new MpesaHttpException(500, "Error", "Internal Server Error"));
 
         MpesaUnexpectedResponseException exception = assertThrows(MpesaUnexpectedResponseException.class, () -> {
             stkPushService.requestStkPush(stkPushRequest);
@@ -76,7 +80,7 @@ public class StkPushServiceImplTest {
 
     @Test
     void testRequestStkPush_JsonProcessingException() throws Exception {
-        when(mockRequestHandler.post(anyString(), eq(stkPushRequest))).thenReturn("invalid json");
+        when(mockRequestHandler.post(anyString(), eq(stkPushRequest), any())).thenReturn("invalid json");
 
         MpesaUnexpectedResponseException exception = assertThrows(MpesaUnexpectedResponseException.class, () -> {
             stkPushService.requestStkPush(stkPushRequest);
@@ -85,4 +89,63 @@ public class StkPushServiceImplTest {
         assertTrue(exception.getMessage().contains("Failed to parse STK Push response"));
         assertEquals(INVALID_RESPONSE, exception.errorCode());
     }
+
+    @Test
+    void testQueryStkPush_Success() throws Exception {
+        StkPushQueryRequest queryRequest = new StkPushQueryRequest.Builder()
+                .businessShortCode("123456")
+                .password("base64encodedpassword")
+                .checkoutRequestID("ws_CO_1")
+                .build();
+        String mockResponseJson = "{\"ResponseCode\":\"0\",\"ResponseDescription\":\"The service request has been accepted successsfully\","
+                + "\"MerchantRequestID\":\"1234\",\"CheckoutRequestID\":\"ws_CO_1\",\"ResultCode\":\"1032\",\"ResultDesc\":\"Request cancelled by user\"}";
+
+        when(mockRequestHandler.post(eq("sample-query-url"), eq(queryRequest), any())).thenReturn(mockResponseJson);
+
+        StkPushQueryResponse response = stkPushService.queryStkPush(queryRequest);
+
+        assertTrue(response.isSuccessful());
+        assertTrue(response.hasResult());
+        assertEquals("ws_CO_1", response.getCheckoutRequestID());
+        assertEquals("1032", response.getResultCode());
+    }
+
+    @Test
+    void testQueryStkPush_HttpException() throws Exception {
+        StkPushQueryRequest queryRequest = new StkPushQueryRequest.Builder()
+                .businessShortCode("123456")
+                .password("base64encodedpassword")
+                .checkoutRequestID("ws_CO_1")
+                .build();
+        when(mockRequestHandler.post(anyString(), eq(queryRequest), any())).thenThrow(new MpesaHttpException(500, "Error", "The transaction is being processed"));
+
+        MpesaUnexpectedResponseException exception = assertThrows(MpesaUnexpectedResponseException.class, () -> {
+            stkPushService.queryStkPush(queryRequest);
+        });
+
+        assertTrue(exception.getMessage().contains("Unexpected error in STK Push query"));
+        assertEquals(UNKNOWN_ERROR, exception.errorCode());
+    }
+
+    @Test
+    void testRequestStkPush_PassesRequestOptions() throws Exception {
+        String mockResponseJson = "{\"MerchantRequestID\":\"1234\", \"CheckoutRequestID\":\"5678\", \"ResponseCode\":\"0\", \"ResponseDescription\":\"Success\", \"CustomerMessage\":\"Request Successful\"}";
+        RequestOptions options = new RequestOptions.Builder().deadline(2000).noRetries().tag("flow", "checkout").build();
+        when(mockRequestHandler.post(anyString(), eq(stkPushRequest), same(options))).thenReturn(mockResponseJson);
+
+        StkPushResponse response = stkPushService.requestStkPush(stkPushRequest, options);
+
+        assertEquals("5678", response.getCheckoutRequestID());
+        verify(mockRequestHandler).post("sample-url", stkPushRequest, options);
+    }
+
+    @Test
+    void testRequestStkPush_WithoutOptions_UsesDefaults() throws Exception {
+        String mockResponseJson = "{\"MerchantRequestID\":\"1234\", \"CheckoutRequestID\":\"5678\", \"ResponseCode\":\"0\", \"ResponseDescription\":\"Success\", \"CustomerMessage\":\"Request Successful\"}";
+        when(mockRequestHandler.post(anyString(), eq(stkPushRequest), any())).thenReturn(mockResponseJson);
+
+        stkPushService.requestStkPush(stkPushRequest);
+
+        verify(mockRequestHandler).post("sample-url", stkPushRequest, RequestOptions.DEFAULT);
+    }
 }
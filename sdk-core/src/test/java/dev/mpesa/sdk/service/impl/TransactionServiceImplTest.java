@@ -73,7 +73,7 @@ class TransactionServiceImplTest {
         TransactionStatusResponse mockResponse = new TransactionStatusResponse("123", "456", "0", "Success");
         String jsonResponse = objectMapper.writeValueAsString(mockResponse);
 
-        when(mockRequestHandler.post(anyString(), eq(transactionStatusRequest))).thenReturn(jsonResponse);
+        when(mockRequestHandler.post(anyString(), eq(transactionStatusRequest), any())).thenReturn(jsonResponse);
 
         TransactionStatusResponse response = transactionService.checkTransactionStatus(transactionStatusRequest);
 
@@ -81,7 +81,7 @@ class TransactionServiceImplTest {
         assertEquals("0", response.getResponseCode());
         assertTrue(response.isSuccessful());
 
-        verify(mockRequestHandler).post(anyString(), eq(transactionStatusRequest));
+        verify(mockRequestHandler).post(anyString(), eq(transactionStatusRequest), any());
     }
 
     @Test
@@ -89,7 +89,7 @@ class TransactionServiceImplTest {
         TransactionStatusResponse mockResponse = new TransactionStatusResponse("123", "456", "1", "Failed");
         String jsonResponse = objectMapper.writeValueAsString(mockResponse);
 
-        when(mockRequestHandler.post(anyString(), eq(transactionStatusRequest))).thenReturn(jsonResponse);
+        when(mockRequestHandler.post(anyString(), eq(transactionStatusRequest), any())).thenReturn(jsonResponse);
 
         TransactionStatusResponse response = transactionService.checkTransactionStatus(transactionStatusRequest);
 
@@ -97,14 +97,14 @@ class TransactionServiceImplTest {
         assertEquals("1", response.getResponseCode());
         assertFalse(response.isSuccessful());
 
-        verify(mockRequestHandler).post(anyString(), eq(transactionStatusRequest));
+        verify(mockRequestHandler).post(anyString(), eq(transactionStatusRequest), any());
     }
 
     @Test
     void checkTransactionStatus_InvalidJsonResponse() throws JsonProcessingException {
         String invalidJson = "{invalid json}";
 
-        when(mockRequestHandler.post(anyString(), eq(transactionStatusRequest))).thenReturn(invalidJson);
+        when(mockRequestHandler.post(anyString(), eq(transactionStatusRequest), any())).thenReturn(invalidJson);
 
         MpesaUnexpectedResponseException ex = assertThrows(MpesaUnexpectedResponseException.class, () ->
                 transactionService.checkTransactionStatus(transactionStatusRequest));
@@ -112,7 +112,7 @@ class TransactionServiceImplTest {
         assertEquals("Failed to parse Transaction Status response.", ex.getMessage());
         assertEquals(INVALID_RESPONSE, ex.errorCode());
 
-        verify(mockRequestHandler).post(anyString(), eq(transactionStatusRequest));
+        verify(mockRequestHandler).post(anyString(), eq(transactionStatusRequest), any());
     }
 
     @Test
@@ -120,7 +120,7 @@ class TransactionServiceImplTest {
         String errorResponse = "{\"errorCode\":\"500\", \"errorMessage\":\"Internal Server Error\"}";
         MpesaHttpException httpException = new MpesaHttpException(500, errorResponse, "Internal Server Error");
 
-        when(mockRequestHandler.post(anyString(), eq(transactionStatusRequest))).thenThrow(httpException);
+        when(mockRequestHandler.post(anyString(), eq(transactionStatusRequest), any())).thenThrow(httpException);
 
         MpesaUnexpectedResponseException ex = assertThrows(MpesaUnexpectedResponseException.class, () ->
                 transactionService.checkTransactionStatus(transactionStatusRequest));
@@ -129,7 +129,7 @@ class TransactionServiceImplTest {
         assertEquals(UNKNOWN_ERROR, ex.errorCode());
         assertEquals(errorResponse, ex.responseBody());
 
-        verify(mockRequestHandler).post(anyString(), eq(transactionStatusRequest));
+        verify(mockRequestHandler).post(anyString(), eq(transactionStatusRequest), any());
     }
 
     @Test
@@ -140,7 +140,7 @@ class TransactionServiceImplTest {
 
         String responseJson = objectMapper.writeValueAsString(expectedResponse);
 
-        when(mockRequestHandler.post(anyString(), eq(transactionReversalRequest))).thenReturn(responseJson);
+        when(mockRequestHandler.post(anyString(), eq(transactionReversalRequest), any())).thenReturn(responseJson);
 
         TransactionReversalResponse actualResponse = transactionService.reverseTransaction(transactionReversalRequest);
 
@@ -156,7 +156,7 @@ class TransactionServiceImplTest {
     void reverseTransaction_HandlesMpesaHttpException() throws JsonProcessingException {
         String errorResponse = "{\"errorCode\":\"500.001.1001\", \"errorMessage\":\"Invalid request\"}";
 
-        when(mockRequestHandler.post(anyString(), eq(transactionReversalRequest)))
+        when(mockRequestHandler.post(anyString(), eq(transactionReversalRequest), any()))
                 .thenThrow(new MpesaHttpException(500, errorResponse, "server error"));
 
         MpesaUnexpectedResponseException exception = assertThrows(
@@ -171,7 +171,7 @@ class TransactionServiceImplTest {
 
     @Test
     void reverseTransaction_HandlesJsonProcessingException() throws JsonProcessingException {
-        when(mockRequestHandler.post(anyString(), eq(transactionReversalRequest)))
+        when(mockRequestHandler.post(anyString(), eq(transactionReversalRequest), any()))
                 .thenReturn("invalid response");
 
         MpesaUnexpectedResponseException exception = assertThrows(
@@ -0,0 +1,248 @@
+package dev.mpesa.sdk.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mpesa.sdk.auth.AuthService;
+import dev.mpesa.sdk.callback.ResultCorrelator;
+import dev.mpesa.sdk.callback.StkPushPoller;
+import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.callback.StkPushCallbackResponse;
+import dev.mpesa.sdk.dto.request.StkPushQueryRequest;
+import dev.mpesa.sdk.dto.response.StkPushQueryResponse;
+import dev.mpesa.sdk.exception.MpesaNetworkException;
+import dev.mpesa.sdk.http.HttpTransport;
+import dev.mpesa.sdk.http.RequestHandler;
+import dev.mpesa.sdk.http.TransportRequest;
+import dev.mpesa.sdk.http.TransportResponse;
+import dev.mpesa.sdk.metrics.MetricsRecorder;
+import dev.mpesa.sdk.service.StkPushService;
+import dev.mpesa.sdk.util.HashedTimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TracingTest {
+
+    @Mock private AuthService mockAuthService;
+    @Mock private HttpTransport mockTransport;
+    @Mock private StkPushService mockStkPushService;
+
+    private final InMemoryTracer tracer = new InMemoryTracer();
+    private MpesaConfig config;
+    private HashedTimingWheel timer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        config = new MpesaConfig.Builder()
+                .maxRetries(3)
+                .retryBackoffTime(1)
+                .build();
+        when(mockAuthService.getAccessToken()).thenReturn("token");
+        timer = new HashedTimingWheel("test-timer", 10, TimeUnit.MILLISECONDS, 64);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.close();
+        executor.shutdownNow();
+    }
+
+    private RequestHandler handler(Tracer tracer) {
+        return new RequestHandler(mockAuthService, config, mockTransport, new ObjectMapper(),
+                Collections.emptyList(), Collections.emptyList(), MetricsRecorder.NOOP, tracer);
+    }
+
+    private static TransportResponse response(int code, String body) {
+        return new TransportResponse(code, null, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void call_IsTracedUnderCurrentSpanWithOneChildPerAttempt() throws IOException {
+        List<TransportRequest> sent = Collections.synchronizedList(new ArrayList<>());
+        when(mockTransport.execute(any(TransportRequest.class))).thenAnswer(invocation -> {
+            sent.add(invocation.getArgument(0));
+            return sent.size() == 1 ? response(503, "") : response(200, "{}");
+        });
+        Span root = tracer.startSpan("checkout", null);
+
+        try (TracingContext.Scope ignored = TracingContext.makeCurrent(root)) {
+            handler(tracer).post("https://example.com/mpesa/stkpush/v1/processrequest?x=1", Collections.emptyMap());
+        }
+        root.end();
+
+        InMemoryTracer.RecordedSpan call = tracer.getFinishedSpans("mpesa.call").get(0);
+        List<InMemoryTracer.RecordedSpan> attempts = tracer.getFinishedSpans("mpesa.attempt");
+        InMemoryTracer.RecordedSpan checkout = tracer.getFinishedSpans("checkout").get(0);
+        assertEquals(checkout.getSpanId(), call.getParentSpanId());
+        assertEquals(checkout.getTraceId(), call.getTraceId());
+        assertEquals("POST", call.getAttribute("http.method"));
+        assertEquals("/mpesa/stkpush/v1/processrequest", call.getAttribute("url.path"));
+        assertEquals(200L, call.getAttribute("http.status_code"));
+        assertEquals(2, attempts.size());
+        assertEquals(503L, attempts.get(0).getAttribute("http.status_code"));
+        for (int i = 0; i < attempts.size(); i++) {
+            InMemoryTracer.RecordedSpan attempt = attempts.get(i);
+            assertEquals(call.getSpanId(), attempt.getParentSpanId());
+            assertEquals("00-" + attempt.getTraceId() + "-" + attempt.getSpanId() + "-01",
+                    sent.get(i).getHeader("traceparent"));
+        }
+        assertNull(TracingContext.current());
+    }
+
+    @Test
+    void failedCall_RecordsError() throws IOException {
+        when(mockTransport.execute(any(TransportRequest.class))).thenThrow(new IOException("connection reset"));
+
+        assertThrows(MpesaNetworkException.class, () -> handler(tracer).get("https://example.com/api"));
+
+        InMemoryTracer.RecordedSpan call = tracer.getFinishedSpans("mpesa.call").get(0);
+        assertTrue(call.getError() instanceof MpesaNetworkException);
+        assertEquals(3, tracer.getFinishedSpans("mpesa.attempt").size());
+        assertTrue(tracer.getFinishedSpans("mpesa.attempt").get(0).getError() instanceof IOException);
+    }
+
+    @Test
+    void noopTracer_AddsNoHeaders() throws IOException {
+        List<TransportRequest> sent = new ArrayList<>();
+        when(mockTransport.execute(any(TransportRequest.class))).thenAnswer(invocation -> {
+            sent.add(invocation.getArgument(0));
+            return response(200, "{}");
+        });
+
+        handler(Tracer.NOOP).get("https://example.com/api");
+
+        assertNull(sent.get(0).getHeader("traceparent"));
+    }
+
+    @Test
+    void awaitedResult_IsTracedAndCompletesUnderRegisteringSpan() throws Exception {
+        ResultCorrelator correlator = new ResultCorrelator(timer, 5_000, executor, tracer);
+        Span root = tracer.startSpan("payout", null);
+        CompletableFuture<ServiceResultResponse> future;
+        try (TracingContext.Scope ignored = TracingContext.makeCurrent(root)) {
+            future = correlator.register("AG_1", "orig-1", 5_000);
+        }
+        AtomicReference<Span> seen = new AtomicReference<>();
+        future.thenRun(() -> seen.set(TracingContext.current()));
+
+        ServiceResultResponse result = new ServiceResultResponse();
+        result.result = new ServiceResultResponse.Result();
+        result.result.conversationID = "AG_1";
+        result.result.resultCode = 2001;
+        CompletableFuture.runAsync(() -> correlator.complete(result), executor).get(2, TimeUnit.SECONDS);
+
+        assertSame(root, seen.get());
+        InMemoryTracer.RecordedSpan await = tracer.getFinishedSpans("mpesa.result.await").get(0);
+        assertEquals(((InMemoryTracer.RecordedSpan) root).getSpanId(), await.getParentSpanId());
+        assertEquals("AG_1", await.getAttribute("mpesa.conversation_id"));
+        assertEquals(2001L, await.getAttribute("mpesa.result_code"));
+    }
+
+    @Test
+    void duplicateRegistration_EndsItsSpanAndLeavesThePendingOne() throws Exception {
+        ResultCorrelator correlator = new ResultCorrelator(timer, 5_000, executor, tracer);
+        CompletableFuture<ServiceResultResponse> first = correlator.register("AG_2", "orig-2", 5_000);
+        CompletableFuture<ServiceResultResponse> second = correlator.register("AG_2", "orig-2", 5_000);
+
+        assertSame(first, second);
+        List<InMemoryTracer.RecordedSpan> ended = tracer.getFinishedSpans("mpesa.result.await");
+        assertEquals(1, ended.size());
+        assertNull(ended.get(0).getAttribute("mpesa.result_code"));
+
+        ServiceResultResponse result = new ServiceResultResponse();
+        result.result = new ServiceResultResponse.Result();
+        result.result.conversationID = "AG_2";
+        result.result.resultCode = 0;
+        assertTrue(correlator.complete(result));
+        first.get(2, TimeUnit.SECONDS);
+
+        ended = tracer.getFinishedSpans("mpesa.result.await");
+        assertEquals(2, ended.size());
+        assertEquals(0L, ended.get(1).getAttribute("mpesa.result_code"));
+    }
+
+    @Test
+    void trackedStkPush_RunsQueriesUnderItsSpan() throws Exception {
+        AtomicReference<Span> queriedUnder = new AtomicReference<>();
+        when(mockStkPushService.queryStkPush(any())).thenAnswer(invocation -> {
+            queriedUnder.set(TracingContext.current());
+            return new StkPushQueryResponse("0", "Accepted", "m-1", "ws_CO_1", null, null);
+        });
+        StkPushPoller poller = new StkPushPoller(mockStkPushService, timer, executor, tracer, 20, 5_000);
+        Span root = tracer.startSpan("checkout", null);
+        CompletableFuture<StkPushPoller.Outcome> future;
+        try (TracingContext.Scope ignored = TracingContext.makeCurrent(root)) {
+            future = poller.track(new StkPushQueryRequest.Builder()
+                    .businessShortCode("123456")
+                    .password("base64encodedpassword")
+                    .checkoutRequestID("ws_CO_1")
+                    .build());
+        }
+        verify(mockStkPushService, timeout(2_000)).queryStkPush(any());
+
+        StkPushCallbackResponse callback = new StkPushCallbackResponse();
+        callback.body = new StkPushCallbackResponse.StkPushCallbackBody();
+        callback.body.stkCallback = new StkPushCallbackResponse.StkCallback();
+        callback.body.stkCallback.checkoutRequestID = "ws_CO_1";
+        callback.body.stkCallback.resultCode = 0;
+        assertTrue(poller.complete(callback));
+        future.get(2, TimeUnit.SECONDS);
+        poller.close();
+
+        InMemoryTracer.RecordedSpan track = tracer.getFinishedSpans("mpesa.stk_push.track").get(0);
+        assertEquals(track.getSpanId(), ((InMemoryTracer.RecordedSpan) queriedUnder.get()).getSpanId());
+        assertEquals(((InMemoryTracer.RecordedSpan) root).getSpanId(), track.getParentSpanId());
+        assertEquals("ws_CO_1", track.getAttribute("mpesa.checkout_request_id"));
+        assertEquals("callback", track.getAttribute("mpesa.outcome_source"));
+        assertEquals(0L, track.getAttribute("mpesa.result_code"));
+        assertEquals(1L, track.getAttribute("mpesa.queries"));
+    }
+
+    @Test
+    void wrap_RunsTaskUnderSpanCurrentWhenWrapped() throws Exception {
+        Span span = tracer.startSpan("job", null);
+        Runnable task;
+        AtomicReference<Span> seen = new AtomicReference<>();
+        try (TracingContext.Scope ignored = TracingContext.makeCurrent(span)) {
+            task = TracingContext.wrap(() -> seen.set(TracingContext.current()));
+        }
+
+        executor.submit(task).get(2, TimeUnit.SECONDS);
+
+        assertSame(span, seen.get());
+        assertNull(executor.submit(TracingContext::current).get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void scope_RestoresPreviousSpan() {
+        Span outer = tracer.startSpan("outer", null);
+        Span inner = tracer.startSpan("inner", outer);
+        try (TracingContext.Scope ignored = TracingContext.makeCurrent(outer)) {
+            try (TracingContext.Scope nested = TracingContext.makeCurrent(inner)) {
+                assertSame(inner, TracingContext.current());
+            }
+            assertSame(outer, TracingContext.current());
+        }
+        assertNull(TracingContext.current());
+    }
+}
@@ -0,0 +1,63 @@
+package dev.mpesa.sdk.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogPayloadTest {
+
+    @Test
+    void secrets_AreFullyMasked() {
+        String json = "{\"BusinessShortCode\":\"174379\",\"Password\":\"MTc0Mzc5YmZi\",\"SecurityCredential\" : \"abc==\"}";
+
+        assertEquals("{\"BusinessShortCode\":\"174379\",\"Password\":\"***\",\"SecurityCredential\" : \"***\"}",
+                LogPayload.json(json).toString());
+    }
+
+    @Test
+    void phoneNumbers_KeepFirstThreeAndLastTwoDigits() {
+        String json = "{\"PhoneNumber\":\"251700404789\",\"PartyA\":251700404789,\"PartyB\":\"1234\"}";
+
+        assertEquals("{\"PhoneNumber\":\"251*******89\",\"PartyA\":251*******89,\"PartyB\":\"***\"}",
+                LogPayload.json(json).toString());
+    }
+
+    @Test
+    void nestedAndEscapedValues_AreScannedCorrectly() {
+        String json = "{\"Remarks\":\"say \\\"Password\\\": x\",\"Result\":{\"MSISDN\":\"254708374149\"},"
+                + "\"ReferenceData\":[{\"Key\":\"PhoneNumber\",\"Value\":\"x\"}]}";
+
+        assertEquals("{\"Remarks\":\"say \\\"Password\\\": x\",\"Result\":{\"MSISDN\":\"254*******49\"},"
+                + "\"ReferenceData\":[{\"Key\":\"PhoneNumber\",\"Value\":\"x\"}]}", LogPayload.json(json).toString());
+    }
+
+    @Test
+    void bytes_AreDecodedOnlyWhenRendered() {
+        byte[] body = "{\"access_token\":\"secret\",\"expires_in\":\"3599\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("{\"access_token\":\"***\",\"expires_in\":\"3599\"}", LogPayload.json(body).toString());
+        assertEquals("null", LogPayload.json((byte[]) null).toString());
+    }
+
+    @Test
+    void longBodies_AreTruncated() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            json.append("\"item-").append(i).append("\",");
+        }
+        json.append("\"last\"]");
+
+        String rendered = LogPayload.json(json.toString()).toString();
+
+        assertTrue(rendered.length() < LogPayload.MAX_CHARS + 64);
+        assertTrue(rendered.endsWith("...(" + json.length() + " chars)"));
+    }
+
+    @Test
+    void malformedJson_IsRenderedAsFarAsPossible() {
+        assertEquals("{\"Password\":\"***\"", LogPayload.json("{\"Password\":\"unterminated").toString());
+        assertEquals("not json", LogPayload.json("not json").toString());
+    }
+}
@@ -0,0 +1,35 @@
+package dev.mpesa.sdk.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogThrottleTest {
+
+    @Test
+    void zeroInterval_LetsEveryMessageThrough() {
+        LogThrottle throttle = new LogThrottle(0);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, throttle.tryAcquire());
+        }
+    }
+
+    @Test
+    void messagesWithinInterval_AreHeldBackAndCounted() throws InterruptedException {
+        LogThrottle throttle = new LogThrottle(50);
+
+        assertEquals(0, throttle.tryAcquire());
+        assertEquals(-1, throttle.tryAcquire());
+        assertEquals(-1, throttle.tryAcquire());
+        Thread.sleep(60);
+
+        assertEquals(2, throttle.tryAcquire());
+        assertEquals(-1, throttle.tryAcquire());
+    }
+
+    @Test
+    void negativeInterval_IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new LogThrottle(-1));
+    }
+}
@@ -0,0 +1,99 @@
+package dev.mpesa.sdk.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationUtilsTest {
+
+    // The patterns the validators replaced; every input must get the same answer from both.
+    private static final Pattern NUMERIC_PATTERN = Pattern.compile("^\\d+$");
+    private static final Pattern BASE64_PATTERN = Pattern.compile("^[A-Za-z0-9+/=]+$");
+    private static final Pattern BUSINESS_SHORTCODE_PATTERN = Pattern.compile("\\d{4,9}");
+    private static final Pattern PHONE_NUMBER_PATTERN = Pattern.compile("^(2517\\d{8}|2547\\d{8})$");
+
+    private static final String ALPHABET = "0123456789257AZaz+/=- \n٠é";
+
+    private static List<String> inputs() {
+        List<String> inputs = new ArrayList<>(List.of("", "0", "123", "1234", "123456789", "1234567890",
+                "254708374149", "251708374149", "2547083741490", "25470837414", "255708374149", "254608374149",
+                "2547083741a9", "25470837414\n", "٠١٢٣", "MTc0Mzc5==", "YWJj+/", "YWJj-_",
+                " 1234", "1234 ", "bG9hZA==\n"));
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            // Mostly digits, so the long numeric shapes come up often enough to matter.
+            if (random.nextBoolean()) {
+                sb.append(random.nextBoolean() ? "2547" : "2517");
+            }
+            int length = random.nextInt(14);
+            for (int j = 0; j < length; j++) {
+                sb.append(random.nextInt(4) > 0 ? (char) ('0' + random.nextInt(10))
+                        : ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            inputs.add(sb.toString());
+        }
+        return inputs;
+    }
+
+    private static boolean accepts(Executable check) {
+        try {
+            check.execute();
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        } catch (Throwable e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    void characterChecks_AcceptExactlyWhatThePatternsDid() {
+        for (String input : inputs()) {
+            assertEquals(NUMERIC_PATTERN.matcher(input).matches(),
+                    accepts(() -> ValidationUtils.requireNumeric(input, "Amount")), input);
+            assertEquals(BASE64_PATTERN.matcher(input).matches(),
+                    accepts(() -> ValidationUtils.requireBase64Encoded(input, "Password")), input);
+            assertEquals(BUSINESS_SHORTCODE_PATTERN.matcher(input).matches(),
+                    accepts(() -> ValidationUtils.requireValidShortCode(input, "PartyA")), input);
+            assertEquals(PHONE_NUMBER_PATTERN.matcher(input).matches(),
+                    accepts(() -> ValidationUtils.requireValidPhoneNumber(input, "PartyB")), input);
+        }
+    }
+
+    @Test
+    void nullValues_FailAsBefore() {
+        assertThrows(IllegalArgumentException.class, () -> ValidationUtils.requireBase64Encoded(null, "Password"));
+        assertThrows(IllegalArgumentException.class, () -> ValidationUtils.requireValidURL(null, "ResultURL"));
+        assertThrows(NullPointerException.class, () -> ValidationUtils.requireNumeric(null, "Amount"));
+        assertThrows(NullPointerException.class, () -> ValidationUtils.requireValidPhoneNumber(null, "PartyB"));
+        assertThrows(NullPointerException.class, () -> ValidationUtils.requireValidShortCode(null, "PartyA"));
+    }
+
+    @Test
+    void requireValidURL_AcceptsValidUrlsRepeatedlyAndRejectsInvalidOnes() {
+        for (int i = 0; i < 3; i++) {
+            ValidationUtils.requireValidURL("https://example.com/mpesa/result", "ResultURL");
+        }
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ValidationUtils.requireValidURL("example.com/mpesa/result", "ResultURL"));
+        assertEquals("ResultURL must be a valid URL.", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> ValidationUtils.requireValidURL("foo://x", "ResultURL"));
+        assertThrows(IllegalArgumentException.class, () -> ValidationUtils.requireValidURL("", "ResultURL"));
+    }
+
+    @Test
+    void messages_AreUnchanged() {
+        assertEquals("PartyB must be a valid Ethiopian (2517xxxxxxxx) or Kenyan (2547xxxxxxxx) number.",
+                assertThrows(IllegalArgumentException.class,
+                        () -> ValidationUtils.requireValidPhoneNumber("0708374149", "PartyB")).getMessage());
+        assertEquals("Amount must be numeric.", assertThrows(IllegalArgumentException.class,
+                () -> ValidationUtils.requireNumeric("1.5", "Amount")).getMessage());
+    }
+}
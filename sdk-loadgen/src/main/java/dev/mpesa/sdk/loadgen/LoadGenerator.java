@@ -0,0 +1,330 @@
+package dev.mpesa.sdk.loadgen;
+
+import dev.mpesa.sdk.MpesaSdk;
+import dev.mpesa.sdk.exception.MpesaHttpException;
+import dev.mpesa.sdk.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives an {@link MpesaSdk} with a mix of operations and reports throughput, errors and latency percentiles.
+ * <p>
+ * In {@link Mode#OPEN open-loop} mode calls are scheduled at a constant rate regardless of how fast earlier ones
+ * complete, as real traffic arrives, and run on up to {@code concurrency} threads. In {@link Mode#CLOSED closed-loop}
+ * mode {@code concurrency} workers each issue a call as soon as their previous one completes, optionally paced so
+ * that together they target a rate.
+ * <p>
+ * Every call has an intended start time: its slot in the schedule, or, for an unpaced closed loop, the moment it is
+ * issued. Response time is measured from the intended start, so a call held up behind a slow one, or waiting for a
+ * free thread, is charged for the wait rather than silently issued late. This corrects the coordinated omission a
+ * load generator otherwise suffers from, where a stall delays the very calls that would have measured it. Service
+ * time, from the actual start, is reported alongside for comparison.
+ * <p>
+ * Calls whose intended start falls in the warm-up are issued but not recorded.
+ */
+public final class LoadGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    public enum Mode { OPEN, CLOSED }
+
+    private final MpesaSdk sdk;
+    private final OperationMix mix;
+    private final RequestTemplate template;
+    private final Mode mode;
+    private final double rate;
+    private final int concurrency;
+    private final Duration duration;
+    private final Duration warmUp;
+    private final Duration drainTimeout;
+
+    private LoadGenerator(Builder builder) {
+        this.sdk = builder.sdk;
+        this.mix = builder.mix;
+        this.template = builder.template;
+        this.mode = builder.mode;
+        this.rate = builder.rate;
+        this.concurrency = builder.concurrency;
+        this.duration = builder.duration;
+        this.warmUp = builder.warmUp;
+        this.drainTimeout = builder.drainTimeout;
+    }
+
+    /**
+     * Runs the load for the warm-up and then the measured duration, and waits up to the drain timeout for calls
+     * still in flight.
+     *
+     * @return the measurements
+     * @throws InterruptedException if interrupted; calls in flight are abandoned
+     */
+    public LoadReport run() throws InterruptedException {
+        Recorder recorder = new Recorder(mix);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, new WorkerThreadFactory());
+        long start = System.nanoTime();
+        long measureStart = start + warmUp.toNanos();
+        long end = measureStart + duration.toNanos();
+        logger.info("Running {} load for {} after {} warm-up: mix {}, rate {}/s, concurrency {}",
+                mode, duration, warmUp, mix, rate, concurrency);
+        try {
+            if (mode == Mode.OPEN) {
+                runOpen(workers, recorder, start, measureStart, end);
+            } else {
+                runClosed(workers, recorder, start, measureStart, end);
+            }
+            workers.shutdown();
+            if (!workers.awaitTermination(drainTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                logger.warn("Calls still in flight after {}; they are reported as unfinished", drainTimeout);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        return recorder.report(this);
+    }
+
+    private void runOpen(ExecutorService workers, Recorder recorder, long start, long measureStart, long end)
+            throws InterruptedException {
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        for (long i = 0; ; i++) {
+            long intendedStart = start + (long) (i * intervalNanos);
+            if (intendedStart - end >= 0) {
+                return;
+            }
+            sleepUntil(intendedStart);
+            if (intendedStart - measureStart >= 0) {
+                recorder.scheduled.increment();
+            }
+            workers.execute(() -> call(recorder, intendedStart, measureStart));
+        }
+    }
+
+    private void runClosed(ExecutorService workers, Recorder recorder, long start, long measureStart, long end)
+            throws InterruptedException {
+        // Paced workers are staggered across one interval so their calls do not arrive in bursts.
+        long intervalNanos = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * concurrency / rate) : 0;
+        for (int worker = 0; worker < concurrency; worker++) {
+            long firstStart = start + intervalNanos * worker / concurrency;
+            workers.execute(() -> {
+                long intendedStart = firstStart;
+                while (!Thread.currentThread().isInterrupted()) {
+                    if (intervalNanos > 0) {
+                        try {
+                            sleepUntil(intendedStart);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    } else {
+                        intendedStart = System.nanoTime();
+                    }
+                    if (intendedStart - end >= 0) {
+                        return;
+                    }
+                    if (intendedStart - measureStart >= 0) {
+                        recorder.scheduled.increment();
+                    }
+                    call(recorder, intendedStart, measureStart);
+                    intendedStart += intervalNanos;
+                }
+            });
+        }
+        sleepUntil(end);
+    }
+
+    private void call(Recorder recorder, long intendedStart, long measureStart) {
+        Operation operation = mix.next(ThreadLocalRandom.current());
+        long actualStart = System.nanoTime();
+        String error;
+        try {
+            String responseCode = operation.invoke(sdk, template);
+            error = "0".equals(responseCode) ? null : "ResponseCode " + responseCode;
+        } catch (RuntimeException e) {
+            error = errorOf(e);
+        }
+        long finished = System.nanoTime();
+        if (intendedStart - measureStart >= 0) {
+            recorder.record(operation, finished - intendedStart, finished - actualStart, error);
+        }
+    }
+
+    static String errorOf(RuntimeException e) {
+        if (e instanceof MpesaHttpException) {
+            return "HTTP " + ((MpesaHttpException) e).getStatusCode();
+        }
+        return e.getClass().getSimpleName();
+    }
+
+    private static void sleepUntil(long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    Mode getMode() { return mode; }
+    OperationMix getMix() { return mix; }
+    double getRate() { return rate; }
+    int getConcurrency() { return concurrency; }
+    Duration getDuration() { return duration; }
+    Duration getWarmUp() { return warmUp; }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "mpesa-loadgen-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    static final class Stats {
+        final LongAdder calls = new LongAdder();
+        final ConcurrentHashMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+        final LatencyHistogram responseTime = new LatencyHistogram();
+        final LatencyHistogram serviceTime = new LatencyHistogram();
+
+        void record(long responseNanos, long serviceNanos, String error) {
+            calls.increment();
+            if (error != null) {
+                errors.computeIfAbsent(error, key -> new LongAdder()).increment();
+            }
+            responseTime.recordNanos(responseNanos);
+            serviceTime.recordNanos(serviceNanos);
+        }
+    }
+
+    private static final class Recorder {
+        final LongAdder scheduled = new LongAdder();
+        final Map<Operation, Stats> byOperation = new EnumMap<>(Operation.class);
+        final Stats total = new Stats();
+
+        Recorder(OperationMix mix) {
+            for (Operation operation : mix.getWeights().keySet()) {
+                byOperation.put(operation, new Stats());
+            }
+        }
+
+        void record(Operation operation, long responseNanos, long serviceNanos, String error) {
+            byOperation.get(operation).record(responseNanos, serviceNanos, error);
+            total.record(responseNanos, serviceNanos, error);
+        }
+
+        LoadReport report(LoadGenerator generator) {
+            Map<Operation, LoadReport.Result> results = new EnumMap<>(Operation.class);
+            byOperation.forEach((operation, stats) -> results.put(operation, LoadReport.Result.of(stats)));
+            long unfinished = scheduled.sum() - total.calls.sum();
+            return new LoadReport(generator, results, LoadReport.Result.of(total), unfinished);
+        }
+    }
+
+    public static class Builder {
+        private MpesaSdk sdk;
+        private OperationMix mix = OperationMix.parse("stk-push=70,b2c=10,status=10,balance=10");
+        private RequestTemplate template;
+        private Mode mode = Mode.OPEN;
+        private double rate;
+        private int concurrency = 64;
+        private Duration duration = Duration.ofSeconds(60);
+        private Duration warmUp = Duration.ZERO;
+        private Duration drainTimeout = Duration.ofSeconds(30);
+
+        public Builder sdk(MpesaSdk sdk) {
+            this.sdk = sdk;
+            return this;
+        }
+
+        /** Operations to issue; defaults to {@code stk-push=70,b2c=10,status=10,balance=10}. */
+        public Builder mix(OperationMix mix) {
+            this.mix = mix;
+            return this;
+        }
+
+        /** Values requests are built from; defaults to the sandbox test values. */
+        public Builder template(RequestTemplate template) {
+            this.template = template;
+            return this;
+        }
+
+        public Builder mode(Mode mode) {
+            this.mode = mode;
+            return this;
+        }
+
+        /** Calls per second. Required in open-loop mode; paces the workers in closed-loop mode if set. */
+        public Builder rate(double rate) {
+            if (rate < 0 || Double.isNaN(rate) || Double.isInfinite(rate)) {
+                throw new IllegalArgumentException("rate must be a non-negative number");
+            }
+            this.rate = rate;
+            return this;
+        }
+
+        /** Threads issuing calls, and so the most calls in flight at once. */
+        public Builder concurrency(int concurrency) {
+            if (concurrency <= 0) {
+                throw new IllegalArgumentException("concurrency must be positive");
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /** How long to measure for, after the warm-up. */
+        public Builder duration(Duration duration) {
+            if (duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("duration must be positive");
+            }
+            this.duration = duration;
+            return this;
+        }
+
+        /** How long to run before measuring, so connections, tokens and the JIT are warm. */
+        public Builder warmUp(Duration warmUp) {
+            if (warmUp.isNegative()) {
+                throw new IllegalArgumentException("warmUp must not be negative");
+            }
+            this.warmUp = warmUp;
+            return this;
+        }
+
+        /** How long to wait for calls in flight once the duration is over. */
+        public Builder drainTimeout(Duration drainTimeout) {
+            if (drainTimeout.isNegative()) {
+                throw new IllegalArgumentException("drainTimeout must not be negative");
+            }
+            this.drainTimeout = drainTimeout;
+            return this;
+        }
+
+        public LoadGenerator build() {
+            if (sdk == null) {
+                throw new IllegalArgumentException("sdk is required");
+            }
+            if (mix == null || mode == null) {
+                throw new IllegalArgumentException("mix and mode must not be null");
+            }
+            if (mode == Mode.OPEN && rate <= 0) {
+                throw new IllegalArgumentException("Open-loop mode needs a rate");
+            }
+            if (template == null) {
+                template = new RequestTemplate.Builder().build();
+            }
+            return new LoadGenerator(this);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package dev.mpesa.sdk.loadgen;
+
+import dev.mpesa.sdk.MpesaSdk;
+import dev.mpesa.sdk.simulator.MpesaSimulator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Runs a {@link LoadGenerator} from the command line, e.g. against a simulator started with the SDK configuration an
+ * application deploys:
+ * <pre>
+ * java -jar sdk-loadgen/target/mpesa-loadgen.jar --config=src/main/resources/application.properties \
+ *     --base-url=http://localhost:8090 --mode=open --rate=500 --duration=60 --warm-up=10 --json=run.json
+ * </pre>
+ * The SDK is configured from the same {@code mpesa.*} properties the Spring starter reads. Run with {@code --help}
+ * for every option.
+ */
+public final class LoadGeneratorMain {
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -jar mpesa-loadgen.jar [--option=value ...]",
+            "  --config=FILE                    application.properties with the mpesa.* SDK settings",
+            "  --base-url=URL                   send every call to this base URL, replacing mpesa.config.base-urls",
+            "  --simulator                      start a simulator in this process and send every call to it",
+            "  --mode=open                      open (constant arrival rate) or closed (workers loop)",
+            "  --rate=CALLS                     calls per second; required for open, paces closed if set",
+            "  --concurrency=64                 threads issuing calls",
+            "  --duration=60                    seconds to measure",
+            "  --warm-up=0                      seconds to run before measuring",
+            "  --drain-timeout=30               seconds to wait for calls in flight at the end",
+            "  --mix=stk-push=70,b2c=10,status=10,balance=10",
+            "                                   operations and their relative weights",
+            "  --json=FILE                      also write the report as JSON",
+            "  --short-code=174379              STK push short code",
+            "  --password=PASSWORD              STK push password",
+            "  --phone-number=254708374149      customer phone number",
+            "  --b2c-short-code=600000          B2C, status and balance short code",
+            "  --initiator=testapi              initiator name",
+            "  --security-credential=BASE64     initiator security credential",
+            "  --transaction-id=OEI2AK4Q16      transaction whose status is queried",
+            "  --amount=1                       amount of STK pushes and B2C payments",
+            "  --callback-url=URL               callback and result URL, by default the discard port");
+
+    private LoadGeneratorMain() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (System.getProperty("logback.configurationFile") == null) {
+            System.setProperty("logback.configurationFile", "loadgen-logback.xml");
+        }
+        Map<String, String> options;
+        SdkProperties properties;
+        LoadGenerator.Builder generator;
+        try {
+            options = parse(args);
+            if (options.containsKey("help")) {
+                System.out.println(USAGE);
+                return;
+            }
+            String config = options.remove("config");
+            properties = config != null ? SdkProperties.load(Path.of(config)) : new SdkProperties(new Properties());
+            generator = configure(options);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        MpesaSimulator simulator = null;
+        String baseUrl = options.get("base-url");
+        if (options.containsKey("simulator")) {
+            simulator = new MpesaSimulator.Builder().host("localhost").port(0).build();
+            simulator.start();
+            baseUrl = simulator.getBaseUrl();
+            properties.setIfAbsent("mpesa.consumer-key", "loadgen");
+            properties.setIfAbsent("mpesa.consumer-secret", "loadgen");
+        }
+        try (MpesaSdk sdk = properties.sdkBuilder(baseUrl).build()) {
+            LoadGenerator loadGenerator = generator.sdk(sdk).build();
+            if (properties.warmUp()) {
+                sdk.warmUp();
+            }
+            LoadReport report = loadGenerator.run();
+            System.out.print(report.toText());
+            if (properties.metrics()) {
+                System.out.println();
+                System.out.println(sdk.getMetrics());
+            }
+            String json = options.get("json");
+            if (json != null) {
+                Files.writeString(Path.of(json), report.toJson(), StandardCharsets.UTF_8);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        } finally {
+            if (simulator != null) {
+                simulator.close();
+            }
+        }
+    }
+
+    /**
+     * Configures everything but the SDK from the options, leaving {@code config}, {@code base-url},
+     * {@code simulator} and {@code json} for the caller.
+     */
+    static LoadGenerator.Builder configure(Map<String, String> options) {
+        Map<String, String> remaining = new HashMap<>(options);
+        remaining.remove("config");
+        remaining.remove("base-url");
+        remaining.remove("simulator");
+        remaining.remove("json");
+        LoadGenerator.Builder builder = new LoadGenerator.Builder();
+        String mode = remaining.remove("mode");
+        if (mode != null) {
+            builder.mode(LoadGenerator.Mode.valueOf(mode.toUpperCase(Locale.ROOT)));
+        }
+        String rate = remaining.remove("rate");
+        if (rate != null) {
+            builder.rate(Double.parseDouble(rate));
+        }
+        String concurrency = remaining.remove("concurrency");
+        if (concurrency != null) {
+            builder.concurrency(Integer.parseInt(concurrency));
+        }
+        String duration = remaining.remove("duration");
+        if (duration != null) {
+            builder.duration(seconds(duration));
+        }
+        String warmUp = remaining.remove("warm-up");
+        if (warmUp != null) {
+            builder.warmUp(seconds(warmUp));
+        }
+        String drainTimeout = remaining.remove("drain-timeout");
+        if (drainTimeout != null) {
+            builder.drainTimeout(seconds(drainTimeout));
+        }
+        String mix = remaining.remove("mix");
+        if (mix != null) {
+            builder.mix(OperationMix.parse(mix));
+        }
+
+        RequestTemplate.Builder template = new RequestTemplate.Builder();
+        String shortCode = remaining.remove("short-code");
+        if (shortCode != null) {
+            template.shortCode(shortCode);
+        }
+        String password = remaining.remove("password");
+        if (password != null) {
+            template.password(password);
+        }
+        String phoneNumber = remaining.remove("phone-number");
+        if (phoneNumber != null) {
+            template.phoneNumber(phoneNumber);
+        }
+        String b2cShortCode = remaining.remove("b2c-short-code");
+        if (b2cShortCode != null) {
+            template.b2cShortCode(b2cShortCode);
+        }
+        String initiator = remaining.remove("initiator");
+        if (initiator != null) {
+            template.initiator(initiator);
+        }
+        String securityCredential = remaining.remove("security-credential");
+        if (securityCredential != null) {
+            template.securityCredential(securityCredential);
+        }
+        String transactionId = remaining.remove("transaction-id");
+        if (transactionId != null) {
+            template.transactionId(transactionId);
+        }
+        String amount = remaining.remove("amount");
+        if (amount != null) {
+            template.amount(amount);
+        }
+        String callbackUrl = remaining.remove("callback-url");
+        if (callbackUrl != null) {
+            template.callbackUrl(callbackUrl);
+        }
+        if (!remaining.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + remaining.keySet());
+        }
+        return builder.template(template.build());
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "");
+            } else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+
+    private static Duration seconds(String value) {
+        return Duration.ofMillis(Math.round(Double.parseDouble(value) * 1000));
+    }
+}
@@ -0,0 +1,197 @@
+package dev.mpesa.sdk.loadgen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.mpesa.sdk.metrics.HistogramSnapshot;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The outcome of a {@link LoadGenerator} run: calls, errors and latency per operation and in total. Latencies are
+ * kept in microseconds and reported in milliseconds.
+ */
+public final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final LoadGenerator.Mode mode;
+    private final String mix;
+    private final double rate;
+    private final int concurrency;
+    private final long durationNanos;
+    private final long warmUpNanos;
+    private final Map<Operation, Result> operations;
+    private final Result total;
+    private final long unfinished;
+
+    LoadReport(LoadGenerator generator, Map<Operation, Result> operations, Result total, long unfinished) {
+        this.mode = generator.getMode();
+        this.mix = generator.getMix().toString();
+        this.rate = generator.getRate();
+        this.concurrency = generator.getConcurrency();
+        this.durationNanos = generator.getDuration().toNanos();
+        this.warmUpNanos = generator.getWarmUp().toNanos();
+        this.operations = Collections.unmodifiableMap(operations);
+        this.total = total;
+        this.unfinished = unfinished;
+    }
+
+    /** The measurements of one operation, or of all of them. */
+    public static final class Result {
+        private final long calls;
+        private final long errors;
+        private final Map<String, Long> errorBreakdown;
+        private final HistogramSnapshot responseTime;
+        private final HistogramSnapshot serviceTime;
+
+        private Result(long calls, Map<String, Long> errorBreakdown, HistogramSnapshot responseTime,
+                       HistogramSnapshot serviceTime) {
+            this.calls = calls;
+            this.errors = errorBreakdown.values().stream().mapToLong(Long::longValue).sum();
+            this.errorBreakdown = Collections.unmodifiableMap(errorBreakdown);
+            this.responseTime = responseTime;
+            this.serviceTime = serviceTime;
+        }
+
+        static Result of(LoadGenerator.Stats stats) {
+            Map<String, Long> errors = new TreeMap<>();
+            stats.errors.forEach((error, count) -> errors.put(error, count.sum()));
+            return new Result(stats.calls.sum(), errors, stats.responseTime.snapshot(), stats.serviceTime.snapshot());
+        }
+
+        /** @return Number of completed calls, successful or not. */
+        public long getCalls() { return calls; }
+
+        /** @return Number of calls that threw or returned a non-zero ResponseCode. */
+        public long getErrors() { return errors; }
+
+        /** @return Error counts by kind, e.g. {@code HTTP 500} or {@code MpesaTimeoutException}. */
+        public Map<String, Long> getErrorBreakdown() { return errorBreakdown; }
+
+        /** @return Latency from each call's intended start, corrected for coordinated omission. */
+        public HistogramSnapshot getResponseTime() { return responseTime; }
+
+        /** @return Latency from each call's actual start. */
+        public HistogramSnapshot getServiceTime() { return serviceTime; }
+    }
+
+    public LoadGenerator.Mode getMode() { return mode; }
+
+    /** @return Target calls per second, or 0 for an unpaced closed loop. */
+    public double getRate() { return rate; }
+
+    public int getConcurrency() { return concurrency; }
+
+    /** @return Length of the measured period, excluding the warm-up. */
+    public long getDurationNanos() { return durationNanos; }
+
+    public Map<Operation, Result> getOperations() { return operations; }
+
+    public Result getTotal() { return total; }
+
+    /** @return Calls scheduled in the measured period that had not completed when the drain timeout expired. */
+    public long getUnfinished() { return unfinished; }
+
+    /** @return Completed calls per second over the measured period. */
+    public double getThroughput() {
+        return throughput(total);
+    }
+
+    private double throughput(Result result) {
+        return result.calls / (durationNanos / 1e9);
+    }
+
+    /** @return The report as aligned text tables, for a terminal. */
+    public String toText() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "Mode: %s, %s, %d threads, %.1f s measured after %.1f s warm-up%n",
+                mode.name().toLowerCase(Locale.ROOT), rate > 0 ? String.format(Locale.ROOT, "%.1f calls/s target", rate)
+                        : "unpaced", concurrency, durationNanos / 1e9, warmUpNanos / 1e9));
+        sb.append("Mix: ").append(mix).append(System.lineSeparator());
+        sb.append(String.format(Locale.ROOT, "Throughput: %.1f calls/s, %d calls, %d errors, %d unfinished%n",
+                getThroughput(), total.calls, total.errors, unfinished));
+        sb.append(System.lineSeparator())
+                .append("Response time, from intended start (ms)").append(System.lineSeparator());
+        appendLatencyTable(sb, true);
+        sb.append(System.lineSeparator())
+                .append("Service time, from actual start (ms)").append(System.lineSeparator());
+        appendLatencyTable(sb, false);
+        if (total.errors > 0) {
+            sb.append(System.lineSeparator()).append("Errors").append(System.lineSeparator());
+            operations.forEach((operation, result) -> result.errorBreakdown.forEach((error, count) ->
+                    sb.append(String.format(Locale.ROOT, "  %-10s %-32s %10d%n", operation.key(), error, count))));
+        }
+        return sb.toString();
+    }
+
+    private void appendLatencyTable(StringBuilder sb, boolean responseTime) {
+        sb.append(String.format(Locale.ROOT, "  %-10s %10s %10s %10s %9s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "calls", "errors", "calls/s", "mean", "p50", "p90", "p99", "p99.9", "p99.99", "max"));
+        operations.forEach((operation, result) -> appendLatencyRow(sb, operation.key(), result, responseTime));
+        appendLatencyRow(sb, "all", total, responseTime);
+    }
+
+    private void appendLatencyRow(StringBuilder sb, String name, Result result, boolean responseTime) {
+        HistogramSnapshot latency = responseTime ? result.responseTime : result.serviceTime;
+        sb.append(String.format(Locale.ROOT, "  %-10s %10d %10d %10.1f %9.3f", name, result.calls, result.errors,
+                throughput(result), latency.getMean() / 1000));
+        for (double percentile : PERCENTILES) {
+            sb.append(String.format(Locale.ROOT, " %9.3f", latency.getValueAtPercentile(percentile) / 1000.0));
+        }
+        sb.append(String.format(Locale.ROOT, " %9.3f%n", latency.getMax() / 1000.0));
+    }
+
+    /** @return The report as indented JSON, for comparing runs. */
+    public String toJson() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("mode", mode.name().toLowerCase(Locale.ROOT));
+        root.put("mix", mix);
+        root.put("targetRate", rate);
+        root.put("concurrency", concurrency);
+        root.put("durationSeconds", durationNanos / 1e9);
+        root.put("warmUpSeconds", warmUpNanos / 1e9);
+        root.put("throughput", getThroughput());
+        root.put("unfinished", unfinished);
+        root.set("total", toJson(objectMapper, total));
+        ObjectNode byOperation = root.putObject("operations");
+        operations.forEach((operation, result) -> byOperation.set(operation.key(), toJson(objectMapper, result)));
+        try {
+            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(root);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write the report", e);
+        }
+    }
+
+    private ObjectNode toJson(ObjectMapper objectMapper, Result result) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("calls", result.calls);
+        node.put("errors", result.errors);
+        node.put("throughput", throughput(result));
+        ObjectNode errors = node.putObject("errorBreakdown");
+        result.errorBreakdown.forEach(errors::put);
+        node.set("responseTimeMillis", toJson(objectMapper, result.responseTime));
+        node.set("serviceTimeMillis", toJson(objectMapper, result.serviceTime));
+        return node;
+    }
+
+    private static ObjectNode toJson(ObjectMapper objectMapper, HistogramSnapshot latency) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("mean", latency.getMean() / 1000);
+        for (double percentile : PERCENTILES) {
+            node.put("p" + (percentile == (long) percentile ? String.valueOf((long) percentile)
+                    : String.valueOf(percentile)), latency.getValueAtPercentile(percentile) / 1000.0);
+        }
+        node.put("max", latency.getMax() / 1000.0);
+        return node;
+    }
+
+    @Override
+    public String toString() {
+        return toText();
+    }
+}
@@ -0,0 +1,65 @@
+package dev.mpesa.sdk.loadgen;
+
+import dev.mpesa.sdk.MpesaSdk;
+import dev.mpesa.sdk.config.RequestOptions;
+
+/**
+ * An SDK call the {@link LoadGenerator} can issue. Each call is built from a {@link RequestTemplate} and returns the
+ * response's {@code ResponseCode}; anything but {@code "0"} is counted as an error.
+ */
+public enum Operation {
+    STK_PUSH("stk-push") {
+        @Override
+        String invoke(MpesaSdk sdk, RequestTemplate template) {
+            return sdk.requestStkPush(template.stkPushRequest(), RequestOptions.DEFAULT).getResponseCode();
+        }
+    },
+    B2C_PAYMENT("b2c") {
+        @Override
+        String invoke(MpesaSdk sdk, RequestTemplate template) {
+            return sdk.initiateB2CPayment(template.b2cPaymentRequest(), RequestOptions.DEFAULT).getResponseCode();
+        }
+    },
+    TRANSACTION_STATUS("status") {
+        @Override
+        String invoke(MpesaSdk sdk, RequestTemplate template) {
+            return sdk.checkTransactionStatus(template.transactionStatusRequest(), RequestOptions.DEFAULT)
+                    .getResponseCode();
+        }
+    },
+    ACCOUNT_BALANCE("balance") {
+        @Override
+        String invoke(MpesaSdk sdk, RequestTemplate template) {
+            return sdk.checkAccountBalance(template.accountBalanceRequest(), RequestOptions.DEFAULT).getResponseCode();
+        }
+    };
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    /** @return The name used for this operation in mixes and reports, e.g. {@code stk-push}. */
+    public String key() {
+        return key;
+    }
+
+    abstract String invoke(MpesaSdk sdk, RequestTemplate template);
+
+    /**
+     * Returns the operation with the given key.
+     *
+     * @param key the key, e.g. {@code b2c}
+     * @return the operation
+     * @throws IllegalArgumentException if no operation has the key
+     */
+    public static Operation forKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
@@ -0,0 +1,109 @@
+package dev.mpesa.sdk.loadgen;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A weighted choice of {@link Operation}s, e.g. {@code stk-push=70,b2c=10,status=10,balance=10}. Weights are
+ * relative and need not add up to 100.
+ */
+public final class OperationMix {
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        this.weights = Collections.unmodifiableMap(new EnumMap<>(weights));
+        this.operations = new Operation[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        int i = 0;
+        for (Map.Entry<Operation, Integer> entry : this.weights.entrySet()) {
+            total += entry.getValue();
+            operations[i] = entry.getKey();
+            cumulativeWeights[i++] = total;
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * Creates a mix from operation weights.
+     *
+     * @param weights the weight of each operation; operations with weight 0 are never chosen
+     * @return the mix
+     * @throws IllegalArgumentException if a weight is negative or all weights are 0
+     */
+    public static OperationMix of(Map<Operation, Integer> weights) {
+        Map<Operation, Integer> positive = new EnumMap<>(Operation.class);
+        weights.forEach((operation, weight) -> {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of " + operation.key() + " must not be negative");
+            }
+            if (weight > 0) {
+                positive.put(operation, weight);
+            }
+        });
+        if (positive.isEmpty()) {
+            throw new IllegalArgumentException("At least one operation needs a positive weight");
+        }
+        return new OperationMix(positive);
+    }
+
+    /**
+     * Parses a mix such as {@code stk-push=70,b2c=10,status=10,balance=10}. An operation without a weight, as in
+     * {@code stk-push,b2c}, has weight 1.
+     *
+     * @param mix the comma-separated operations and weights
+     * @return the mix
+     * @throws IllegalArgumentException if an operation is unknown or a weight is not a non-negative integer
+     */
+    public static OperationMix parse(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String entry = part.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            int equals = entry.indexOf('=');
+            Operation operation = Operation.forKey(equals < 0 ? entry : entry.substring(0, equals).trim());
+            int weight = equals < 0 ? 1 : Integer.parseInt(entry.substring(equals + 1).trim());
+            weights.merge(operation, weight, Integer::sum);
+        }
+        return of(weights);
+    }
+
+    /**
+     * Picks an operation with probability proportional to its weight.
+     *
+     * @param random the source of randomness
+     * @return the operation
+     */
+    public Operation next(Random random) {
+        int value = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /** @return The operations that can be chosen, with their weights. */
+    public Map<Operation, Integer> getWeights() { return weights; }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        weights.forEach((operation, weight) -> {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(operation.key()).append('=').append(weight);
+        });
+        return sb.toString();
+    }
+}
@@ -0,0 +1,175 @@
+package dev.mpesa.sdk.loadgen;
+
+import dev.mpesa.sdk.dto.request.AccountBalanceRequest;
+import dev.mpesa.sdk.dto.request.B2CPaymentRequest;
+import dev.mpesa.sdk.dto.request.StkPushRequest;
+import dev.mpesa.sdk.dto.request.TransactionStatusRequest;
+
+/**
+ * The values the {@link LoadGenerator} builds requests from. The defaults are the Daraja sandbox's test short codes
+ * and phone number; the password and security credential are placeholders the simulator accepts but the sandbox
+ * does not.
+ * <p>
+ * Requests are built through the SDK's own builders on every call, so their validation and serialization are part
+ * of what is measured.
+ */
+public final class RequestTemplate {
+
+    private final String shortCode;
+    private final String password;
+    private final String phoneNumber;
+    private final String b2cShortCode;
+    private final String initiator;
+    private final String securityCredential;
+    private final String transactionId;
+    private final String amount;
+    private final String callbackUrl;
+
+    private RequestTemplate(Builder builder) {
+        this.shortCode = builder.shortCode;
+        this.password = builder.password;
+        this.phoneNumber = builder.phoneNumber;
+        this.b2cShortCode = builder.b2cShortCode;
+        this.initiator = builder.initiator;
+        this.securityCredential = builder.securityCredential;
+        this.transactionId = builder.transactionId;
+        this.amount = builder.amount;
+        this.callbackUrl = builder.callbackUrl;
+    }
+
+    StkPushRequest stkPushRequest() {
+        return new StkPushRequest.Builder()
+                .businessShortCode(shortCode)
+                .password(password)
+                .transactionType(StkPushRequest.TransactionType.CustomerPayBillOnline)
+                .amount(amount)
+                .partyA(phoneNumber)
+                .partyB(shortCode)
+                .phoneNumber(phoneNumber)
+                .callBackURL(callbackUrl)
+                .accountReference("LOADTEST")
+                .transactionDesc("Load test")
+                .build();
+    }
+
+    B2CPaymentRequest b2cPaymentRequest() {
+        return new B2CPaymentRequest.Builder()
+                .initiatorName(initiator)
+                .securityCredential(securityCredential)
+                .commandID("BusinessPayment")
+                .amount(amount)
+                .partyA(b2cShortCode)
+                .partyB(phoneNumber)
+                .remarks("Load test")
+                .queueTimeOutURL(callbackUrl)
+                .resultURL(callbackUrl)
+                .occassion("Load test")
+                .build();
+    }
+
+    TransactionStatusRequest transactionStatusRequest() {
+        return new TransactionStatusRequest.Builder()
+                .initiator(initiator)
+                .securityCredential(securityCredential)
+                .transactionID(transactionId)
+                .partyA(b2cShortCode)
+                .identifierType("4")
+                .resultURL(callbackUrl)
+                .queueTimeOutURL(callbackUrl)
+                .remarks("Load test")
+                .build();
+    }
+
+    AccountBalanceRequest accountBalanceRequest() {
+        return new AccountBalanceRequest.Builder()
+                .initiator(initiator)
+                .securityCredential(securityCredential)
+                .partyA(b2cShortCode)
+                .identifierType("4")
+                .remarks("Load test")
+                .queueTimeoutURL(callbackUrl)
+                .resultURL(callbackUrl)
+                .build();
+    }
+
+    public static class Builder {
+        private String shortCode = "174379";
+        private String password =
+                "MTc0Mzc5YmZiMjc5ZjlhYTliZGJjZjE1OGU5N2RkNzFhNDY3Y2QyZTBjODkzMDU5YjEwZjc4ZTZiNzJhZGExZWQyYzkxOTIwMTYwMjE2MTY1NjI3";
+        private String phoneNumber = "254708374149";
+        private String b2cShortCode = "600000";
+        private String initiator = "testapi";
+        private String securityCredential = "bG9hZC10ZXN0LXNlY3VyaXR5LWNyZWRlbnRpYWw=";
+        private String transactionId = "OEI2AK4Q16";
+        private String amount = "1";
+        private String callbackUrl = "http://localhost:9/mpesa/callback";
+
+        /** Short code STK pushes are paid to. */
+        public Builder shortCode(String shortCode) {
+            this.shortCode = shortCode;
+            return this;
+        }
+
+        /** STK push password, base64 of the short code, passkey and a timestamp. */
+        public Builder password(String password) {
+            this.password = password;
+            return this;
+        }
+
+        /** Customer phone number STK pushes are sent to and B2C payments are paid to. */
+        public Builder phoneNumber(String phoneNumber) {
+            this.phoneNumber = phoneNumber;
+            return this;
+        }
+
+        /** Short code B2C payments, status and balance queries are made from. */
+        public Builder b2cShortCode(String b2cShortCode) {
+            this.b2cShortCode = b2cShortCode;
+            return this;
+        }
+
+        public Builder initiator(String initiator) {
+            this.initiator = initiator;
+            return this;
+        }
+
+        public Builder securityCredential(String securityCredential) {
+            this.securityCredential = securityCredential;
+            return this;
+        }
+
+        /** Transaction whose status is queried. */
+        public Builder transactionId(String transactionId) {
+            this.transactionId = transactionId;
+            return this;
+        }
+
+        public Builder amount(String amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        /**
+         * URL callbacks and results are sent to. The default is the discard port, so callbacks fail fast; the load
+         * generator never waits for them.
+         */
+        public Builder callbackUrl(String callbackUrl) {
+            this.callbackUrl = callbackUrl;
+            return this;
+        }
+
+        /**
+         * Builds the template, and one request of each kind so invalid values fail here rather than on every call.
+         *
+         * @throws IllegalArgumentException if a value is rejected by the SDK's validation
+         */
+        public RequestTemplate build() {
+            RequestTemplate template = new RequestTemplate(this);
+            template.stkPushRequest();
+            template.b2cPaymentRequest();
+            template.transactionStatusRequest();
+            template.accountBalanceRequest();
+            return template;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package dev.mpesa.sdk.loadgen;
+
+import dev.mpesa.sdk.MpesaSdk;
+import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.config.MpesaProperties;
+import dev.mpesa.sdk.metrics.HistogramMetricsRecorder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Builds an {@link MpesaSdk} from the {@code mpesa.*} properties of an application's {@code application.properties}.
+ * The keys are mapped by {@link MpesaProperties}, as in sdk-spring, so they mean the same in a load test.
+ */
+final class SdkProperties {
+
+    private final Properties properties;
+    private final MpesaProperties mpesaProperties;
+
+    SdkProperties(Properties properties) {
+        this.properties = properties;
+        this.mpesaProperties = MpesaProperties.of(properties);
+    }
+
+    static SdkProperties load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        }
+        return new SdkProperties(properties);
+    }
+
+    boolean warmUp() {
+        return mpesaProperties.isWarmUp();
+    }
+
+    boolean metrics() {
+        return mpesaProperties.isMetrics();
+    }
+
+    /**
+     * @param baseUrl a base URL replacing {@code mpesa.config.base-urls}, e.g. the simulator's, or null to keep it
+     */
+    MpesaConfig config(String baseUrl) {
+        MpesaConfig.Builder builder = mpesaProperties.configBuilder();
+        if (baseUrl != null) {
+            builder.baseUrls(List.of(baseUrl));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates the SDK the way the Spring configuration does, without its interceptor and tracer beans.
+     *
+     * @param baseUrl a base URL replacing {@code mpesa.config.base-urls}, or null to keep it
+     * @throws IllegalArgumentException if the consumer key or secret is missing, or a value cannot be parsed
+     */
+    MpesaSdk.Builder sdkBuilder(String baseUrl) {
+        String consumerKey = mpesaProperties.getConsumerKey();
+        String consumerSecret = mpesaProperties.getConsumerSecret();
+        if (consumerKey == null || consumerSecret == null) {
+            throw new IllegalArgumentException("mpesa.consumer-key and mpesa.consumer-secret are required");
+        }
+        MpesaSdk.Builder builder = new MpesaSdk.Builder()
+                .consumerKey(consumerKey)
+                .consumerSecret(consumerSecret)
+                .config(config(baseUrl));
+        if (metrics()) {
+            builder.metrics(new HistogramMetricsRecorder());
+        }
+        return builder;
+    }
+
+    void setIfAbsent(String key, String value) {
+        String current = properties.getProperty(key);
+        if (current == null || current.trim().isEmpty()) {
+            properties.setProperty(key, value);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package dev.mpesa.sdk.loadgen;
+
+import dev.mpesa.sdk.config.MpesaConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeneratorMainTest {
+
+    @Test
+    void parse_SplitsOptionsAndFlags() {
+        Map<String, String> options = LoadGeneratorMain.parse(new String[]{"--rate=100", "--simulator",
+                "--mix=stk-push=1,b2c=2"});
+
+        assertEquals("100", options.get("rate"));
+        assertEquals("", options.get("simulator"));
+        assertEquals("stk-push=1,b2c=2", options.get("mix"));
+        assertThrows(IllegalArgumentException.class, () -> LoadGeneratorMain.parse(new String[]{"rate=100"}));
+    }
+
+    @Test
+    void configure_RejectsUnknownOptionsAndInvalidRequestValues() {
+        assertThrows(IllegalArgumentException.class, () -> LoadGeneratorMain.configure(Map.of("bogus", "1")));
+        assertThrows(IllegalArgumentException.class, () -> LoadGeneratorMain.configure(Map.of("phone-number", "123")));
+        assertThrows(IllegalArgumentException.class, () -> LoadGeneratorMain.configure(Map.of("mode", "sideways")));
+        assertDoesNotThrow(() -> LoadGeneratorMain.configure(Map.of("mode", "closed", "concurrency", "8",
+                "duration", "1.5", "json", "out.json", "base-url", "http://localhost:8090")));
+    }
+
+    @Test
+    void sdkProperties_UseTheSpringStarterKeys() {
+        Properties properties = new Properties();
+        properties.setProperty("mpesa.consumer-key", "key");
+        properties.setProperty("mpesa.consumer-secret", "secret");
+        properties.setProperty("mpesa.config.environment", "production");
+        properties.setProperty("mpesa.config.transport", "JDK");
+        properties.setProperty("mpesa.config.max-retries", "5");
+        properties.setProperty("mpesa.config.base-urls", "https://a.example, https://b.example");
+        properties.setProperty("mpesa.config.warm-up", "false");
+        SdkProperties sdkProperties = new SdkProperties(properties);
+
+        MpesaConfig config = sdkProperties.config(null);
+        assertEquals(MpesaConfig.Environment.PRODUCTION, config.getEnvironment());
+        assertEquals(MpesaConfig.Transport.JDK, config.getTransport());
+        assertEquals(5, config.getMaxRetries());
+        assertEquals(List.of("https://a.example", "https://b.example"), config.getBaseUrls());
+        assertFalse(sdkProperties.warmUp());
+        assertEquals(List.of("http://localhost:8090"), sdkProperties.config("http://localhost:8090").getBaseUrls());
+    }
+
+    @Test
+    void sdkProperties_RequireCredentialsAndValidValues() {
+        Properties properties = new Properties();
+        assertThrows(IllegalArgumentException.class, () -> new SdkProperties(properties).sdkBuilder(null));
+
+        properties.setProperty("mpesa.config.read-timeout", "soon");
+        assertThrows(IllegalArgumentException.class, () -> new SdkProperties(properties).config(null));
+    }
+
+    @Test
+    void operationMix_PicksOperationsByWeight() {
+        OperationMix mix = OperationMix.parse("stk-push=3, balance=1, b2c=0");
+        assertEquals("stk-push=3,balance=1", mix.toString());
+
+        Random random = new Random(1);
+        int stkPushes = 0;
+        for (int i = 0; i < 10_000; i++) {
+            Operation operation = mix.next(random);
+            assertNotEquals(Operation.B2C_PAYMENT, operation);
+            if (operation == Operation.STK_PUSH) {
+                stkPushes++;
+            }
+        }
+        assertEquals(7500, stkPushes, 250);
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("b2c=0"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("refund=1"));
+    }
+}
@@ -0,0 +1,148 @@
+package dev.mpesa.sdk.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.mpesa.sdk.MpesaSdk;
+import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.simulator.LatencyDistribution;
+import dev.mpesa.sdk.simulator.MpesaSimulator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeneratorTest {
+
+    private MpesaSimulator simulator;
+    private MpesaSdk sdk;
+
+    @AfterEach
+    void tearDown() {
+        if (sdk != null) {
+            sdk.close();
+        }
+        if (simulator != null) {
+            simulator.close();
+        }
+    }
+
+    private MpesaSdk start(MpesaSimulator.Builder builder) throws IOException {
+        simulator = builder.host("localhost").port(0).build();
+        simulator.start();
+        sdk = new MpesaSdk("key", "secret", new MpesaConfig.Builder()
+                .baseUrls(List.of(simulator.getBaseUrl()))
+                .maxRetries(0)
+                .build());
+        // Fetches the token up front, so the simulator's request count is one plus the calls issued.
+        sdk.testAuth();
+        return sdk;
+    }
+
+    @Test
+    void closedLoop_IssuesEveryOperationInTheMix() throws Exception {
+        LoadReport report = new LoadGenerator.Builder()
+                .sdk(start(new MpesaSimulator.Builder()))
+                .mix(OperationMix.parse("stk-push,b2c,status,balance"))
+                .mode(LoadGenerator.Mode.CLOSED)
+                .concurrency(4)
+                .duration(Duration.ofMillis(500))
+                .build()
+                .run();
+
+        assertTrue(report.getTotal().getCalls() > 0);
+        assertEquals(0, report.getTotal().getErrors());
+        assertEquals(0, report.getUnfinished());
+        assertEquals(4, report.getOperations().size());
+        long calls = 0;
+        for (LoadReport.Result result : report.getOperations().values()) {
+            assertTrue(result.getCalls() > 0);
+            calls += result.getCalls();
+        }
+        assertEquals(report.getTotal().getCalls(), calls);
+        assertEquals(calls, simulator.getRequestCount() - 1, "every call but the token request is measured");
+    }
+
+    @Test
+    void openLoop_IssuesCallsAtTheTargetRateAfterTheWarmUp() throws Exception {
+        LoadReport report = new LoadGenerator.Builder()
+                .sdk(start(new MpesaSimulator.Builder()))
+                .rate(200)
+                .duration(Duration.ofSeconds(1))
+                .warmUp(Duration.ofMillis(250))
+                .build()
+                .run();
+
+        assertEquals(200, report.getTotal().getCalls());
+        assertEquals(200, report.getThroughput(), 0.001);
+        assertEquals(250, simulator.getRequestCount() - 1, "warm-up calls are issued but not measured");
+    }
+
+    @Test
+    void openLoop_ChargesQueueingToResponseTime() throws Exception {
+        // One thread taking 40 ms per call cannot keep up with a call every 20 ms, so calls queue behind each other.
+        LoadReport report = new LoadGenerator.Builder()
+                .sdk(start(new MpesaSimulator.Builder().latency(LatencyDistribution.fixed(40))))
+                .mix(OperationMix.parse("balance"))
+                .rate(50)
+                .concurrency(1)
+                .duration(Duration.ofMillis(500))
+                .build()
+                .run();
+
+        LoadReport.Result result = report.getTotal();
+        assertEquals(25, result.getCalls());
+        assertTrue(result.getServiceTime().getValueAtPercentile(99) < 200_000, result.getServiceTime().toString());
+        assertTrue(result.getResponseTime().getValueAtPercentile(99) > 400_000, result.getResponseTime().toString());
+    }
+
+    @Test
+    void errors_AreBrokenDownByKind() throws Exception {
+        LoadReport report = new LoadGenerator.Builder()
+                .sdk(start(new MpesaSimulator.Builder().errorRate(1)))
+                .mix(OperationMix.parse("stk-push"))
+                .rate(100)
+                .duration(Duration.ofMillis(200))
+                .build()
+                .run();
+
+        LoadReport.Result result = report.getOperations().get(Operation.STK_PUSH);
+        assertEquals(20, result.getCalls());
+        assertEquals(20, result.getErrors());
+        assertEquals(1, result.getErrorBreakdown().size(), result.getErrorBreakdown().toString());
+        assertTrue(report.toText().contains("Errors"));
+    }
+
+    @Test
+    void toJson_ContainsPercentilesPerOperation() throws Exception {
+        LoadReport report = new LoadGenerator.Builder()
+                .sdk(start(new MpesaSimulator.Builder()))
+                .mix(OperationMix.parse("stk-push=3,b2c=1"))
+                .rate(100)
+                .duration(Duration.ofMillis(200))
+                .build()
+                .run();
+
+        JsonNode json = new ObjectMapper().readTree(report.toJson());
+        assertEquals("open", json.get("mode").asText());
+        assertEquals(20, json.get("total").get("calls").asLong());
+        JsonNode stkPush = json.get("operations").get("stk-push");
+        assertTrue(stkPush.get("responseTimeMillis").has("p99.9"));
+        assertTrue(stkPush.get("serviceTimeMillis").get("max").asDouble() > 0);
+        assertFalse(json.get("operations").has("status"));
+    }
+
+    @Test
+    void build_RequiresARateInOpenLoopMode() {
+        MpesaSdk sdk = new MpesaSdk("key", "secret");
+        try {
+            assertThrows(IllegalArgumentException.class, () -> new LoadGenerator.Builder().sdk(sdk).build());
+            assertDoesNotThrow(() -> new LoadGenerator.Builder().sdk(sdk).mode(LoadGenerator.Mode.CLOSED).build());
+        } finally {
+            sdk.close();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package dev.mpesa.sdk.receiver;
+
+/**
+ * Application code that processes a decoded callback.
+ * <p>
+ * Handlers run on the receiver's dispatcher threads after M-Pesa has already been acknowledged, so they may
+ * block on I/O (database writes, downstream calls). Exceptions are logged and counted; the callback is not
+ * redelivered.
+ *
+ * @param <T> the callback DTO type
+ */
+@FunctionalInterface
+public interface CallbackHandler<T> {
+    void handle(T callback) throws Exception;
+}
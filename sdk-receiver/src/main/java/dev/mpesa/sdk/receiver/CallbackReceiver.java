@@ -0,0 +1,482 @@
+package dev.mpesa.sdk.receiver;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.mpesa.sdk.callback.CallbackDeduplicator;
+import dev.mpesa.sdk.callback.CallbackEnvelope;
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.callback.StkPushCallbackResponse;
+import dev.mpesa.sdk.dto.callback.ValidationConfirmationRequest;
+import dev.mpesa.sdk.dto.callback.ValidationConfirmationResponse;
+import dev.mpesa.sdk.jfr.CallbackIngestEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Embedded HTTP endpoint for M-Pesa callbacks, built on the JDK's {@code com.sun.net.httpserver} server.
+ * <p>
+ * Each configured path is bound to a {@link CallbackType}. A request is read and scanned into a
+ * {@link CallbackEnvelope}, which checks it is well-formed and extracts its IDs without building the DTO. It is
+ * then acknowledged straight away and placed on a bounded in-memory queue. Dispatcher threads drain the queue,
+ * decode each callback with a shared {@link ObjectReader} and invoke the registered {@link CallbackHandler}s, so
+ * neither full parsing nor slow application code holds up the response to M-Pesa. When the queue is full the
+ * receiver answers {@code 503} instead of blocking, which lets M-Pesa's own retry schedule absorb the overload.
+ * With a {@link CallbackDeduplicator} configured, redelivered STK Push, result and confirmation callbacks are
+ * dropped before they reach a handler.
+ * <p>
+ * C2B validation requests are answered with the validator's decision. A validator that throws or returns
+ * {@code null} gets the payment rejected, and the request is counted as failed.
+ * <p>
+ * Every callback on a configured path is reported to Flight Recorder as a {@link CallbackIngestEvent}.
+ * <p>
+ * Connections are served on virtual threads when the runtime supports them (Java 21+), otherwise on a fixed
+ * pool of platform threads.
+ */
+public class CallbackReceiver implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(CallbackReceiver.class);
+
+    private static final byte[] ACCEPTED = "{\"ResultCode\":0,\"ResultDesc\":\"Accepted\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] C2B_ACCEPTED = "{\"ResultCode\":\"0\",\"ResultDesc\":\"Accepted\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BUSY = "{\"ResultCode\":1,\"ResultDesc\":\"Busy, retry later\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MALFORMED = "{\"ResultCode\":1,\"ResultDesc\":\"Malformed callback\"}".getBytes(StandardCharsets.UTF_8);
+    /** Daraja's "other error" rejection, sent when the validator gives no usable decision. */
+    private static final byte[] C2B_REJECTED = "{\"ResultCode\":\"C2B00016\",\"ResultDesc\":\"Rejected\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<String, CallbackType> routes;
+    private final Map<CallbackType, ObjectReader> readers = new EnumMap<>(CallbackType.class);
+    private final Map<CallbackType, CallbackHandler<Object>> handlers;
+    private final Function<ValidationConfirmationRequest, ValidationConfirmationResponse> validator;
+    private final CallbackDeduplicator deduplicator;
+    private final ObjectWriter validationWriter;
+    private final BlockingQueue<CallbackEvent> queue;
+    private final HttpServer server;
+    private final ExecutorService ioExecutor;
+    private final Thread[] dispatchers;
+    private final long shutdownTimeoutMillis;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder malformed = new LongAdder();
+    private final LongAdder handled = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+
+    private CallbackReceiver(Builder builder) throws IOException {
+        ObjectMapper objectMapper = builder.objectMapper != null ? builder.objectMapper : new ObjectMapper();
+        for (CallbackType type : CallbackType.values()) {
+            readers.put(type, objectMapper.readerFor(type.payloadType()));
+        }
+        this.validationWriter = objectMapper.writerFor(ValidationConfirmationResponse.class);
+        this.routes = new HashMap<>(builder.routes);
+        this.handlers = new EnumMap<>(builder.handlers);
+        this.validator = builder.validator;
+        this.deduplicator = builder.deduplicator;
+        this.queue = new ArrayBlockingQueue<>(builder.queueCapacity);
+        this.shutdownTimeoutMillis = builder.shutdownTimeoutMillis;
+
+        this.server = HttpServer.create(new InetSocketAddress(builder.host, builder.port), builder.backlog);
+        this.ioExecutor = newIoExecutor(builder.ioThreads);
+        this.server.setExecutor(ioExecutor);
+        this.server.createContext("/", this::serve);
+
+        this.dispatchers = new Thread[builder.dispatcherThreads];
+        AtomicInteger counter = new AtomicInteger();
+        for (int i = 0; i < dispatchers.length; i++) {
+            Thread thread = new Thread(this::dispatchLoop, "mpesa-callback-dispatcher-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            dispatchers[i] = thread;
+        }
+    }
+
+    /**
+     * Starts accepting callbacks.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (Thread dispatcher : dispatchers) {
+            dispatcher.start();
+        }
+        server.start();
+        logger.info("M-Pesa callback receiver listening on port {} for paths {}", getPort(), routes.keySet());
+    }
+
+    /**
+     * Stops accepting callbacks, lets dispatchers drain what is already queued (up to the shutdown timeout)
+     * and releases the server threads.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        server.stop(0);
+        running = false;
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMillis;
+        for (Thread dispatcher : dispatchers) {
+            try {
+                dispatcher.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        for (Thread dispatcher : dispatchers) {
+            dispatcher.interrupt();
+        }
+        ioExecutor.shutdownNow();
+        logger.info("M-Pesa callback receiver stopped. {} callbacks left unprocessed.", queue.size());
+    }
+
+    /** @return The port the receiver is bound to. */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** @return Number of callbacks accepted and queued; callbacks of a type with no handler are not counted. */
+    public long getReceivedCount() { return received.sum(); }
+
+    /** @return Number of callbacks answered with {@code 503} because the queue was full. */
+    public long getRejectedCount() { return rejected.sum(); }
+
+    /** @return Number of requests rejected because their body was not well-formed JSON. */
+    public long getMalformedCount() { return malformed.sum(); }
+
+    /** @return Number of callbacks processed successfully by a handler. */
+    public long getHandledCount() { return handled.sum(); }
+
+    /** @return Number of callbacks dropped as redeliveries. */
+    public long getDuplicateCount() { return duplicates.sum(); }
+
+    /**
+     * @return Number of callbacks that could not be bound to their DTO or whose handler threw an exception, and of
+     * validation requests the validator threw on or gave no decision for.
+     */
+    public long getFailedCount() { return failed.sum(); }
+
+    /** @return Number of callbacks waiting for a dispatcher. */
+    public int getQueueSize() { return queue.size(); }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            CallbackType type = routes.get(path);
+            if (type == null) {
+                discardBody(exchange);
+                respond(exchange, 404, null);
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                discardBody(exchange);
+                respond(exchange, 405, null);
+                return;
+            }
+
+            CallbackIngestEvent event = new CallbackIngestEvent();
+            event.begin();
+            byte[] bytes;
+            CallbackEnvelope envelope;
+            byte[] ack;
+            try (InputStream body = exchange.getRequestBody()) {
+                bytes = body.readAllBytes();
+                envelope = CallbackEnvelope.parse(bytes);
+                ack = acknowledgement(type, envelope);
+            } catch (IOException e) {
+                malformed.increment();
+                logger.warn("Malformed {} callback on {}: {}", type, path, e.getMessage());
+                respond(exchange, 400, MALFORMED);
+                event.complete(type.name(), path, 400, 0, null);
+                return;
+            }
+
+            if (handlers.containsKey(type)) {
+                if (!queue.offer(new CallbackEvent(type, envelope))) {
+                    rejected.increment();
+                    logger.warn("Callback queue full, rejecting {} callback", type);
+                    respond(exchange, 503, BUSY);
+                    event.complete(type.name(), path, 503, bytes.length, envelope.correlationId());
+                    return;
+                }
+                received.increment();
+            }
+            respond(exchange, 200, ack);
+            event.complete(type.name(), path, 200, bytes.length, envelope.correlationId());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private byte[] acknowledgement(CallbackType type, CallbackEnvelope envelope) throws IOException {
+        switch (type) {
+            case VALIDATION:
+                if (validator != null) {
+                    // The validator's answer is the response, so validation requests are decoded on ingest.
+                    ValidationConfirmationRequest request = envelope.decode(readers.get(type));
+                    ValidationConfirmationResponse decision;
+                    try {
+                        decision = validator.apply(request);
+                    } catch (RuntimeException e) {
+                        failed.increment();
+                        logger.error("C2B validator failed for {}, rejecting the payment", envelope.correlationId(), e);
+                        return C2B_REJECTED;
+                    }
+                    if (decision == null) {
+                        failed.increment();
+                        logger.error("C2B validator returned no decision for {}, rejecting the payment",
+                                envelope.correlationId());
+                        return C2B_REJECTED;
+                    }
+                    return validationWriter.writeValueAsBytes(decision);
+                }
+                return C2B_ACCEPTED;
+            case CONFIRMATION:
+                return C2B_ACCEPTED;
+            default:
+                return ACCEPTED;
+        }
+    }
+
+    private static void discardBody(HttpExchange exchange) throws IOException {
+        // An unread body makes the server drop the connection, which breaks clients that reuse it.
+        try (InputStream body = exchange.getRequestBody()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running || !queue.isEmpty()) {
+            CallbackEvent event;
+            try {
+                event = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (event != null) {
+                dispatch(event);
+            }
+        }
+    }
+
+    private void dispatch(CallbackEvent event) {
+        // Deduplicating here rather than on ingest means a callback rejected with 503 is not remembered,
+        // so M-Pesa's retry of it still gets through.
+        // Validation requests must be answered every time and are not deduplicated.
+        if (deduplicator != null && event.type != CallbackType.VALIDATION && !deduplicator.firstSeen(event.envelope)) {
+            duplicates.increment();
+            logger.debug("Dropping duplicate {} callback {}", event.type, event.envelope.correlationId());
+            return;
+        }
+        CallbackHandler<Object> handler = handlers.get(event.type);
+        Object payload;
+        try {
+            payload = event.envelope.decode(readers.get(event.type));
+        } catch (IOException e) {
+            failed.increment();
+            logger.error("Could not decode {} callback {}: {}", event.type, event.envelope.correlationId(), e.getMessage());
+            return;
+        }
+        try {
+            handler.handle(payload);
+            handled.increment();
+        } catch (Exception e) {
+            failed.increment();
+            logger.error("Callback handler for {} failed", event.type, e);
+        }
+    }
+
+    private static ExecutorService newIoExecutor(int threads) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            logger.debug("Virtual threads unavailable, serving callbacks on {} platform threads", threads);
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "mpesa-callback-io-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * A scanned callback waiting to be dispatched.
+     */
+    static final class CallbackEvent {
+        final CallbackType type;
+        final CallbackEnvelope envelope;
+
+        CallbackEvent(CallbackType type, CallbackEnvelope envelope) {
+            this.type = type;
+            this.envelope = envelope;
+        }
+    }
+
+    /**
+     * Builder class for {@link CallbackReceiver}.
+     */
+    public static class Builder {
+        private String host = "0.0.0.0";
+        private int port = 8080;
+        private int backlog = 1024;
+        private int queueCapacity = 65_536;
+        private int ioThreads = Runtime.getRuntime().availableProcessors() * 2;
+        private int dispatcherThreads = Runtime.getRuntime().availableProcessors();
+        private long shutdownTimeoutMillis = 5000;
+        private ObjectMapper objectMapper;
+        private Function<ValidationConfirmationRequest, ValidationConfirmationResponse> validator;
+        private CallbackDeduplicator deduplicator;
+        private final Map<String, CallbackType> routes = new HashMap<>();
+        private final Map<CallbackType, CallbackHandler<Object>> handlers = new EnumMap<>(CallbackType.class);
+
+        public Builder host(String host) {
+            this.host = host;
+            return this;
+        }
+
+        /** Port to listen on; {@code 0} picks a free port. */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder backlog(int backlog) {
+            this.backlog = backlog;
+            return this;
+        }
+
+        /** Maximum number of callbacks held for dispatch before new ones are rejected with {@code 503}. */
+        public Builder queueCapacity(int queueCapacity) {
+            requirePositive(queueCapacity, "queueCapacity");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /** Size of the connection thread pool when virtual threads are unavailable. */
+        public Builder ioThreads(int ioThreads) {
+            requirePositive(ioThreads, "ioThreads");
+            this.ioThreads = ioThreads;
+            return this;
+        }
+
+        /** Number of threads invoking handlers. */
+        public Builder dispatcherThreads(int dispatcherThreads) {
+            requirePositive(dispatcherThreads, "dispatcherThreads");
+            this.dispatcherThreads = dispatcherThreads;
+            return this;
+        }
+
+        public Builder shutdownTimeoutMillis(long shutdownTimeoutMillis) {
+            this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+            return this;
+        }
+
+        public Builder objectMapper(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+            return this;
+        }
+
+        /** Binds a path to a callback type, e.g. {@code route("/mpesa/result", CallbackType.SERVICE_RESULT)}. */
+        public Builder route(String path, CallbackType type) {
+            this.routes.put(path, type);
+            return this;
+        }
+
+        public Builder onStkPush(CallbackHandler<StkPushCallbackResponse> handler) {
+            return handler(CallbackType.STK_PUSH, handler);
+        }
+
+        public Builder onServiceResult(CallbackHandler<ServiceResultResponse> handler) {
+            return handler(CallbackType.SERVICE_RESULT, handler);
+        }
+
+        public Builder onValidation(CallbackHandler<ValidationConfirmationRequest> handler) {
+            return handler(CallbackType.VALIDATION, handler);
+        }
+
+        public Builder onConfirmation(CallbackHandler<ValidationConfirmationRequest> handler) {
+            return handler(CallbackType.CONFIRMATION, handler);
+        }
+
+        /**
+         * Decides C2B validation requests synchronously. Without a validator every validation is accepted.
+         */
+        public Builder validator(Function<ValidationConfirmationRequest, ValidationConfirmationResponse> validator) {
+            this.validator = validator;
+            return this;
+        }
+
+        /**
+         * Drops redelivered callbacks before they reach a handler. May be shared between receivers.
+         */
+        public Builder deduplicator(CallbackDeduplicator deduplicator) {
+            this.deduplicator = deduplicator;
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Builder handler(CallbackType type, CallbackHandler<?> handler) {
+            if (handler == null) {
+                throw new IllegalArgumentException("Handler for " + type + " must not be null.");
+            }
+            this.handlers.put(type, (CallbackHandler<Object>) handler);
+            return this;
+        }
+
+        private static void requirePositive(long value, String fieldName) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(fieldName + " must be greater than 0.");
+            }
+        }
+
+        /**
+         * Builds the receiver and binds its server socket. Call {@link CallbackReceiver#start()} to begin serving.
+         *
+         * @return The configured {@link CallbackReceiver}.
+         * @throws IOException if the server socket cannot be bound.
+         */
+        public CallbackReceiver build() throws IOException {
+            if (routes.isEmpty()) {
+                throw new IllegalArgumentException("At least one callback route must be configured.");
+            }
+            return new CallbackReceiver(this);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package dev.mpesa.sdk.receiver;
+
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.callback.StkPushCallbackResponse;
+import dev.mpesa.sdk.dto.callback.ValidationConfirmationRequest;
+
+/**
+ * The kinds of callbacks M-Pesa delivers, along with the DTO each one is decoded into.
+ */
+public enum CallbackType {
+    /** STK Push outcome posted to the request's {@code CallBackURL}. */
+    STK_PUSH(StkPushCallbackResponse.class),
+    /** Asynchronous result posted to a {@code ResultURL} or {@code QueueTimeOutURL}. */
+    SERVICE_RESULT(ServiceResultResponse.class),
+    /** C2B validation request posted to the registered {@code ValidationURL}. */
+    VALIDATION(ValidationConfirmationRequest.class),
+    /** C2B confirmation posted to the registered {@code ConfirmationURL}. */
+    CONFIRMATION(ValidationConfirmationRequest.class);
+
+    private final Class<?> payloadType;
+
+    CallbackType(Class<?> payloadType) {
+        this.payloadType = payloadType;
+    }
+
+    /** @return The DTO class callbacks of this type are decoded into. */
+    public Class<?> payloadType() {
+        return payloadType;
+    }
+}
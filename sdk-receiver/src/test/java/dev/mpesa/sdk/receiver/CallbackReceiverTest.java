@@ -0,0 +1,244 @@
+package dev.mpesa.sdk.receiver;
+
+import dev.mpesa.sdk.callback.CallbackDeduplicator;
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.callback.StkPushCallbackResponse;
+import dev.mpesa.sdk.dto.callback.ValidationConfirmationResponse;
+import dev.mpesa.sdk.jfr.CallbackIngestEvent;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallbackReceiverTest {
+
+    private static final String STK_CALLBACK = "{\"Body\":{\"stkCallback\":{\"MerchantRequestID\":\"m-1\","
+            + "\"CheckoutRequestID\":\"ws_CO_1\",\"ResultCode\":0,\"ResultDesc\":\"Success\"}}}";
+    private static final String RESULT_CALLBACK = "{\"Result\":{\"ResultType\":0,\"ResultCode\":0,"
+            + "\"ConversationID\":\"AG_1\",\"OriginatorConversationID\":\"orig-1\",\"TransactionID\":\"T1\"}}";
+    private static final String C2B_CALLBACK = "{\"TransactionType\":\"Pay Bill\",\"TransID\":\"RKTQDM7W6S\","
+            + "\"TransAmount\":\"10\",\"BusinessShortCode\":\"600638\",\"MSISDN\":\"251700000000\"}";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private CallbackReceiver receiver;
+
+    @AfterEach
+    void tearDown() {
+        if (receiver != null) {
+            receiver.close();
+        }
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + receiver.getPort() + path))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void stkCallback_IsAcknowledgedAndDispatched() throws Exception {
+        BlockingQueue<StkPushCallbackResponse> delivered = new LinkedBlockingQueue<>();
+        receiver = new CallbackReceiver.Builder()
+                .port(0)
+                .route("/stk", CallbackType.STK_PUSH)
+                .onStkPush(delivered::add)
+                .build();
+        receiver.start();
+
+        HttpResponse<String> response = post("/stk", STK_CALLBACK);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"ResultCode\":0"));
+        StkPushCallbackResponse callback = delivered.poll(2, TimeUnit.SECONDS);
+        assertNotNull(callback);
+        assertEquals("ws_CO_1", callback.body.stkCallback.checkoutRequestID);
+        assertEquals(1, receiver.getReceivedCount());
+    }
+
+    @Test
+    void callbacks_AreReportedToFlightRecorder() throws Exception {
+        receiver = new CallbackReceiver.Builder()
+                .port(0)
+                .route("/stk", CallbackType.STK_PUSH)
+                .onStkPush(callback -> { })
+                .build();
+        receiver.start();
+        Path file = Files.createTempFile("callbacks", ".jfr");
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(CallbackIngestEvent.class);
+            recording.start();
+            post("/stk", STK_CALLBACK);
+            post("/stk", "not json");
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("dev.mpesa.sdk.CallbackIngest"))
+                    .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        assertEquals(2, events.size());
+        assertEquals("STK_PUSH", events.get(0).getString("callbackType"));
+        assertEquals("/stk", events.get(0).getString("path"));
+        assertEquals(200, events.get(0).getInt("statusCode"));
+        assertEquals("ws_CO_1", events.get(0).getString("correlationId"));
+        assertEquals(STK_CALLBACK.length(), events.get(0).getLong("bytesReceived"));
+        assertEquals(400, events.get(1).getInt("statusCode"));
+    }
+
+    @Test
+    void serviceResult_IsDispatchedToHandler() throws Exception {
+        BlockingQueue<ServiceResultResponse> delivered = new LinkedBlockingQueue<>();
+        receiver = new CallbackReceiver.Builder()
+                .port(0)
+                .route("/result", CallbackType.SERVICE_RESULT)
+                .route("/timeout", CallbackType.SERVICE_RESULT)
+                .onServiceResult(delivered::add)
+                .build();
+        receiver.start();
+
+        assertEquals(200, post("/timeout", RESULT_CALLBACK).statusCode());
+
+        ServiceResultResponse result = delivered.poll(2, TimeUnit.SECONDS);
+        assertNotNull(result);
+        assertEquals("AG_1", result.result.conversationID);
+    }
+
+    @Test
+    void redeliveredCallback_IsAcknowledgedButNotDispatchedTwice() throws Exception {
+        BlockingQueue<ServiceResultResponse> delivered = new LinkedBlockingQueue<>();
+        receiver = new CallbackReceiver.Builder()
+                .port(0)
+                .dispatcherThreads(1)
+                .route("/result", CallbackType.SERVICE_RESULT)
+                .onServiceResult(delivered::add)
+                .deduplicator(new CallbackDeduplicator())
+                .build();
+        receiver.start();
+
+        assertEquals(200, post("/result", RESULT_CALLBACK).statusCode());
+        assertEquals(200, post("/result", RESULT_CALLBACK).statusCode());
+
+        assertNotNull(delivered.poll(2, TimeUnit.SECONDS));
+        assertNull(delivered.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, receiver.getDuplicateCount());
+    }
+
+    @Test
+    void validation_UsesValidatorDecision() throws Exception {
+        receiver = new CallbackReceiver.Builder()
+                .port(0)
+                .route("/validate", CallbackType.VALIDATION)
+                .validator(request -> {
+                    ValidationConfirmationResponse decision = new ValidationConfirmationResponse();
+                    decision.resultCode = "C2B00012";
+                    decision.resultDesc = "Rejected";
+                    return decision;
+                })
+                .build();
+        receiver.start();
+
+        HttpResponse<String> response = post("/validate", C2B_CALLBACK);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("C2B00012"));
+        // Answered, but with no validation handler nothing was queued.
+        assertEquals(0, receiver.getReceivedCount());
+    }
+
+    @Test
+    void validation_IsRejectedWhenValidatorThrows() throws Exception {
+        receiver = new CallbackReceiver.Builder()
+                .port(0)
+                .route("/validate", CallbackType.VALIDATION)
+                .validator(request -> {
+                    throw new IllegalStateException("account lookup failed");
+                })
+                .build();
+        receiver.start();
+
+        HttpResponse<String> response = post("/validate", C2B_CALLBACK);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("C2B00016"), response.body());
+        assertEquals(1, receiver.getFailedCount());
+    }
+
+    @Test
+    void validation_IsRejectedWhenValidatorReturnsNull() throws Exception {
+        receiver = new CallbackReceiver.Builder()
+                .port(0)
+                .route("/validate", CallbackType.VALIDATION)
+                .validator(request -> null)
+                .build();
+        receiver.start();
+
+        HttpResponse<String> response = post("/validate", C2B_CALLBACK);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("C2B00016"), response.body());
+        assertFalse(response.body().contains("null"), response.body());
+        assertEquals(1, receiver.getFailedCount());
+    }
+
+    @Test
+    void unknownPathAndMalformedBody_AreRejected() throws Exception {
+        receiver = new CallbackReceiver.Builder()
+                .port(0)
+                .route("/stk", CallbackType.STK_PUSH)
+                .onStkPush(callback -> { })
+                .build();
+        receiver.start();
+
+        assertEquals(404, post("/other", STK_CALLBACK).statusCode());
+        assertEquals(400, post("/stk", "not json").statusCode());
+        assertEquals(1, receiver.getMalformedCount());
+        assertEquals(0, receiver.getReceivedCount());
+    }
+
+    @Test
+    void fullQueue_RespondsServiceUnavailable() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        receiver = new CallbackReceiver.Builder()
+                .port(0)
+                .queueCapacity(1)
+                .dispatcherThreads(1)
+                .route("/stk", CallbackType.STK_PUSH)
+                .onStkPush(callback -> {
+                    started.countDown();
+                    release.await();
+                })
+                .build();
+        receiver.start();
+
+        assertEquals(200, post("/stk", STK_CALLBACK).statusCode());
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        assertEquals(200, post("/stk", STK_CALLBACK).statusCode());
+        assertEquals(503, post("/stk", STK_CALLBACK).statusCode());
+        assertEquals(1, receiver.getRejectedCount());
+
+        release.countDown();
+    }
+}
@@ -0,0 +1,50 @@
+package dev.mpesa.sdk.simulator;
+
+import dev.mpesa.sdk.util.MpesaConstants;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The M-Pesa API endpoints served by the {@link MpesaSimulator}, at the default paths in {@link MpesaConstants}.
+ */
+public enum ApiEndpoint {
+    TOKEN(MpesaConstants.TOKEN_GENERATE),
+    STK_PUSH(MpesaConstants.STK_PUSH),
+    STK_PUSH_QUERY(MpesaConstants.STK_PUSH_QUERY),
+    B2C_PAYMENT(MpesaConstants.B2C_PAYMENT),
+    C2B_REGISTER(MpesaConstants.C2B_REGISTER),
+    C2B_PAYMENT(MpesaConstants.C2B_PAYMENT),
+    C2B_SIMULATE_PAYMENT(MpesaConstants.C2B_SIMULATE_PAYMENT),
+    TRANSACTION_STATUS(MpesaConstants.TRANSACTION_STATUS),
+    TRANSACTION_REVERSAL(MpesaConstants.TRANSACTION_REVERSAL),
+    ACCOUNT_BALANCE(MpesaConstants.ACCOUNT_BALANCE);
+
+    private static final Map<String, ApiEndpoint> BY_PATH = new HashMap<>();
+
+    static {
+        for (ApiEndpoint endpoint : values()) {
+            BY_PATH.put(endpoint.path, endpoint);
+        }
+    }
+
+    private final String path;
+
+    ApiEndpoint(String url) {
+        int query = url.indexOf('?');
+        this.path = query < 0 ? url : url.substring(0, query);
+    }
+
+    /** @return The endpoint's path, without the query string. */
+    public String path() {
+        return path;
+    }
+
+    /**
+     * @param path a request path
+     * @return The endpoint served at the path, or {@code null} if there is none.
+     */
+    public static ApiEndpoint forPath(String path) {
+        return BY_PATH.get(path);
+    }
+}
@@ -0,0 +1,66 @@
+package dev.mpesa.sdk.simulator;
+
+import java.util.Random;
+
+/**
+ * How long the simulator takes to answer a request or to send a callback. Samples are drawn from the random
+ * source passed in, so a distribution holds no state and can be shared across endpoints.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /** Answers immediately. */
+    LatencyDistribution NONE = random -> 0;
+
+    /**
+     * @param random the random source to draw from
+     * @return A delay in milliseconds, never negative.
+     */
+    long sampleMillis(Random random);
+
+    /**
+     * @param millis the delay in milliseconds
+     * @return A distribution always returning the same delay.
+     */
+    static LatencyDistribution fixed(long millis) {
+        requireNonNegative(millis, "millis");
+        return random -> millis;
+    }
+
+    /**
+     * @param minMillis the shortest delay, in milliseconds
+     * @param maxMillis the longest delay, in milliseconds
+     * @return A distribution spreading delays evenly between the two bounds, inclusive.
+     */
+    static LatencyDistribution uniform(long minMillis, long maxMillis) {
+        requireNonNegative(minMillis, "minMillis");
+        if (maxMillis < minMillis) {
+            throw new IllegalArgumentException("maxMillis must not be less than minMillis.");
+        }
+        return random -> minMillis + (long) (random.nextDouble() * (maxMillis - minMillis + 1));
+    }
+
+    /**
+     * A log-normal distribution, the usual shape of API latency: most requests are close to the median and a long
+     * tail is slower. It is defined by its median and 99th percentile, as read off a latency dashboard.
+     *
+     * @param medianMillis the median delay, in milliseconds
+     * @param p99Millis    the 99th percentile delay, in milliseconds
+     * @return The distribution.
+     */
+    static LatencyDistribution logNormal(double medianMillis, double p99Millis) {
+        if (medianMillis <= 0 || p99Millis < medianMillis) {
+            throw new IllegalArgumentException("medianMillis must be greater than 0 and not greater than p99Millis.");
+        }
+        double mu = Math.log(medianMillis);
+        // 2.326 is the 99th percentile of the standard normal distribution.
+        double sigma = (Math.log(p99Millis) - mu) / 2.3263478740408408;
+        return random -> Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+    }
+
+    private static void requireNonNegative(long value, String fieldName) {
+        if (value < 0) {
+            throw new IllegalArgumentException(fieldName + " must not be negative.");
+        }
+    }
+}
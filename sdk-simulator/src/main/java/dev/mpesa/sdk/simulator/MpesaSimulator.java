@@ -0,0 +1,665 @@
+package dev.mpesa.sdk.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.mpesa.sdk.util.MpesaConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A local stand-in for the M-Pesa API, for load and integration testing the SDK where the Safaricom sandbox cannot
+ * be used. It serves every endpoint in {@link MpesaConstants} at its default path, built on the JDK's
+ * {@code com.sun.net.httpserver} server, so an SDK configured with the simulator's {@link #getBaseUrl() base URL}
+ * runs unchanged.
+ * <p>
+ * Requests are answered the way M-Pesa answers them. The token endpoint issues bearer tokens, which the other
+ * endpoints require and reject with {@code 401} once they expire. Asynchronous APIs acknowledge the request, then
+ * POST their result to the request's {@code CallBackURL} or {@code ResultURL} after a configurable delay; a
+ * registered C2B short code gets its validation and confirmation callbacks when a payment is simulated. An STK
+ * push query answers "being processed" until the push's callback has been sent.
+ * <p>
+ * What makes it useful for capacity testing is configurable: the latency of each endpoint as a
+ * {@link LatencyDistribution}, a rate of injected {@code 500} errors, a per-second quota beyond which requests
+ * get {@code 429}, the token lifetime, the callback delay and how many results are failures. Response latency
+ * is simulated with a timer rather than a sleeping thread, so slow responses do not limit throughput.
+ * <p>
+ * Requests are checked for the fields the simulator needs, not validated like the real API. Field names are
+ * matched as documented, e.g. {@code CallBackURL}, or with a lower case first letter, as the SDK sends them.
+ */
+public class MpesaSimulator implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MpesaSimulator.class);
+
+    static {
+        // The server writes headers and body separately; with Nagle's algorithm the body then waits for the client's
+        // delayed ACK, adding about 40 ms to every response. Read once, so it only applies if set before any server.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String consumerKey;
+    private final String consumerSecret;
+    private final long tokenTtlMillis;
+    private final long advertisedTokenTtlSeconds;
+    private final LatencyDistribution defaultLatency;
+    private final Map<ApiEndpoint, LatencyDistribution> latencies;
+    private final double errorRate;
+    private final int rateLimit;
+    private final LatencyDistribution callbackDelay;
+    private final double resultFailureRate;
+    private final int maxTrackedCheckouts;
+    private final Duration callbackTimeout;
+
+    private final HttpServer server;
+    private final ExecutorService ioExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final HttpClient callbackClient;
+
+    private final ConcurrentHashMap<String, Long> tokens = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Checkout> checkouts = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> checkoutOrder = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<String, Registration> registrations = new ConcurrentHashMap<>();
+    private final AtomicLong quotaWindow = new AtomicLong();
+    private final AtomicInteger quotaUsed = new AtomicInteger();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder unauthorized = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final LongAdder callbacksSent = new LongAdder();
+    private final LongAdder callbacksFailed = new LongAdder();
+
+    private volatile boolean running;
+
+    private MpesaSimulator(Builder builder) throws IOException {
+        this.consumerKey = builder.consumerKey;
+        this.consumerSecret = builder.consumerSecret;
+        this.tokenTtlMillis = TimeUnit.SECONDS.toMillis(builder.tokenTtlSeconds);
+        this.advertisedTokenTtlSeconds = builder.advertisedTokenTtlSeconds != null
+                ? builder.advertisedTokenTtlSeconds : builder.tokenTtlSeconds;
+        this.defaultLatency = builder.latency;
+        this.latencies = new EnumMap<>(builder.latencies);
+        this.errorRate = builder.errorRate;
+        this.rateLimit = builder.rateLimit;
+        this.callbackDelay = builder.callbackDelay;
+        this.resultFailureRate = builder.resultFailureRate;
+        this.maxTrackedCheckouts = builder.maxTrackedCheckouts;
+        this.callbackTimeout = Duration.ofMillis(builder.callbackTimeoutMillis);
+
+        this.server = HttpServer.create(new InetSocketAddress(builder.host, builder.port), builder.backlog);
+        this.ioExecutor = newIoExecutor(builder.ioThreads);
+        this.server.setExecutor(ioExecutor);
+        this.server.createContext("/", this::serve);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mpesa-simulator-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.callbackClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(callbackTimeout)
+                .build();
+    }
+
+    /**
+     * Starts serving requests.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        server.start();
+        logger.info("M-Pesa simulator listening on {}", getBaseUrl());
+    }
+
+    /**
+     * Stops serving requests. Responses and callbacks still waiting for their delay are dropped.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        server.stop(0);
+        scheduler.shutdownNow();
+        ioExecutor.shutdownNow();
+        logger.info("M-Pesa simulator stopped after {} requests", requests.sum());
+    }
+
+    /** @return The port the simulator is bound to. */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** @return The base URL to configure the SDK with, e.g. {@code http://localhost:8090}. */
+    public String getBaseUrl() {
+        return "http://localhost:" + getPort();
+    }
+
+    /** @return Number of requests received on an API endpoint. */
+    public long getRequestCount() { return requests.sum(); }
+
+    /** @return Number of requests answered with {@code 401} for a missing, unknown or expired token. */
+    public long getUnauthorizedCount() { return unauthorized.sum(); }
+
+    /** @return Number of requests answered with {@code 429} because the quota was used up. */
+    public long getThrottledCount() { return throttled.sum(); }
+
+    /** @return Number of requests answered with an injected {@code 500}. */
+    public long getInjectedErrorCount() { return injectedErrors.sum(); }
+
+    /** @return Number of callbacks answered with a 2xx status. */
+    public long getCallbacksSent() { return callbacksSent.sum(); }
+
+    /** @return Number of callbacks that failed or were answered with another status. */
+    public long getCallbacksFailed() { return callbacksFailed.sum(); }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readAllBytes();
+        }
+        ApiEndpoint endpoint = ApiEndpoint.forPath(exchange.getRequestURI().getPath());
+        if (endpoint == null) {
+            send(exchange, new Reply(404, null, null));
+            return;
+        }
+        requests.increment();
+
+        Reply reply;
+        try {
+            reply = handle(endpoint, exchange, body);
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Rejecting {} request: {}", endpoint, e.getMessage());
+            reply = new Reply(400, Payloads.error("400.002.02", "Bad Request - Invalid request body"), null);
+        }
+        long delay = latencies.getOrDefault(endpoint, defaultLatency).sampleMillis(ThreadLocalRandom.current());
+        if (delay <= 0) {
+            send(exchange, reply);
+            return;
+        }
+        Reply delayed = reply;
+        scheduler.schedule(() -> ioExecutor.execute(() -> sendQuietly(exchange, delayed)), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private Reply handle(ApiEndpoint endpoint, HttpExchange exchange, byte[] body) throws IOException {
+        if (endpoint == ApiEndpoint.TOKEN) {
+            return issueToken(exchange);
+        }
+        if (!isAuthorized(exchange)) {
+            unauthorized.increment();
+            return new Reply(401, Payloads.error("404.001.03", "Invalid Access Token"), null);
+        }
+        if (!acquireQuota()) {
+            throttled.increment();
+            return new Reply(429, Payloads.error("429.001.01", "Too Many Requests"), null);
+        }
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            injectedErrors.increment();
+            return new Reply(500, Payloads.error("500.003.02", "System is busy. Please try again in few minutes."), null);
+        }
+
+        JsonNode request = objectMapper.readTree(body);
+        if (request == null || !request.isObject()) {
+            throw new IOException("Request body is not a JSON object");
+        }
+        switch (endpoint) {
+            case STK_PUSH:
+                return stkPush(request);
+            case STK_PUSH_QUERY:
+                return stkPushQuery(request);
+            case C2B_REGISTER:
+                return c2bRegister(request);
+            case C2B_SIMULATE_PAYMENT:
+                return c2bSimulatePayment(request);
+            case C2B_PAYMENT:
+                return new Reply(200, Payloads.c2bPayment(request), null);
+            default:
+                return serviceRequest(endpoint, request);
+        }
+    }
+
+    private Reply issueToken(HttpExchange exchange) {
+        if (consumerKey != null) {
+            String expected = "Basic " + Base64.getEncoder().encodeToString(
+                    (consumerKey + ":" + consumerSecret).getBytes(StandardCharsets.UTF_8));
+            if (!expected.equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                unauthorized.increment();
+                return new Reply(401, Payloads.error("401.002.01", "Error Occurred - Invalid Access Token - Invalid Credentials"), null);
+            }
+        }
+        long now = System.currentTimeMillis();
+        tokens.values().removeIf(expiresAt -> expiresAt <= now);
+        String token = UUID.randomUUID().toString().replace("-", "");
+        tokens.put(token, now + tokenTtlMillis);
+        return new Reply(200, Payloads.token(token, advertisedTokenTtlSeconds), null);
+    }
+
+    private boolean isAuthorized(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return false;
+        }
+        Long expiresAt = tokens.get(authorization.substring("Bearer ".length()));
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /** A fixed one-second window: cheap, and close enough to how the gateway counts for load testing. */
+    private boolean acquireQuota() {
+        if (rateLimit <= 0) {
+            return true;
+        }
+        long second = System.currentTimeMillis() / 1000;
+        long window = quotaWindow.get();
+        if (window != second && quotaWindow.compareAndSet(window, second)) {
+            quotaUsed.set(0);
+        }
+        return quotaUsed.incrementAndGet() <= rateLimit;
+    }
+
+    private Reply stkPush(JsonNode request) {
+        String callbackUrl = requireField(request, "CallBackURL");
+        String amount = Payloads.field(request, "Amount");
+        String phoneNumber = Payloads.field(request, "PhoneNumber");
+        String merchantRequestId = Payloads.merchantRequestId();
+        String checkoutRequestId = Payloads.checkoutRequestId();
+        Checkout checkout = new Checkout();
+        track(checkoutRequestId, checkout);
+
+        return new Reply(200, Payloads.stkPushAcknowledgement(merchantRequestId, checkoutRequestId), () ->
+                scheduleCallback(() -> {
+                    boolean failed = isFailure();
+                    checkout.result = Payloads.stkPushQueryResult(merchantRequestId, checkoutRequestId, failed);
+                    return deliver(callbackUrl,
+                            Payloads.stkPushCallback(merchantRequestId, checkoutRequestId, failed, amount, phoneNumber));
+                }));
+    }
+
+    private Reply stkPushQuery(JsonNode request) {
+        String checkoutRequestId = requireField(request, "CheckoutRequestID");
+        Checkout checkout = checkouts.get(checkoutRequestId);
+        if (checkout == null) {
+            return new Reply(400, Payloads.error("400.002.02", "Bad Request - Invalid CheckoutRequestID"), null);
+        }
+        ObjectNode result = checkout.result;
+        if (result == null) {
+            return new Reply(500, Payloads.error("500.001.1001", "The transaction is being processed"), null);
+        }
+        return new Reply(200, result, null);
+    }
+
+    private Reply c2bRegister(JsonNode request) {
+        String shortCode = requireField(request, "ShortCode");
+        registrations.put(shortCode, new Registration(Payloads.field(request, "ConfirmationURL"),
+                Payloads.field(request, "ValidationURL")));
+        return new Reply(200, Payloads.c2bRegistered(), null);
+    }
+
+    private Reply c2bSimulatePayment(JsonNode request) {
+        String originatorConversationId = Payloads.originatorConversationId();
+        String conversationId = Payloads.conversationId();
+        Registration registration = registrations.get(requireField(request, "ShortCode"));
+        ObjectNode acknowledgement = Payloads.conversationAcknowledgement(originatorConversationId, conversationId);
+        if (registration == null) {
+            return new Reply(200, acknowledgement, null);
+        }
+        return new Reply(200, acknowledgement, () -> scheduleCallback(() -> {
+            String transactionId = Payloads.receiptNumber();
+            CompletableFuture<Boolean> validated = registration.validationUrl == null
+                    ? CompletableFuture.completedFuture(true)
+                    : deliver(registration.validationUrl, Payloads.c2bTransaction("Validation", transactionId, request));
+            return validated.thenCompose(accepted -> accepted && registration.confirmationUrl != null
+                    ? deliver(registration.confirmationUrl, Payloads.c2bTransaction("Confirmation", transactionId, request))
+                    : CompletableFuture.completedFuture(accepted));
+        }));
+    }
+
+    private Reply serviceRequest(ApiEndpoint endpoint, JsonNode request) {
+        String resultUrl = requireField(request, "ResultURL");
+        String originatorConversationId = Payloads.field(request, "OriginatorConversationID");
+        if (originatorConversationId == null) {
+            originatorConversationId = Payloads.originatorConversationId();
+        }
+        String conversationId = Payloads.conversationId();
+        String originator = originatorConversationId;
+        return new Reply(200, Payloads.conversationAcknowledgement(originatorConversationId, conversationId), () ->
+                scheduleCallback(() -> deliver(resultUrl,
+                        Payloads.serviceResult(endpoint, request, originator, conversationId, isFailure()))));
+    }
+
+    private static String requireField(JsonNode request, String name) {
+        String value = Payloads.field(request, name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    private boolean isFailure() {
+        return resultFailureRate > 0 && ThreadLocalRandom.current().nextDouble() < resultFailureRate;
+    }
+
+    private void track(String checkoutRequestId, Checkout checkout) {
+        checkouts.put(checkoutRequestId, checkout);
+        checkoutOrder.add(checkoutRequestId);
+        while (checkouts.size() > maxTrackedCheckouts) {
+            String eldest = checkoutOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            checkouts.remove(eldest);
+        }
+    }
+
+    private void scheduleCallback(Supplier<CompletableFuture<Boolean>> callback) {
+        long delay = callbackDelay.sampleMillis(ThreadLocalRandom.current());
+        scheduler.schedule(() -> {
+            try {
+                callback.get();
+            } catch (RuntimeException e) {
+                callbacksFailed.increment();
+                logger.warn("Could not send callback: {}", e.getMessage());
+            }
+        }, Math.max(0, delay), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * POSTs a callback, counting it as sent if it is answered with a 2xx status.
+     *
+     * @return A future completed with whether the callback was accepted, never exceptionally.
+     */
+    private CompletableFuture<Boolean> deliver(String url, ObjectNode payload) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(callbackTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payload)))
+                    .build();
+        } catch (IOException | IllegalArgumentException e) {
+            callbacksFailed.increment();
+            logger.warn("Could not send callback to {}: {}", url, e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+        return callbackClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).handle((response, error) -> {
+            if (error == null && response.statusCode() >= 200 && response.statusCode() < 300) {
+                callbacksSent.increment();
+                return true;
+            }
+            callbacksFailed.increment();
+            logger.debug("Callback to {} failed: {}", url, error != null ? error.toString() : response.statusCode());
+            return false;
+        });
+    }
+
+    private void sendQuietly(HttpExchange exchange, Reply reply) {
+        try {
+            send(exchange, reply);
+        } catch (IOException e) {
+            logger.debug("Could not send delayed response: {}", e.getMessage());
+        }
+    }
+
+    private void send(HttpExchange exchange, Reply reply) throws IOException {
+        try {
+            if (reply.body == null) {
+                exchange.sendResponseHeaders(reply.status, -1);
+            } else {
+                byte[] bytes = objectMapper.writeValueAsBytes(reply.body);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                if (reply.status == 429) {
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                }
+                exchange.sendResponseHeaders(reply.status, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+        if (reply.afterResponse != null && running) {
+            reply.afterResponse.run();
+        }
+    }
+
+    private static ExecutorService newIoExecutor(int threads) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            logger.debug("Virtual threads unavailable, serving requests on {} platform threads", threads);
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "mpesa-simulator-io-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * A response, and what to do once it has been sent, e.g. schedule the callback it announces.
+     */
+    static final class Reply {
+        final int status;
+        final ObjectNode body;
+        final Runnable afterResponse;
+
+        Reply(int status, ObjectNode body, Runnable afterResponse) {
+            this.status = status;
+            this.body = body;
+            this.afterResponse = afterResponse;
+        }
+    }
+
+    /**
+     * An STK push, whose query result is set when its callback is sent.
+     */
+    static final class Checkout {
+        volatile ObjectNode result;
+    }
+
+    /**
+     * The callback URLs registered for a C2B short code.
+     */
+    static final class Registration {
+        final String confirmationUrl;
+        final String validationUrl;
+
+        Registration(String confirmationUrl, String validationUrl) {
+            this.confirmationUrl = confirmationUrl;
+            this.validationUrl = validationUrl;
+        }
+    }
+
+    /**
+     * Builder class for {@link MpesaSimulator}.
+     */
+    public static class Builder {
+        private String host = "0.0.0.0";
+        private int port = 8090;
+        private int backlog = 1024;
+        private int ioThreads = Runtime.getRuntime().availableProcessors() * 2;
+        private String consumerKey;
+        private String consumerSecret;
+        private long tokenTtlSeconds = 3599;
+        private Long advertisedTokenTtlSeconds;
+        private LatencyDistribution latency = LatencyDistribution.NONE;
+        private final Map<ApiEndpoint, LatencyDistribution> latencies = new EnumMap<>(ApiEndpoint.class);
+        private double errorRate;
+        private int rateLimit;
+        private LatencyDistribution callbackDelay = LatencyDistribution.NONE;
+        private double resultFailureRate;
+        private int maxTrackedCheckouts = 100_000;
+        private long callbackTimeoutMillis = 5000;
+
+        public Builder host(String host) {
+            this.host = host;
+            return this;
+        }
+
+        /** Port to listen on; {@code 0} picks a free port. */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder backlog(int backlog) {
+            this.backlog = backlog;
+            return this;
+        }
+
+        /** Size of the connection thread pool when virtual threads are unavailable. */
+        public Builder ioThreads(int ioThreads) {
+            requirePositive(ioThreads, "ioThreads");
+            this.ioThreads = ioThreads;
+            return this;
+        }
+
+        /** Only issues tokens for these credentials. Without them any credentials are accepted. */
+        public Builder credentials(String consumerKey, String consumerSecret) {
+            if (consumerKey == null || consumerSecret == null) {
+                throw new IllegalArgumentException("consumerKey and consumerSecret must not be null.");
+            }
+            this.consumerKey = consumerKey;
+            this.consumerSecret = consumerSecret;
+            return this;
+        }
+
+        /** How long issued tokens are accepted, in seconds. */
+        public Builder tokenTtlSeconds(long tokenTtlSeconds) {
+            requirePositive(tokenTtlSeconds, "tokenTtlSeconds");
+            this.tokenTtlSeconds = tokenTtlSeconds;
+            return this;
+        }
+
+        /**
+         * The {@code expires_in} sent with tokens, if it should differ from how long they are accepted, e.g.
+         * longer, so clients hit {@code 401}s as when a token is revoked early.
+         */
+        public Builder advertisedTokenTtlSeconds(long advertisedTokenTtlSeconds) {
+            requirePositive(advertisedTokenTtlSeconds, "advertisedTokenTtlSeconds");
+            this.advertisedTokenTtlSeconds = advertisedTokenTtlSeconds;
+            return this;
+        }
+
+        /** Latency of every endpoint without its own. */
+        public Builder latency(LatencyDistribution latency) {
+            this.latency = requireNonNull(latency, "latency");
+            return this;
+        }
+
+        public Builder latency(ApiEndpoint endpoint, LatencyDistribution latency) {
+            this.latencies.put(requireNonNull(endpoint, "endpoint"), requireNonNull(latency, "latency"));
+            return this;
+        }
+
+        /** Fraction of authorized API requests answered with a {@code 500}, from 0 to 1. */
+        public Builder errorRate(double errorRate) {
+            this.errorRate = requireFraction(errorRate, "errorRate");
+            return this;
+        }
+
+        /** Requests per second accepted across API endpoints before answering {@code 429}; 0 for no limit. */
+        public Builder rateLimit(int requestsPerSecond) {
+            if (requestsPerSecond < 0) {
+                throw new IllegalArgumentException("requestsPerSecond must not be negative.");
+            }
+            this.rateLimit = requestsPerSecond;
+            return this;
+        }
+
+        /** Delay between acknowledging an asynchronous request and sending its callback. */
+        public Builder callbackDelay(LatencyDistribution callbackDelay) {
+            this.callbackDelay = requireNonNull(callbackDelay, "callbackDelay");
+            return this;
+        }
+
+        /**
+         * Fraction of STK pushes and service requests whose result is a failure, from 0 to 1: a cancelled STK
+         * push ({@code 1032}) or an invalid initiator ({@code 2001}).
+         */
+        public Builder resultFailureRate(double resultFailureRate) {
+            this.resultFailureRate = requireFraction(resultFailureRate, "resultFailureRate");
+            return this;
+        }
+
+        /** Maximum number of STK pushes remembered for queries; the oldest are forgotten first. */
+        public Builder maxTrackedCheckouts(int maxTrackedCheckouts) {
+            requirePositive(maxTrackedCheckouts, "maxTrackedCheckouts");
+            this.maxTrackedCheckouts = maxTrackedCheckouts;
+            return this;
+        }
+
+        public Builder callbackTimeoutMillis(long callbackTimeoutMillis) {
+            requirePositive(callbackTimeoutMillis, "callbackTimeoutMillis");
+            this.callbackTimeoutMillis = callbackTimeoutMillis;
+            return this;
+        }
+
+        private static void requirePositive(long value, String fieldName) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(fieldName + " must be greater than 0.");
+            }
+        }
+
+        private static double requireFraction(double value, String fieldName) {
+            if (!(value >= 0 && value <= 1)) {
+                throw new IllegalArgumentException(fieldName + " must be between 0 and 1.");
+            }
+            return value;
+        }
+
+        private static <T> T requireNonNull(T value, String fieldName) {
+            if (value == null) {
+                throw new IllegalArgumentException(fieldName + " must not be null.");
+            }
+            return value;
+        }
+
+        /**
+         * Builds the simulator and binds its server socket. Call {@link MpesaSimulator#start()} to begin serving.
+         *
+         * @return The configured {@link MpesaSimulator}.
+         * @throws IOException if the server socket cannot be bound.
+         */
+        public MpesaSimulator build() throws IOException {
+            return new MpesaSimulator(this);
+        }
+    }
+}
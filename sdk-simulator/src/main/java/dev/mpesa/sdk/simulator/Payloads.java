@@ -0,0 +1,278 @@
+package dev.mpesa.sdk.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the simulator's responses and callbacks, shaped like those of the M-Pesa API. Identifiers follow the
+ * formats M-Pesa uses, e.g. {@code ws_CO_...} checkout request IDs and ten character receipt numbers.
+ */
+final class Payloads {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter COMPLETED_TIME = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
+    private static final char[] RECEIPT_CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final String ACCEPTED = "Accept the service request successfully.";
+    private static final String PROCESSED = "The service request is processed successfully.";
+
+    private static final AtomicLong sequence = new AtomicLong();
+
+    private Payloads() {
+    }
+
+    /**
+     * Reads a request field by its documented name, e.g. {@code CallBackURL}, or by the same name starting with a
+     * lower case letter, e.g. {@code callBackURL}, which is how the SDK's request DTOs serialize.
+     *
+     * @param request the request body
+     * @param name    the documented field name
+     * @return The field's value as text, or {@code null} if it is missing.
+     */
+    static String field(JsonNode request, String name) {
+        JsonNode value = request.get(name);
+        if (value == null) {
+            value = request.get(Character.toLowerCase(name.charAt(0)) + name.substring(1));
+        }
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    static ObjectNode error(String errorCode, String errorMessage) {
+        return NODES.objectNode()
+                .put("requestId", sequence.incrementAndGet() + "-" + ThreadLocalRandom.current().nextInt(1_000_000))
+                .put("errorCode", errorCode)
+                .put("errorMessage", errorMessage);
+    }
+
+    static ObjectNode token(String accessToken, long expiresInSeconds) {
+        return NODES.objectNode()
+                .put("access_token", accessToken)
+                .put("token_type", "Bearer")
+                .put("expires_in", expiresInSeconds);
+    }
+
+    static String merchantRequestId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return random.nextInt(10_000, 100_000) + "-" + random.nextInt(10_000_000, 100_000_000) + "-1";
+    }
+
+    static String checkoutRequestId() {
+        return "ws_CO_" + LocalDateTime.now().format(TIMESTAMP) + sequence.incrementAndGet();
+    }
+
+    static String conversationId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] suffix = new char[20];
+        for (int i = 0; i < suffix.length; i++) {
+            suffix[i] = HEX[random.nextInt(HEX.length)];
+        }
+        return "AG_" + LocalDateTime.now().format(DATE) + "_" + new String(suffix);
+    }
+
+    static String originatorConversationId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return random.nextInt(10_000, 100_000) + "-" + random.nextInt(1_000_000, 10_000_000) + "-1";
+    }
+
+    static String receiptNumber() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] receipt = new char[10];
+        // A leading letter keeps receipts from being sent as numbers.
+        receipt[0] = RECEIPT_CHARACTERS[random.nextInt(26)];
+        for (int i = 1; i < receipt.length; i++) {
+            receipt[i] = RECEIPT_CHARACTERS[random.nextInt(RECEIPT_CHARACTERS.length)];
+        }
+        return new String(receipt);
+    }
+
+    static ObjectNode stkPushAcknowledgement(String merchantRequestId, String checkoutRequestId) {
+        return NODES.objectNode()
+                .put("MerchantRequestID", merchantRequestId)
+                .put("CheckoutRequestID", checkoutRequestId)
+                .put("ResponseCode", "0")
+                .put("ResponseDescription", "Success. Request accepted for processing")
+                .put("CustomerMessage", "Success. Request accepted for processing");
+    }
+
+    static ObjectNode stkPushCallback(String merchantRequestId, String checkoutRequestId, boolean failed,
+                                      String amount, String phoneNumber) {
+        ObjectNode callback = NODES.objectNode()
+                .put("MerchantRequestID", merchantRequestId)
+                .put("CheckoutRequestID", checkoutRequestId)
+                .put("ResultCode", failed ? 1032 : 0)
+                .put("ResultDesc", failed ? "Request cancelled by user" : PROCESSED);
+        if (!failed) {
+            ArrayNode items = callback.putObject("CallbackMetadata").putArray("Item");
+            items.add(item("Name", "Amount", amount));
+            items.add(item("Name", "MpesaReceiptNumber", receiptNumber()));
+            items.add(item("Name", "TransactionDate", LocalDateTime.now().format(TIMESTAMP)));
+            items.add(item("Name", "PhoneNumber", phoneNumber));
+        }
+        ObjectNode body = NODES.objectNode();
+        body.putObject("Body").set("stkCallback", callback);
+        return body;
+    }
+
+    static ObjectNode stkPushQueryResult(String merchantRequestId, String checkoutRequestId, boolean failed) {
+        return NODES.objectNode()
+                .put("ResponseCode", "0")
+                .put("ResponseDescription", "The service request has been accepted successfully")
+                .put("MerchantRequestID", merchantRequestId)
+                .put("CheckoutRequestID", checkoutRequestId)
+                .put("ResultCode", failed ? "1032" : "0")
+                .put("ResultDesc", failed ? "Request cancelled by user" : PROCESSED);
+    }
+
+    static ObjectNode conversationAcknowledgement(String originatorConversationId, String conversationId) {
+        return NODES.objectNode()
+                .put("OriginatorConversationID", originatorConversationId)
+                .put("ConversationID", conversationId)
+                .put("ResponseCode", "0")
+                .put("ResponseDescription", ACCEPTED);
+    }
+
+    /**
+     * Builds the result callback of a B2C payment, transaction status query, reversal or account balance query.
+     * Successful results carry the result parameters M-Pesa sends for the endpoint; failed ones carry none.
+     */
+    static ObjectNode serviceResult(ApiEndpoint endpoint, JsonNode request, String originatorConversationId,
+                                    String conversationId, boolean failed) {
+        String transactionId = receiptNumber();
+        ObjectNode result = NODES.objectNode()
+                .put("ResultType", 0)
+                .put("ResultCode", failed ? 2001 : 0)
+                .put("ResultDesc", failed ? "The initiator information is invalid." : PROCESSED)
+                .put("OriginatorConversationID", originatorConversationId)
+                .put("ConversationID", conversationId)
+                .put("TransactionID", transactionId);
+        if (!failed) {
+            ArrayNode parameters = result.putObject("ResultParameters").putArray("ResultParameter");
+            String now = LocalDateTime.now().format(COMPLETED_TIME);
+            String amount = field(request, "Amount");
+            switch (endpoint) {
+                case B2C_PAYMENT:
+                    parameters.add(item("Key", "TransactionAmount", amount));
+                    parameters.add(item("Key", "TransactionReceipt", transactionId));
+                    parameters.add(item("Key", "B2CRecipientIsRegisteredCustomer", "Y"));
+                    parameters.add(item("Key", "B2CChargesPaidAccountAvailableFunds", "-4510.00"));
+                    parameters.add(item("Key", "ReceiverPartyPublicName",
+                            field(request, "PartyB") + " - Simulated Customer"));
+                    parameters.add(item("Key", "TransactionCompletedDateTime", now));
+                    parameters.add(item("Key", "B2CUtilityAccountAvailableFunds", "10116.00"));
+                    parameters.add(item("Key", "B2CWorkingAccountAvailableFunds", "900000.00"));
+                    break;
+                case TRANSACTION_STATUS:
+                    parameters.add(item("Key", "ReceiptNo", field(request, "TransactionID")));
+                    parameters.add(item("Key", "TransactionStatus", "Completed"));
+                    parameters.add(item("Key", "Amount", "100"));
+                    parameters.add(item("Key", "DebitPartyName", field(request, "PartyA") + " - Simulated Business"));
+                    parameters.add(item("Key", "CreditPartyName", "254708374149 - Simulated Customer"));
+                    parameters.add(item("Key", "InitiatedTime", now));
+                    parameters.add(item("Key", "FinalisedTime", now));
+                    parameters.add(item("Key", "ReasonType", "Business Payment to Customer via API"));
+                    parameters.add(item("Key", "DebitAccountType", "Utility Account"));
+                    break;
+                case TRANSACTION_REVERSAL:
+                    parameters.add(item("Key", "OriginalTransactionID", field(request, "TransactionID")));
+                    parameters.add(item("Key", "Amount", amount));
+                    parameters.add(item("Key", "Charge", "0.00"));
+                    parameters.add(item("Key", "TransCompletedTime", now));
+                    parameters.add(item("Key", "CreditPartyPublicName", field(request, "ReceiverParty")
+                            + " - Simulated Business"));
+                    break;
+                case ACCOUNT_BALANCE:
+                    parameters.add(item("Key", "AccountBalance",
+                            "Working Account|ETB|900000.00|900000.00|0.00|0.00"
+                                    + "&Utility Account|ETB|10116.00|10116.00|0.00|0.00"
+                                    + "&Charges Paid Account|ETB|-4510.00|-4510.00|0.00|0.00"
+                                    + "&Organization Settlement Account|ETB|0.00|0.00|0.00|0.00"));
+                    parameters.add(item("Key", "BOCompletedTime", LocalDateTime.now().format(TIMESTAMP)));
+                    break;
+                default:
+                    break;
+            }
+        }
+        result.putObject("ReferenceData").putObject("ReferenceItem")
+                .put("Key", "QueueTimeoutURL")
+                .put("Value", "https://internalsandbox.safaricom.co.ke/mpesa/results/v1/submit");
+        ObjectNode body = NODES.objectNode();
+        body.set("Result", result);
+        return body;
+    }
+
+    static ObjectNode c2bRegistered() {
+        ObjectNode body = NODES.objectNode();
+        body.putObject("header")
+                .put("responseCode", "0")
+                .put("responseMessage", "Request processed successfully")
+                .put("customerMessage", "Request processed successfully")
+                .put("timestamp", LocalDateTime.now().toString());
+        return body;
+    }
+
+    static ObjectNode c2bTransaction(String requestType, String transactionId, JsonNode request) {
+        return NODES.objectNode()
+                .put("RequestType", requestType)
+                .put("TransactionType", "Pay Bill")
+                .put("TransID", transactionId)
+                .put("TransTime", LocalDateTime.now().format(TIMESTAMP))
+                .put("TransAmount", field(request, "Amount"))
+                .put("BusinessShortCode", field(request, "ShortCode"))
+                .put("BillRefNumber", field(request, "BillRefNumber"))
+                .put("InvoiceNumber", "")
+                .put("OrgAccountBalance", "900000.00")
+                .put("ThirdPartyTransID", "")
+                .put("MSISDN", field(request, "Msisdn"))
+                .put("FirstName", "Simulated")
+                .put("MiddleName", "")
+                .put("LastName", "Customer");
+    }
+
+    static ObjectNode c2bPayment(JsonNode request) {
+        ObjectNode body = NODES.objectNode()
+                .put("RequestRefID", field(request, "RequestRefID"))
+                .put("ResponseCode", "0")
+                .put("ResponseDesc", PROCESSED)
+                .put("TransactionID", receiptNumber());
+        body.putArray("AdditionalInfo");
+        return body;
+    }
+
+    /** Numeric values are sent as JSON numbers, as M-Pesa does for amounts and balances. */
+    private static ObjectNode item(String keyField, String key, String value) {
+        ObjectNode item = NODES.objectNode().put(keyField, key);
+        if (value != null && !value.isEmpty() && value.length() < 16 && isNumber(value)) {
+            item.put("Value", new BigDecimal(value));
+        } else {
+            item.put("Value", value);
+        }
+        return item;
+    }
+
+    private static boolean isNumber(String value) {
+        int start = value.charAt(0) == '-' ? 1 : 0;
+        boolean digits = false;
+        boolean point = false;
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                return false;
+            }
+        }
+        return digits;
+    }
+}
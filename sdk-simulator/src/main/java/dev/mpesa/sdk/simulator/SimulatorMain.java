@@ -0,0 +1,142 @@
+package dev.mpesa.sdk.simulator;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs an {@link MpesaSimulator} from the command line until it is interrupted, e.g.
+ * <pre>
+ * java -jar sdk-simulator/target/mpesa-simulator.jar --port=8090 --latency-median=150 --latency-p99=900 \
+ *     --error-rate=0.01 --rate-limit=2000 --callback-delay-median=2000 --callback-delay-p99=8000
+ * </pre>
+ * Latencies are in milliseconds and log-normally distributed; without a median requests are answered
+ * immediately. Run with {@code --help} for every option.
+ */
+public final class SimulatorMain {
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -jar mpesa-simulator.jar [--option=value ...]",
+            "  --host=0.0.0.0                   address to listen on",
+            "  --port=8090                      port to listen on, 0 for any free port",
+            "  --consumer-key=KEY               only issue tokens for this key (requires --consumer-secret)",
+            "  --consumer-secret=SECRET         only issue tokens for this secret",
+            "  --token-ttl=3599                 seconds a token is accepted",
+            "  --advertised-token-ttl=SECONDS   expires_in sent with tokens, if different",
+            "  --latency-median=MILLIS          median response latency",
+            "  --latency-p99=MILLIS             99th percentile response latency, defaults to 4x the median",
+            "  --error-rate=0                   fraction of requests answered with 500",
+            "  --rate-limit=0                   requests per second before answering 429, 0 for no limit",
+            "  --callback-delay-median=MILLIS   median delay before a callback is sent",
+            "  --callback-delay-p99=MILLIS      99th percentile callback delay, defaults to 4x the median",
+            "  --result-failure-rate=0          fraction of STK pushes and service requests that fail");
+
+    private SimulatorMain() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        MpesaSimulator simulator;
+        try {
+            Map<String, String> options = parse(args);
+            if (options.containsKey("help")) {
+                System.out.println(USAGE);
+                return;
+            }
+            simulator = configure(options).build();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            simulator.close();
+            stopped.countDown();
+        }, "mpesa-simulator-shutdown"));
+        simulator.start();
+        stopped.await();
+    }
+
+    static MpesaSimulator.Builder configure(Map<String, String> options) {
+        Map<String, String> remaining = new HashMap<>(options);
+        MpesaSimulator.Builder builder = new MpesaSimulator.Builder();
+        String host = remaining.remove("host");
+        if (host != null) {
+            builder.host(host);
+        }
+        String port = remaining.remove("port");
+        if (port != null) {
+            builder.port(Integer.parseInt(port));
+        }
+        String consumerKey = remaining.remove("consumer-key");
+        String consumerSecret = remaining.remove("consumer-secret");
+        if (consumerKey != null || consumerSecret != null) {
+            builder.credentials(consumerKey, consumerSecret);
+        }
+        String tokenTtl = remaining.remove("token-ttl");
+        if (tokenTtl != null) {
+            builder.tokenTtlSeconds(Long.parseLong(tokenTtl));
+        }
+        String advertisedTokenTtl = remaining.remove("advertised-token-ttl");
+        if (advertisedTokenTtl != null) {
+            builder.advertisedTokenTtlSeconds(Long.parseLong(advertisedTokenTtl));
+        }
+        LatencyDistribution latency = distribution(remaining.remove("latency-median"), remaining.remove("latency-p99"));
+        if (latency != null) {
+            builder.latency(latency);
+        }
+        String errorRate = remaining.remove("error-rate");
+        if (errorRate != null) {
+            builder.errorRate(Double.parseDouble(errorRate));
+        }
+        String rateLimit = remaining.remove("rate-limit");
+        if (rateLimit != null) {
+            builder.rateLimit(Integer.parseInt(rateLimit));
+        }
+        LatencyDistribution callbackDelay = distribution(remaining.remove("callback-delay-median"),
+                remaining.remove("callback-delay-p99"));
+        if (callbackDelay != null) {
+            builder.callbackDelay(callbackDelay);
+        }
+        String resultFailureRate = remaining.remove("result-failure-rate");
+        if (resultFailureRate != null) {
+            builder.resultFailureRate(Double.parseDouble(resultFailureRate));
+        }
+        if (!remaining.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + remaining.keySet());
+        }
+        return builder;
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "");
+            } else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+
+    private static LatencyDistribution distribution(String median, String p99) {
+        if (median == null) {
+            if (p99 != null) {
+                throw new IllegalArgumentException("A 99th percentile needs a median.");
+            }
+            return null;
+        }
+        double medianMillis = Double.parseDouble(median);
+        if (medianMillis == 0) {
+            return LatencyDistribution.NONE;
+        }
+        return LatencyDistribution.logNormal(medianMillis, p99 != null ? Double.parseDouble(p99) : medianMillis * 4);
+    }
+}
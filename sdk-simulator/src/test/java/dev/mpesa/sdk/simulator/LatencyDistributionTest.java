@@ -0,0 +1,52 @@
+package dev.mpesa.sdk.simulator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyDistributionTest {
+
+    private static long[] sample(LatencyDistribution distribution, int count) {
+        Random random = new Random(7);
+        long[] samples = new long[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = distribution.sampleMillis(random);
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    @Test
+    void logNormal_MatchesMedianAndP99() {
+        long[] samples = sample(LatencyDistribution.logNormal(100, 800), 100_000);
+
+        assertEquals(100, samples[50_000], 5);
+        assertEquals(800, samples[99_000], 60);
+        assertTrue(samples[0] >= 0);
+    }
+
+    @Test
+    void uniform_StaysWithinBounds() {
+        long[] samples = sample(LatencyDistribution.uniform(10, 20), 10_000);
+
+        assertEquals(10, samples[0]);
+        assertEquals(20, samples[samples.length - 1]);
+    }
+
+    @Test
+    void fixedAndNone_ReturnTheSameDelay() {
+        assertEquals(250, LatencyDistribution.fixed(250).sampleMillis(new Random()));
+        assertEquals(0, LatencyDistribution.NONE.sampleMillis(new Random()));
+    }
+
+    @Test
+    void invalidBounds_AreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.fixed(-1));
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.uniform(20, 10));
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.logNormal(100, 50));
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.logNormal(0, 50));
+    }
+}
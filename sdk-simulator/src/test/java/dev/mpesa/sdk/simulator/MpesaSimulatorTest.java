@@ -0,0 +1,305 @@
+package dev.mpesa.sdk.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import dev.mpesa.sdk.MpesaSdk;
+import dev.mpesa.sdk.config.MpesaConfig;
+import dev.mpesa.sdk.config.RequestOptions;
+import dev.mpesa.sdk.dto.callback.ServiceResultResponse;
+import dev.mpesa.sdk.dto.callback.StkPushCallbackResponse;
+import dev.mpesa.sdk.dto.request.B2CPaymentRequest;
+import dev.mpesa.sdk.dto.request.StkPushQueryRequest;
+import dev.mpesa.sdk.dto.request.StkPushRequest;
+import dev.mpesa.sdk.dto.response.B2CPaymentResponse;
+import dev.mpesa.sdk.dto.response.StkPushQueryResponse;
+import dev.mpesa.sdk.dto.response.StkPushResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpesaSimulatorTest {
+
+    private static final String PASSWORD = Base64.getEncoder().encodeToString("174379passkey20240101000000".getBytes());
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final BlockingQueue<Callback> callbacks = new LinkedBlockingQueue<>();
+    private HttpServer callbackServer;
+    private MpesaSimulator simulator;
+
+    private static final class Callback {
+        final String path;
+        final byte[] body;
+
+        Callback(String path, byte[] body) {
+            this.path = path;
+            this.body = body;
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        callbackServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        callbackServer.createContext("/", exchange -> {
+            callbacks.add(new Callback(exchange.getRequestURI().getPath(), exchange.getRequestBody().readAllBytes()));
+            byte[] ack = "{\"ResultCode\":\"0\",\"ResultDesc\":\"Accepted\"}".getBytes();
+            exchange.sendResponseHeaders(200, ack.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(ack);
+            }
+        });
+        callbackServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (simulator != null) {
+            simulator.close();
+        }
+        callbackServer.stop(0);
+    }
+
+    private MpesaSimulator start(MpesaSimulator.Builder builder) throws IOException {
+        simulator = builder.host("localhost").port(0).build();
+        simulator.start();
+        return simulator;
+    }
+
+    private String callbackUrl(String path) {
+        return "http://localhost:" + callbackServer.getAddress().getPort() + path;
+    }
+
+    private MpesaSdk sdk() {
+        MpesaConfig config = new MpesaConfig.Builder()
+                .baseUrls(List.of(simulator.getBaseUrl()))
+                .retryBackoffTime(10)
+                .build();
+        return new MpesaSdk("key", "secret", config);
+    }
+
+    private HttpResponse<String> post(String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(simulator.getBaseUrl() + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String token() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(simulator.getBaseUrl() + "/v1/token/generate?grant_type=client_credentials"))
+                .header("Authorization", "Basic " + Base64.getEncoder().encodeToString("key:secret".getBytes()))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        return objectMapper.readTree(response.body()).get("access_token").asText();
+    }
+
+    private StkPushRequest stkPushRequest() {
+        return new StkPushRequest.Builder()
+                .businessShortCode("174379")
+                .password(PASSWORD)
+                .transactionType(StkPushRequest.TransactionType.CustomerPayBillOnline)
+                .amount("10")
+                .partyA("254708374149")
+                .partyB("174379")
+                .phoneNumber("254708374149")
+                .callBackURL(callbackUrl("/stk"))
+                .accountReference("INV-1")
+                .transactionDesc("Payment")
+                .build();
+    }
+
+    @Test
+    void stkPush_IsAcknowledgedThenCalledBackAndQueryable() throws Exception {
+        start(new MpesaSimulator.Builder());
+        MpesaSdk sdk = sdk();
+
+        StkPushResponse response = sdk.requestStkPush(stkPushRequest(), RequestOptions.DEFAULT);
+        assertEquals("0", response.getResponseCode());
+        assertTrue(response.getCheckoutRequestID().startsWith("ws_CO_"));
+
+        Callback callback = callbacks.poll(5, TimeUnit.SECONDS);
+        assertNotNull(callback);
+        assertEquals("/stk", callback.path);
+        StkPushCallbackResponse.StkCallback stkCallback =
+                objectMapper.readValue(callback.body, StkPushCallbackResponse.class).body.stkCallback;
+        assertEquals(response.getCheckoutRequestID(), stkCallback.checkoutRequestID);
+        assertEquals(0, stkCallback.resultCode);
+        assertEquals("254708374149", stkCallback.callbackMetadata.getString("PhoneNumber"));
+
+        StkPushQueryResponse query = sdk.queryStkPush(new StkPushQueryRequest.Builder()
+                .businessShortCode("174379")
+                .password(PASSWORD)
+                .timestamp("20240101000000")
+                .checkoutRequestID(response.getCheckoutRequestID())
+                .build(), RequestOptions.DEFAULT);
+        assertEquals("0", query.getResultCode());
+        assertEquals(1, simulator.getCallbacksSent());
+        sdk.close();
+    }
+
+    @Test
+    void b2cPayment_SendsResultToResultUrl() throws Exception {
+        start(new MpesaSimulator.Builder().resultFailureRate(1));
+        MpesaSdk sdk = sdk();
+
+        B2CPaymentResponse response = sdk.initiateB2CPayment(new B2CPaymentRequest.Builder()
+                .initiatorName("testapi")
+                .securityCredential(PASSWORD)
+                .commandID("BusinessPayment")
+                .amount("100")
+                .partyA("600000")
+                .partyB("254708374149")
+                .remarks("Salary")
+                .queueTimeOutURL(callbackUrl("/timeout"))
+                .resultURL(callbackUrl("/result"))
+                .occassion("June")
+                .build(), RequestOptions.DEFAULT);
+        assertEquals("0", response.getResponseCode());
+
+        Callback callback = callbacks.poll(5, TimeUnit.SECONDS);
+        assertNotNull(callback);
+        assertEquals("/result", callback.path);
+        ServiceResultResponse.Result result = objectMapper.readValue(callback.body, ServiceResultResponse.class).result;
+        assertEquals(response.getConversationID(), result.conversationID);
+        assertEquals(2001, result.resultCode);
+        sdk.close();
+    }
+
+    @Test
+    void stkPushQuery_BeforeCallback_IsStillProcessing() throws Exception {
+        start(new MpesaSimulator.Builder().callbackDelay(LatencyDistribution.fixed(60_000)));
+        String token = token();
+        HttpResponse<String> push = post("/mpesa/stkpush/v3/processrequest", token,
+                "{\"CallBackURL\":\"" + callbackUrl("/stk") + "\",\"Amount\":\"1\",\"PhoneNumber\":\"254708374149\"}");
+        String checkoutRequestId = objectMapper.readTree(push.body()).get("CheckoutRequestID").asText();
+
+        HttpResponse<String> query = post("/mpesa/stkpushquery/v1/query", token,
+                "{\"CheckoutRequestID\":\"" + checkoutRequestId + "\"}");
+
+        assertEquals(500, query.statusCode());
+        assertEquals("500.001.1001", objectMapper.readTree(query.body()).get("errorCode").asText());
+        assertEquals(400, post("/mpesa/stkpushquery/v1/query", token, "{\"CheckoutRequestID\":\"ws_CO_unknown\"}").statusCode());
+    }
+
+    @Test
+    void c2bSimulatedPayment_IsValidatedThenConfirmed() throws Exception {
+        start(new MpesaSimulator.Builder());
+        String token = token();
+        post("/v1/c2b-register-url/register", token, "{\"ShortCode\":\"600638\",\"ResponseType\":\"Completed\","
+                + "\"ConfirmationURL\":\"" + callbackUrl("/confirmation") + "\","
+                + "\"ValidationURL\":\"" + callbackUrl("/validation") + "\"}");
+
+        HttpResponse<String> response = post("/mpesa/b2c/simulatetransaction/v1/request", token,
+                "{\"ShortCode\":\"600638\",\"CommandID\":\"CustomerPayBillOnline\",\"Amount\":\"10\","
+                        + "\"Msisdn\":\"254708374149\",\"BillRefNumber\":\"INV-1\"}");
+
+        assertEquals(200, response.statusCode());
+        Callback validation = callbacks.poll(5, TimeUnit.SECONDS);
+        Callback confirmation = callbacks.poll(5, TimeUnit.SECONDS);
+        assertNotNull(validation);
+        assertNotNull(confirmation);
+        assertEquals("/validation", validation.path);
+        assertEquals("/confirmation", confirmation.path);
+        JsonNode confirmed = objectMapper.readTree(confirmation.body);
+        assertEquals(objectMapper.readTree(validation.body).get("TransID"), confirmed.get("TransID"));
+        assertEquals("INV-1", confirmed.get("BillRefNumber").asText());
+    }
+
+    @Test
+    void requestsWithoutValidToken_AreUnauthorized() throws Exception {
+        start(new MpesaSimulator.Builder().credentials("key", "secret"));
+
+        assertEquals(401, post("/mpesa/b2c/v1/paymentrequest", null, "{}").statusCode());
+        assertEquals(401, post("/mpesa/b2c/v1/paymentrequest", "made-up", "{}").statusCode());
+        HttpRequest wrongCredentials = HttpRequest.newBuilder(URI.create(simulator.getBaseUrl() + "/v1/token/generate"))
+                .header("Authorization", "Basic " + Base64.getEncoder().encodeToString("key:wrong".getBytes()))
+                .build();
+        assertEquals(401, client.send(wrongCredentials, HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(3, simulator.getUnauthorizedCount());
+    }
+
+    @Test
+    void expiredToken_IsRejectedAndSdkRefreshesIt() throws Exception {
+        start(new MpesaSimulator.Builder().tokenTtlSeconds(1).advertisedTokenTtlSeconds(3600));
+        MpesaSdk sdk = sdk();
+        sdk.requestStkPush(stkPushRequest(), RequestOptions.DEFAULT);
+
+        Thread.sleep(1100);
+        StkPushResponse response = sdk.requestStkPush(stkPushRequest(), RequestOptions.DEFAULT);
+
+        assertEquals("0", response.getResponseCode());
+        assertEquals(1, simulator.getUnauthorizedCount());
+        sdk.close();
+    }
+
+    @Test
+    void requestsBeyondQuota_AreThrottled() throws Exception {
+        start(new MpesaSimulator.Builder().rateLimit(2));
+        String token = token();
+        String body = "{\"ResultURL\":\"" + callbackUrl("/result") + "\"}";
+
+        int throttled = 0;
+        for (int i = 0; i < 5; i++) {
+            HttpResponse<String> response = post("/mpesa/accountbalance/v2/query", token, body);
+            if (response.statusCode() == 429) {
+                throttled++;
+                assertEquals("1", response.headers().firstValue("Retry-After").orElse(null));
+            }
+        }
+
+        // The window may roll over once during the loop.
+        assertTrue(throttled >= 1, "throttled " + throttled);
+        assertEquals(throttled, simulator.getThrottledCount());
+    }
+
+    @Test
+    void injectedErrors_AreAnsweredWith500() throws Exception {
+        start(new MpesaSimulator.Builder().errorRate(1));
+        String token = token();
+
+        HttpResponse<String> response = post("/mpesa/reversal/v2/request", token, "{}");
+
+        assertEquals(500, response.statusCode());
+        assertEquals("500.003.02", objectMapper.readTree(response.body()).get("errorCode").asText());
+        assertEquals(1, simulator.getInjectedErrorCount());
+    }
+
+    @Test
+    void latency_DelaysTheResponse() throws Exception {
+        start(new MpesaSimulator.Builder().latency(ApiEndpoint.TOKEN, LatencyDistribution.fixed(200)));
+
+        long startedAt = System.nanoTime();
+        token();
+
+        assertTrue(System.nanoTime() - startedAt >= TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    void malformedBodiesAndUnknownPaths_AreRejected() throws Exception {
+        start(new MpesaSimulator.Builder());
+        String token = token();
+
+        assertEquals(400, post("/mpesa/stkpush/v3/processrequest", token, "not json").statusCode());
+        assertEquals(400, post("/mpesa/stkpush/v3/processrequest", token, "{\"Amount\":\"1\"}").statusCode());
+        assertEquals(404, post("/unknown", token, "{}").statusCode());
+    }
+}
@@ -2,13 +2,18 @@ package dev.mpesa.sdk.spring;
 
 import dev.mpesa.sdk.MpesaSdk;
 import dev.mpesa.sdk.config.MpesaConfig;
-import dev.mpesa.sdk.config.MpesaConfig.Environment;
+import dev.mpesa.sdk.config.MpesaProperties;
+import dev.mpesa.sdk.http.Interceptor;
+import dev.mpesa.sdk.metrics.HistogramMetricsRecorder;
+import dev.mpesa.sdk.metrics.MetricsRecorder;
+import dev.mpesa.sdk.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
 
 /**
  * Configuration class to set up the M-Pesa SDK with the required configuration values.
@@ -18,72 +23,55 @@ import org.springframework.context.annotation.PropertySource;
 public class MpesaSdkDefaultConfiguration {
     private static final Logger logger = LoggerFactory.getLogger(MpesaSdkDefaultConfiguration.class);
 
-    @Value("${mpesa.consumer-key:#{null}}")
-    private String consumerKey;
+    private final MpesaProperties properties;
 
-    @Value("${mpesa.consumer-secret:#{null}}")
-    private String consumerSecret;
-
-    @Value("${mpesa.config.connect-timeout:#{null}}")
-    private Integer connectTimeout;
-
-    @Value("${mpesa.config.read-timeout:#{null}}")
-    private Integer readTimeout;
-
-    @Value("${mpesa.config.write-timeout:#{null}}")
-    private Integer writeTimeout;
-
-    @Value("${mpesa.config.retry-backoff-time:#{null}}")
-    private Integer retryBackoffTime;
-
-    @Value("${mpesa.config.max-retries:#{null}}")
-    private Integer maxRetries;
-
-    @Value("${mpesa.config.environment:#{null}}")
-    private Environment environment;
-
-    @Value("${mpesa.config.auth-url:#{null}}")
-    private String authUrl;
-
-    @Value("${mpesa.config.c2b-register-url:#{null}}")
-    private String c2bRegisterUrl;
-
-    @Value("${mpesa.config.c2b-payment-url:#{null}}")
-    private String c2bPaymentUrl;
-
-    @Value("${mpesa.config.c2b-simulate-payment-url:#{null}}")
-    private String c2bSimulatePaymentUrl;
-
-    @Value("${mpesa.config.stk-push-url:#{null}}")
-    private String stkPushUrl;
-
-    @Value("${mpesa.config.b2c-payment-url:#{null}}")
-    private String b2cPaymentUrl;
-
-    @Value("${mpesa.config.transaction-status-url:#{null}}")
-    private String transactionStatusUrl;
-
-    @Value("${mpesa.config.transaction-reversal-url:#{null}}")
-    private String transactionReversalUrl;
-
-    @Value("${mpesa.config.account-balance-url:#{null}}")
-    private String accountBalanceUrl;
+    /**
+     * @param environment the Spring environment the {@code mpesa.*} properties are read from, see
+     *                    {@link MpesaProperties}
+     */
+    public MpesaSdkDefaultConfiguration(Environment environment) {
+        this.properties = new MpesaProperties(environment::getProperty);
+    }
 
+    /**
+     * Creates the SDK. {@link Interceptor} beans in the context are added as application interceptors, ordered by
+     * {@code @Order} or {@code Ordered}. A {@link MetricsRecorder} bean receives the SDK's metrics; without one,
+     * {@code mpesa.config.metrics=true} keeps them in a {@link HistogramMetricsRecorder}. A {@link Tracer} bean
+     * traces the SDK's calls.
+     */
     @Bean
-    public MpesaSdk mpesaSdk(MpesaConfig mpesaConfig) {
+    public MpesaSdk mpesaSdk(MpesaConfig mpesaConfig, ObjectProvider<Interceptor> interceptors,
+                             ObjectProvider<MetricsRecorder> metricsRecorder, ObjectProvider<Tracer> tracer) {
         logger.info("Initializing MpesaSdk bean...");
 
-        if (consumerKey == null || consumerKey.trim().isEmpty()) {
+        String consumerKey = properties.getConsumerKey();
+        String consumerSecret = properties.getConsumerSecret();
+
+        if (consumerKey == null) {
             logger.error("Consumer Key is missing in configuration. Cannot initialize MpesaSdk.");
             throw new IllegalArgumentException("Consumer Key not provided in configuration file. Can't bootstrap MpesaSdk bean.");
         }
 
-        if (consumerSecret == null || consumerSecret.trim().isEmpty()) {
+        if (consumerSecret == null) {
             logger.error("Consumer Secret is missing in configuration. Cannot initialize MpesaSdk.");
             throw new IllegalArgumentException("Consumer Secret not provided in configuration file. Can't bootstrap MpesaSdk bean.");
         }
 
-        MpesaSdk sdk = new MpesaSdk(consumerKey, consumerSecret, mpesaConfig);
+        MpesaSdk.Builder builder = new MpesaSdk.Builder()
+                .consumerKey(consumerKey)
+                .consumerSecret(consumerSecret)
+                .config(mpesaConfig);
+        interceptors.orderedStream().forEach(builder::interceptor);
+        MetricsRecorder recorder = metricsRecorder.getIfAvailable(() -> properties.isMetrics() ? new HistogramMetricsRecorder() : null);
+        if (recorder != null) {
+            builder.metrics(recorder);
+        }
+        tracer.ifAvailable(builder::tracer);
+        MpesaSdk sdk = builder.build();
+        if (properties.isWarmUp()) {
+            // Runs before the context finishes refreshing, so the application is not ready until the SDK is warm.
+            sdk.warmUp();
+        }
         logger.info("MpesaSdk bean successfully initialized.");
         return sdk;
     }
@@ -92,23 +80,7 @@ public class MpesaSdkDefaultConfiguration {
     public MpesaConfig mpesaConfig() {
         logger.info("Creating MpesaConfig bean with provided configuration...");
 
-        MpesaConfig config = new MpesaConfig.Builder()
-                .environment(environment)
-                .authUrl(authUrl)
-                .c2bRegisterUrl(c2bRegisterUrl)
-                .c2bPaymentUrl(c2bPaymentUrl)
-                .c2bSimulatePaymentUrl(c2bSimulatePaymentUrl)
-                .stkPushUrl(stkPushUrl)
-                .b2cPaymentUrl(b2cPaymentUrl)
-                .transactionStatusUrl(transactionStatusUrl)
-                .transactionReversalUrl(transactionReversalUrl)
-                .accountBalanceUrl(accountBalanceUrl)
-                .connectTimeout(connectTimeout)
-                .readTimeout(readTimeout)
-                .writeTimeout(writeTimeout)
-                .retryBackoffTime(retryBackoffTime)
-                .maxRetries(maxRetries)
-                .build();
+        MpesaConfig config = properties.toConfig();
 
         logger.info("MpesaConfig bean successfully created with environment: {}", config.getEnvironment().toString());
         return config;
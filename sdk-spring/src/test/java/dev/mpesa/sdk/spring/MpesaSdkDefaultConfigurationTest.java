@@ -4,7 +4,12 @@ import dev.mpesa.sdk.MpesaSdk;
 import dev.mpesa.sdk.config.MpesaConfig;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
 
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 public class MpesaSdkDefaultConfigurationTest {
@@ -31,4 +36,22 @@ public class MpesaSdkDefaultConfigurationTest {
             assertNotNull(mpesaConfig.getAuthUrl(), "Auth URL should not be null");
         }
     }
+
+    @Test
+    public void testMpesaConfigReadsEnvironmentProperties() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                    "mpesa.config.environment", "PRODUCTION",
+                    "mpesa.config.max-retries", "7",
+                    "mpesa.config.base-urls", "https://a.example,https://b.example",
+                    "mpesa.config.warm-up", "false")));
+            context.register(MpesaSdkDefaultConfiguration.class);
+            context.refresh();
+            MpesaConfig mpesaConfig = context.getBean(MpesaConfig.class);
+
+            assertEquals(MpesaConfig.Environment.PRODUCTION, mpesaConfig.getEnvironment());
+            assertEquals(7, mpesaConfig.getMaxRetries());
+            assertEquals(List.of("https://a.example", "https://b.example"), mpesaConfig.getBaseUrls());
+        }
+    }
 }